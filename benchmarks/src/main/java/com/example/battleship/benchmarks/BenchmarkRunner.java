@@ -0,0 +1,29 @@
+package com.example.battleship.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the Battleship benchmarks with the GC profiler attached, so every result also reports
+ * the allocation rate. Accepts the usual JMH command-line options, for example a benchmark regex.
+ */
+public class BenchmarkRunner {
+
+    /**
+     * The entry point of the benchmark jar.
+     *
+     * @param args JMH command-line options.
+     * @throws Exception If the options cannot be parsed or a benchmark fails.
+     */
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.battleship.benchmarks;
+
+import com.example.battleship.ai.Strategies;
+import com.example.battleship.ai.TargetingStrategy;
+import com.example.battleship.analysis.ExactSolver;
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.engine.Observation;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures exact hint queries on a mid-game position reached by the hunt-and-target strategy, both
+ * from an empty transposition table and right after solving the position one shot earlier, as the
+ * hint overlay does during a game.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ExactSolverBenchmark {
+
+    @Param({"20", "30"})
+    public int shots;
+
+    private final Observation previous = new Observation(Fleet.standard());
+    private final Observation current = new Observation(Fleet.standard());
+    private ExactSolver solver;
+
+    /**
+     * Plays the opening of a game to reach the measured position.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(5);
+        TargetingStrategy hunt = Strategies.byName("hunt", ForkJoinPool.commonPool(), 0, 0);
+        GameEngine engine = new GameEngine();
+        engine.randomizeFleet(new FleetGenerator(Fleet.standard(), random));
+        engine.start();
+        for (int i = 0; i < shots && !engine.isGameOver(); i++) {
+            engine.observe(previous);
+            engine.fire(hunt.nextShot(previous, random));
+        }
+        engine.observe(current);
+        solver = new ExactSolver(Fleet.standard(), ExactSolver.DEFAULT_MAX_CACHED_STATES, Long.MAX_VALUE);
+    }
+
+    /**
+     * Leaves the table holding the layers of the previous position.
+     */
+    @Setup(Level.Invocation)
+    public void solvePrevious() {
+        solver.clearCache();
+        solver.solve(previous);
+    }
+
+    /**
+     * Solves the position with the layers of the previous position cached.
+     *
+     * @return The heat map.
+     */
+    @Benchmark
+    public long[] incremental() {
+        return solver.solve(current);
+    }
+
+    /**
+     * Solves the position from an empty table.
+     *
+     * @return The heat map.
+     */
+    @Benchmark
+    public long[] cold() {
+        solver.clearCache();
+        return solver.solve(current);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.battleship.benchmarks;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import com.example.battleship.models.Ship;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures full fleet generation and board clearing. The legacy variants reproduce the
+ * rejection-sampling {@code placeShip} loop and the nested clearing loop that
+ * {@code BoardGameController} used before the bitboard, so both generations can be compared.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FleetBenchmark {
+
+    private final int[] fleet = Fleet.standard();
+    private final int[] layout = new int[fleet.length];
+    private final boolean[][] matrix = new boolean[Bitboard.SIZE][Bitboard.SIZE];
+    private final Bitboard bitboard = new Bitboard();
+    private final GameEngine engine = new GameEngine();
+    private SplittableRandom random;
+    private FleetGenerator generator;
+
+    /**
+     * Creates a seeded generator.
+     */
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(7);
+        generator = new FleetGenerator(fleet, random);
+    }
+
+    /**
+     * Generates a layout from the placement table.
+     *
+     * @return The generated layout.
+     */
+    @Benchmark
+    public int[] generateLayout() {
+        generator.generate(layout);
+        return layout;
+    }
+
+    /**
+     * Generates a layout and applies it to the engine, as {@code initShips} does.
+     *
+     * @return The engine board.
+     */
+    @Benchmark
+    public Bitboard engineRandomizeFleet() {
+        engine.randomizeFleet(generator);
+        return engine.getBoard();
+    }
+
+    /**
+     * Generates a fleet with the legacy rejection-sampling loop on a {@code boolean[][]} board.
+     *
+     * @return The filled board.
+     */
+    @Benchmark
+    public boolean[][] legacyPlaceShip() {
+        clearMatrix();
+        for (int length : fleet) {
+            Ship ship = new Ship(length);
+            int x;
+            int y;
+            do {
+                x = random.nextInt(Bitboard.SIZE - length + 1);
+                y = random.nextInt(Bitboard.SIZE);
+                ship.setPosicion(x, y);
+            } while (!ship.validarPosicion(x, y, matrix));
+            ship.ocuparPosicionEnTablero(matrix);
+        }
+        return matrix;
+    }
+
+    /**
+     * Clears the bitboard.
+     *
+     * @return The cleared board.
+     */
+    @Benchmark
+    public Bitboard clearBitboard() {
+        bitboard.or(-1L, Bitboard.HI_MASK);
+        bitboard.clear();
+        return bitboard;
+    }
+
+    /**
+     * Clears the legacy matrix cell by cell.
+     *
+     * @return The cleared board.
+     */
+    @Benchmark
+    public boolean[][] clearMatrixBoard() {
+        matrix[3][4] = true;
+        clearMatrix();
+        return matrix;
+    }
+
+    private void clearMatrix() {
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix[i].length; j++) {
+                matrix[i][j] = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.battleship.benchmarks;
+
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import com.example.battleship.models.FleetValidator;
+import com.example.battleship.models.PlacementTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures bulk validation of submitted fleets with {@link FleetValidator#validateBatch}, in layouts
+ * per second. The batch mixes random legal layouts (many of which have touching ships) with layouts
+ * corrupted the way a hostile client might: a ship moved off the board, a wrong length or a missing ship.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FleetValidatorBenchmark {
+
+    private static final int LAYOUTS = 100_000;
+
+    @Param({"false", "true"})
+    public boolean noTouch;
+
+    private ByteBuffer batch;
+    private FleetValidator validator;
+    private final FleetValidator.Verdict[] verdicts = new FleetValidator.Verdict[LAYOUTS];
+    private final int[] ships = new int[LAYOUTS];
+
+    /**
+     * Generates the batch.
+     */
+    @Setup
+    public void setUp() {
+        int[] fleet = Fleet.standard();
+        SplittableRandom random = new SplittableRandom(23);
+        FleetGenerator generator = new FleetGenerator(fleet, random);
+        int[] placements = new int[fleet.length];
+        batch = ByteBuffer.allocate(LAYOUTS * (1 + 2 * fleet.length));
+        for (int i = 0; i < LAYOUTS; i++) {
+            generator.generate(placements);
+            int corruption = random.nextInt(20);
+            int count = corruption == 0 ? fleet.length - 1 : fleet.length;
+            batch.put((byte) count);
+            for (int s = 0; s < count; s++) {
+                int id = placements[s];
+                int length = corruption == 1 && s == 0 ? fleet[s] + 1 : fleet[s];
+                int x = corruption == 2 && s == 0 ? 9 : PlacementTable.x(id);
+                batch.put((byte) length).put(FleetValidator.encode(PlacementTable.isHorizontal(id), x, PlacementTable.y(id)));
+            }
+        }
+        batch.flip();
+        validator = new FleetValidator(fleet, noTouch);
+    }
+
+    /**
+     * Validates the whole batch.
+     *
+     * @return The number of layouts read.
+     */
+    @Benchmark
+    @OperationsPerInvocation(LAYOUTS)
+    public int validateBatch() {
+        batch.rewind();
+        return validator.validateBatch(batch, verdicts, ships);
+    }
+}
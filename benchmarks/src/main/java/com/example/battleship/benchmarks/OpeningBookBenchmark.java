@@ -0,0 +1,111 @@
+package com.example.battleship.benchmarks;
+
+import com.example.battleship.ai.DensityStrategy;
+import com.example.battleship.ai.OpeningBook;
+import com.example.battleship.ai.OpeningBookGenerator;
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.engine.Observation;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of the density strategy's opening moves with and without an
+ * {@link OpeningBook}. The book is generated during setup, from a smaller sample than the build
+ * profile uses, and the measured positions are the ones its games reach in their first shots.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class OpeningBookBenchmark {
+
+    private static final int SHOTS = 6;
+
+    @Param({"false", "true"})
+    public boolean book;
+
+    private final List<Observation> positions = new ArrayList<>();
+    private final SplittableRandom random = new SplittableRandom(3);
+    private ForkJoinPool pool;
+    private Path file;
+    private DensityStrategy strategy;
+    private int next;
+
+    /**
+     * Generates the book and collects the opening positions of a few games played from it.
+     *
+     * @throws IOException If the book cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pool = new ForkJoinPool();
+        file = Files.createTempFile("opening-book", ".bin");
+        OpeningBookGenerator generator = new OpeningBookGenerator(Fleet.standard(), pool, 100_000, 1);
+        generator.play(300, SHOTS);
+        generator.write(file, 3);
+        OpeningBook opening = OpeningBook.open(file);
+        strategy = new DensityStrategy(pool, DensityStrategy.DEFAULT_SAMPLES, DensityStrategy.DEFAULT_BUDGET_MILLIS,
+                book ? opening : null);
+
+        GameEngine engine = new GameEngine();
+        FleetGenerator fleets = new FleetGenerator(Fleet.standard(), new SplittableRandom(8));
+        Observation observation = new Observation(Fleet.standard());
+        while (positions.size() < 256) {
+            engine.randomizeFleet(fleets);
+            engine.start();
+            for (int shot = 0; shot < SHOTS; shot++) {
+                engine.observe(observation);
+                int cell = opening.bestShot(observation, random);
+                if (cell < 0) break;
+                positions.add(new Observation(observation));
+                engine.fire(cell);
+            }
+        }
+    }
+
+    /**
+     * Deletes the book and shuts the sampling pool down.
+     *
+     * @throws IOException If the book cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Chooses the shot for the next opening position.
+     *
+     * @return The chosen cell.
+     */
+    @Benchmark
+    public int nextShot() {
+        next = (next + 1) % positions.size();
+        return strategy.nextShot(positions.get(next), random);
+    }
+}
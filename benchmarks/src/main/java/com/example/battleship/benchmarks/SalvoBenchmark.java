@@ -0,0 +1,110 @@
+package com.example.battleship.benchmarks;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.engine.SalvoResult;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures complete salvo games against precomputed random fleets: every turn fires a precomputed salvo,
+ * resolved either at once with {@link GameEngine#fireSalvo} or cell by cell with
+ * {@link GameEngine#fire(int)}. Target selection is left out so that only resolution is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SalvoBenchmark {
+
+    private static final int SALVOS = 1024;
+
+    @Param({"5"})
+    public int shots;
+
+    private final GameEngine engine = new GameEngine();
+    private final SalvoResult result = new SalvoResult(Fleet.standard().length);
+    private final long[] salvoLo = new long[SALVOS];
+    private final long[] salvoHi = new long[SALVOS];
+    private final int[][] layouts = new int[SALVOS][];
+    private int next;
+    private int game;
+
+    /**
+     * Precomputes the fleets and the salvos.
+     */
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(13);
+        FleetGenerator generator = new FleetGenerator(Fleet.standard(), random);
+        for (int i = 0; i < SALVOS; i++) {
+            layouts[i] = new int[Fleet.standard().length];
+            generator.generate(layouts[i]);
+            for (int k = 0; k < shots; k++) {
+                int cell = random.nextInt(Bitboard.CELLS);
+                if (cell < 64) {
+                    salvoLo[i] |= 1L << cell;
+                } else {
+                    salvoHi[i] |= 1L << (cell - 64);
+                }
+            }
+        }
+    }
+
+    /**
+     * Plays a game resolving each salvo as one mask.
+     *
+     * @return The number of turns played.
+     */
+    @Benchmark
+    public int fireSalvo() {
+        engine.placeFleet(layouts[game++ & (SALVOS - 1)]);
+        engine.start();
+        int turns = 0;
+        while (!engine.isGameOver()) {
+            int i = next++ & (SALVOS - 1);
+            engine.fireSalvo(salvoLo[i], salvoHi[i], result);
+            turns++;
+        }
+        return turns;
+    }
+
+    /**
+     * Plays a game firing the cells of each salvo one by one.
+     *
+     * @return The number of turns played.
+     */
+    @Benchmark
+    public int fireCellByCell() {
+        engine.placeFleet(layouts[game++ & (SALVOS - 1)]);
+        engine.start();
+        int turns = 0;
+        while (!engine.isGameOver()) {
+            int i = next++ & (SALVOS - 1);
+            for (long w = salvoLo[i]; w != 0 && !engine.isGameOver(); w &= w - 1) {
+                engine.fire(Long.numberOfTrailingZeros(w));
+            }
+            for (long w = salvoHi[i]; w != 0 && !engine.isGameOver(); w &= w - 1) {
+                engine.fire(64 + Long.numberOfTrailingZeros(w));
+            }
+            turns++;
+        }
+        return turns;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.battleship.benchmarks;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import com.example.battleship.persistence.SessionStore;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Load test for the {@link SessionStore}. Fills the store with games in progress, many more than fit
+ * in memory, then plays random moves on random games: each move loads a game, paging it in from the
+ * spill file if needed, fires one shot and stores it back. Reports the move rate and the heap use and
+ * garbage collection activity after each phase, which should stay flat as the game count grows.
+ *
+ * <p>Options: {@code --sessions <n>} (default 2,000,000), {@code --capacity <n>} games kept in memory
+ * (default 500,000), {@code --moves <n>} (default 2,000,000) and {@code --ttl <ms>} (default 60,000).</p>
+ */
+public class SessionStoreLoad {
+
+    /**
+     * The entry point of the load test.
+     *
+     * @param args The command-line options.
+     * @throws Exception If the spill file cannot be created.
+     */
+    public static void main(String[] args) throws Exception {
+        int sessions = 2_000_000;
+        int capacity = 500_000;
+        int moves = 2_000_000;
+        long ttl = 60_000;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--sessions":
+                    sessions = Integer.parseInt(args[++i]);
+                    break;
+                case "--capacity":
+                    capacity = Integer.parseInt(args[++i]);
+                    break;
+                case "--moves":
+                    moves = Integer.parseInt(args[++i]);
+                    break;
+                case "--ttl":
+                    ttl = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    System.err.println("Usage: SessionStoreLoad [--sessions n] [--capacity n] [--moves n] [--ttl ms]");
+                    return;
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(17);
+        FleetGenerator generator = new FleetGenerator(Fleet.standard(), random);
+        GameEngine engine = new GameEngine();
+        Path spill = Files.createTempFile("battleship-sessions", ".spill");
+        try (SessionStore store = new SessionStore(Fleet.standard(), capacity, spill, ttl)) {
+            report("Empty store", store, 0, 0);
+
+            long start = System.nanoTime();
+            for (int id = 0; id < sessions; id++) {
+                engine.randomizeFleet(generator);
+                engine.start();
+                for (int shot = random.nextInt(40); shot > 0; shot--) {
+                    engine.fire(random.nextInt(Bitboard.CELLS));
+                }
+                store.put(id, engine, 0);
+            }
+            report("Stored " + sessions + " games", store, sessions, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            int finished = 0;
+            for (int move = 0; move < moves; move++) {
+                long id = random.nextInt(sessions);
+                if (!store.load(id, engine)) continue;
+                engine.fire(random.nextInt(Bitboard.CELLS));
+                if (engine.isGameOver()) {
+                    store.remove(id);
+                    finished++;
+                } else {
+                    store.put(id, engine, move);
+                }
+            }
+            store.evictIdle();
+            report("Played " + moves + " moves (" + finished + " games over)", store, moves, System.nanoTime() - start);
+        }
+    }
+
+    private static void report(String phase, SessionStore store, long operations, long nanos) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long collections = 0;
+        long collectionMillis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collections += Math.max(0, collector.getCollectionCount());
+            collectionMillis += Math.max(0, collector.getCollectionTime());
+        }
+        System.gc();
+        System.out.printf("%s: %d resident, %d spilled, heap %.1f MB, %d collections (%d ms)%s%n",
+                phase, store.getResidentCount(), store.getSpilledCount(),
+                memory.getHeapMemoryUsage().getUsed() / 1e6, collections, collectionMillis,
+                nanos > 0 ? String.format(", %.0f ops/s", operations * 1e9 / nanos) : "");
+    }
+}
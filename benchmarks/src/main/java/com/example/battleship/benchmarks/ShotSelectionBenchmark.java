@@ -0,0 +1,91 @@
+package com.example.battleship.benchmarks;
+
+import com.example.battleship.ai.Strategies;
+import com.example.battleship.ai.TargetingStrategy;
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.engine.Observation;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-move latency of every targeting strategy. Each invocation chooses a shot
+ * for the current observation and fires it; a new game starts whenever the fleet is sunk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ShotSelectionBenchmark {
+
+    @Param({"random", "hunt", "density"})
+    public String strategy;
+
+    @Param({"1000"})
+    public int samples;
+
+    private final GameEngine engine = new GameEngine();
+    private final Observation observation = new Observation(Fleet.standard());
+    private ForkJoinPool pool;
+    private TargetingStrategy targeting;
+    private SplittableRandom random;
+    private FleetGenerator generator;
+
+    /**
+     * Creates the strategy and the first game.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool();
+        targeting = Strategies.byName(strategy, pool, samples, 1_000);
+        random = new SplittableRandom(11);
+        generator = new FleetGenerator(Fleet.standard(), random);
+        newGame();
+    }
+
+    /**
+     * Shuts the sampling pool down.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private void newGame() {
+        engine.randomizeFleet(generator);
+        engine.start();
+    }
+
+    /**
+     * Chooses and fires one shot.
+     *
+     * @return The chosen cell.
+     */
+    @Benchmark
+    public int nextShot() {
+        if (engine.isGameOver()) {
+            newGame();
+        }
+        int cell = targeting.nextShot(engine.observe(observation), random);
+        engine.fire(cell);
+        return cell;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.battleship.benchmarks;
+
+import com.example.battleship.models.BoardConfig;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.SparseBoard;
+import com.example.battleship.models.SparsePlacer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures placement validation and moves on large {@link SparseBoard}s filled with copies of the
+ * standard fleet, to check that their cost stays logarithmic in the number of ships.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SparseBoardBenchmark {
+
+    private static final int ANCHORS = 1024;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"10", "1000"})
+    public int fleets;
+
+    private SparseBoard board;
+    private final int[] xs = new int[ANCHORS];
+    private final int[] ys = new int[ANCHORS];
+    private final boolean[] horizontal = new boolean[ANCHORS];
+    private int next;
+
+    /**
+     * Fills a board and precomputes the anchors to validate.
+     */
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        board = new SparseBoard(BoardConfig.repeated(size, size, Fleet.standard(), fleets));
+        if (!new SparsePlacer(random).place(board)) {
+            throw new IllegalStateException("Could not place " + fleets + " fleets on a " + size + "x" + size + " board");
+        }
+        for (int i = 0; i < ANCHORS; i++) {
+            horizontal[i] = random.nextBoolean();
+            xs[i] = random.nextInt(size - (horizontal[i] ? 3 : 0));
+            ys[i] = random.nextInt(size - (horizontal[i] ? 0 : 3));
+        }
+    }
+
+    private int nextAnchor() {
+        next = (next + 1) & (ANCHORS - 1);
+        return next;
+    }
+
+    /**
+     * Validates a placement of a length-4 ship.
+     *
+     * @return The validation result.
+     */
+    @Benchmark
+    public boolean canPlace() {
+        int i = nextAnchor();
+        return board.canPlace(4, horizontal[i], xs[i], ys[i]);
+    }
+
+    /**
+     * Tries to move the first ship of the fleet, which re-indexes it when the move is valid.
+     *
+     * @return Whether the ship moved.
+     */
+    @Benchmark
+    public boolean move() {
+        int i = nextAnchor();
+        return board.move(0, horizontal[i], xs[i], ys[i]);
+    }
+}
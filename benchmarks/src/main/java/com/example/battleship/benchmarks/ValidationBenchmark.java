@@ -0,0 +1,99 @@
+package com.example.battleship.benchmarks;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import com.example.battleship.models.Ship;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures placement validation: {@code Ship.validarPosicion} on the legacy matrix and on the
+ * bitboard, and {@code GameEngine.canPlace}, which backs {@code BoardGameController.isValidPosition}.
+ * Every invocation validates a precomputed pseudo-random anchor against a full standard fleet.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationBenchmark {
+
+    private static final int ANCHORS = 1024;
+
+    private final boolean[][] matrix = new boolean[Bitboard.SIZE][Bitboard.SIZE];
+    private final Bitboard bitboard = new Bitboard();
+    private final GameEngine engine = new GameEngine();
+    private final Ship probe = new Ship(3);
+    private final int[] xs = new int[ANCHORS];
+    private final int[] ys = new int[ANCHORS];
+    private int next;
+
+    /**
+     * Places a random standard fleet and precomputes the anchors to validate.
+     */
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        engine.randomizeFleet(new FleetGenerator(Fleet.standard(), random));
+        bitboard.copyFrom(engine.getBoard());
+        for (Ship ship : engine.getShips()) {
+            ship.ocuparPosicionEnTablero(matrix);
+        }
+        for (int i = 0; i < ANCHORS; i++) {
+            xs[i] = random.nextInt(Bitboard.SIZE - probe.getLongitud() + 1);
+            ys[i] = random.nextInt(Bitboard.SIZE);
+        }
+    }
+
+    private int nextAnchor() {
+        next = (next + 1) & (ANCHORS - 1);
+        return next;
+    }
+
+    /**
+     * Validates with the per-cell walk over the {@code boolean[][]} board.
+     *
+     * @return The validation result.
+     */
+    @Benchmark
+    public boolean shipValidarPosicionMatrix() {
+        int i = nextAnchor();
+        return probe.validarPosicion(xs[i], ys[i], matrix);
+    }
+
+    /**
+     * Validates with a precomputed mask against the bitboard.
+     *
+     * @return The validation result.
+     */
+    @Benchmark
+    public boolean shipValidarPosicionBitboard() {
+        int i = nextAnchor();
+        return probe.validarPosicion(xs[i], ys[i], bitboard);
+    }
+
+    /**
+     * Validates a move of the first ship through the engine, as the board controller does on drop.
+     *
+     * @return The validation result.
+     */
+    @Benchmark
+    public boolean engineCanPlace() {
+        int i = nextAnchor();
+        return engine.canPlace(0, xs[i], ys[i], true);
+    }
+}
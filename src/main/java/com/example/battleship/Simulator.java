@@ -0,0 +1,83 @@
+package com.example.battleship;
+
+import com.example.battleship.ai.DensityStrategy;
+import com.example.battleship.ai.Strategies;
+import com.example.battleship.ai.TargetingStrategy;
+import com.example.battleship.engine.SalvoRule;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.simulation.SimulationRunner;
+import com.example.battleship.simulation.SimulationStats;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Headless batch mode for the Battleship application.
+ * Plays N complete games of a targeting strategy against random standard fleets on every core
+ * and prints the shots-to-win histogram, mean, percentiles and games per second. With
+ * {@code --salvo} every turn fires a salvo of K shots, or one per ship afloat, and the histogram
+ * counts turns instead of shots.
+ *
+ * <p>Usage: {@code Simulator [--games=N] [--strategy=random|hunt|density|book] [--seed=S]
+ * [--threads=T] [--samples=K] [--budget-ms=M] [--salvo=K|afloat]}</p>
+ */
+public class Simulator {
+
+    /**
+     * The entry point of the batch mode.
+     *
+     * @param args Command-line options, as described in the class documentation.
+     */
+    public static void main(String[] args) {
+        long games = 100_000;
+        String strategyName = "hunt";
+        long seed = System.nanoTime();
+        int threads = Runtime.getRuntime().availableProcessors();
+        int samples = 2_000;
+        long budgetMillis = DensityStrategy.DEFAULT_BUDGET_MILLIS;
+        SalvoRule salvo = null;
+
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            switch (option[0]) {
+                case "--games":
+                    games = Long.parseLong(option[1]);
+                    break;
+                case "--strategy":
+                    strategyName = option[1];
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(option[1]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(option[1]);
+                    break;
+                case "--samples":
+                    samples = Integer.parseInt(option[1]);
+                    break;
+                case "--budget-ms":
+                    budgetMillis = Long.parseLong(option[1]);
+                    break;
+                case "--salvo":
+                    salvo = SalvoRule.parse(option[1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + option[0]);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            TargetingStrategy strategy = Strategies.byName(strategyName, pool, samples, budgetMillis);
+            SimulationRunner runner = new SimulationRunner(pool, Fleet.standard(), SimulationRunner.DEFAULT_CHUNK);
+            System.out.printf("strategy=%s threads=%d seed=%d%s%n", strategyName, threads, seed,
+                    salvo == null ? "" : " salvo=" + salvo);
+            SimulationStats stats = runner.run(strategy, games, seed, salvo);
+            System.out.print(stats.report());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
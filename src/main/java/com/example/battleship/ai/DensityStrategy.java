@@ -0,0 +1,155 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.engine.Observation;
+import com.example.battleship.models.Bitboard;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Probability-density opponent. Each shot goes to the unshot cell that is most often occupied in
+ * fleet layouts sampled consistently with the hits, misses and sunk ships seen so far.
+ * With no unresolved hits the strategy hunts over the whole board; once a ship has been hit it
+ * targets the cells next to the hits. Sampling runs in parallel on a {@link ForkJoinPool} and stops
+ * at a configurable time budget per move; when no consistent layout is sampled in time, the
+ * single-ship placement density is used instead. Positions found in an {@link OpeningBook} are
+ * answered from the book without sampling.
+ */
+public class DensityStrategy implements TargetingStrategy {
+
+    /** Default number of layouts sampled per move. */
+    public static final int DEFAULT_SAMPLES = 20_000;
+
+    /** Default time budget per move, in milliseconds. */
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+
+    private final ForkJoinPool pool;
+    private final HeatMapSampler sampler;
+    private final int maxSamples;
+    private final long budgetNanos;
+    private final OpeningBook book;
+
+    /**
+     * Creates a strategy with the default budget, sampling on the common fork/join pool and opening
+     * from the bundled {@link OpeningBook#standard() book}, if it can be read.
+     */
+    public DensityStrategy() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SAMPLES, DEFAULT_BUDGET_MILLIS, OpeningBook.standard());
+    }
+
+    /**
+     * Creates a strategy with a custom sampling budget.
+     *
+     * @param pool         The pool that runs the sampling tasks.
+     * @param maxSamples   The number of layouts sampled per move.
+     * @param budgetMillis The time budget per move, in milliseconds.
+     */
+    public DensityStrategy(ForkJoinPool pool, int maxSamples, long budgetMillis) {
+        this(pool, maxSamples, budgetMillis, null);
+    }
+
+    /**
+     * Creates a strategy with a custom sampling budget and an opening book.
+     *
+     * @param pool         The pool that runs the sampling tasks.
+     * @param maxSamples   The number of layouts sampled per move.
+     * @param budgetMillis The time budget per move, in milliseconds.
+     * @param book         The book consulted before sampling, or {@code null} to always sample.
+     */
+    public DensityStrategy(ForkJoinPool pool, int maxSamples, long budgetMillis, OpeningBook book) {
+        this.pool = pool;
+        this.sampler = new HeatMapSampler(pool);
+        this.maxSamples = maxSamples;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.book = book;
+    }
+
+    @Override
+    public int nextShot(Observation observation, RandomGenerator random) {
+        if (book != null) {
+            int shot = book.bestShot(observation, random);
+            if (shot >= 0) return shot;
+        }
+        return HeatMaps.bestCell(heatMap(observation, random), observation, random);
+    }
+
+    /**
+     * Chooses a salvo from a single heat map: the cells are the most likely ones, picked in order of
+     * weight with target mode applied as for a single shot.
+     *
+     * @param observation The shots, hits and sunk ships seen so far.
+     * @param shots       The number of cells to choose; at most the number of cells not fired at yet.
+     * @param random      The source of randomness for tie-breaking and sampling.
+     * @param out         Receives the low word of the chosen cells in entry 0 and the high word in entry 1.
+     */
+    @Override
+    public void nextSalvo(Observation observation, int shots, RandomGenerator random, long[] out) {
+        long[] heat = heatMap(observation, random);
+        Observation pending = new Observation(observation);
+        long lo = 0L;
+        long hi = 0L;
+        for (int i = 0; i < shots; i++) {
+            int cell = HeatMaps.bestCell(heat, pending, random);
+            pending.getShots().set(cell);
+            if (cell < 64) {
+                lo |= 1L << cell;
+            } else {
+                hi |= 1L << (cell - 64);
+            }
+        }
+        out[0] = lo;
+        out[1] = hi;
+    }
+
+    /**
+     * Estimates the heat map for an observation within this strategy's budget.
+     *
+     * @param observation The observation the sampled layouts must agree with.
+     * @param random      The source of randomness; split into one generator per sampling task.
+     * @return The heat map: entries 0-99 hold the weight of each cell and entry 100 the total weight.
+     */
+    public long[] heatMap(Observation observation, RandomGenerator random) {
+        if (book != null) {
+            long[] heat = book.heatMap(observation);
+            if (heat != null) return heat;
+        }
+        SplittableRandom root = random instanceof SplittableRandom
+                ? ((SplittableRandom) random).split()
+                : new SplittableRandom(random.nextLong());
+        long[] heat = sampler.sample(observation, maxSamples, System.nanoTime() + budgetNanos, root);
+        if (heat[Bitboard.CELLS] == 0) {
+            HeatMaps.placementDensity(observation, heat);
+        }
+        return heat;
+    }
+
+    /**
+     * Chooses the next shot off the calling thread, so a UI thread never waits for sampling.
+     *
+     * @param observation The observation to play against; it is copied before the call returns.
+     * @return A future completed with the bit index of the chosen cell.
+     */
+    public CompletableFuture<Integer> nextShotAsync(Observation observation) {
+        Observation snapshot = new Observation(observation);
+        return CompletableFuture.supplyAsync(() -> nextShot(snapshot, new SplittableRandom()), pool);
+    }
+
+    /**
+     * Chooses the cells of a salvo off the calling thread.
+     *
+     * @param observation The observation to play against; it is copied before the call returns.
+     * @param shots       The number of cells to choose.
+     * @return A future completed with the low and high words of the chosen cells.
+     */
+    public CompletableFuture<long[]> nextSalvoAsync(Observation observation, int shots) {
+        Observation snapshot = new Observation(observation);
+        return CompletableFuture.supplyAsync(() -> {
+            long[] salvo = new long[2];
+            nextSalvo(snapshot, shots, new SplittableRandom(), salvo);
+            return salvo;
+        }, pool);
+    }
+}
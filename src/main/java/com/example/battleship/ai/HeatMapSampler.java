@@ -0,0 +1,111 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.engine.Observation;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.FleetGenerator;
+import com.example.battleship.models.PlacementTable;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Estimates a per-cell occupancy heat map by Monte Carlo sampling of fleet layouts that are
+ * consistent with an {@link Observation}: no ship covers a miss or a sunk ship, and every hit on a
+ * ship still afloat is covered. Sampling is split across a {@link ForkJoinPool} and every leaf task
+ * stops at a shared deadline, so more cores give more samples within the same time budget.
+ */
+public class HeatMapSampler {
+
+    private static final int LEAF_SAMPLES = 1024;
+    private static final int DEADLINE_CHECK_INTERVAL = 32;
+    private static final int MAX_BACKTRACKS = 64;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a sampler that runs on the given pool.
+     *
+     * @param pool The fork/join pool that runs the sampling tasks.
+     */
+    public HeatMapSampler(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Samples consistent layouts until either the sample count or the deadline is reached.
+     *
+     * @param observation   The observation the layouts must agree with.
+     * @param maxSamples    The number of layouts to draw.
+     * @param deadlineNanos The {@link System#nanoTime()} value after which sampling stops.
+     * @param random        The root random generator; it is split for every task.
+     * @return The heat map: entry 100 holds the number of accepted layouts and entries 0-99 the
+     *         number of accepted layouts that cover each cell.
+     */
+    public long[] sample(Observation observation, int maxSamples, long deadlineNanos, SplittableRandom random) {
+        Task task = new Task(observation, maxSamples, deadlineNanos, random);
+        return pool.invoke(task);
+    }
+
+    private static final class Task extends RecursiveTask<long[]> {
+        private final Observation observation;
+        private final int samples;
+        private final long deadlineNanos;
+        private final SplittableRandom random;
+
+        Task(Observation observation, int samples, long deadlineNanos, SplittableRandom random) {
+            this.observation = observation;
+            this.samples = samples;
+            this.deadlineNanos = deadlineNanos;
+            this.random = random;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (samples <= LEAF_SAMPLES) {
+                return sampleLeaf();
+            }
+            int half = samples / 2;
+            Task left = new Task(observation, half, deadlineNanos, random.split());
+            Task right = new Task(observation, samples - half, deadlineNanos, random.split());
+            left.fork();
+            long[] counts = right.compute();
+            long[] other = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other[i];
+            }
+            return counts;
+        }
+
+        private long[] sampleLeaf() {
+            long[] counts = new long[Bitboard.CELLS + 1];
+            FleetGenerator generator = new FleetGenerator(observation.getRemainingFleet(), random);
+            generator.setMaxBacktracks(MAX_BACKTRACKS);
+            int[] layout = new int[observation.getRemainingFleet().length];
+            long blockedLo = observation.blockedLo();
+            long blockedHi = observation.blockedHi();
+            long openLo = observation.openHitsLo();
+            long openHi = observation.openHitsHi();
+
+            for (int s = 0; s < samples; s++) {
+                if (s % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - deadlineNanos > 0) break;
+                if (!generator.generate(blockedLo, blockedHi, layout)) continue;
+                long lo = 0L;
+                long hi = 0L;
+                for (int id : layout) {
+                    lo |= PlacementTable.lo(id);
+                    hi |= PlacementTable.hi(id);
+                }
+                if ((lo & openLo) != openLo || (hi & openHi) != openHi) continue;
+                counts[Bitboard.CELLS]++;
+                for (long w = lo; w != 0; w &= w - 1) {
+                    counts[Long.numberOfTrailingZeros(w)]++;
+                }
+                for (long w = hi; w != 0; w &= w - 1) {
+                    counts[64 + Long.numberOfTrailingZeros(w)]++;
+                }
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.engine.Observation;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.PlacementTable;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Helpers shared by the targeting strategies to build and read per-cell heat maps.
+ * A heat map is a {@code long[101]}: entries 0-99 hold a weight per cell and entry 100 the total weight.
+ */
+public final class HeatMaps {
+
+    private static final int TARGET_WEIGHT = 64;
+
+    private HeatMaps() {
+    }
+
+    /**
+     * Builds a heat map by counting, for every remaining ship, the single-ship placements that avoid
+     * misses and sunk ships. Placements that run through unresolved hits are weighted up, which turns
+     * the map into a target-mode map as soon as a ship has been hit.
+     *
+     * @param observation The observation to score.
+     * @param out         Receives the heat map; must have at least 101 entries.
+     * @return The same array, for chaining.
+     */
+    public static long[] placementDensity(Observation observation, long[] out) {
+        Arrays.fill(out, 0L);
+        long blockedLo = observation.blockedLo();
+        long blockedHi = observation.blockedHi();
+        long openLo = observation.openHitsLo();
+        long openHi = observation.openHitsHi();
+        int previous = -1;
+        for (int length : observation.getRemainingFleet()) {
+            if (length == previous) continue;
+            previous = length;
+            int first = PlacementTable.first(length);
+            int end = first + PlacementTable.count(length);
+            for (int id = first; id < end; id++) {
+                long lo = PlacementTable.lo(id);
+                long hi = PlacementTable.hi(id);
+                if (((lo & blockedLo) | (hi & blockedHi)) != 0) continue;
+                int through = Long.bitCount(lo & openLo) + Long.bitCount(hi & openHi);
+                long weight = through == 0 ? 1 : (long) TARGET_WEIGHT * through;
+                for (long w = lo; w != 0; w &= w - 1) {
+                    out[Long.numberOfTrailingZeros(w)] += weight;
+                }
+                for (long w = hi; w != 0; w &= w - 1) {
+                    out[64 + Long.numberOfTrailingZeros(w)] += weight;
+                }
+                out[Bitboard.CELLS] += weight;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Checks if the observation has hits on ships still afloat, which puts a strategy in target mode.
+     *
+     * @param observation The observation to inspect.
+     * @return {@code true} in target mode, {@code false} in hunt mode.
+     */
+    public static boolean isTargetMode(Observation observation) {
+        return (observation.openHitsLo() | observation.openHitsHi()) != 0;
+    }
+
+    /**
+     * Checks if a cell is orthogonally adjacent to an unresolved hit.
+     *
+     * @param observation The observation to inspect.
+     * @param cell        The bit index of the cell.
+     * @return {@code true} if a neighbour of the cell is an unresolved hit, {@code false} otherwise.
+     */
+    public static boolean isNextToOpenHit(Observation observation, int cell) {
+        int x = cell % Bitboard.SIZE;
+        int y = cell / Bitboard.SIZE;
+        return (x > 0 && isOpenHit(observation, cell - 1))
+                || (x < Bitboard.SIZE - 1 && isOpenHit(observation, cell + 1))
+                || (y > 0 && isOpenHit(observation, cell - Bitboard.SIZE))
+                || (y < Bitboard.SIZE - 1 && isOpenHit(observation, cell + Bitboard.SIZE));
+    }
+
+    private static boolean isOpenHit(Observation observation, int cell) {
+        return observation.getHits().get(cell) && !observation.getSunk().get(cell);
+    }
+
+    /**
+     * Picks the unshot cell with the highest weight, breaking ties at random.
+     * In target mode only cells next to an unresolved hit are considered while any of them has weight.
+     *
+     * @param heat        The heat map.
+     * @param observation The observation the map was built for.
+     * @param random      The source of randomness for tie-breaking.
+     * @return The bit index of the chosen cell.
+     * @throws IllegalStateException If every cell has already been fired at.
+     */
+    public static int bestCell(long[] heat, Observation observation, RandomGenerator random) {
+        return bestCell(heat, observation, random, 0L);
+    }
+
+    /**
+     * Picks uniformly among the unshot cells whose weight is within {@code slack} of the highest one,
+     * so that positions with several almost equally good shots are not always answered the same way.
+     * In target mode only cells next to an unresolved hit are considered while any of them has weight.
+     *
+     * @param heat        The heat map.
+     * @param observation The observation the map was built for.
+     * @param random      The source of randomness for the choice.
+     * @param slack       How far below the highest weight a cell may be and still be chosen.
+     * @return The bit index of the chosen cell.
+     * @throws IllegalStateException If every cell has already been fired at.
+     */
+    public static int bestCell(long[] heat, Observation observation, RandomGenerator random, long slack) {
+        if (isTargetMode(observation)) {
+            int cell = bestCell(heat, observation, random, slack, true);
+            if (cell >= 0 && heat[cell] > 0) return cell;
+        }
+        int cell = bestCell(heat, observation, random, slack, false);
+        if (cell < 0) {
+            throw new IllegalStateException("Every cell has already been fired at");
+        }
+        return cell;
+    }
+
+    private static int bestCell(long[] heat, Observation observation, RandomGenerator random, long slack,
+                                boolean adjacentOnly) {
+        Bitboard shots = observation.getShots();
+        long max = Long.MIN_VALUE;
+        if (slack > 0) {
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                if (shots.get(cell) || (adjacentOnly && !isNextToOpenHit(observation, cell))) continue;
+                max = Math.max(max, heat[cell]);
+            }
+        }
+        int best = -1;
+        int ties = 0;
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            if (shots.get(cell)) continue;
+            if (adjacentOnly && !isNextToOpenHit(observation, cell)) continue;
+            if (slack > 0) {
+                if (heat[cell] >= max - slack && random.nextInt(++ties) == 0) {
+                    best = cell;
+                }
+            } else if (best < 0 || heat[cell] > heat[best]) {
+                best = cell;
+                ties = 1;
+            } else if (heat[cell] == heat[best] && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.engine.Observation;
+import com.example.battleship.models.Bitboard;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Classic hunt/target opponent. In hunt mode it fires at random cells of a checkerboard parity
+ * while every remaining ship is at least two cells long; once a ship has been hit it targets
+ * the unshot neighbours of the unresolved hits, preferring cells in line with two collinear hits.
+ */
+public class HuntTargetStrategy implements TargetingStrategy {
+
+    private static final long PARITY_LO;
+    private static final long PARITY_HI;
+
+    static {
+        long lo = 0L;
+        long hi = 0L;
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            if ((cell % Bitboard.SIZE + cell / Bitboard.SIZE) % 2 != 0) continue;
+            if (cell < 64) {
+                lo |= 1L << cell;
+            } else {
+                hi |= 1L << (cell - 64);
+            }
+        }
+        PARITY_LO = lo;
+        PARITY_HI = hi;
+    }
+
+    @Override
+    public int nextShot(Observation observation, RandomGenerator random) {
+        if (HeatMaps.isTargetMode(observation)) {
+            int cell = target(observation, random);
+            if (cell >= 0) return cell;
+        }
+        long freeLo = ~observation.getShots().getLo();
+        long freeHi = ~observation.getShots().getHi() & Bitboard.HI_MASK;
+        if (smallestShip(observation) > 1) {
+            long parityLo = freeLo & PARITY_LO;
+            long parityHi = freeHi & PARITY_HI;
+            int count = Long.bitCount(parityLo) + Long.bitCount(parityHi);
+            if (count > 0) {
+                return RandomStrategy.nthFreeCell(parityLo, parityHi, random.nextInt(count));
+            }
+        }
+        int count = Long.bitCount(freeLo) + Long.bitCount(freeHi);
+        if (count == 0) {
+            throw new IllegalStateException("Every cell has already been fired at");
+        }
+        return RandomStrategy.nthFreeCell(freeLo, freeHi, random.nextInt(count));
+    }
+
+    private static int target(Observation observation, RandomGenerator random) {
+        Bitboard shots = observation.getShots();
+        int best = -1;
+        int bestScore = 0;
+        int ties = 0;
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            if (shots.get(cell) || !HeatMaps.isNextToOpenHit(observation, cell)) continue;
+            int score = 1 + inLine(observation, cell);
+            if (score > bestScore) {
+                best = cell;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+        return best;
+    }
+
+    private static int inLine(Observation observation, int cell) {
+        int x = cell % Bitboard.SIZE;
+        int y = cell / Bitboard.SIZE;
+        int score = 0;
+        if (x > 1 && isOpenHit(observation, cell - 1) && isOpenHit(observation, cell - 2)) score++;
+        if (x < Bitboard.SIZE - 2 && isOpenHit(observation, cell + 1) && isOpenHit(observation, cell + 2)) score++;
+        if (y > 1 && isOpenHit(observation, cell - Bitboard.SIZE) && isOpenHit(observation, cell - 2 * Bitboard.SIZE)) score++;
+        if (y < Bitboard.SIZE - 2 && isOpenHit(observation, cell + Bitboard.SIZE)
+                && isOpenHit(observation, cell + 2 * Bitboard.SIZE)) score++;
+        return score;
+    }
+
+    private static boolean isOpenHit(Observation observation, int cell) {
+        return observation.getHits().get(cell) && !observation.getSunk().get(cell);
+    }
+
+    private static int smallestShip(Observation observation) {
+        int smallest = Integer.MAX_VALUE;
+        for (int length : observation.getRemainingFleet()) {
+            smallest = Math.min(smallest, length);
+        }
+        return smallest;
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.engine.Observation;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.BoardSymmetry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.random.RandomGenerator;
+
+/**
+ * Read-only table of precomputed opening positions: for every stored observation, the probability
+ * that each cell holds a ship and the best shot. Written ahead of time by {@link OpeningBookGenerator},
+ * bundled with the classes and memory-mapped at run time, so the first moves of a game are answered by a
+ * hash lookup instead of sampling, with no warm-up.
+ *
+ * <p>Positions are stored once per symmetry class: an observation is reduced to its canonical form, the
+ * smallest of its eight images under {@link BoardSymmetry}, and the answer is mapped back through the
+ * same symmetry. A position is identified by its blocked cells (misses and sunk ships), its unresolved
+ * hits and the lengths of the ships still afloat.</p>
+ *
+ * <p>The file starts with a 64-byte header: magic {@code "BSOB"}, version (short), record size (short),
+ * slot count (int, a power of two), entry count (int), the most shots of any stored position (byte),
+ * ship count (byte) and the length of every ship (one byte each, up to 16). An open-addressed hash table
+ * of fixed-size little-endian records follows. Each record holds the canonical blocked and hit masks
+ * (four longs) and the packed remaining fleet (a long, zero for an empty slot), then the best shot
+ * (short) and the probability of every cell scaled to {@value #SCALE} (100 unsigned shorts).</p>
+ *
+ * <p>A book is rejected when it opens if its table has no empty slot, so a probe for a missing position
+ * always ends; probes are capped at the slot count all the same. Lookups only use absolute reads, so a
+ * book can be shared between threads.</p>
+ */
+public final class OpeningBook {
+
+    /** The classpath location of the book for the standard fleet. */
+    public static final String RESOURCE = "/com/example/battleship/opening-book.bin";
+
+    /** System property naming a book file to use instead of the bundled one. */
+    public static final String PATH_PROPERTY = "battleship.openingBook";
+
+    /** The value of a cell that is certainly occupied; entry 100 of a returned heat map. */
+    public static final int SCALE = 0xFFFF;
+
+    /**
+     * How far below the best probability, on the {@link #SCALE} scale, a cell may be and still be picked
+     * by {@link #bestShot(Observation, RandomGenerator)}: half a percent.
+     */
+    public static final int NEAR_TIE = SCALE / 200;
+
+    static final int MAGIC = 0x424F5342;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int MAX_SHIPS = 16;
+    static final int RECORD_SIZE = 248;
+    static final int BEST_OFFSET = 40;
+    static final int HEAT_OFFSET = 42;
+
+    private static final int COUNT_BITS = 5;
+
+    private final ByteBuffer table;
+    private final int mask;
+    private final int entries;
+    private final int maxShots;
+    private final int[] fleet;
+
+    private OpeningBook(ByteBuffer buffer) throws IOException {
+        ByteBuffer header = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException("Not an opening book");
+        }
+        short version = header.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported opening book version " + version);
+        }
+        int recordSize = header.getShort();
+        int slots = header.getInt();
+        this.entries = header.getInt();
+        this.maxShots = header.get() & 0xFF;
+        int ships = header.get() & 0xFF;
+        if (recordSize != RECORD_SIZE || Integer.bitCount(slots) != 1 || entries < 0 || entries >= slots
+                || ships > MAX_SHIPS || buffer.remaining() < HEADER_SIZE + (long) slots * RECORD_SIZE) {
+            throw new IOException("Truncated or inconsistent opening book");
+        }
+        this.fleet = new int[ships];
+        for (int i = 0; i < fleet.length; i++) {
+            fleet[i] = header.get() & 0xFF;
+        }
+        this.table = buffer.duplicate().position(buffer.position() + HEADER_SIZE).slice().order(ByteOrder.LITTLE_ENDIAN);
+        this.mask = slots - 1;
+    }
+
+    /**
+     * Memory-maps a book file.
+     *
+     * @param path The book file.
+     * @return The book.
+     * @throws IOException If the file cannot be read or is not a valid book.
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Returns the book for the standard fleet, loading it on first use: the file named by the
+     * {@value #PATH_PROPERTY} system property if set, the bundled resource otherwise. The resource is
+     * mapped in place when the application runs from a directory and copied into a direct buffer when
+     * it runs from a jar.
+     *
+     * @return The book, or {@code null} if it is missing or cannot be read.
+     */
+    public static OpeningBook standard() {
+        return Standard.BOOK;
+    }
+
+    private static final class Standard {
+        private static final OpeningBook BOOK = load();
+
+        private static OpeningBook load() {
+            String path = System.getProperty(PATH_PROPERTY);
+            URL url = OpeningBook.class.getResource(RESOURCE);
+            if (path == null && url == null) return null;
+            try {
+                if (path != null) {
+                    return open(Path.of(path));
+                }
+                if ("file".equals(url.getProtocol())) {
+                    return open(Path.of(url.toURI()));
+                }
+                try (InputStream in = url.openStream()) {
+                    byte[] bytes = in.readAllBytes();
+                    return new OpeningBook(ByteBuffer.allocateDirect(bytes.length).put(bytes).flip());
+                }
+            } catch (IOException | URISyntaxException e) {
+                System.err.println("Opening book unavailable: " + e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of positions in the book.
+     *
+     * @return The entry count.
+     */
+    public int size() {
+        return entries;
+    }
+
+    /**
+     * Returns the ship lengths of the fleet the book was generated for.
+     *
+     * @return A copy of the fleet.
+     */
+    public int[] getFleet() {
+        return fleet.clone();
+    }
+
+    /**
+     * Returns a best shot for a position: one of the unshot cells whose stored probability is within
+     * {@link #NEAR_TIE} of the highest, picked at random, so that an opponent playing from the book does
+     * not open every game the same way.
+     *
+     * @param observation The position.
+     * @param random      The source of randomness for the choice.
+     * @return The bit index of the shot, or {@code -1} if the position is not in the book.
+     */
+    public int bestShot(Observation observation, RandomGenerator random) {
+        long[] heat = heatMap(observation);
+        return heat == null ? -1 : HeatMaps.bestCell(heat, observation, random, NEAR_TIE);
+    }
+
+    /**
+     * Returns the cell probabilities stored for a position.
+     *
+     * @param observation The position.
+     * @return The heat map: entries 0-99 hold the probability that each cell is occupied, scaled to
+     *         {@link #SCALE}, and entry 100 holds {@link #SCALE}; or {@code null} if the position is not
+     *         in the book.
+     */
+    public long[] heatMap(Observation observation) {
+        long[] key = new long[4];
+        int transform = canonicalize(observation, key);
+        if (transform < 0) return null;
+        int record = find(key, fleetKey(observation.getRemainingFleet()));
+        if (record < 0) return null;
+        long[] heat = new long[Bitboard.CELLS + 1];
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            heat[cell] = table.getShort(record + HEAT_OFFSET + 2 * BoardSymmetry.apply(transform, cell)) & 0xFFFF;
+        }
+        heat[Bitboard.CELLS] = SCALE;
+        return heat;
+    }
+
+    /**
+     * Finds the record of a canonical position.
+     *
+     * @param key      The canonical blocked and hit masks.
+     * @param fleetKey The packed remaining fleet.
+     * @return The offset of the record in the table, or {@code -1} if the position is not in the book.
+     */
+    private int find(long[] key, long fleetKey) {
+        int slot = (int) hash(key, fleetKey) & mask;
+        for (int probe = 0; probe <= mask; probe++, slot = (slot + 1) & mask) {
+            int record = slot * RECORD_SIZE;
+            long stored = table.getLong(record + 32);
+            if (stored == 0) return -1;
+            if (stored == fleetKey && table.getLong(record) == key[0] && table.getLong(record + 8) == key[1]
+                    && table.getLong(record + 16) == key[2] && table.getLong(record + 24) == key[3]) {
+                return record;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reduces a position to its canonical form.
+     *
+     * @param observation The position.
+     * @param key         Receives the canonical blocked low and high words and hit low and high words.
+     * @return The symmetry that maps the position onto its canonical form, or {@code -1} if the position
+     *         has more shots than any position of the book.
+     */
+    private int canonicalize(Observation observation, long[] key) {
+        if (observation.getShots().cardinality() > maxShots) return -1;
+        return canonicalize(observation.blockedLo(), observation.blockedHi(),
+                observation.openHitsLo(), observation.openHitsHi(), key);
+    }
+
+    /**
+     * Reduces a position to its canonical form: the image, under the eight board symmetries, with the
+     * smallest blocked and hit masks compared as unsigned words in order.
+     *
+     * @param blockedLo The low word of the blocked cells.
+     * @param blockedHi The high word of the blocked cells.
+     * @param hitsLo    The low word of the unresolved hits.
+     * @param hitsHi    The high word of the unresolved hits.
+     * @param key       Receives the canonical blocked low and high words and hit low and high words.
+     * @return The symmetry that maps the position onto its canonical form.
+     */
+    static int canonicalize(long blockedLo, long blockedHi, long hitsLo, long hitsHi, long[] key) {
+        long[] image = new long[2];
+        int best = 0;
+        key[0] = blockedLo;
+        key[1] = blockedHi;
+        key[2] = hitsLo;
+        key[3] = hitsHi;
+        for (int t = 1; t < BoardSymmetry.COUNT; t++) {
+            BoardSymmetry.apply(t, blockedLo, blockedHi, image);
+            long lo = image[0];
+            long hi = image[1];
+            int order = compare(lo, hi, key[0], key[1]);
+            if (order > 0) continue;
+            BoardSymmetry.apply(t, hitsLo, hitsHi, image);
+            if (order == 0 && compare(image[0], image[1], key[2], key[3]) >= 0) continue;
+            best = t;
+            key[0] = lo;
+            key[1] = hi;
+            key[2] = image[0];
+            key[3] = image[1];
+        }
+        return best;
+    }
+
+    private static int compare(long lo, long hi, long otherLo, long otherHi) {
+        int order = Long.compareUnsigned(lo, otherLo);
+        return order != 0 ? order : Long.compareUnsigned(hi, otherHi);
+    }
+
+    /**
+     * Packs a fleet into one word: the number of ships of every length, five bits per length.
+     *
+     * @param fleet The ship lengths, in any order.
+     * @return The packed fleet, which is zero only for an empty fleet.
+     */
+    static long fleetKey(int[] fleet) {
+        long key = 0;
+        for (int length : fleet) {
+            key += 1L << (length * COUNT_BITS);
+        }
+        return key;
+    }
+
+    /**
+     * Hashes a canonical position.
+     *
+     * @param key      The canonical blocked and hit masks.
+     * @param fleetKey The packed remaining fleet.
+     * @return The hash.
+     */
+    static long hash(long[] key, long fleetKey) {
+        long h = fleetKey;
+        for (long word : key) {
+            h = (h ^ word) * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 32;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.engine.Observation;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.BoardSymmetry;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Builds an {@link OpeningBook} for the standard fleet. The generator plays games against random
+ * fleets with the book's own policy, the density strategy, for their first shots. Every position
+ * reached is reduced to its canonical form and evaluated once, from a sample of consistent layouts
+ * far larger than a move's time budget allows during a game. Opening positions are still too open for
+ * the exact solver to count. Positions reached in at least a minimum number of games are written to
+ * the book.
+ */
+public class OpeningBookGenerator {
+
+    private final int[] fleet;
+    private final HeatMapSampler sampler;
+    private final int samples;
+    private final Map<Position, Position> positions = new HashMap<>();
+    private final SplittableRandom random;
+
+    /**
+     * Creates a generator.
+     *
+     * @param fleet   The ship lengths of the fleet.
+     * @param pool    The pool used for sampling.
+     * @param samples The number of layouts sampled per position.
+     * @param seed    The seed of the games and the sampling.
+     */
+    public OpeningBookGenerator(int[] fleet, ForkJoinPool pool, int samples, long seed) {
+        if (fleet.length > OpeningBook.MAX_SHIPS) {
+            throw new IllegalArgumentException("At most " + OpeningBook.MAX_SHIPS + " ships are supported");
+        }
+        this.fleet = fleet.clone();
+        this.sampler = new HeatMapSampler(pool);
+        this.samples = samples;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Plays the opening of a number of games, collecting the positions they reach.
+     *
+     * @param games The number of games.
+     * @param shots The number of shots played per game.
+     */
+    public void play(int games, int shots) {
+        GameEngine engine = new GameEngine();
+        FleetGenerator generator = new FleetGenerator(fleet, random.split());
+        Observation observation = new Observation(fleet);
+        long[] key = new long[4];
+        for (int game = 0; game < games; game++) {
+            engine.randomizeFleet(generator);
+            engine.start();
+            for (int shot = 0; shot < shots && !engine.isGameOver(); shot++) {
+                engine.observe(observation);
+                int transform = OpeningBook.canonicalize(observation.blockedLo(), observation.blockedHi(),
+                        observation.openHitsLo(), observation.openHitsHi(), key);
+                Position position = new Position(key, OpeningBook.fleetKey(observation.getRemainingFleet()), shot);
+                Position known = positions.get(position);
+                if (known == null) {
+                    evaluate(position, observation, transform);
+                    positions.put(position, position);
+                    known = position;
+                }
+                known.games++;
+                engine.fire(BoardSymmetry.invert(transform, known.best));
+            }
+        }
+    }
+
+    /**
+     * Computes the cell probabilities and the best shot of a new position, in canonical coordinates.
+     *
+     * @param position    The new position.
+     * @param observation The observation that reached it.
+     * @param transform   The symmetry that maps the observation onto the position.
+     */
+    private void evaluate(Position position, Observation observation, int transform) {
+        long[] heat = sampler.sample(observation, samples, System.nanoTime() + Long.MAX_VALUE / 2, random.split());
+        if (heat[Bitboard.CELLS] == 0) {
+            HeatMaps.placementDensity(observation, heat);
+        }
+        long[] canonical = new long[Bitboard.CELLS + 1];
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            canonical[BoardSymmetry.apply(transform, cell)] = heat[cell];
+        }
+        canonical[Bitboard.CELLS] = heat[Bitboard.CELLS];
+        symmetrize(position.key, canonical);
+        long total = Math.max(1, canonical[Bitboard.CELLS]);
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            position.heat[cell] = (short) Math.round((double) canonical[cell] / total * OpeningBook.SCALE);
+            heat[cell] = canonical[BoardSymmetry.apply(transform, cell)];
+        }
+        heat[Bitboard.CELLS] = canonical[Bitboard.CELLS];
+        position.best = (short) BoardSymmetry.apply(transform, HeatMaps.bestCell(heat, observation, random));
+    }
+
+    /**
+     * Averages a sampled heat map over the symmetries that leave its position unchanged, so that cells
+     * the position cannot tell apart get the same probability instead of differing by sampling noise.
+     *
+     * @param key  The canonical position.
+     * @param heat The heat map in canonical coordinates; replaced by the average.
+     */
+    private static void symmetrize(long[] key, long[] heat) {
+        long[] blocked = new long[2];
+        long[] hits = new long[2];
+        long[] sum = heat.clone();
+        int count = 1;
+        for (int t = 1; t < BoardSymmetry.COUNT; t++) {
+            BoardSymmetry.apply(t, key[0], key[1], blocked);
+            BoardSymmetry.apply(t, key[2], key[3], hits);
+            if (blocked[0] != key[0] || blocked[1] != key[1] || hits[0] != key[2] || hits[1] != key[3]) continue;
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                sum[cell] += heat[BoardSymmetry.apply(t, cell)];
+            }
+            sum[Bitboard.CELLS] += heat[Bitboard.CELLS];
+            count++;
+        }
+        for (int i = 0; i < heat.length; i++) {
+            heat[i] = sum[i] / count;
+        }
+    }
+
+    /**
+     * Writes the positions reached in at least a number of games as a book file, replacing any existing file.
+     *
+     * @param path     The output file.
+     * @param minGames The number of games a position must have been reached in.
+     * @return The number of positions written.
+     * @throws IOException If the file cannot be written.
+     */
+    public int write(Path path, int minGames) throws IOException {
+        List<Position> kept = new ArrayList<>();
+        int maxShots = 0;
+        for (Position position : positions.values()) {
+            if (position.games >= minGames) {
+                kept.add(position);
+                maxShots = Math.max(maxShots, position.shots);
+            }
+        }
+        int slots = Integer.highestOneBit(Math.max(1, kept.size() * 2 - 1)) << 1;
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_SIZE + slots * OpeningBook.RECORD_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(OpeningBook.MAGIC)
+                .putShort(OpeningBook.VERSION)
+                .putShort((short) OpeningBook.RECORD_SIZE)
+                .putInt(slots)
+                .putInt(kept.size())
+                .put((byte) maxShots)
+                .put((byte) fleet.length);
+        for (int length : fleet) {
+            buffer.put((byte) length);
+        }
+        int mask = slots - 1;
+        for (Position position : kept) {
+            int slot = (int) OpeningBook.hash(position.key, position.fleetKey) & mask;
+            while (buffer.getLong(recordOffset(slot) + 32) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            int record = recordOffset(slot);
+            for (int i = 0; i < 4; i++) {
+                buffer.putLong(record + 8 * i, position.key[i]);
+            }
+            buffer.putLong(record + 32, position.fleetKey);
+            buffer.putShort(record + OpeningBook.BEST_OFFSET, position.best);
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                buffer.putShort(record + OpeningBook.HEAT_OFFSET + 2 * cell, position.heat[cell]);
+            }
+        }
+        buffer.clear();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return kept.size();
+    }
+
+    private static int recordOffset(int slot) {
+        return OpeningBook.HEADER_SIZE + slot * OpeningBook.RECORD_SIZE;
+    }
+
+    /**
+     * Returns the number of distinct positions reached so far.
+     *
+     * @return The position count.
+     */
+    public int getPositionCount() {
+        return positions.size();
+    }
+
+    /**
+     * A canonical position, with the games that reached it and its evaluation.
+     */
+    private static final class Position {
+        private final long[] key;
+        private final long fleetKey;
+        private final int shots;
+        private final short[] heat = new short[Bitboard.CELLS];
+        private short best;
+        private int games;
+
+        Position(long[] key, long fleetKey, int shots) {
+            this.key = key.clone();
+            this.fleetKey = fleetKey;
+            this.shots = shots;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Position)) return false;
+            Position other = (Position) o;
+            return fleetKey == other.fleetKey && Arrays.equals(key, other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(OpeningBook.hash(key, fleetKey));
+        }
+    }
+
+    /**
+     * Generates the book for the standard fleet.
+     *
+     * <p>Options: {@code --out <file>} (default {@code opening-book.bin}), {@code --games <n>} (default
+     * 2,000), {@code --shots <n>} played per game (default 8), {@code --min-games <n>} a position must
+     * be reached in to be kept (default 8), {@code --samples <n>} per position (default 1,000,000) and
+     * {@code --seed <n>}.</p>
+     *
+     * @param args The command-line options.
+     * @throws IOException If the book cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path out = Paths.get("opening-book.bin");
+        int games = 2_000;
+        int shots = 8;
+        int minGames = 8;
+        int samples = 1_000_000;
+        long seed = 1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--out":
+                    out = Paths.get(args[++i]);
+                    break;
+                case "--games":
+                    games = Integer.parseInt(args[++i]);
+                    break;
+                case "--shots":
+                    shots = Integer.parseInt(args[++i]);
+                    break;
+                case "--min-games":
+                    minGames = Integer.parseInt(args[++i]);
+                    break;
+                case "--samples":
+                    samples = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    System.err.println("Usage: OpeningBookGenerator [--out file] [--games n] [--shots n] "
+                            + "[--min-games n] [--samples n] [--seed n]");
+                    return;
+            }
+        }
+        long start = System.nanoTime();
+        OpeningBookGenerator generator = new OpeningBookGenerator(Fleet.standard(), ForkJoinPool.commonPool(),
+                samples, seed);
+        generator.play(games, shots);
+        int written = generator.write(out, minGames);
+        System.out.printf("Opening book: %d of %d positions written to %s in %.1f s%n",
+                written, generator.getPositionCount(), out,
+                (System.nanoTime() - start) / 1e9);
+    }
+}
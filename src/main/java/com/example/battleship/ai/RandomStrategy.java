@@ -0,0 +1,40 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.engine.Observation;
+import com.example.battleship.models.Bitboard;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Baseline opponent that fires at a uniformly random cell that has not been fired at yet.
+ */
+public class RandomStrategy implements TargetingStrategy {
+
+    @Override
+    public int nextShot(Observation observation, RandomGenerator random) {
+        Bitboard shots = observation.getShots();
+        int free = Bitboard.CELLS - shots.cardinality();
+        if (free == 0) {
+            throw new IllegalStateException("Every cell has already been fired at");
+        }
+        return nthFreeCell(~shots.getLo(), ~shots.getHi() & Bitboard.HI_MASK, random.nextInt(free));
+    }
+
+    /**
+     * Returns the bit index of the n-th set bit of a 100-bit mask.
+     *
+     * @param lo The low word of the mask.
+     * @param hi The high word of the mask.
+     * @param n  The zero-based rank of the bit to find; must be lower than the mask cardinality.
+     * @return The bit index of the n-th set bit.
+     */
+    static int nthFreeCell(long lo, long hi, int n) {
+        int inLo = Long.bitCount(lo);
+        long word = n < inLo ? lo : hi;
+        int rank = n < inLo ? n : n - inLo;
+        for (int i = 0; i < rank; i++) {
+            word &= word - 1;
+        }
+        return Long.numberOfTrailingZeros(word) + (n < inLo ? 0 : 64);
+    }
+}
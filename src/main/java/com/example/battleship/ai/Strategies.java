@@ -0,0 +1,38 @@
+package com.example.battleship.ai;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Creates targeting strategies by name, for command-line tools.
+ */
+public final class Strategies {
+
+    private Strategies() {
+    }
+
+    /**
+     * Creates the strategy with the given name.
+     *
+     * @param name         One of {@code random}, {@code hunt}, {@code density} or {@code book}, the
+     *                     density strategy opening from the bundled {@link OpeningBook}.
+     * @param pool         The pool used by sampling strategies.
+     * @param samples      The number of layouts sampled per move by sampling strategies.
+     * @param budgetMillis The time budget per move of sampling strategies, in milliseconds.
+     * @return The strategy.
+     * @throws IllegalArgumentException If the name is unknown.
+     */
+    public static TargetingStrategy byName(String name, ForkJoinPool pool, int samples, long budgetMillis) {
+        switch (name) {
+            case "random":
+                return new RandomStrategy();
+            case "hunt":
+                return new HuntTargetStrategy();
+            case "density":
+                return new DensityStrategy(pool, samples, budgetMillis);
+            case "book":
+                return new DensityStrategy(pool, samples, budgetMillis, OpeningBook.standard());
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.engine.Observation;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Chooses the next cell to fire at from what has been observed of the opponent's board.
+ * Implementations keep no per-game state, so a single instance can serve many games and threads.
+ */
+public interface TargetingStrategy {
+
+    /**
+     * Chooses the next cell to fire at.
+     *
+     * @param observation The shots, hits and sunk ships seen so far.
+     * @param random      The source of randomness for tie-breaking and sampling.
+     * @return The bit index of a cell that has not been fired at.
+     */
+    int nextShot(Observation observation, RandomGenerator random);
+
+    /**
+     * Chooses the cells of a salvo. By default the shots are chosen one after the other, each one
+     * treating the cells already chosen as fired at.
+     *
+     * @param observation The shots, hits and sunk ships seen so far.
+     * @param shots       The number of cells to choose; at most the number of cells not fired at yet.
+     * @param random      The source of randomness for tie-breaking and sampling.
+     * @param out         Receives the low word of the chosen cells in entry 0 and the high word in entry 1.
+     */
+    default void nextSalvo(Observation observation, int shots, RandomGenerator random, long[] out) {
+        Observation pending = new Observation(observation);
+        long lo = 0L;
+        long hi = 0L;
+        for (int i = 0; i < shots; i++) {
+            int cell = nextShot(pending, random);
+            pending.getShots().set(cell);
+            if (cell < 64) {
+                lo |= 1L << cell;
+            } else {
+                hi |= 1L << (cell - 64);
+            }
+        }
+        out[0] = lo;
+        out[1] = hi;
+    }
+}
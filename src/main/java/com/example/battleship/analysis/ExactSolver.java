@@ -0,0 +1,399 @@
+package com.example.battleship.analysis;
+
+import com.example.battleship.engine.Observation;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.Fleet;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Exact per-cell occupancy probabilities for a board under observation: every layout of the ships
+ * still afloat that leaves the misses and sunk ships free and covers every open hit is counted, and
+ * each cell gets the number of those layouts that cover it.
+ *
+ * <p>The layouts are counted with the row-major DP of {@link LayoutEnumerator}, extended with the
+ * observation as constraints. Ship starts that would cover a blocked cell are removed up front, a cell
+ * holding an open hit may only be passed once it is covered, and a state is dropped as soon as its
+ * remaining ships have fewer cells than the open hits still ahead. Occupancy is then a forward sweep
+ * over the reachable states, multiplying the number of ways to reach each state by its number of
+ * completions.</p>
+ *
+ * <p>The number of completions of a state only depends on the state and on the observation from its
+ * cell onwards, so each layer of completion counts is kept in a transposition table keyed by that
+ * suffix. A shot only invalidates the layers up to its cell, and the next query reuses every layer
+ * after it. The table is bounded by its total number of states and evicts the least recently used
+ * layers first.</p>
+ */
+public class ExactSolver {
+
+    /** Default bound on the number of states kept in the transposition table. */
+    public static final int DEFAULT_MAX_CACHED_STATES = 1_000_000;
+
+    /**
+     * Default bound on the number of new states a single query may solve; no larger than
+     * {@link #DEFAULT_MAX_CACHED_STATES}, so the states of an abandoned query all stay cached.
+     */
+    public static final long DEFAULT_STATE_BUDGET = 1_000_000;
+
+    private static final int MAX_SUPPORTED_LENGTH = 5;
+
+    /**
+     * Identifies a layer of completion counts: its cell and the constraints from that cell onwards.
+     */
+    private static final class LayerKey {
+        private final int cell;
+        private final long blockedLo;
+        private final long blockedHi;
+        private final long forcedLo;
+        private final long forcedHi;
+
+        private LayerKey(int cell, long blockedLo, long blockedHi, long forcedLo, long forcedHi) {
+            long lo = cell >= 64 ? 0L : -1L << cell;
+            long hi = cell <= 64 ? -1L : -1L << (cell - 64);
+            this.cell = cell;
+            this.blockedLo = blockedLo & lo;
+            this.blockedHi = blockedHi & hi;
+            this.forcedLo = forcedLo & lo;
+            this.forcedHi = forcedHi & hi;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof LayerKey)) return false;
+            LayerKey other = (LayerKey) o;
+            return cell == other.cell && blockedLo == other.blockedLo && blockedHi == other.blockedHi
+                    && forcedLo == other.forcedLo && forcedHi == other.forcedHi;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cell, blockedLo, blockedHi, forcedLo, forcedHi);
+        }
+    }
+
+    /**
+     * Thrown to abandon a query that went over its state budget.
+     */
+    private static final class BudgetExceededException extends RuntimeException {
+        private BudgetExceededException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final int[] lengths;
+    private final int[] radix;
+    private final int[] capacity;
+    private final int[] remainingCells;
+    private final int windowBits;
+    private final long windowMask;
+    private final long[] verticalMasks;
+    private final int maxCachedStates;
+    private final long stateBudget;
+    private final LinkedHashMap<LayerKey, LongLongHashMap> table = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final boolean[] allowed = new boolean[(MAX_SUPPORTED_LENGTH + 1) * 2 * Bitboard.CELLS];
+    private final long[] forcedWindow = new long[Bitboard.CELLS + 1];
+    private final int[] forcedAfter = new int[Bitboard.CELLS + 1];
+    private final LongLongHashMap[] layers = new LongLongHashMap[Bitboard.CELLS];
+    private long forcedLo;
+    private long forcedHi;
+    private long newStates;
+    private long lastNewStates;
+
+    /**
+     * Creates a solver for the standard fleet with the default bounds.
+     */
+    public ExactSolver() {
+        this(Fleet.standard(), DEFAULT_MAX_CACHED_STATES, DEFAULT_STATE_BUDGET);
+    }
+
+    /**
+     * Creates a solver.
+     *
+     * @param fleet           The ship lengths of the full fleet; every length must be between 1 and 5.
+     * @param maxCachedStates The bound on the number of states kept between queries. Only when it is
+     *                        at least {@code stateBudget} does repeating an abandoned query resume it.
+     * @param stateBudget     The bound on the number of new states a single query may solve.
+     */
+    public ExactSolver(int[] fleet, int maxCachedStates, long stateBudget) {
+        TreeMap<Integer, Integer> byLength = new TreeMap<>();
+        for (int length : fleet) {
+            if (length < 1 || length > MAX_SUPPORTED_LENGTH) {
+                throw new IllegalArgumentException("Unsupported ship length " + length);
+            }
+            byLength.merge(length, 1, Integer::sum);
+        }
+        int distinct = byLength.size();
+        this.lengths = new int[distinct];
+        this.radix = new int[distinct];
+        this.capacity = new int[distinct];
+        int d = 0;
+        int code = 1;
+        for (var entry : byLength.entrySet()) {
+            lengths[d] = entry.getKey();
+            capacity[d] = entry.getValue();
+            radix[d] = code;
+            code *= entry.getValue() + 1;
+            d++;
+        }
+        this.remainingCells = new int[code];
+        for (int fleetCode = 0; fleetCode < code; fleetCode++) {
+            for (d = 0; d < distinct; d++) {
+                remainingCells[fleetCode] += lengths[d] * ((fleetCode / radix[d]) % (capacity[d] + 1));
+            }
+        }
+        int maxLength = lengths[distinct - 1];
+        this.windowBits = Bitboard.SIZE * (maxLength - 1) + 1;
+        this.windowMask = (1L << windowBits) - 1;
+        this.verticalMasks = new long[maxLength + 1];
+        for (int length = 1; length <= maxLength; length++) {
+            for (int k = 0; k < length; k++) {
+                verticalMasks[length] |= 1L << (Bitboard.SIZE * k);
+            }
+        }
+        this.maxCachedStates = maxCachedStates;
+        this.stateBudget = stateBudget;
+    }
+
+    /**
+     * Computes the exact number of consistent layouts covering every cell.
+     *
+     * @param observation The hits, misses and sunk ships seen so far; its remaining fleet must be part
+     *                    of this solver's fleet.
+     * @return A heat map: entries 0-99 hold the number of consistent layouts covering each cell and
+     *         entry 100 the total number of consistent layouts, or {@code null} if the query needed
+     *         more new states than the budget allows. States solved before giving up are the most
+     *         recently used, so with a cache bound of at least the budget they stay cached and
+     *         repeating the query resumes the work.
+     * @throws ArithmeticException If a count does not fit in a {@code long}.
+     */
+    public synchronized long[] solve(Observation observation) {
+        long blockedLo = observation.blockedLo();
+        long blockedHi = observation.blockedHi();
+        forcedLo = observation.openHitsLo();
+        forcedHi = observation.openHitsHi();
+        long start = (long) fleetCode(observation.getRemainingFleet()) << windowBits;
+        prepare(blockedLo, blockedHi);
+        newStates = 0;
+        try {
+            return sweep(start);
+        } catch (BudgetExceededException e) {
+            return null;
+        } finally {
+            lastNewStates = newStates;
+            Arrays.fill(layers, null);
+            evict();
+        }
+    }
+
+    /**
+     * Returns the number of states solved by the last query that were not in the transposition table.
+     *
+     * @return The number of new states.
+     */
+    public synchronized long getLastNewStates() {
+        return lastNewStates;
+    }
+
+    /**
+     * Returns the number of states kept in the transposition table.
+     *
+     * @return The number of cached states.
+     */
+    public synchronized long getCachedStates() {
+        long states = 0;
+        for (LongLongHashMap layer : table.values()) {
+            states += layer.size();
+        }
+        return states;
+    }
+
+    /**
+     * Empties the transposition table.
+     */
+    public synchronized void clearCache() {
+        table.clear();
+    }
+
+    private int fleetCode(int[] fleet) {
+        int code = 0;
+        for (int length : fleet) {
+            int d = 0;
+            while (d < lengths.length && lengths[d] != length) d++;
+            if (d == lengths.length) {
+                throw new IllegalArgumentException("Ship length " + length + " is not part of the fleet");
+            }
+            code += radix[d];
+        }
+        if (code >= remainingCells.length) {
+            throw new IllegalArgumentException("The remaining fleet is larger than the fleet");
+        }
+        return code;
+    }
+
+    /**
+     * Propagates the observation into per-cell tables: the ship starts that stay clear of blocked
+     * cells, and the open hits ahead of every cell.
+     */
+    private void prepare(long blockedLo, long blockedHi) {
+        for (int length : lengths) {
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                int x = cell % Bitboard.SIZE;
+                int y = cell / Bitboard.SIZE;
+                for (int o = 0; o < 2; o++) {
+                    boolean horizontal = o == 0;
+                    allowed[startSlot(length, horizontal, cell)] = Bitboard.fits(length, horizontal, x, y)
+                            && ((Bitboard.maskLo(length, horizontal, x, y) & blockedLo)
+                            | (Bitboard.maskHi(length, horizontal, x, y) & blockedHi)) == 0;
+                }
+            }
+        }
+        forcedAfter[Bitboard.CELLS] = 0;
+        forcedWindow[Bitboard.CELLS] = 0L;
+        for (int cell = Bitboard.CELLS - 1; cell >= 0; cell--) {
+            forcedAfter[cell] = forcedAfter[cell + 1] + (isForced(cell) ? 1 : 0);
+            forcedWindow[cell] = bitsFrom(forcedLo, forcedHi, cell) & windowMask;
+        }
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            LayerKey key = new LayerKey(cell, blockedLo, blockedHi, forcedLo, forcedHi);
+            LongLongHashMap layer = table.get(key);
+            if (layer == null) {
+                layer = new LongLongHashMap(64);
+                table.put(key, layer);
+            }
+            layers[cell] = layer;
+        }
+    }
+
+    /**
+     * Walks the reachable states in cell order, accumulating for every cell the layouts that cover it.
+     */
+    private long[] sweep(long start) {
+        long[] heat = new long[Bitboard.CELLS + 1];
+        heat[Bitboard.CELLS] = completions(0, start);
+        if (heat[Bitboard.CELLS] == 0) return heat;
+        LongLongHashMap current = new LongLongHashMap(1 << 10);
+        LongLongHashMap next = new LongLongHashMap(1 << 10);
+        current.add(start, 1L);
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            next.clear();
+            for (int slot = 0; slot < current.capacity(); slot++) {
+                long key = current.keyAt(slot);
+                if (LongLongHashMap.isEmpty(key)) continue;
+                long ways = current.valueAt(slot);
+                long window = key & windowMask;
+                long fleetCode = key >>> windowBits;
+                long passed = (fleetCode << windowBits) | (window >>> 1);
+                if ((window & 1L) != 0) {
+                    long covering = completions(cell + 1, passed);
+                    heat[cell] = Math.addExact(heat[cell], Math.multiplyExact(ways, covering));
+                    if (covering > 0) next.add(passed, ways);
+                    continue;
+                }
+                if (!isForced(cell) && completions(cell + 1, passed) > 0) {
+                    next.add(passed, ways);
+                }
+                for (int d = 0; d < lengths.length; d++) {
+                    if ((fleetCode / radix[d]) % (capacity[d] + 1) == 0) continue;
+                    long remaining = (fleetCode - radix[d]) << windowBits;
+                    for (int o = 0; o < (lengths[d] == 1 ? 1 : 2); o++) {
+                        long ship = shipBits(d, o == 0, cell);
+                        if (ship == 0L || (window & ship) != 0) continue;
+                        long placed = remaining | ((window | ship) >>> 1);
+                        long covering = completions(cell + 1, placed);
+                        if (covering == 0) continue;
+                        heat[cell] = Math.addExact(heat[cell], Math.multiplyExact(ways, covering));
+                        next.add(placed, ways);
+                    }
+                }
+            }
+            LongLongHashMap swap = current;
+            current = next;
+            next = swap;
+        }
+        return heat;
+    }
+
+    /**
+     * Counts the ways to complete a state, looking it up in its layer first.
+     *
+     * @param cell The cell the state is at.
+     * @param key  The remaining fleet and the occupancy window of the state.
+     * @return The number of consistent completions.
+     */
+    private long completions(int cell, long key) {
+        long window = key & windowMask;
+        long fleetCode = key >>> windowBits;
+        int uncovered = forcedAfter[cell] - Long.bitCount(window & forcedWindow[cell]);
+        if (uncovered > remainingCells[(int) fleetCode]) return 0L;
+        if (fleetCode == 0) return uncovered == 0 ? 1L : 0L;
+        if (cell == Bitboard.CELLS) return 0L;
+
+        LongLongHashMap layer = layers[cell];
+        long cached = layer.get(key, -1L);
+        if (cached >= 0) return cached;
+        if (++newStates > stateBudget) throw new BudgetExceededException();
+
+        long count = 0;
+        long passed = (fleetCode << windowBits) | (window >>> 1);
+        if ((window & 1L) != 0) {
+            count = completions(cell + 1, passed);
+        } else {
+            if (!isForced(cell)) {
+                count = completions(cell + 1, passed);
+            }
+            for (int d = 0; d < lengths.length; d++) {
+                if ((fleetCode / radix[d]) % (capacity[d] + 1) == 0) continue;
+                long remaining = (fleetCode - radix[d]) << windowBits;
+                for (int o = 0; o < (lengths[d] == 1 ? 1 : 2); o++) {
+                    long ship = shipBits(d, o == 0, cell);
+                    if (ship == 0L || (window & ship) != 0) continue;
+                    count = Math.addExact(count, completions(cell + 1, remaining | ((window | ship) >>> 1)));
+                }
+            }
+        }
+        layer.add(key, count);
+        return count;
+    }
+
+    /**
+     * Returns the window bits of a ship starting at a cell, or {@code 0} if the start is not allowed.
+     */
+    private long shipBits(int d, boolean horizontal, int cell) {
+        int length = lengths[d];
+        if (!allowed[startSlot(length, horizontal, cell)]) return 0L;
+        return horizontal ? (1L << length) - 1 : verticalMasks[length];
+    }
+
+    private boolean isForced(int cell) {
+        return cell < 64 ? (forcedLo >>> cell & 1L) != 0 : (forcedHi >>> (cell - 64) & 1L) != 0;
+    }
+
+    private static long bitsFrom(long lo, long hi, int cell) {
+        if (cell >= 64) return hi >>> (cell - 64);
+        return cell == 0 ? lo : (lo >>> cell) | (hi << (64 - cell));
+    }
+
+    private static int startSlot(int length, boolean horizontal, int cell) {
+        return ((length << 1) | (horizontal ? 0 : 1)) * Bitboard.CELLS + cell;
+    }
+
+    /**
+     * Drops the layers no state was solved in, then the least recently used layers until the table is
+     * within its bound.
+     */
+    private void evict() {
+        table.values().removeIf(layer -> layer.size() == 0);
+        long states = getCachedStates();
+        Iterator<Map.Entry<LayerKey, LongLongHashMap>> eldest = table.entrySet().iterator();
+        while (states > maxCachedStates && eldest.hasNext()) {
+            states -= eldest.next().getValue().size();
+            eldest.remove();
+        }
+    }
+}
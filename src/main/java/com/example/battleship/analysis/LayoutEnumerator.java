@@ -0,0 +1,270 @@
+package com.example.battleship.analysis;
+
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.BoardSymmetry;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.PlacementTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Exact enumeration of every legal arrangement of a fleet on the 10x10 board (ships may touch but not
+ * overlap; identical ships are interchangeable).
+ *
+ * <p>Counting scans the cells in row-major order. At each cell a ship of any remaining length may start
+ * horizontally or vertically, or the cell is left as it is. Because ships only reach forward, the state
+ * is the occupancy of the next {@code 10 * (maxLength - 1) + 1} cells plus the multiset of ships left to
+ * place. Equal states are merged layer by layer, which memoizes the backtracking tree and keeps the work
+ * proportional to the number of distinct states rather than layouts.</p>
+ *
+ * <p>Per-cell occupancy frequencies are {@code total - count(cell blocked)}. The count only depends on
+ * the orbit of the blocked cell under the eight board symmetries, so a single run per orbit (15 on the
+ * 10x10 board) gives all 100 cells, and the runs are spread across a {@link ForkJoinPool}.</p>
+ */
+public class LayoutEnumerator {
+
+    private static final int MAX_SUPPORTED_LENGTH = 5;
+
+    private final int[] lengths;
+    private final int[] radix;
+    private final int[] capacity;
+    private final int fullFleet;
+    private final int windowBits;
+    private final long windowMask;
+    private final long[] verticalMasks;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an enumerator for the standard fleet on the common pool.
+     */
+    public LayoutEnumerator() {
+        this(Fleet.standard(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an enumerator.
+     *
+     * @param fleet The ship lengths of the fleet; every length must be between 1 and 5.
+     * @param pool  The pool that runs the per-orbit counts.
+     */
+    public LayoutEnumerator(int[] fleet, ForkJoinPool pool) {
+        TreeMap<Integer, Integer> byLength = new TreeMap<>();
+        for (int length : fleet) {
+            if (length < 1 || length > MAX_SUPPORTED_LENGTH) {
+                throw new IllegalArgumentException("Unsupported ship length " + length);
+            }
+            byLength.merge(length, 1, Integer::sum);
+        }
+        int distinct = byLength.size();
+        this.lengths = new int[distinct];
+        this.radix = new int[distinct];
+        this.capacity = new int[distinct];
+        int d = 0;
+        int code = 1;
+        int full = 0;
+        for (var entry : byLength.entrySet()) {
+            lengths[d] = entry.getKey();
+            capacity[d] = entry.getValue();
+            radix[d] = code;
+            full += entry.getValue() * code;
+            code *= entry.getValue() + 1;
+            d++;
+        }
+        this.fullFleet = full;
+        int maxLength = lengths[distinct - 1];
+        this.windowBits = Bitboard.SIZE * (maxLength - 1) + 1;
+        this.windowMask = (1L << windowBits) - 1;
+        this.verticalMasks = new long[maxLength + 1];
+        for (int length = 1; length <= maxLength; length++) {
+            for (int k = 0; k < length; k++) {
+                verticalMasks[length] |= 1L << (Bitboard.SIZE * k);
+            }
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Counts every legal layout of the fleet.
+     *
+     * @return The number of layouts.
+     * @throws ArithmeticException If the count does not fit in a {@code long}.
+     */
+    public long count() {
+        return count(0L, 0L);
+    }
+
+    /**
+     * Counts the legal layouts of the fleet that leave the given cells free.
+     *
+     * @param blockedLo The low word of the cells no ship may cover.
+     * @param blockedHi The high word of the cells no ship may cover.
+     * @return The number of layouts.
+     * @throws ArithmeticException If the count does not fit in a {@code long}.
+     */
+    public long count(long blockedLo, long blockedHi) {
+        boolean[] allowed = allowedStarts(blockedLo, blockedHi);
+        LongLongHashMap current = new LongLongHashMap(1 << 16);
+        LongLongHashMap next = new LongLongHashMap(1 << 16);
+        current.add((long) fullFleet << windowBits, 1L);
+
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            next.clear();
+            for (int slot = 0; slot < current.capacity(); slot++) {
+                long key = current.keyAt(slot);
+                if (LongLongHashMap.isEmpty(key)) continue;
+                step(cell, key, current.valueAt(slot), allowed, next);
+            }
+            LongLongHashMap swap = current;
+            current = next;
+            next = swap;
+        }
+        return current.get(0L);
+    }
+
+    private void step(int cell, long key, long ways, boolean[] allowed, LongLongHashMap next) {
+        long window = key & windowMask;
+        long fleetCode = key >>> windowBits;
+        next.add((fleetCode << windowBits) | (window >>> 1), ways);
+        if ((window & 1L) != 0) return;
+        for (int d = 0; d < lengths.length; d++) {
+            if ((fleetCode / radix[d]) % (capacity[d] + 1) == 0) continue;
+            int length = lengths[d];
+            long remaining = (fleetCode - radix[d]) << windowBits;
+            if (allowed[startSlot(length, true, cell)]) {
+                long ship = (1L << length) - 1;
+                if ((window & ship) == 0) next.add(remaining | ((window | ship) >>> 1), ways);
+            }
+            if (length > 1 && allowed[startSlot(length, false, cell)]) {
+                long ship = verticalMasks[length];
+                if ((window & ship) == 0) next.add(remaining | ((window | ship) >>> 1), ways);
+            }
+        }
+    }
+
+    private static int startSlot(int length, boolean horizontal, int cell) {
+        return ((length << 1) | (horizontal ? 0 : 1)) * Bitboard.CELLS + cell;
+    }
+
+    private boolean[] allowedStarts(long blockedLo, long blockedHi) {
+        boolean[] allowed = new boolean[(MAX_SUPPORTED_LENGTH + 1) * 2 * Bitboard.CELLS];
+        for (int length : lengths) {
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                int x = cell % Bitboard.SIZE;
+                int y = cell / Bitboard.SIZE;
+                for (int o = 0; o < 2; o++) {
+                    boolean horizontal = o == 0;
+                    if (!Bitboard.fits(length, horizontal, x, y)) continue;
+                    allowed[startSlot(length, horizontal, cell)] =
+                            ((Bitboard.maskLo(length, horizontal, x, y) & blockedLo)
+                                    | (Bitboard.maskHi(length, horizontal, x, y) & blockedHi)) == 0;
+                }
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * Computes the exact number of layouts that cover every cell. One blocked-cell count runs per
+     * symmetry orbit, in parallel, and is shared by every cell of that orbit.
+     *
+     * @return A heat map: entries 0-99 hold the number of layouts covering each cell and entry 100
+     *         the total number of layouts.
+     * @throws ArithmeticException If a count does not fit in a {@code long}.
+     */
+    public long[] cellFrequencies() {
+        List<Integer> representatives = new ArrayList<>();
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            if (BoardSymmetry.canonicalCell(cell) == cell) representatives.add(cell);
+        }
+        ForkJoinTask<Long> total = pool.submit(() -> count());
+        List<ForkJoinTask<Long>> blocked = new ArrayList<>();
+        for (int cell : representatives) {
+            long lo = cell < 64 ? 1L << cell : 0L;
+            long hi = cell < 64 ? 0L : 1L << (cell - 64);
+            blocked.add(pool.submit(() -> count(lo, hi)));
+        }
+
+        long[] frequencies = new long[Bitboard.CELLS + 1];
+        frequencies[Bitboard.CELLS] = total.join();
+        long[] byRepresentative = new long[Bitboard.CELLS];
+        for (int i = 0; i < representatives.size(); i++) {
+            byRepresentative[representatives.get(i)] = frequencies[Bitboard.CELLS] - blocked.get(i).join();
+        }
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            frequencies[cell] = byRepresentative[BoardSymmetry.canonicalCell(cell)];
+        }
+        return frequencies;
+    }
+
+    /**
+     * Visits every legal layout of the fleet by backtracking in the same cell order as the counter.
+     * The full standard fleet has far too many layouts to visit; this is meant for small fleets or
+     * for visiting a bounded prefix of the enumeration.
+     *
+     * @param visitor The visitor; returning {@code false} stops the enumeration.
+     * @return The number of layouts visited.
+     */
+    public long iterate(LayoutVisitor visitor) {
+        int ships = 0;
+        for (int c : capacity) {
+            ships += c;
+        }
+        long[] visited = new long[1];
+        iterate(0, 0L, 0L, fullFleet, new int[ships], 0, visitor, visited);
+        return visited[0];
+    }
+
+    private boolean iterate(int cell, long occupiedLo, long occupiedHi, long fleetCode, int[] placements, int placed,
+                            LayoutVisitor visitor, long[] visited) {
+        if (fleetCode == 0) {
+            visited[0]++;
+            return visitor.visit(placements);
+        }
+        if (cell == Bitboard.CELLS) return true;
+        int x = cell % Bitboard.SIZE;
+        int y = cell / Bitboard.SIZE;
+        boolean free = cell < 64 ? (occupiedLo >>> cell & 1L) == 0 : (occupiedHi >>> (cell - 64) & 1L) == 0;
+        if (free) {
+            for (int d = 0; d < lengths.length; d++) {
+                if ((fleetCode / radix[d]) % (capacity[d] + 1) == 0) continue;
+                for (int o = 0; o < (lengths[d] == 1 ? 1 : 2); o++) {
+                    int id = PlacementTable.find(lengths[d], o == 0, x, y);
+                    if (id < 0) continue;
+                    long lo = PlacementTable.lo(id);
+                    long hi = PlacementTable.hi(id);
+                    if (((lo & occupiedLo) | (hi & occupiedHi)) != 0) continue;
+                    placements[placed] = id;
+                    if (!iterate(cell + 1, occupiedLo | lo, occupiedHi | hi, fleetCode - radix[d],
+                            placements, placed + 1, visitor, visited)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return iterate(cell + 1, occupiedLo, occupiedHi, fleetCode, placements, placed, visitor, visited);
+    }
+
+    /**
+     * Prints the layout count and the per-cell occupancy frequencies of the standard fleet.
+     *
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        long[] frequencies = new LayoutEnumerator().cellFrequencies();
+        long total = frequencies[Bitboard.CELLS];
+        System.out.println("Layouts: " + total);
+        for (int y = 0; y < Bitboard.SIZE; y++) {
+            StringBuilder row = new StringBuilder();
+            for (int x = 0; x < Bitboard.SIZE; x++) {
+                row.append(String.format("%.4f ", (double) frequencies[Bitboard.index(x, y)] / total));
+            }
+            System.out.println(row);
+        }
+        System.out.printf("Enumerated in %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.battleship.analysis;
+
+/**
+ * Receives the layouts produced by {@link LayoutEnumerator#iterate(LayoutVisitor)}.
+ */
+public interface LayoutVisitor {
+
+    /**
+     * Visits one layout.
+     *
+     * @param placements The placement ids of the ships, ordered by anchor cell; only valid during the call.
+     * @return {@code true} to continue the enumeration, {@code false} to stop it.
+     */
+    boolean visit(int[] placements);
+}
@@ -0,0 +1,113 @@
+package com.example.battleship.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open-addressing map from non-negative {@code long} keys to {@code long} counters,
+ * used for the layers of the enumeration DP without boxing.
+ */
+final class LongLongHashMap {
+
+    private static final long EMPTY = -1L;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+    private int mask;
+
+    LongLongHashMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Adds a delta to the counter of a key, inserting the key if needed.
+     *
+     * @param key   The key; must not be negative.
+     * @param delta The value to add.
+     * @throws ArithmeticException If the counter overflows.
+     */
+    void add(long key, long delta) {
+        int slot = slot(key);
+        while (true) {
+            long current = keys[slot];
+            if (current == key) {
+                values[slot] = Math.addExact(values[slot], delta);
+                return;
+            }
+            if (current == EMPTY) {
+                keys[slot] = key;
+                values[slot] = delta;
+                if (++size * 2 > keys.length) grow();
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    long get(long key) {
+        return get(key, 0L);
+    }
+
+    /**
+     * Returns the counter of a key.
+     *
+     * @param key    The key.
+     * @param absent The value returned if the key is not in the map.
+     * @return The counter, or {@code absent}.
+     */
+    long get(long key, long absent) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return absent;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    long valueAt(int slot) {
+        return values[slot];
+    }
+
+    static boolean isEmpty(long key) {
+        return key == EMPTY;
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+        mask = keys.length - 1;
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) add(oldKeys[i], oldValues[i]);
+        }
+    }
+}
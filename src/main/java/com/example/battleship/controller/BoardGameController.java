@@ -1,26 +1,130 @@
 package com.example.battleship.controller;
 
+import com.example.battleship.ai.DensityStrategy;
+import com.example.battleship.analysis.ExactSolver;
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.engine.GameEvent;
+import com.example.battleship.engine.GameEventBus;
+import com.example.battleship.engine.GameEventLogger;
+import com.example.battleship.engine.Observation;
+import com.example.battleship.engine.SalvoResult;
+import com.example.battleship.engine.SalvoRule;
+import com.example.battleship.engine.ShotResult;
+import com.example.battleship.metrics.Metrics;
+import com.example.battleship.metrics.PlacementValidationEvent;
+import com.example.battleship.metrics.ShipDragEvent;
+import com.example.battleship.metrics.ShipRotateEvent;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.BoardConfig;
+import com.example.battleship.models.Fleet;
 import com.example.battleship.models.Ship;
+import com.example.battleship.net.MatchClient;
+import com.example.battleship.net.OnlineMatchSession;
+import com.example.battleship.persistence.GameJournal;
+import com.example.battleship.persistence.GameSnapshot;
+import com.example.battleship.persistence.SnapshotWriter;
+import com.example.battleship.view.AssetCache;
+import com.example.battleship.view.CanvasBoardRenderer;
+import com.example.battleship.view.PulseBatchSubscriber;
+import com.example.battleship.view.ShotAnimationLayer;
+import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.input.MouseButton;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
+import javafx.util.Duration;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 /**
- * The BoardGameController class manages the Battleship game logic.
+ * The BoardGameController class is the JavaFX view over the Battleship {@link GameEngine}.
+ * It draws the fleet and forwards drag, rotate and play actions to the engine, which owns the game state.
  * @author Sebastian Bucheli Miranda
  * @version 1.0
  */
 public class BoardGameController {
 
+    /**
+     * Location of the append-only journal that records every game played in this installation.
+     */
+    private static final Path JOURNAL_PATH = Paths.get(System.getProperty("user.home"), ".battleship", "games.journal");
+
+    /**
+     * Location of the snapshot of the game in progress, used to resume it on the next start.
+     */
+    private static final Path SNAPSHOT_PATH = Paths.get(System.getProperty("user.home"), ".battleship", "last-game.snapshot");
+
+    /**
+     * System property holding the {@code host:port} of a match server; when set, the play button joins
+     * an online match instead of playing against the local opponent.
+     */
+    private static final String SERVER_PROPERTY = "battleship.server";
+
+    /**
+     * System property selecting the board renderer: {@code canvas} draws the board on a single canvas,
+     * anything else uses one node per ship and marker.
+     */
+    private static final String RENDERER_PROPERTY = "battleship.renderer";
+
+    /**
+     * System property that shows, with the canvas renderer, the exact probability that the opponent's
+     * next shot finds a ship on each cell as an overlay on the board.
+     */
+    private static final String HINTS_PROPERTY = "battleship.hints";
+
+    /**
+     * System property that switches the local game to salvo mode: the computer opponent fires a salvo
+     * of the given number of shots every turn, or one shot per ship left afloat with {@code afloat}.
+     */
+    private static final String SALVO_PROPERTY = "battleship.salvo";
+
+    /**
+     * System property holding the pause in milliseconds between two turns of the computer opponent;
+     * lower it to watch games play out at high speed.
+     */
+    private static final String SHOT_DELAY_PROPERTY = "battleship.shotDelay";
+
+    /**
+     * System property that prints every event published by the game engine.
+     */
+    private static final String LOG_EVENTS_PROPERTY = "battleship.logEvents";
+
+    /** Maximum number of engine events buffered ahead of the screen. */
+    private static final int EVENT_WINDOW = 256;
+
+    /** Number of shot animations that can play at the same time. */
+    private static final int ANIMATION_SPRITES = 32;
+
+    /** Size in pixels of a board cell. */
+    private static final int CELL_SIZE = 30;
+
+    /** Size in pixels of the board. */
+    private static final int BOARD_PIXELS = Bitboard.SIZE * CELL_SIZE;
+
+    /** Fill of the drag preview over a legal anchor. */
+    private static final Color VALID_PREVIEW = Color.rgb(0, 200, 0, 0.45);
+
+    /** Fill of the drag preview over an illegal anchor. */
+    private static final Color INVALID_PREVIEW = Color.rgb(220, 0, 0, 0.45);
+
     @FXML
     private ImageView infoImageView;
 
@@ -28,86 +132,327 @@ public class BoardGameController {
     private AnchorPane onAnchorPane;
 
     private List<Rectangle> barcosVisuales = new ArrayList<>();
-    private List<Ship> barcosLogicos = new ArrayList<>();
-    private boolean[][] tablero = new boolean[10][10];
+    private final GameEngine engine = new GameEngine();
+    private final GameEventBus events = new GameEventBus();
+    private final PulseBatchSubscriber<GameEvent> eventView = new PulseBatchSubscriber<>(EVENT_WINDOW, this::onGameEvents, this::resyncBoard);
+    private LayoutPool layoutPool;
+    private final SnapshotWriter snapshots = new SnapshotWriter(SNAPSHOT_PATH);
+    private final int[] layout = new int[Fleet.standard().length];
+    private final DensityStrategy opponent = new DensityStrategy();
+    private final Observation observation = new Observation(Fleet.standard());
+    private final SalvoRule salvoRule = System.getProperty(SALVO_PROPERTY) == null
+            ? null : SalvoRule.parse(System.getProperty(SALVO_PROPERTY));
+    private final SalvoResult salvoResult = new SalvoResult(Fleet.standard().length);
+    private int firingRound;
+    private GameJournal journal;
+    private long journalGameId;
+    private OnlineMatchSession matchSession;
+    private CanvasBoardRenderer canvasRenderer;
+    private ShotAnimationLayer shotLayer;
+    private PauseTransition opponentPause;
+    private int pausedGame;
+    private int draggedShip = -1;
+    private double grabX;
+    private double grabY;
+    private double pendingDragX;
+    private double pendingDragY;
+    private boolean dragPending;
+    private int dragAnchorX;
+    private int dragAnchorY;
+    private final long[] dragAnchors = new long[4];
+    private Rectangle dragGhost;
+    private ShipDragEvent dragEvent;
+    private int dragUpdates;
+    private final AnimationTimer dragPulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (dragPending) applyDrag();
+        }
+    };
+    private final ExactSolver hintSolver = new ExactSolver();
+    private final Observation hintObservation = new Observation(Fleet.standard());
+    private volatile int hintRound;
+    private boolean disposed;
 
     /**
-     * Initializes the game board by setting the title image and placing ships randomly.
+     * A single write to the game journal.
+     */
+    private interface JournalWrite {
+        void write(GameJournal journal) throws IOException;
+    }
+
+    /**
+     * Initializes the game board by setting the title image. This may run on a background thread
+     * while the view is preloaded, so the game itself is only set up by {@link #onShown()}.
      */
     @FXML
     public void initialize() {
-        Image title = new Image(getClass().getResourceAsStream("/com/example/battleship/img/title.png"));
-        infoImageView.setImage(title);
-        initShips();
+        infoImageView.setImage(AssetCache.image(AssetCache.TITLE));
     }
 
     /**
-     * Initializes the ships on the board and sets up their initial positions.
-     * Adds listeners for dragging and rotating the ships.
+     * Sets up the game once the window is shown: starts the layout pool, arranges for the board to be
+     * {@linkplain #dispose() disposed of} however the window gets hidden, opens the game journal, resumes the last game in progress or places ships
+     * randomly if there is none, and then subscribes the board to the engine's events.
      */
-    private void initShips() {
-        barcosVisuales.clear();
-        barcosLogicos.clear();
+    public void onShown() {
+        layoutPool = new LayoutPool(Fleet.standard(), LayoutPool.DEFAULT_CAPACITY);
+        infoImageView.getScene().getWindow().addEventHandler(WindowEvent.WINDOW_HIDDEN, e -> dispose());
+        try {
+            journal = new GameJournal(JOURNAL_PATH);
+        } catch (IOException e) {
+            System.err.println("Game journal disabled: " + e.getMessage());
+        }
+        if ("canvas".equals(System.getProperty(RENDERER_PROPERTY))) {
+            canvasRenderer = new CanvasBoardRenderer(BoardConfig.STANDARD, CELL_SIZE);
+            addCanvasListeners(canvasRenderer.getCanvas());
+            onAnchorPane.getChildren().add(canvasRenderer.getCanvas());
+        }
+        shotLayer = new ShotAnimationLayer(Bitboard.SIZE, Bitboard.SIZE, CELL_SIZE, ANIMATION_SPRITES);
+        shotLayer.setMarkersVisible(canvasRenderer == null);
+        onAnchorPane.getChildren().add(shotLayer.getNode());
+        opponentPause = new PauseTransition(Duration.millis(Long.getLong(SHOT_DELAY_PROPERTY, 400)));
+        opponentPause.setOnFinished(e -> fireOpponentShot(pausedGame));
+        if (!resumeGame()) {
+            initShips();
+        }
+        events.subscribe(eventView, eventView::invalidate);
+        if (Boolean.getBoolean(LOG_EVENTS_PROPERTY)) {
+            events.subscribe(new GameEventLogger(System.out));
+        }
+        engine.setEventBus(events);
+    }
+
+    /**
+     * Applies a pulse's worth of engine events to the board: every ship that moved or rotated is
+     * redrawn once, whatever the number of its events, and every resolved shot gets its marker and
+     * its animation.
+     *
+     * @param batch The events published since the previous pulse, in order.
+     */
+    private void onGameEvents(List<GameEvent> batch) {
+        BitSet changedShips = new BitSet();
+        for (GameEvent event : batch) {
+            switch (event.getType()) {
+                case SHIP_MOVED:
+                case SHIP_ROTATED:
+                    changedShips.set(event.getShip());
+                    break;
+                case SHOT_RESOLVED:
+                    drawShotMarker(event.getCell(), event.getResult());
+                    shotLayer.play(event.getCell(), event.getResult());
+                    break;
+                default:
+                    break;
+            }
+        }
+        for (int ship = changedShips.nextSetBit(0); ship >= 0; ship = changedShips.nextSetBit(ship + 1)) {
+            refreshShip(ship);
+        }
+    }
 
-        placeShip(4, Color.BLUE);
-        for (int i = 0; i < 2; i++) {
-            placeShip(3, Color.GREEN);
+    /**
+     * Redraws every ship and shot marker from the engine, after the event bus dropped events the board
+     * did not get. Animations in flight are cut short.
+     */
+    private void resyncBoard() {
+        shotLayer.clear();
+        if (canvasRenderer != null) {
+            canvasRenderer.clear();
         }
-        for (int i = 0; i < 3; i++) {
-            placeShip(2, Color.ORANGE);
+        for (int ship = 0; ship < engine.getShips().size(); ship++) {
+            refreshShip(ship);
         }
-        for (int i = 0; i < 4; i++) {
-            placeShip(1, Color.RED); 
+        Bitboard hits = engine.getHits();
+        for (int i = 0; i < engine.getShotCount(); i++) {
+            int cell = engine.getShot(i);
+            drawShotMarker(cell, hits.get(cell) ? ShotResult.HIT : ShotResult.MISS);
+        }
+    }
+
+    /**
+     * Restores the game saved in the snapshot file: the fleet, the shots fired so far and,
+     * if the game was in progress, the opponent's fire.
+     *
+     * @return {@code true} if a game was resumed, {@code false} if there was nothing to resume.
+     */
+    private boolean resumeGame() {
+        long gameId;
+        try {
+            gameId = GameSnapshot.load(SNAPSHOT_PATH, engine);
+        } catch (IOException e) {
+            System.err.println("Could not resume the last game: " + e.getMessage());
+            return false;
         }
+        if (gameId < 0) return false;
 
-        for (int i = 0; i < barcosVisuales.size(); i++) {
-            addDragListeners(barcosVisuales.get(i), barcosLogicos.get(i));
-            addRotateListener(barcosVisuales.get(i), barcosLogicos.get(i));
+        journalGameId = gameId;
+        createShipNodes();
+        Bitboard hits = engine.getHits();
+        for (int i = 0; i < engine.getShotCount(); i++) {
+            int cell = engine.getShot(i);
+            drawShotMarker(cell, hits.get(cell) ? ShotResult.HIT : ShotResult.MISS);
         }
+        if (engine.isStarted() && !engine.isGameOver()) {
+            updateHint();
+            fireOpponentShot(++firingRound);
+        }
+        return true;
+    }
+
+    /**
+     * Saves a snapshot of the current game so that it can be resumed after a restart. The snapshot is
+     * written in the background; online matches are not saved. A failing save is reported and
+     * otherwise ignored.
+     */
+    private void saveSnapshot() {
+        if (matchSession != null) return;
+        snapshots.save(engine, journalGameId);
     }
 
     /**
-     * Places a single ship randomly on the board in a valid position.
+     * Deletes the snapshot of a finished game.
+     */
+    private void deleteSnapshot() {
+        snapshots.delete();
+    }
+
+    /**
+     * Records an event in the game journal. A failing journal is closed and disabled so that
+     * it never interrupts the game.
      *
-     * @param length The length of the ship.
-     * @param color  The color representing the ship.
+     * @param write The write to perform.
      */
-    private void placeShip(int length, Color color) {
-        Ship ship = new Ship(length);
-        Rectangle shipRect = createShipRectangle(ship, color);
-        int x, y;
-        boolean positionValid;
+    private void record(JournalWrite write) {
+        if (journal == null) return;
+        try {
+            write.write(journal);
+        } catch (IOException e) {
+            System.err.println("Game journal disabled: " + e.getMessage());
+            closeJournal();
+        }
+    }
 
-        do {
-            x = (int) (Math.random() * (10 - length));
-            y = (int) (Math.random() * 10);
-            ship.setPosicion(x, y);
+    /**
+     * Flushes and closes the game journal.
+     */
+    private void closeJournal() {
+        if (journal == null) return;
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.err.println("Could not close the game journal: " + e.getMessage());
+        }
+        journal = null;
+    }
 
-            if (Math.random() > 0.5) {
-                ship.rotar();
+    /**
+     * Places the fleet through the engine in a random layout taken from the layout pool, then moves
+     * the existing ship nodes there, creating them on first use.
+     */
+    private void initShips() {
+        engine.placeFleet(layoutPool.take(layout));
+        if (canvasRenderer == null && barcosVisuales.isEmpty()) {
+            createShipNodes();
+        } else {
+            for (int i = 0; i < engine.getShips().size(); i++) {
+                refreshShip(i);
             }
-            positionValid = isValidPosition(ship, x, y);
-        } while (!positionValid);
+        }
+        List<Ship> barcosLogicos = engine.getShips();
 
-        ship.ocuparPosicionEnTablero(tablero);
-        shipRect.setLayoutX(x * 30);
-        shipRect.setLayoutY(y * 30);
-        onAnchorPane.getChildren().add(shipRect);
+        journalGameId = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+        record(j -> {
+            j.gameStart(journalGameId, engine.getFleet());
+            for (int i = 0; i < barcosLogicos.size(); i++) {
+                Ship ship = barcosLogicos.get(i);
+                j.placement(journalGameId, i, Bitboard.index(ship.getPosX(), ship.getPosY()), ship.isHorizontal());
+            }
+        });
+        saveSnapshot();
+    }
 
-        barcosVisuales.add(shipRect);
-        barcosLogicos.add(ship);
+    /**
+     * Creates the rectangles that represent the engine's fleet and adds listeners for dragging
+     * and rotating the ships.
+     */
+    private void createShipNodes() {
+        barcosVisuales.clear();
+        List<Ship> barcosLogicos = engine.getShips();
+        if (canvasRenderer != null) {
+            for (int i = 0; i < barcosLogicos.size(); i++) {
+                refreshShip(i);
+            }
+            return;
+        }
+        for (int i = 0; i < barcosLogicos.size(); i++) {
+            Rectangle shipRect = createShipRectangle(barcosLogicos.get(i), colorFor(barcosLogicos.get(i).getLongitud()));
+            updateShipRectangle(shipRect, barcosLogicos.get(i));
+            onAnchorPane.getChildren().add(shipRect);
+            barcosVisuales.add(shipRect);
+            addDragListeners(shipRect, i);
+            addRotateListener(shipRect, i);
+        }
+        shotLayer.getNode().toFront();
     }
 
     /**
-     * Adds a click listener to a ship to enable rotation.
+     * Returns the color used to draw ships of a given length.
+     *
+     * @param length The length of the ship.
+     * @return The color representing ships of that length.
+     */
+    private Color colorFor(int length) {
+        switch (length) {
+            case 4:
+                return Color.BLUE;
+            case 3:
+                return Color.GREEN;
+            case 2:
+                return Color.ORANGE;
+            default:
+                return Color.RED;
+        }
+    }
+
+    /**
+     * Redraws a ship at its current position in the engine.
+     *
+     * @param index The index of the ship in the engine's fleet.
+     */
+    private void refreshShip(int index) {
+        Ship ship = engine.getShips().get(index);
+        if (canvasRenderer != null) {
+            canvasRenderer.setShip(index, ship.isHorizontal(), ship.getPosX(), ship.getPosY(), colorFor(ship.getLongitud()));
+        } else {
+            updateShipRectangle(barcosVisuales.get(index), ship);
+        }
+    }
+
+    /**
+     * Sizes and positions a ship rectangle according to the ship's orientation and anchor cell.
      *
      * @param shipRect The visual representation of the ship.
      * @param ship     The logical representation of the ship.
      */
-    private void addRotateListener(Rectangle shipRect, Ship ship) {
+    private void updateShipRectangle(Rectangle shipRect, Ship ship) {
+        int length = ship.getLongitud() * CELL_SIZE;
+        shipRect.setWidth(ship.isHorizontal() ? length : CELL_SIZE);
+        shipRect.setHeight(ship.isHorizontal() ? CELL_SIZE : length);
+        shipRect.setLayoutX(ship.getPosX() * CELL_SIZE);
+        shipRect.setLayoutY(ship.getPosY() * CELL_SIZE);
+    }
+
+    /**
+     * Adds a click listener to a ship to enable rotation.
+     *
+     * @param shipRect The visual representation of the ship.
+     * @param index    The index of the ship in the engine's fleet.
+     */
+    private void addRotateListener(Rectangle shipRect, int index) {
         shipRect.setOnMouseClicked(event -> {
-            if (event.getButton() == MouseButton.PRIMARY) {
-                rotateShip(shipRect, ship);
+            if (event.getButton() == MouseButton.PRIMARY && event.isStillSincePress()) {
+                rotateShip(index);
             }
         });
     }
@@ -120,7 +465,7 @@ public class BoardGameController {
      * @return A rectangle representing the ship.
      */
     private Rectangle createShipRectangle(Ship ship, Color color) {
-        Rectangle shipRect = new Rectangle(ship.getLongitud() * 30, 30);
+        Rectangle shipRect = new Rectangle(ship.getLongitud() * CELL_SIZE, CELL_SIZE);
         shipRect.setFill(color);
         shipRect.setUserData(ship);
         return shipRect;
@@ -130,132 +475,528 @@ public class BoardGameController {
      * Adds drag functionality to a ship, allowing it to be repositioned on the board.
      *
      * @param shipRect The visual representation of the ship.
-     * @param ship     The logical representation of the ship.
+     * @param index    The index of the ship in the engine's fleet.
      */
-    private void addDragListeners(Rectangle shipRect, Ship ship) {
-        shipRect.setOnMousePressed(event -> {
-            double initialX = event.getSceneX() - shipRect.getLayoutX();
-            double initialY = event.getSceneY() - shipRect.getLayoutY();
-            shipRect.setUserData(new double[]{initialX, initialY});
-            ship.liberarPosicionEnTablero(tablero);
-        });
-
-        shipRect.setOnMouseDragged(event -> {
-            double[] initialPos = (double[]) shipRect.getUserData();
-            double offsetX = event.getSceneX() - initialPos[0];
-            double offsetY = event.getSceneY() - initialPos[1];
+    private void addDragListeners(Rectangle shipRect, int index) {
+        shipRect.setOnMousePressed(event ->
+                beginDrag(index, event.getSceneX() - shipRect.getLayoutX(), event.getSceneY() - shipRect.getLayoutY()));
+        shipRect.setOnMouseDragged(event -> dragTo(event.getSceneX(), event.getSceneY()));
+        shipRect.setOnMouseReleased(event -> endDrag());
+    }
 
-            if (offsetX >= 0 && offsetX + shipRect.getWidth() <= 300 &&
-                    offsetY >= 0 && offsetY + shipRect.getHeight() <= 300) {
-                shipRect.setLayoutX(offsetX);
-                shipRect.setLayoutY(offsetY);
-            }
+    /**
+     * Adds the mouse listeners of the canvas renderer. Ships are found by computing the cell under the
+     * cursor; while a ship is dragged it floats above the board, snapped to the cell under the cursor.
+     *
+     * @param canvas The canvas of the renderer.
+     */
+    private void addCanvasListeners(Canvas canvas) {
+        canvas.setOnMousePressed(event -> {
+            if (event.getButton() != MouseButton.PRIMARY) return;
+            int index = canvasRenderer.shipAt(event.getX(), event.getY());
+            if (index < 0) return;
+            Ship ship = engine.getShips().get(index);
+            beginDrag(index, event.getX() - ship.getPosX() * CELL_SIZE, event.getY() - ship.getPosY() * CELL_SIZE);
+        });
+        canvas.setOnMouseDragged(event -> dragTo(event.getX(), event.getY()));
+        canvas.setOnMouseReleased(event -> endDrag());
+        canvas.setOnMouseClicked(event -> {
+            if (event.getButton() != MouseButton.PRIMARY || !event.isStillSincePress()) return;
+            int index = canvasRenderer.shipAt(event.getX(), event.getY());
+            if (index >= 0) rotateShip(index);
         });
+    }
 
-        shipRect.setOnMouseReleased(event -> {
-            double newX = Math.round(shipRect.getLayoutX() / 30) * 30;
-            double newY = Math.round(shipRect.getLayoutY() / 30) * 30;
-            int posX = (int) newX / 30;
-            int posY = (int) newY / 30;
-
-            if (isValidPosition(ship, posX, posY)) {
-                ship.setPosicion(posX, posY);
-                shipRect.setLayoutX(newX);
-                shipRect.setLayoutY(newY);
-            } else {
-                double[] initialPos = (double[]) shipRect.getUserData();
-                shipRect.setLayoutX(initialPos[0]);
-                shipRect.setLayoutY(initialPos[1]);
-                ship.ocuparPosicionEnTablero(tablero);
+    /**
+     * Starts dragging a ship. Computes once the valid anchors of the ship in both orientations, so
+     * every later drag update validates the cell under the cursor with a single bit test.
+     *
+     * @param index The index of the ship in the engine's fleet.
+     * @param grabX The horizontal distance in pixels from the ship's corner to the cursor.
+     * @param grabY The vertical distance in pixels from the ship's corner to the cursor.
+     */
+    private void beginDrag(int index, double grabX, double grabY) {
+        if (engine.isStarted()) return;
+        dragEvent = ShipDragEvent.beginIfEnabled();
+        dragUpdates = 0;
+        long start = System.nanoTime();
+        Ship ship = engine.getShips().get(index);
+        draggedShip = index;
+        this.grabX = grabX;
+        this.grabY = grabY;
+        dragAnchorX = ship.getPosX();
+        dragAnchorY = ship.getPosY();
+        engine.validAnchors(index, dragAnchors);
+        Metrics.DRAG_START.recordSince(start);
+        if (canvasRenderer == null) {
+            if (dragGhost == null) {
+                dragGhost = new Rectangle();
+                dragGhost.setMouseTransparent(true);
             }
-        });
+            int length = ship.getLongitud() * CELL_SIZE;
+            dragGhost.setWidth(ship.isHorizontal() ? length : CELL_SIZE);
+            dragGhost.setHeight(ship.isHorizontal() ? CELL_SIZE : length);
+            onAnchorPane.getChildren().add(dragGhost);
+        }
+        dragPulse.start();
     }
 
     /**
-     * Rotates a ship and updates its position on the board.
+     * Records the latest cursor position of a drag. The ship and its preview are only updated on
+     * the next animation pulse, so a burst of mouse events costs a single update.
      *
-     * @param shipRect The visual representation of the ship.
-     * @param ship     The logical representation of the ship.
+     * @param x The x-coordinate of the cursor, in the coordinates the drag started with.
+     * @param y The y-coordinate of the cursor, in the coordinates the drag started with.
      */
-    private void rotateShip(Rectangle shipRect, Ship ship) {
-        ship.liberarPosicionEnTablero(tablero);
-        ship.rotar();
-        shipRect.setRotate(ship.isHorizontal() ? 0 : 90);
-        ship.ocuparPosicionEnTablero(tablero);
+    private void dragTo(double x, double y) {
+        if (draggedShip < 0) return;
+        pendingDragX = x;
+        pendingDragY = y;
+        dragPending = true;
+    }
+
+    /**
+     * Moves the dragged ship to the latest cursor position and shows whether the cell it snaps to
+     * is a legal anchor.
+     */
+    private void applyDrag() {
+        long start = System.nanoTime();
+        dragPending = false;
+        dragUpdates++;
+        Ship ship = engine.getShips().get(draggedShip);
+        boolean horizontal = ship.isHorizontal();
+        int length = ship.getLongitud();
+        double cornerX = pendingDragX - grabX;
+        double cornerY = pendingDragY - grabY;
+        dragAnchorX = Math.max(0, Math.min(Bitboard.SIZE - (horizontal ? length : 1), (int) Math.round(cornerX / CELL_SIZE)));
+        dragAnchorY = Math.max(0, Math.min(Bitboard.SIZE - (horizontal ? 1 : length), (int) Math.round(cornerY / CELL_SIZE)));
+        Color preview = isValidAnchor(horizontal, dragAnchorX, dragAnchorY) ? VALID_PREVIEW : INVALID_PREVIEW;
+        if (canvasRenderer != null) {
+            canvasRenderer.setFloating(draggedShip, horizontal, dragAnchorX, dragAnchorY, preview);
+        } else {
+            Rectangle shipRect = barcosVisuales.get(draggedShip);
+            shipRect.setLayoutX(Math.max(0, Math.min(BOARD_PIXELS - shipRect.getWidth(), cornerX)));
+            shipRect.setLayoutY(Math.max(0, Math.min(BOARD_PIXELS - shipRect.getHeight(), cornerY)));
+            dragGhost.setLayoutX(dragAnchorX * CELL_SIZE);
+            dragGhost.setLayoutY(dragAnchorY * CELL_SIZE);
+            dragGhost.setFill(preview);
+        }
+        Metrics.DRAG_UPDATE.recordSince(start);
+    }
+
+    /**
+     * Ends a drag, committing the ship to the last previewed anchor, and records how long the
+     * release took to handle.
+     */
+    private void endDrag() {
+        if (draggedShip < 0) return;
+        long release = System.nanoTime();
+        if (dragPending) applyDrag();
+        dragPulse.stop();
+        int index = draggedShip;
+        draggedShip = -1;
+        if (canvasRenderer != null) {
+            canvasRenderer.clearFloating();
+        } else {
+            onAnchorPane.getChildren().remove(dragGhost);
+        }
+        boolean moved = commitDrag(index, dragAnchorX, dragAnchorY);
+        ShipDragEvent.commit(dragEvent, index, dragUpdates, Metrics.DRAG_RELEASE.recordSince(release), moved);
+        dragEvent = null;
+    }
+
+    /**
+     * Checks the anchors computed when the drag started.
+     *
+     * @param horizontal The orientation of the ship.
+     * @param x          The x-coordinate of the anchor.
+     * @param y          The y-coordinate of the anchor.
+     * @return {@code true} if the dragged ship can be dropped there, {@code false} otherwise.
+     */
+    private boolean isValidAnchor(boolean horizontal, int x, int y) {
+        int cell = Bitboard.index(x, y);
+        long word = dragAnchors[(horizontal ? 0 : 2) + (cell < 64 ? 0 : 1)];
+        return (word >>> (cell & 63) & 1L) != 0;
+    }
+
+    /**
+     * Moves a dragged ship to the cell it was dropped on if the position is valid; the engine's event
+     * redraws it there. An invalid drop is redrawn at once so the ship snaps back.
+     *
+     * @param index The index of the ship in the engine's fleet.
+     * @param posX  The x-coordinate of the drop.
+     * @param posY  The y-coordinate of the drop.
+     * @return {@code true} if the ship moved, {@code false} if it snapped back.
+     */
+    private boolean commitDrag(int index, int posX, int posY) {
+        Ship ship = engine.getShips().get(index);
+        boolean moved = ship.getPosX() != posX || ship.getPosY() != posY;
+        moved = moved && !engine.isStarted() && isValidPosition(index, posX, posY);
+        if (moved) {
+            engine.moveShip(index, posX, posY, ship.isHorizontal());
+            record(j -> j.dragCommit(journalGameId, index, Bitboard.index(posX, posY)));
+            saveSnapshot();
+        } else {
+            refreshShip(index);
+        }
+        return moved;
+    }
+
+    /**
+     * Rotates a ship through the engine if the rotation is valid; the engine's event redraws it.
+     *
+     * @param index The index of the ship in the engine's fleet.
+     */
+    private void rotateShip(int index) {
+        if (engine.isStarted()) return;
+        ShipRotateEvent event = ShipRotateEvent.beginIfEnabled();
+        long start = System.nanoTime();
+        boolean rotated = engine.rotateShip(index);
+        Metrics.ROTATE.recordSince(start);
+        ShipRotateEvent.commit(event, index, rotated);
+        if (rotated) {
+            Ship ship = engine.getShips().get(index);
+            record(j -> j.rotation(journalGameId, index, ship.isHorizontal()));
+            saveSnapshot();
+        }
     }
 
     /**
      * Validates if a ship can be placed at a specific position.
      *
-     * @param ship The ship to validate.
-     * @param x    The x-coordinate on the board.
-     * @param y    The y-coordinate on the board.
+     * @param index The index of the ship in the engine's fleet.
+     * @param x     The x-coordinate on the board.
+     * @param y     The y-coordinate on the board.
      * @return {@code true} if the position is valid, {@code false} otherwise.
      */
-    private boolean isValidPosition(Ship ship, int x, int y) {
-        int length = ship.getLongitud();
+    private boolean isValidPosition(int index, int x, int y) {
+        PlacementValidationEvent event = PlacementValidationEvent.beginIfEnabled();
+        long start = System.nanoTime();
+        boolean valid = engine.canPlace(index, x, y, engine.getShips().get(index).isHorizontal());
+        Metrics.VALIDATE.recordSince(start);
+        PlacementValidationEvent.commit(event, index, Bitboard.index(x, y), valid);
+        return valid;
+    }
 
-        if (ship.isHorizontal()) {
-            if (x + length > 10) return false;
-            for (int i = 0; i < length; i++) {
-                if (tablero[x + i][y]) return false;
+    /**
+     * Starts the game by locking ship positions, printing the board layout and letting
+     * the computer opponent open fire on the fleet. If a match server is configured, joins an
+     * online match instead.
+     *
+     * @param event The action event triggered by the play button.
+     */
+    @FXML
+    void onPlayButton(ActionEvent event) {
+        if (engine.isStarted()) return;
+        engine.start();
+        printBoard();
+        String server = System.getProperty(SERVER_PROPERTY);
+        if (server != null && joinOnlineMatch(server)) return;
+        playComputer();
+    }
+
+    /**
+     * Starts the game against the computer opponent.
+     */
+    private void playComputer() {
+        saveSnapshot();
+        fireOpponentShot(++firingRound);
+    }
+
+    /**
+     * Starts an online match on a match server, connecting off the JavaFX Application Thread. The
+     * session resolves the remote player's shots on the engine, whose events draw them, and fires back
+     * with the targeting strategy. If the server cannot be reached, the game falls back to the computer
+     * opponent.
+     *
+     * @param server The {@code host:port} of the server.
+     * @return {@code true} if a connection is under way, {@code false} if the address is invalid.
+     */
+    private boolean joinOnlineMatch(String server) {
+        InetSocketAddress address;
+        try {
+            address = MatchClient.parseAddress(server);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Could not join a match on " + server + ": " + e.getMessage());
+            return false;
+        }
+        deleteSnapshot();
+        System.out.println("Connecting to " + server);
+        matchSession = OnlineMatchSession.start(address, engine, opponent::nextShotAsync, Platform::runLater,
+                new OnlineMatchView(server));
+        return true;
+    }
+
+    /**
+     * Disconnects from the match server, forfeiting any match in progress.
+     */
+    private void closeMatchSession() {
+        if (matchSession == null) return;
+        matchSession.close();
+        matchSession = null;
+    }
+
+    /**
+     * Shows the progress of the online match and records the remote player's shots like the computer
+     * opponent's.
+     */
+    private final class OnlineMatchView implements OnlineMatchSession.Listener {
+        private final String server;
+
+        private OnlineMatchView(String server) {
+            this.server = server;
+        }
+
+        @Override
+        public void onQueued() {
+            System.out.println("Waiting for an opponent on " + server);
+        }
+
+        @Override
+        public void onMatched(int matchId) {
+            System.out.println("Joined match " + matchId);
+        }
+
+        @Override
+        public void onShotReceived(int cell, ShotResult result) {
+            recordIncomingShot(cell, result);
+        }
+
+        @Override
+        public void onEnded(OnlineMatchSession.Outcome outcome) {
+            matchSession = null;
+            if (outcome == OnlineMatchSession.Outcome.WON) {
+                System.out.println("Opponent fleet sunk, you win");
+            } else if (outcome == OnlineMatchSession.Outcome.OPPONENT_LEFT) {
+                System.out.println("Opponent left the match");
+            } else if (outcome == OnlineMatchSession.Outcome.DISCONNECTED) {
+                System.err.println("Match connection lost");
             }
-        } else {
-            if (y + length > 10) return false;
-            for (int i = 0; i < length; i++) {
-                if (tablero[x][y + i]) return false;
+        }
+
+        @Override
+        public void onConnectFailed(Throwable error) {
+            matchSession = null;
+            System.err.println("Could not join a match on " + server + ": " + error.getMessage());
+            playComputer();
+        }
+    }
+
+    /**
+     * Asks the computer opponent for its next shot. The shot is chosen off the JavaFX Application
+     * Thread and resolved back on it.
+     *
+     * @param game The id of the game the shot belongs to; stale shots are dropped.
+     */
+    private void fireOpponentShot(int game) {
+        if (salvoRule != null) {
+            onFxThread(opponent.nextSalvoAsync(engine.observe(observation), salvoRule.shots(engine)),
+                    "computer opponent", salvo -> resolveOpponentSalvo(game, salvo));
+            return;
+        }
+        onFxThread(opponent.nextShotAsync(engine.observe(observation)),
+                "computer opponent", cell -> resolveOpponentShot(game, cell));
+    }
+
+    /**
+     * Hands the outcome of a background computation to the JavaFX Application Thread. A computation
+     * that failed is reported there instead, and its action is not run.
+     *
+     * @param future The computation.
+     * @param what   What the computation belongs to, for the report.
+     * @param action Receives the value on the JavaFX Application Thread.
+     * @param <T>    The type of the value.
+     */
+    private static <T> void onFxThread(CompletableFuture<T> future, String what, Consumer<T> action) {
+        future.whenComplete((value, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                System.err.println("The " + what + " failed: " + error);
+                return;
             }
+            action.accept(value);
+        }));
+    }
+
+    /**
+     * Resolves a shot of the computer opponent against the fleet and schedules the next one.
+     *
+     * @param game The id of the game the shot belongs to.
+     * @param cell The bit index of the target cell.
+     */
+    private void resolveOpponentShot(int game, int cell) {
+        if (game != firingRound || !engine.isStarted() || engine.isGameOver()) return;
+        if (applyIncomingShot(cell)) return;
+        scheduleOpponentShot(game);
+    }
+
+    /**
+     * Resolves a salvo of the computer opponent against the fleet at once and schedules the next one.
+     *
+     * @param game  The id of the game the salvo belongs to.
+     * @param salvo The low and high words of the target cells.
+     */
+    private void resolveOpponentSalvo(int game, long[] salvo) {
+        if (game != firingRound || !engine.isStarted() || engine.isGameOver()) return;
+        engine.fireSalvo(salvo[0], salvo[1], salvoResult);
+        for (int i = 0; i < salvoResult.getCellCount(); i++) {
+            int cell = salvoResult.getCell(i);
+            ShotResult result = salvoResult.getResult(i);
+            record(j -> {
+                j.shot(journalGameId, cell);
+                j.result(journalGameId, cell, result);
+            });
         }
+        if (finishIfSunk()) return;
+        scheduleOpponentShot(game);
+    }
+
+    /**
+     * Saves the game and lets the computer opponent fire again after a short pause.
+     *
+     * @param game The id of the game.
+     */
+    private void scheduleOpponentShot(int game) {
+        saveSnapshot();
+        pausedGame = game;
+        opponentPause.playFromStart();
+    }
+
+    /**
+     * Fires a shot at the fleet on screen and records it in the journal. The engine's event draws it.
+     *
+     * @param cell The bit index of the target cell.
+     * @return {@code true} if the shot sank the last ship, {@code false} otherwise.
+     */
+    private boolean applyIncomingShot(int cell) {
+        return recordIncomingShot(cell, engine.fire(cell));
+    }
+
+    /**
+     * Records a shot already resolved on the fleet on screen in the journal, and ends the game if it
+     * sank the last ship.
+     *
+     * @param cell   The bit index of the target cell.
+     * @param result The result of the shot.
+     * @return {@code true} if the shot sank the last ship, {@code false} otherwise.
+     */
+    private boolean recordIncomingShot(int cell, ShotResult result) {
+        record(j -> {
+            j.shot(journalGameId, cell);
+            j.result(journalGameId, cell, result);
+        });
+        return finishIfSunk();
+    }
+
+    /**
+     * Refreshes the hint after the fleet was fired at and ends the game if every ship is sunk.
+     *
+     * @return {@code true} if the last ship was sunk, {@code false} otherwise.
+     */
+    private boolean finishIfSunk() {
+        updateHint();
+        if (!engine.isGameOver()) return false;
+        record(j -> j.gameOver(journalGameId, engine.getShotCount()));
+        deleteSnapshot();
         return true;
     }
 
     /**
-     * Starts the game by locking ship positions and printing the board layout.
+     * Recomputes the hint overlay off the JavaFX Application Thread: the exact occupancy probability of
+     * every cell not fired at yet, given what the opponent has seen of the fleet. Early in a game, when
+     * the exact count is over the solver's budget, a sampled estimate is shown instead. The overlay is
+     * removed once the game is over.
+     */
+    private void updateHint() {
+        if (canvasRenderer == null || !Boolean.getBoolean(HINTS_PROPERTY)) return;
+        int round = ++hintRound;
+        if (engine.isGameOver()) {
+            canvasRenderer.setOverlay(null, 0);
+            return;
+        }
+        Observation snapshot = new Observation(engine.observe(hintObservation));
+        onFxThread(CompletableFuture.supplyAsync(() -> {
+            if (round != hintRound) return null;
+            long[] heat = hintSolver.solve(snapshot);
+            return heat != null ? heat : opponent.heatMap(snapshot, new SplittableRandom());
+        }), "hint solver", heat -> {
+            if (heat == null || round != hintRound || canvasRenderer == null) return;
+            Bitboard shots = snapshot.getShots();
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                if (shots.get(cell)) heat[cell] = 0;
+            }
+            canvasRenderer.setOverlay(heat, heat[Bitboard.CELLS]);
+        });
+    }
+
+    /**
+     * Draws a marker for a resolved shot on the board, on the canvas or by showing the cell's pooled
+     * marker node.
      *
-     * @param event The action event triggered by the play button.
+     * @param cell   The bit index of the target cell.
+     * @param result The result of the shot.
      */
-    @FXML
-    void onPlayButton(ActionEvent event) {
-        clearBoard();
-        for (Ship ship : barcosLogicos) {
-            ship.ocuparPosicionEnTablero(tablero);
+    private void drawShotMarker(int cell, ShotResult result) {
+        if (canvasRenderer != null) {
+            canvasRenderer.markShot(cell % Bitboard.SIZE, cell / Bitboard.SIZE, result != ShotResult.MISS);
+            return;
         }
-        printBoard();
+        shotLayer.mark(cell, result != ShotResult.MISS);
     }
 
     /**
-     * Repositions all ships randomly on the board.
+     * Repositions all ships randomly on the board, reusing their nodes, and clears the shots.
      *
      * @param event The action event triggered by the reorder button.
      */
     @FXML
     void onReorderButton(ActionEvent event) {
-        clearBoard();
-        onAnchorPane.getChildren().clear();
-        barcosVisuales.clear();
-        barcosLogicos.clear();
+        firingRound++;
+        closeMatchSession();
+        shotLayer.clear();
+        if (canvasRenderer != null) {
+            canvasRenderer.clear();
+        }
         initShips();
     }
 
     /**
-     * Closes the game window.
+     * Saves the game in progress and closes the game window, which {@linkplain #dispose() disposes of} the board.
      *
      * @param event The action event triggered by the close button.
      */
     @FXML
     void onXButton(ActionEvent event) {
+        if (!engine.isGameOver()) {
+            saveSnapshot();
+        }
         Stage stage = (Stage) infoImageView.getScene().getWindow();
         stage.close();
     }
 
     /**
-     * Clears the board, resetting all occupied positions.
+     * Releases everything the board holds once its window is hidden, whether by the close button or
+     * otherwise: pending opponent and hint work is abandoned, the pending snapshot and the journal are
+     * written and closed, the match client disconnects, the board stops listening to the engine, and
+     * every timer, animation and background thread stops. Disposing of a disposed board does nothing.
      */
-    private void clearBoard() {
-        for (int i = 0; i < tablero.length; i++) {
-            for (int j = 0; j < tablero[i].length; j++) {
-                tablero[i][j] = false;
-            }
+    private void dispose() {
+        if (disposed) return;
+        disposed = true;
+        firingRound++;
+        hintRound++;
+        snapshots.close();
+        closeMatchSession();
+        closeJournal();
+        engine.setEventBus(null);
+        eventView.cancel();
+        events.close();
+        opponentPause.stop();
+        dragPulse.stop();
+        dragPending = false;
+        shotLayer.dispose();
+        layoutPool.close();
+        if (canvasRenderer != null) {
+            canvasRenderer.dispose();
         }
     }
 
@@ -263,12 +1004,14 @@ public class BoardGameController {
      * Prints the board layout to the console.
      */
     private void printBoard() {
-        System.out.println("Board layout:");
-        for (int y = 0; y < tablero.length; y++) {
-            for (int x = 0; x < tablero[y].length; x++) {
-                System.out.print(tablero[y][x] ? "B " : ". ");
+        Bitboard tablero = engine.getBoard();
+        StringBuilder layout = new StringBuilder("Board layout:").append(System.lineSeparator());
+        for (int y = 0; y < Bitboard.SIZE; y++) {
+            for (int x = 0; x < Bitboard.SIZE; x++) {
+                layout.append(tablero.get(x, y) ? "B " : ". ");
             }
-            System.out.println();
+            layout.append(System.lineSeparator());
         }
+        System.out.print(layout);
     }
 }
@@ -1,8 +1,8 @@
 package com.example.battleship.controller;
 
+import com.example.battleship.view.AssetCache;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
 
@@ -33,7 +33,6 @@ public class HelpController {
      * This method is automatically called during the view's initialization phase.
      */
     public void initialize() {
-        Image image = new Image(getClass().getResourceAsStream("/com/example/battleship/img/how-to.png"));
-        this.howToImageView.setImage(image);
+        this.howToImageView.setImage(AssetCache.image(AssetCache.HOW_TO));
     }
 }
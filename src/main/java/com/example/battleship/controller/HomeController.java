@@ -1,11 +1,11 @@
 package com.example.battleship.controller;
 
+import com.example.battleship.view.AssetCache;
 import com.example.battleship.view.BoardGameView;
 import com.example.battleship.view.HelpView;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
 
@@ -59,7 +59,6 @@ public class HomeController {
      * Initializes the main menu view by loading the logo image for the home screen.
      */
     public void initialize() {
-        Image image = new Image(getClass().getResourceAsStream("/com/example/battleship/img/battleship.png"));
-        this.logoImageView.setImage(image);
+        this.logoImageView.setImage(AssetCache.image(AssetCache.LOGO));
     }
 }
@@ -0,0 +1,138 @@
+package com.example.battleship.controller;
+
+import com.example.battleship.metrics.FleetGenerationEvent;
+import com.example.battleship.metrics.Metrics;
+import com.example.battleship.models.FleetGenerator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A bounded stock of random fleet layouts, kept full by a background daemon thread so that a new
+ * layout is available at once, for example when the player asks for a new arrangement.
+ *
+ * <p>The producer generates layouts with its own {@link FleetGenerator} and blocks while the stock is
+ * full. {@link #take(int[])} never waits: it copies a ready layout and hands its array back to the
+ * producer for reuse, and only if the stock has run dry does it generate a layout itself, which costs a
+ * few microseconds. Generation is reported to {@link Metrics#FLEET_GENERATION}, and as
+ * {@link FleetGenerationEvent}s while Flight Recorder records them, on the thread that generated the
+ * layout; every take is reported to {@link Metrics#LAYOUT_TAKE}.</p>
+ */
+public final class LayoutPool implements AutoCloseable {
+
+    /** Default number of layouts kept ready. */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final int[] fleet;
+    private final ArrayBlockingQueue<int[]> ready;
+    private final ArrayBlockingQueue<int[]> spare;
+    private final FleetGenerator fallback;
+    private final ExecutorService producer;
+
+    /**
+     * Creates a pool and starts filling it.
+     *
+     * @param fleet    The ship lengths of the fleet.
+     * @param capacity The number of layouts kept ready.
+     */
+    public LayoutPool(int[] fleet, int capacity) {
+        this.fleet = fleet.clone();
+        this.ready = new ArrayBlockingQueue<>(capacity);
+        this.spare = new ArrayBlockingQueue<>(capacity + 1);
+        this.fallback = new FleetGenerator(fleet, new SplittableRandom());
+        this.producer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "layout-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        producer.execute(this::fill);
+    }
+
+    /**
+     * Returns the ship lengths of the layouts in the pool.
+     *
+     * @return A copy of the fleet.
+     */
+    public int[] getFleet() {
+        return fleet.clone();
+    }
+
+    /**
+     * Returns the number of layouts ready to be taken.
+     *
+     * @return The number of ready layouts.
+     */
+    public int available() {
+        return ready.size();
+    }
+
+    /**
+     * Takes a layout without waiting: a ready one if there is any, a freshly generated one otherwise.
+     *
+     * @param out Receives the placement id of every ship, in fleet order.
+     * @return The {@code out} array.
+     * @throws IllegalStateException If the pool ran dry and no layout could be generated.
+     */
+    public int[] take(int[] out) {
+        long start = System.nanoTime();
+        int[] layout = ready.poll();
+        if (layout != null) {
+            System.arraycopy(layout, 0, out, 0, fleet.length);
+            spare.offer(layout);
+        } else {
+            Metrics.LAYOUT_POOL_MISSES.record(1);
+            if (!generate(fallback, out)) {
+                throw new IllegalStateException("Could not generate a fleet layout");
+            }
+        }
+        Metrics.LAYOUT_TAKE.recordSince(start);
+        return out;
+    }
+
+    /**
+     * Stops the producer. Layouts already ready can still be taken.
+     */
+    @Override
+    public void close() {
+        producer.shutdownNow();
+    }
+
+    /**
+     * Generates layouts until the pool is closed, blocking while it is full.
+     */
+    private void fill() {
+        FleetGenerator generator = new FleetGenerator(fleet, new SplittableRandom());
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                int[] layout = spare.poll();
+                if (layout == null) layout = new int[fleet.length];
+                if (generate(generator, layout)) {
+                    ready.put(layout);
+                } else {
+                    spare.offer(layout);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Generates one layout and reports it.
+     *
+     * @param generator The generator to use.
+     * @param out       Receives the layout.
+     * @return {@code true} if a layout was found, {@code false} otherwise.
+     */
+    private boolean generate(FleetGenerator generator, int[] out) {
+        FleetGenerationEvent event = FleetGenerationEvent.beginIfEnabled();
+        long start = System.nanoTime();
+        boolean found = generator.generate(out);
+        Metrics.FLEET_GENERATION.recordSince(start);
+        Metrics.FLEET_RETRIES.record(generator.getLastBacktracks());
+        FleetGenerationEvent.commit(event, fleet.length, generator.getLastBacktracks(), found);
+        return found;
+    }
+}
@@ -0,0 +1,567 @@
+package com.example.battleship.engine;
+
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import com.example.battleship.models.PlacementTable;
+import com.example.battleship.models.Ship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Headless Battleship engine for a single fleet on a 10x10 board.
+ * Covers fleet setup, firing, hit/miss/sunk resolution and win detection without any JavaFX dependency,
+ * so the game logic can run on servers and in batch jobs.
+ * Sunk detection uses a cell-to-ship index and a remaining-hits counter per ship, so each shot is O(1).
+ * In salvo mode a whole volley is resolved at once as a shot mask against the fleet's occupancy and
+ * the mask of every ship.
+ */
+public class GameEngine {
+
+    private static final byte NO_SHIP = -1;
+
+    private final int[] fleet;
+    private final List<Ship> ships = new ArrayList<>();
+    private final List<Ship> shipsView = Collections.unmodifiableList(ships);
+    private final Bitboard occupancy = new Bitboard();
+    private final Bitboard shots = new Bitboard();
+    private final Bitboard hits = new Bitboard();
+    private final Bitboard sunk = new Bitboard();
+    private final byte[] cellToShip = new byte[Bitboard.CELLS];
+    private final byte[] shotHistory = new byte[Bitboard.CELLS];
+    private final int[] remainingHits;
+    private final long[] shipLo;
+    private final long[] shipHi;
+    private final int[] salvoScratch;
+    private final int[] remainingScratch;
+    private final int[] layoutScratch;
+    private int shipsAfloat;
+    private int shotCount;
+    private int lastSunkShip = -1;
+    private boolean started;
+    private GameEventBus events;
+
+    /**
+     * Creates an engine for the standard fleet.
+     */
+    public GameEngine() {
+        this(Fleet.standard());
+    }
+
+    /**
+     * Creates an engine for the given fleet. Ships start unplaced; call {@link #placeFleet(int[])}
+     * or {@link #randomizeFleet(FleetGenerator)} before starting the game.
+     *
+     * @param fleet The ship lengths of the fleet.
+     */
+    public GameEngine(int[] fleet) {
+        this.fleet = fleet.clone();
+        this.remainingHits = new int[fleet.length];
+        this.shipLo = new long[fleet.length];
+        this.shipHi = new long[fleet.length];
+        this.salvoScratch = new int[fleet.length];
+        this.remainingScratch = new int[fleet.length];
+        this.layoutScratch = new int[fleet.length];
+    }
+
+    /**
+     * Publishes the engine's changes on a bus: ship moves and rotations, resolved shots and the end of
+     * the game. Engines without a bus publish nothing.
+     *
+     * @param events The bus, or {@code null} to stop publishing.
+     */
+    public void setEventBus(GameEventBus events) {
+        this.events = events;
+    }
+
+    /**
+     * Returns the ship lengths of the fleet.
+     *
+     * @return A copy of the fleet.
+     */
+    public int[] getFleet() {
+        return fleet.clone();
+    }
+
+    /**
+     * Places the whole fleet from a list of placement ids and returns to the setup phase, clearing the
+     * shots of any previous game. The ship objects are reused between layouts, so callers holding them
+     * see the new positions.
+     *
+     * @param placements The id in the {@link PlacementTable} of every ship, in fleet order.
+     * @throws IllegalArgumentException If a placement id is unknown, or the placements do not match the
+     *                                  fleet or overlap; the engine is then left unchanged.
+     */
+    public void placeFleet(int[] placements) {
+        if (placements.length != fleet.length) {
+            throw new IllegalArgumentException("Expected " + fleet.length + " placements");
+        }
+        long lo = 0L;
+        long hi = 0L;
+        for (int i = 0; i < placements.length; i++) {
+            int id = placements[i];
+            if (id < 0 || id >= PlacementTable.size()) {
+                throw new IllegalArgumentException("Unknown placement " + id);
+            }
+            if (PlacementTable.length(id) != fleet[i]) {
+                throw new IllegalArgumentException("Placement " + id + " does not match ship length " + fleet[i]);
+            }
+            if (((lo & PlacementTable.lo(id)) | (hi & PlacementTable.hi(id))) != 0) {
+                throw new IllegalArgumentException("Placement " + id + " overlaps another ship");
+            }
+            lo |= PlacementTable.lo(id);
+            hi |= PlacementTable.hi(id);
+        }
+        occupancy.clear();
+        occupancy.or(lo, hi);
+        if (ships.size() != fleet.length) {
+            ships.clear();
+            for (int length : fleet) {
+                ships.add(new Ship(length));
+            }
+        }
+        for (int i = 0; i < placements.length; i++) {
+            Ship ship = ships.get(i);
+            ship.setPosicion(PlacementTable.x(placements[i]), PlacementTable.y(placements[i]));
+            if (ship.isHorizontal() != PlacementTable.isHorizontal(placements[i])) {
+                ship.rotar();
+            }
+        }
+        shots.clear();
+        hits.clear();
+        sunk.clear();
+        shotCount = 0;
+        shipsAfloat = 0;
+        lastSunkShip = -1;
+        started = false;
+    }
+
+    /**
+     * Places the whole fleet at random.
+     *
+     * @param generator The generator used to pick the layout; must be built for this fleet.
+     * @throws IllegalStateException If the generator cannot find a layout.
+     */
+    public void randomizeFleet(FleetGenerator generator) {
+        if (!generator.generate(layoutScratch)) {
+            throw new IllegalStateException("Could not generate a fleet layout");
+        }
+        placeFleet(layoutScratch);
+    }
+
+    /**
+     * Returns the ships of the fleet, in fleet order.
+     *
+     * @return An unmodifiable view of the ships.
+     */
+    public List<Ship> getShips() {
+        return shipsView;
+    }
+
+    /**
+     * Returns the cells occupied by the fleet. The board must not be modified by callers.
+     *
+     * @return The occupancy bitboard.
+     */
+    public Bitboard getBoard() {
+        return occupancy;
+    }
+
+    /**
+     * Validates if a ship can be moved to a position, ignoring the cells it currently covers.
+     *
+     * @param index      The index of the ship in the fleet.
+     * @param x          The new x-coordinate of the anchor.
+     * @param y          The new y-coordinate of the anchor.
+     * @param horizontal The new orientation.
+     * @return {@code true} if the move is valid, {@code false} otherwise.
+     */
+    public boolean canPlace(int index, int x, int y, boolean horizontal) {
+        Ship ship = ships.get(index);
+        int length = ship.getLongitud();
+        if (!Bitboard.fits(length, horizontal, x, y)) return false;
+        long others = occupancy.getLo() & ~ship.getMascaraLo();
+        long othersHi = occupancy.getHi() & ~ship.getMascaraHi();
+        return ((Bitboard.maskLo(length, horizontal, x, y) & others)
+                | (Bitboard.maskHi(length, horizontal, x, y) & othersHi)) == 0;
+    }
+
+    /**
+     * Computes every anchor a ship could be moved to, in both orientations, ignoring the cells it
+     * currently covers. Callers can then validate any number of candidate positions, for example on
+     * every drag event, with a single bit test.
+     *
+     * @param index The index of the ship in the fleet.
+     * @param out   Receives four words: the low and high words of the valid horizontal anchors,
+     *              then those of the valid vertical anchors.
+     * @return The {@code out} array.
+     */
+    public long[] validAnchors(int index, long[] out) {
+        Ship ship = ships.get(index);
+        int length = ship.getLongitud();
+        long others = occupancy.getLo() & ~ship.getMascaraLo();
+        long othersHi = occupancy.getHi() & ~ship.getMascaraHi();
+        out[0] = out[1] = out[2] = out[3] = 0L;
+        for (int o = 0; o < 2; o++) {
+            boolean horizontal = o == 0;
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                int x = cell % Bitboard.SIZE;
+                int y = cell / Bitboard.SIZE;
+                if (!Bitboard.fits(length, horizontal, x, y)) continue;
+                if (((Bitboard.maskLo(length, horizontal, x, y) & others)
+                        | (Bitboard.maskHi(length, horizontal, x, y) & othersHi)) != 0) continue;
+                if (cell < 64) {
+                    out[o * 2] |= 1L << cell;
+                } else {
+                    out[o * 2 + 1] |= 1L << (cell - 64);
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Moves a ship during the setup phase if the new position is valid.
+     *
+     * @param index      The index of the ship in the fleet.
+     * @param x          The new x-coordinate of the anchor.
+     * @param y          The new y-coordinate of the anchor.
+     * @param horizontal The new orientation.
+     * @return {@code true} if the ship was moved, {@code false} if the position is invalid.
+     * @throws IllegalStateException If the game has already started.
+     */
+    public boolean moveShip(int index, int x, int y, boolean horizontal) {
+        if (!relocate(index, x, y, horizontal)) return false;
+        if (events != null) {
+            events.publish(GameEvent.shipMoved(index, Bitboard.index(x, y), horizontal));
+        }
+        return true;
+    }
+
+    private boolean relocate(int index, int x, int y, boolean horizontal) {
+        checkSetup();
+        if (!canPlace(index, x, y, horizontal)) return false;
+        Ship ship = ships.get(index);
+        ship.liberarPosicionEnTablero(occupancy);
+        ship.setPosicion(x, y);
+        if (ship.isHorizontal() != horizontal) {
+            ship.rotar();
+        }
+        ship.ocuparPosicionEnTablero(occupancy);
+        return true;
+    }
+
+    /**
+     * Rotates a ship around its anchor during the setup phase if the rotated position is valid.
+     *
+     * @param index The index of the ship in the fleet.
+     * @return {@code true} if the ship was rotated, {@code false} if the rotated position is invalid.
+     * @throws IllegalStateException If the game has already started.
+     */
+    public boolean rotateShip(int index) {
+        Ship ship = ships.get(index);
+        if (!relocate(index, ship.getPosX(), ship.getPosY(), !ship.isHorizontal())) return false;
+        if (events != null) {
+            events.publish(GameEvent.shipRotated(index, Bitboard.index(ship.getPosX(), ship.getPosY()), ship.isHorizontal()));
+        }
+        return true;
+    }
+
+    /**
+     * Locks the fleet and starts the firing phase, building the cell-to-ship index.
+     *
+     * @throws IllegalStateException If the fleet has not been placed.
+     */
+    public void start() {
+        if (ships.size() != fleet.length) {
+            throw new IllegalStateException("The fleet has not been placed");
+        }
+        Arrays.fill(cellToShip, NO_SHIP);
+        for (int i = 0; i < ships.size(); i++) {
+            Ship ship = ships.get(i);
+            for (int k = 0; k < ship.getLongitud(); k++) {
+                int cell = ship.isHorizontal()
+                        ? Bitboard.index(ship.getPosX() + k, ship.getPosY())
+                        : Bitboard.index(ship.getPosX(), ship.getPosY() + k);
+                cellToShip[cell] = (byte) i;
+            }
+            remainingHits[i] = ship.getLongitud();
+            shipLo[i] = ship.getMascaraLo();
+            shipHi[i] = ship.getMascaraHi();
+        }
+        shots.clear();
+        hits.clear();
+        sunk.clear();
+        shipsAfloat = ships.size();
+        shotCount = 0;
+        lastSunkShip = -1;
+        started = true;
+    }
+
+    /**
+     * Checks if the firing phase has started.
+     *
+     * @return {@code true} if the game has started, {@code false} during setup.
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Fires at a cell.
+     *
+     * @param x The x-coordinate of the target cell.
+     * @param y The y-coordinate of the target cell.
+     * @return The result of the shot.
+     * @throws IllegalArgumentException If the cell is outside the board.
+     * @throws IllegalStateException    If the game has not started or is already over.
+     */
+    public ShotResult fire(int x, int y) {
+        if (x < 0 || x >= Bitboard.SIZE || y < 0 || y >= Bitboard.SIZE) {
+            throw new IllegalArgumentException("Cell (" + x + ", " + y + ") is outside the board");
+        }
+        return fire(Bitboard.index(x, y));
+    }
+
+    /**
+     * Fires at a cell.
+     *
+     * @param cell The bit index of the target cell.
+     * @return The result of the shot.
+     * @throws IllegalArgumentException If the cell is outside the board.
+     * @throws IllegalStateException    If the game has not started or is already over.
+     */
+    public ShotResult fire(int cell) {
+        if (cell < 0 || cell >= Bitboard.CELLS) {
+            throw new IllegalArgumentException("Cell " + cell + " is outside the board");
+        }
+        if (!started || shipsAfloat == 0) {
+            throw new IllegalStateException("The game is not in the firing phase");
+        }
+        ShotResult result = resolve(cell);
+        if (events != null && result != ShotResult.REPEATED) {
+            events.publish(GameEvent.shotResolved(cell, result, cellToShip[cell], shotCount));
+            if (shipsAfloat == 0) {
+                events.publish(GameEvent.gameOver(cell, shotCount));
+            }
+        }
+        return result;
+    }
+
+    private ShotResult resolve(int cell) {
+        if (shots.get(cell)) return ShotResult.REPEATED;
+        shots.set(cell);
+        shotHistory[shotCount++] = (byte) cell;
+        int index = cellToShip[cell];
+        if (index == NO_SHIP) return ShotResult.MISS;
+        hits.set(cell);
+        if (--remainingHits[index] > 0) return ShotResult.HIT;
+        Ship ship = ships.get(index);
+        sunk.or(ship.getMascaraLo(), ship.getMascaraHi());
+        shipsAfloat--;
+        lastSunkShip = index;
+        return ShotResult.SUNK;
+    }
+
+    /**
+     * Fires a salvo: every cell of a shot mask at once. The mask is resolved in one pass against the
+     * occupancy of the fleet, then against the mask of every ship still afloat to count its hits and
+     * find the ships sunk. Cells already fired at, and bits of {@code maskHi} beyond the last cell of
+     * the board, are ignored, so every resolved cell is on the board. The shot history lists the new cells in
+     * increasing order, and each of them is published as a resolved shot, as if fired in that order.
+     *
+     * @param maskLo The low word of the cells to fire at.
+     * @param maskHi The high word of the cells to fire at.
+     * @param out    Receives the outcome of the salvo.
+     * @return The same result, for chaining.
+     * @throws IllegalStateException If the game has not started or is already over.
+     */
+    public SalvoResult fireSalvo(long maskLo, long maskHi, SalvoResult out) {
+        if (!started || shipsAfloat == 0) {
+            throw new IllegalStateException("The game is not in the firing phase");
+        }
+        long firedLo = maskLo & ~shots.getLo();
+        long firedHi = maskHi & ~shots.getHi() & Bitboard.HI_MASK;
+        long hitLo = firedLo & occupancy.getLo();
+        long hitHi = firedHi & occupancy.getHi();
+        int firstShot = shotCount;
+        shots.or(firedLo, firedHi);
+        hits.or(hitLo, hitHi);
+        out.reset(firedLo, firedHi, hitLo, hitHi);
+        if ((hitLo | hitHi) != 0) {
+            for (int i = 0; i < fleet.length; i++) {
+                int count = Long.bitCount(hitLo & shipLo[i]) + Long.bitCount(hitHi & shipHi[i]);
+                salvoScratch[i] = count;
+                if (count == 0) continue;
+                remainingHits[i] -= count;
+                boolean sunkNow = remainingHits[i] == 0;
+                if (sunkNow) {
+                    sunk.or(shipLo[i], shipHi[i]);
+                    shipsAfloat--;
+                    lastSunkShip = i;
+                }
+                out.addShipHits(i, count, sunkNow);
+            }
+        }
+        recordSalvo(firedLo, 0, out);
+        recordSalvo(firedHi, 64, out);
+        if (events != null) {
+            for (int i = 0; i < out.getCellCount(); i++) {
+                int cell = out.getCell(i);
+                events.publish(GameEvent.shotResolved(cell, out.getResult(i), cellToShip[cell], firstShot + i + 1));
+            }
+            if (shipsAfloat == 0 && out.getCellCount() > 0) {
+                events.publish(GameEvent.gameOver(out.getCell(out.getCellCount() - 1), shotCount));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Appends the cells of one word of a salvo to the shot history and to the result. A hit is the
+     * sinking shot when it is the last cell of the salvo on a ship that is no longer afloat.
+     *
+     * @param fired The word of the cells fired at.
+     * @param base  The bit index of the first cell of the word.
+     * @param out   The result of the salvo.
+     */
+    private void recordSalvo(long fired, int base, SalvoResult out) {
+        for (long w = fired; w != 0; w &= w - 1) {
+            int cell = base + Long.numberOfTrailingZeros(w);
+            shotHistory[shotCount++] = (byte) cell;
+            int index = cellToShip[cell];
+            if (index == NO_SHIP) {
+                out.addCell(cell, ShotResult.MISS);
+            } else {
+                out.addCell(cell, --salvoScratch[index] == 0 && remainingHits[index] == 0
+                        ? ShotResult.SUNK : ShotResult.HIT);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the ship at a cell.
+     *
+     * @param cell The bit index of the cell.
+     * @return The index of the ship covering the cell, or {@code -1} for water.
+     */
+    public int shipAt(int cell) {
+        return started ? cellToShip[cell] : -1;
+    }
+
+    /**
+     * Returns the index of the ship sunk by the most recent {@link ShotResult#SUNK} shot.
+     *
+     * @return The ship index, or {@code -1} if no ship has been sunk.
+     */
+    public int getLastSunkShip() {
+        return lastSunkShip;
+    }
+
+    /**
+     * Returns the number of intact cells left on a ship.
+     *
+     * @param index The index of the ship in the fleet.
+     * @return The remaining hits needed to sink the ship.
+     */
+    public int getRemainingHits(int index) {
+        return remainingHits[index];
+    }
+
+    /**
+     * Returns the number of ships still afloat.
+     *
+     * @return The number of ships afloat.
+     */
+    public int getShipsAfloat() {
+        return shipsAfloat;
+    }
+
+    /**
+     * Checks if every ship has been sunk.
+     *
+     * @return {@code true} if the game is over, {@code false} otherwise.
+     */
+    public boolean isGameOver() {
+        return started && shipsAfloat == 0;
+    }
+
+    /**
+     * Returns the number of distinct cells fired at.
+     *
+     * @return The shot count.
+     */
+    public int getShotCount() {
+        return shotCount;
+    }
+
+    /**
+     * Returns a shot from the history of the game.
+     *
+     * @param index The position of the shot in firing order, from 0 to {@code getShotCount() - 1}.
+     * @return The bit index of the cell fired at.
+     */
+    public int getShot(int index) {
+        if (index < 0 || index >= shotCount) {
+            throw new IndexOutOfBoundsException("Shot " + index + " of " + shotCount);
+        }
+        return shotHistory[index];
+    }
+
+    /**
+     * Returns the cells fired at. The board must not be modified by callers.
+     *
+     * @return The shots bitboard.
+     */
+    public Bitboard getShots() {
+        return shots;
+    }
+
+    /**
+     * Returns the cells where a shot hit a ship. The board must not be modified by callers.
+     *
+     * @return The hits bitboard.
+     */
+    public Bitboard getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the cells of the ships already sunk. The board must not be modified by callers.
+     *
+     * @return The sunk bitboard.
+     */
+    public Bitboard getSunk() {
+        return sunk;
+    }
+
+    /**
+     * Fills an observation with what an opponent can see of this game.
+     *
+     * @param out The observation to fill.
+     * @return The same observation, for chaining.
+     */
+    public Observation observe(Observation out) {
+        if (!started) {
+            out.set(shots, hits, sunk, fleet, fleet.length);
+            return out;
+        }
+        int n = 0;
+        for (int i = 0; i < fleet.length; i++) {
+            if (remainingHits[i] > 0) {
+                remainingScratch[n++] = fleet[i];
+            }
+        }
+        out.set(shots, hits, sunk, remainingScratch, n);
+        return out;
+    }
+
+    private void checkSetup() {
+        if (started) {
+            throw new IllegalStateException("Ships cannot be moved once the game has started");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.battleship.engine;
+
+/**
+ * An immutable change of a {@link GameEngine}, published on its {@link GameEventBus}.
+ */
+public final class GameEvent {
+
+    /**
+     * The kinds of change an engine publishes.
+     */
+    public enum Type {
+
+        /** A ship moved to a new anchor during setup. */
+        SHIP_MOVED,
+
+        /** A ship rotated around its anchor during setup. */
+        SHIP_ROTATED,
+
+        /** A shot was resolved against the fleet. */
+        SHOT_RESOLVED,
+
+        /** The last ship of the fleet was sunk. */
+        GAME_OVER
+    }
+
+    private final Type type;
+    private final int ship;
+    private final int cell;
+    private final boolean horizontal;
+    private final ShotResult result;
+    private final int shotCount;
+
+    private GameEvent(Type type, int ship, int cell, boolean horizontal, ShotResult result, int shotCount) {
+        this.type = type;
+        this.ship = ship;
+        this.cell = cell;
+        this.horizontal = horizontal;
+        this.result = result;
+        this.shotCount = shotCount;
+    }
+
+    /**
+     * Creates the event of a ship moving.
+     *
+     * @param ship       The index of the ship in the fleet.
+     * @param cell       The bit index of its new anchor.
+     * @param horizontal Its orientation.
+     * @return The event.
+     */
+    public static GameEvent shipMoved(int ship, int cell, boolean horizontal) {
+        return new GameEvent(Type.SHIP_MOVED, ship, cell, horizontal, null, 0);
+    }
+
+    /**
+     * Creates the event of a ship rotating.
+     *
+     * @param ship       The index of the ship in the fleet.
+     * @param cell       The bit index of its anchor.
+     * @param horizontal Its new orientation.
+     * @return The event.
+     */
+    public static GameEvent shipRotated(int ship, int cell, boolean horizontal) {
+        return new GameEvent(Type.SHIP_ROTATED, ship, cell, horizontal, null, 0);
+    }
+
+    /**
+     * Creates the event of a resolved shot.
+     *
+     * @param cell      The bit index of the target cell.
+     * @param result    The result of the shot.
+     * @param ship      The index of the ship hit, or {@code -1} for a miss.
+     * @param shotCount The number of shots fired so far, this one included.
+     * @return The event.
+     */
+    public static GameEvent shotResolved(int cell, ShotResult result, int ship, int shotCount) {
+        return new GameEvent(Type.SHOT_RESOLVED, ship, cell, false, result, shotCount);
+    }
+
+    /**
+     * Creates the event of the fleet being sunk.
+     *
+     * @param cell      The bit index of the final shot.
+     * @param shotCount The number of shots it took.
+     * @return The event.
+     */
+    public static GameEvent gameOver(int cell, int shotCount) {
+        return new GameEvent(Type.GAME_OVER, -1, cell, false, ShotResult.SUNK, shotCount);
+    }
+
+    /**
+     * Returns the kind of change.
+     *
+     * @return The event type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the ship the event is about.
+     *
+     * @return The index of the ship in the fleet, or {@code -1} if no ship is involved.
+     */
+    public int getShip() {
+        return ship;
+    }
+
+    /**
+     * Returns the cell the event is about: the anchor of a moved or rotated ship, or the target of a shot.
+     *
+     * @return The bit index of the cell.
+     */
+    public int getCell() {
+        return cell;
+    }
+
+    /**
+     * Returns the orientation of a moved or rotated ship.
+     *
+     * @return {@code true} if the ship is horizontal.
+     */
+    public boolean isHorizontal() {
+        return horizontal;
+    }
+
+    /**
+     * Returns the result of a shot.
+     *
+     * @return The result, or {@code null} for setup events.
+     */
+    public ShotResult getResult() {
+        return result;
+    }
+
+    /**
+     * Returns the number of shots fired when the event happened.
+     *
+     * @return The shot count, or {@code 0} for setup events.
+     */
+    public int getShotCount() {
+        return shotCount;
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case SHIP_MOVED:
+            case SHIP_ROTATED:
+                return type + " ship=" + ship + " cell=" + cell + (horizontal ? " horizontal" : " vertical");
+            case SHOT_RESOLVED:
+                return type + " cell=" + cell + " " + result + " shots=" + shotCount;
+            default:
+                return type + " shots=" + shotCount;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.battleship.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes the {@link GameEvent}s of an engine to any number of independent subscribers, such as
+ * the view, loggers or spectators. Every subscriber has its own bounded buffer and pulls events at its
+ * own pace through {@link Flow.Subscription#request(long)}. Publishing never blocks: an event that does
+ * not fit in a lagging subscriber's buffer is dropped for that subscriber only and counted, so a slow
+ * consumer can never stall the game. Optional subscribers simply miss the event; a subscriber that
+ * must stay in step with the engine, such as the view, subscribes with a drop handler and rebuilds its
+ * state from the engine when it is called.
+ */
+public class GameEventBus implements Flow.Publisher<GameEvent>, AutoCloseable {
+
+    private final SubmissionPublisher<GameEvent> publisher;
+    private final ExecutorService ownExecutor;
+    private final Map<Flow.Subscriber<? super GameEvent>, Runnable> dropHandlers = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Creates a bus that delivers events on its own daemon thread with the default buffer size. The
+     * thread stops when the bus is closed.
+     */
+    public GameEventBus() {
+        this(Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "game-events");
+            thread.setDaemon(true);
+            return thread;
+        }), Flow.defaultBufferSize(), true);
+    }
+
+    /**
+     * Creates a bus.
+     *
+     * @param executor       The executor that delivers events to subscribers.
+     * @param bufferCapacity The maximum number of undelivered events per subscriber.
+     */
+    public GameEventBus(Executor executor, int bufferCapacity) {
+        this(executor, bufferCapacity, false);
+    }
+
+    private GameEventBus(Executor executor, int bufferCapacity, boolean owned) {
+        this.publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+        this.ownExecutor = owned ? (ExecutorService) executor : null;
+    }
+
+    /**
+     * Publishes an event to every current subscriber without blocking. A subscriber whose buffer is
+     * full misses the event, and its drop handler, if it has one, is called on the publishing thread.
+     *
+     * @param event The event.
+     */
+    public void publish(GameEvent event) {
+        publisher.offer(event, (subscriber, item) -> {
+            dropped.increment();
+            Runnable handler = dropHandlers.get(subscriber);
+            if (handler != null) handler.run();
+            return false;
+        });
+    }
+
+    /**
+     * Subscribes an optional subscriber, which silently misses the events that do not fit in its buffer.
+     *
+     * @param subscriber The subscriber.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super GameEvent> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Subscribes a subscriber that must learn about the events it misses, so that it can resynchronize
+     * with the engine instead of drifting from it.
+     *
+     * @param subscriber The subscriber.
+     * @param onDropped  Called on the publishing thread whenever an event is dropped for the subscriber.
+     */
+    public void subscribe(Flow.Subscriber<? super GameEvent> subscriber, Runnable onDropped) {
+        dropHandlers.put(subscriber, onDropped);
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Returns the number of current subscribers.
+     *
+     * @return The subscriber count.
+     */
+    public int getSubscriberCount() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+    /**
+     * Returns the number of deliveries dropped because a subscriber's buffer was full.
+     *
+     * @return The dropped delivery count.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Completes every subscription once its buffered events are delivered. Later events are ignored.
+     * A bus with its own delivery thread lets that thread finish the deliveries and stop.
+     */
+    @Override
+    public void close() {
+        publisher.close();
+        dropHandlers.clear();
+        if (ownExecutor != null) ownExecutor.shutdown();
+    }
+}
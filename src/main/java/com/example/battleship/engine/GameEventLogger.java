@@ -0,0 +1,43 @@
+package com.example.battleship.engine;
+
+import java.io.PrintStream;
+import java.util.concurrent.Flow;
+
+/**
+ * Subscriber of a {@link GameEventBus} that prints every event, one line each.
+ */
+public class GameEventLogger implements Flow.Subscriber<GameEvent> {
+
+    private final PrintStream out;
+    private Flow.Subscription subscription;
+
+    /**
+     * Creates a logger.
+     *
+     * @param out The stream the events are printed to.
+     */
+    public GameEventLogger(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(GameEvent event) {
+        out.println("Game event: " + event);
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        out.println("Game event stream failed: " + throwable);
+    }
+
+    @Override
+    public void onComplete() {
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.battleship.engine;
+
+import com.example.battleship.models.Bitboard;
+
+/**
+ * What an opponent is allowed to see of a {@link GameEngine}: the cells fired at, the hits,
+ * the cells of ships already sunk and the lengths of the ships still afloat.
+ * Instances are plain mutable snapshots, so a strategy can work on one off the game thread
+ * while the engine keeps changing.
+ */
+public class Observation {
+
+    private final Bitboard shots = new Bitboard();
+    private final Bitboard hits = new Bitboard();
+    private final Bitboard sunk = new Bitboard();
+    private int[] remainingFleet = new int[0];
+
+    /**
+     * Creates an empty observation, as seen before the first shot of a game.
+     *
+     * @param fleet The ship lengths of the fleet being targeted.
+     */
+    public Observation(int[] fleet) {
+        this.remainingFleet = fleet.clone();
+    }
+
+    /**
+     * Copies another observation.
+     *
+     * @param other The observation to copy.
+     */
+    public Observation(Observation other) {
+        copyFrom(other);
+    }
+
+    /**
+     * Copies the contents of another observation into this one.
+     *
+     * @param other The observation to copy.
+     */
+    public void copyFrom(Observation other) {
+        shots.copyFrom(other.shots);
+        hits.copyFrom(other.hits);
+        sunk.copyFrom(other.sunk);
+        remainingFleet = other.remainingFleet.clone();
+    }
+
+    /**
+     * Replaces the contents of this observation.
+     *
+     * @param shots          The cells fired at.
+     * @param hits           The cells where a shot hit a ship.
+     * @param sunk           The cells of the ships already sunk.
+     * @param remainingFleet The lengths of the ships still afloat, in the first {@code count} entries.
+     * @param count          The number of ships still afloat.
+     */
+    public void set(Bitboard shots, Bitboard hits, Bitboard sunk, int[] remainingFleet, int count) {
+        this.shots.copyFrom(shots);
+        this.hits.copyFrom(hits);
+        this.sunk.copyFrom(sunk);
+        if (this.remainingFleet.length != count) {
+            this.remainingFleet = new int[count];
+        }
+        System.arraycopy(remainingFleet, 0, this.remainingFleet, 0, count);
+    }
+
+    /**
+     * Returns the cells fired at.
+     *
+     * @return The shots bitboard.
+     */
+    public Bitboard getShots() {
+        return shots;
+    }
+
+    /**
+     * Returns the cells where a shot hit a ship.
+     *
+     * @return The hits bitboard.
+     */
+    public Bitboard getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the cells of the ships already sunk.
+     *
+     * @return The sunk bitboard.
+     */
+    public Bitboard getSunk() {
+        return sunk;
+    }
+
+    /**
+     * Returns the lengths of the ships still afloat, longest first.
+     *
+     * @return The remaining fleet; must not be modified by callers.
+     */
+    public int[] getRemainingFleet() {
+        return remainingFleet;
+    }
+
+    /**
+     * Returns the low word of the hits that belong to ships still afloat.
+     *
+     * @return The low word of the unresolved hits.
+     */
+    public long openHitsLo() {
+        return hits.getLo() & ~sunk.getLo();
+    }
+
+    /**
+     * Returns the high word of the hits that belong to ships still afloat.
+     *
+     * @return The high word of the unresolved hits.
+     */
+    public long openHitsHi() {
+        return hits.getHi() & ~sunk.getHi();
+    }
+
+    /**
+     * Returns the low word of the cells no remaining ship can cover: misses and sunk ships.
+     *
+     * @return The low word of the blocked cells.
+     */
+    public long blockedLo() {
+        return (shots.getLo() & ~hits.getLo()) | sunk.getLo();
+    }
+
+    /**
+     * Returns the high word of the cells no remaining ship can cover: misses and sunk ships.
+     *
+     * @return The high word of the blocked cells.
+     */
+    public long blockedHi() {
+        return (shots.getHi() & ~hits.getHi()) | sunk.getHi();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.battleship.engine;
+
+import com.example.battleship.models.Bitboard;
+
+import java.util.Arrays;
+
+/**
+ * Outcome of a salvo resolved by {@link GameEngine#fireSalvo(long, long, SalvoResult)}: the cells
+ * actually fired at, the hits, the number of hits taken by every ship and the ships sunk by the salvo.
+ * Instances are mutable and meant to be reused from one salvo to the next, so resolving salvos in bulk
+ * allocates nothing.
+ */
+public class SalvoResult {
+
+    private final int[] shipHits;
+    private final int[] sunkShips;
+    private final int[] cells = new int[Bitboard.CELLS];
+    private final ShotResult[] results = new ShotResult[Bitboard.CELLS];
+    private int sunkCount;
+    private int cellCount;
+    private long firedLo;
+    private long firedHi;
+    private long hitsLo;
+    private long hitsHi;
+
+    /**
+     * Creates an empty result for a fleet.
+     *
+     * @param ships The number of ships of the fleet.
+     */
+    public SalvoResult(int ships) {
+        this.shipHits = new int[ships];
+        this.sunkShips = new int[ships];
+    }
+
+    /**
+     * Clears the result before a salvo is resolved into it.
+     *
+     * @param firedLo The low word of the cells fired at, repeated cells excluded.
+     * @param firedHi The high word of the cells fired at.
+     * @param hitsLo  The low word of the cells that hit a ship.
+     * @param hitsHi  The high word of the cells that hit a ship.
+     */
+    void reset(long firedLo, long firedHi, long hitsLo, long hitsHi) {
+        Arrays.fill(shipHits, 0);
+        this.firedLo = firedLo;
+        this.firedHi = firedHi;
+        this.hitsLo = hitsLo;
+        this.hitsHi = hitsHi;
+        this.sunkCount = 0;
+        this.cellCount = 0;
+    }
+
+    /**
+     * Records the hits a ship took from the salvo.
+     *
+     * @param ship  The index of the ship in the fleet.
+     * @param count The number of its cells hit.
+     * @param sunk  Whether the salvo sank it.
+     */
+    void addShipHits(int ship, int count, boolean sunk) {
+        shipHits[ship] = count;
+        if (sunk) sunkShips[sunkCount++] = ship;
+    }
+
+    /**
+     * Records the result of one cell of the salvo.
+     *
+     * @param cell   The bit index of the cell.
+     * @param result Its result.
+     */
+    void addCell(int cell, ShotResult result) {
+        cells[cellCount] = cell;
+        results[cellCount++] = result;
+    }
+
+    /**
+     * Returns the low word of the cells fired at. Cells already fired at before the salvo are excluded.
+     *
+     * @return The low word of the fired cells.
+     */
+    public long firedLo() {
+        return firedLo;
+    }
+
+    /**
+     * Returns the high word of the cells fired at.
+     *
+     * @return The high word of the fired cells.
+     */
+    public long firedHi() {
+        return firedHi;
+    }
+
+    /**
+     * Returns the low word of the cells that hit a ship.
+     *
+     * @return The low word of the hits.
+     */
+    public long hitsLo() {
+        return hitsLo;
+    }
+
+    /**
+     * Returns the high word of the cells that hit a ship.
+     *
+     * @return The high word of the hits.
+     */
+    public long hitsHi() {
+        return hitsHi;
+    }
+
+    /**
+     * Returns the number of cells of a ship hit by the salvo.
+     *
+     * @param ship The index of the ship in the fleet.
+     * @return The hit count.
+     */
+    public int getShipHits(int ship) {
+        return shipHits[ship];
+    }
+
+    /**
+     * Returns the number of ships the salvo sank.
+     *
+     * @return The sunk count.
+     */
+    public int getSunkCount() {
+        return sunkCount;
+    }
+
+    /**
+     * Returns a ship sunk by the salvo.
+     *
+     * @param index The position of the ship among the sunk ships, from 0 to {@code getSunkCount() - 1}.
+     * @return The index of the ship in the fleet.
+     */
+    public int getSunkShip(int index) {
+        if (index < 0 || index >= sunkCount) {
+            throw new IndexOutOfBoundsException("Sunk ship " + index + " of " + sunkCount);
+        }
+        return sunkShips[index];
+    }
+
+    /**
+     * Returns the number of cells fired at.
+     *
+     * @return The cell count.
+     */
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * Returns a cell fired at, in increasing cell order.
+     *
+     * @param index The position of the cell in the salvo, from 0 to {@code getCellCount() - 1}.
+     * @return The bit index of the cell.
+     */
+    public int getCell(int index) {
+        if (index < 0 || index >= cellCount) {
+            throw new IndexOutOfBoundsException("Cell " + index + " of " + cellCount);
+        }
+        return cells[index];
+    }
+
+    /**
+     * Returns the result of a cell fired at, as if the cells had been fired one by one in increasing
+     * order: the last cell of a ship sunk by the salvo is {@link ShotResult#SUNK}.
+     *
+     * @param index The position of the cell in the salvo, from 0 to {@code getCellCount() - 1}.
+     * @return The result.
+     */
+    public ShotResult getResult(int index) {
+        if (index < 0 || index >= cellCount) {
+            throw new IndexOutOfBoundsException("Cell " + index + " of " + cellCount);
+        }
+        return results[index];
+    }
+}
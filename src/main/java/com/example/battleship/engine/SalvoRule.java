@@ -0,0 +1,66 @@
+package com.example.battleship.engine;
+
+import com.example.battleship.models.Bitboard;
+
+/**
+ * How many shots a turn fires in salvo mode: a fixed number, or one per ship still afloat.
+ */
+public final class SalvoRule {
+
+    private final int fixed;
+
+    private SalvoRule(int fixed) {
+        this.fixed = fixed;
+    }
+
+    /**
+     * Returns the rule that fires the same number of shots every turn.
+     *
+     * @param shots The shots per turn.
+     * @return The rule.
+     * @throws IllegalArgumentException If the number of shots is not positive.
+     */
+    public static SalvoRule fixed(int shots) {
+        if (shots < 1) {
+            throw new IllegalArgumentException("A salvo fires at least one shot, not " + shots);
+        }
+        return new SalvoRule(shots);
+    }
+
+    /**
+     * Returns the rule that fires one shot per ship still afloat.
+     *
+     * @return The rule.
+     */
+    public static SalvoRule shipsAfloat() {
+        return new SalvoRule(0);
+    }
+
+    /**
+     * Parses a rule: {@code afloat} or a number of shots.
+     *
+     * @param text The text to parse.
+     * @return The rule.
+     * @throws IllegalArgumentException If the text is neither.
+     */
+    public static SalvoRule parse(String text) {
+        return "afloat".equals(text) ? shipsAfloat() : fixed(Integer.parseInt(text));
+    }
+
+    /**
+     * Returns the number of shots of the next salvo against an engine, never more than the cells
+     * not fired at yet.
+     *
+     * @param target The engine being fired at.
+     * @return The number of shots.
+     */
+    public int shots(GameEngine target) {
+        int shots = fixed > 0 ? fixed : target.getShipsAfloat();
+        return Math.min(shots, Bitboard.CELLS - target.getShotCount());
+    }
+
+    @Override
+    public String toString() {
+        return fixed > 0 ? Integer.toString(fixed) : "afloat";
+    }
+}
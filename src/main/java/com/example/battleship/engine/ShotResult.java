@@ -0,0 +1,19 @@
+package com.example.battleship.engine;
+
+/**
+ * Outcome of firing at a single cell.
+ */
+public enum ShotResult {
+
+    /** The shot landed on water. */
+    MISS,
+
+    /** The shot hit a ship that is still afloat. */
+    HIT,
+
+    /** The shot hit the last intact cell of a ship. */
+    SUNK,
+
+    /** The cell had already been fired at; nothing changed. */
+    REPEATED
+}
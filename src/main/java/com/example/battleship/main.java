@@ -1,10 +1,16 @@
 package com.example.battleship;
 
+import com.example.battleship.metrics.MetricsExporter;
+import com.example.battleship.view.AssetCache;
 import com.example.battleship.view.HomeView;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 
 /**
  * @author  Sebastian Bucheli
@@ -16,14 +22,66 @@ import java.io.IOException;
 public class main extends Application {
 
     /**
-     * Starts the JavaFX application and loads the home view.
+     * System property that prints the time from process start to the first frame of the home screen.
+     */
+    private static final String TRACE_STARTUP = "battleship.traceStartup";
+
+    /**
+     * System property that exits once the home screen is drawn and the background preloads are done,
+     * used for the AppCDS training run of the {@code appcds} build profile.
+     */
+    private static final String EXIT_AFTER_STARTUP = "battleship.exitAfterStartup";
+
+    private MetricsExporter metricsExporter;
+
+    /**
+     * Starts the JavaFX application and loads the home view. Starts exporting metrics snapshots if
+     * {@code -Dbattleship.metrics=<file>} is set.
      *
      * @param stage The primary stage for this application.
      * @throws IOException If the home view fails to load.
      */
     @Override
     public void start(Stage stage) throws IOException {
+        metricsExporter = MetricsExporter.fromSystemProperties();
         HomeView.getInstance();
+        if (Boolean.getBoolean(TRACE_STARTUP) || Boolean.getBoolean(EXIT_AFTER_STARTUP)) {
+            traceFirstFrame();
+        }
+    }
+
+    /**
+     * Writes a last metrics snapshot when the application exits.
+     */
+    @Override
+    public void stop() {
+        if (metricsExporter != null) {
+            metricsExporter.close();
+        }
+    }
+
+    /**
+     * Reports the time to the first pulse after the home screen is shown and, for training runs,
+     * exits once every asset has been preloaded.
+     */
+    private void traceFirstFrame() {
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                ProcessHandle.current().info().startInstant().ifPresent(start ->
+                        System.out.println("Startup: first frame after "
+                                + Duration.between(start, Instant.now()).toMillis() + " ms"));
+                if (Boolean.getBoolean(EXIT_AFTER_STARTUP)) {
+                    Thread exit = new Thread(() -> {
+                        AssetCache.awaitPreloads(30_000);
+                        Platform.exit();
+                    }, "startup-exit");
+                    exit.setDaemon(true);
+                    exit.start();
+                }
+            }
+        }.start();
     }
 
     /**
@@ -0,0 +1,61 @@
+package com.example.battleship.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the generation of a random fleet layout. Layouts are generated in bulk, so
+ * the static helpers create an event only while a recording has it enabled.
+ */
+@Name("com.example.battleship.FleetGeneration")
+@Label("Fleet Generation")
+@Category({"Battleship", "Setup"})
+@Description("Generation of a random fleet layout")
+public class FleetGenerationEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(FleetGenerationEvent.class);
+
+    /** The number of ships placed. */
+    @Label("Ships")
+    public int ships;
+
+    /** The number of backtracking steps or random positions tried. */
+    @Label("Retries")
+    public long retries;
+
+    /** Whether a layout was found. */
+    @Label("Success")
+    public boolean success;
+
+    /**
+     * Starts timing a generation if a recording has this event enabled.
+     *
+     * @return The started event, or {@code null} if the event is disabled.
+     */
+    public static FleetGenerationEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) return null;
+        FleetGenerationEvent event = new FleetGenerationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits a generation started with {@link #beginIfEnabled()}, if it passes the recording's settings.
+     *
+     * @param event   The started event, or {@code null}.
+     * @param ships   The number of ships placed.
+     * @param retries The number of backtracking steps or random positions tried.
+     * @param success Whether a layout was found.
+     */
+    public static void commit(FleetGenerationEvent event, int ships, long retries, boolean success) {
+        if (event == null || !event.shouldCommit()) return;
+        event.ships = ships;
+        event.retries = retries;
+        event.success = success;
+        event.commit();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.battleship.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning the CSS and layout passes of a JavaFX pulse. Every pulse is timed, so
+ * the static helpers create an event only while a recording has it enabled.
+ */
+@Name("com.example.battleship.FxPulse")
+@Label("FX Pulse")
+@Category({"Battleship", "JavaFX"})
+@Description("CSS and layout passes of a pulse of a window")
+public class FxPulseEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(FxPulseEvent.class);
+
+    /** The window the pulse laid out. */
+    @Label("Window")
+    public String window;
+
+    /**
+     * Starts timing a pulse if a recording has this event enabled.
+     *
+     * @return The started event, or {@code null} if the event is disabled.
+     */
+    public static FxPulseEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) return null;
+        FxPulseEvent event = new FxPulseEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits a pulse started with {@link #beginIfEnabled()}, if it passes the recording's settings.
+     *
+     * @param event  The started event, or {@code null}.
+     * @param window The window the pulse laid out.
+     */
+    public static void commit(FxPulseEvent event, String window) {
+        if (event == null || !event.shouldCommit()) return;
+        event.window = window;
+        event.commit();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.battleship.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A named series of measurements, such as the duration of an operation or the number of retries it
+ * needed. Recording is lock-free and can happen on any thread; the count, sum and maximum are kept
+ * per export interval and reset by {@link #drain(long[])}.
+ */
+public final class Metric {
+
+    /** Unit of metrics that measure durations. */
+    public static final String NANOSECONDS = "ns";
+
+    /** Unit of metrics that count occurrences. */
+    public static final String COUNT = "count";
+
+    private final String name;
+    private final String unit;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Creates a metric. Metrics are created through {@link Metrics#get(String, String)}.
+     *
+     * @param name The name of the metric.
+     * @param unit The unit of the recorded values.
+     */
+    Metric(String name, String unit) {
+        this.name = name;
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the name of the metric.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the unit of the recorded values.
+     *
+     * @return The unit, {@link #NANOSECONDS} or {@link #COUNT}.
+     */
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * Records a measurement.
+     *
+     * @param value The measured value, not negative.
+     */
+    public void record(long value) {
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Records the time elapsed since a start time.
+     *
+     * @param startNanos The start time, from {@link System#nanoTime()}.
+     * @return The elapsed time in nanoseconds.
+     */
+    public long recordSince(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        record(elapsed);
+        return elapsed;
+    }
+
+    /**
+     * Reads and resets the measurements recorded since the last call. Measurements recorded
+     * concurrently may be split across two intervals.
+     *
+     * @param out Receives the count, sum and maximum, in that order.
+     * @return {@code out}.
+     */
+    long[] drain(long[] out) {
+        out[0] = count.sumThenReset();
+        out[1] = sum.sumThenReset();
+        out[2] = max.getThenReset();
+        return out;
+    }
+}
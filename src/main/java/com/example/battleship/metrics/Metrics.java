@@ -0,0 +1,83 @@
+package com.example.battleship.metrics;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-process registry of the game's {@link Metric}s, with the metrics of the game's hot paths
+ * predefined. Every metric is also reported as a JDK Flight Recorder event by the code that records
+ * it, so a recording and an exported snapshot describe the same operations.
+ */
+public final class Metrics {
+
+    private static final Map<String, Metric> REGISTRY = new ConcurrentSkipListMap<>();
+
+    /** Time to generate a random fleet layout. */
+    public static final Metric FLEET_GENERATION = get("fleet.generation", Metric.NANOSECONDS);
+    /** Backtracking steps taken to generate a random fleet layout. */
+    public static final Metric FLEET_RETRIES = get("fleet.retries", Metric.COUNT);
+    /** Time to take a fleet layout from the layout pool. */
+    public static final Metric LAYOUT_TAKE = get("layout.take", Metric.NANOSECONDS);
+    /** Layouts generated on the caller's thread because the layout pool was empty. */
+    public static final Metric LAYOUT_POOL_MISSES = get("layout.pool.misses", Metric.COUNT);
+    /** Time to compute the valid anchors of a ship when a drag starts. */
+    public static final Metric DRAG_START = get("drag.start", Metric.NANOSECONDS);
+    /** Time to move a dragged ship and its preview to the cursor. */
+    public static final Metric DRAG_UPDATE = get("drag.update", Metric.NANOSECONDS);
+    /** Time from releasing a dragged ship to the ship being committed to its new position. */
+    public static final Metric DRAG_RELEASE = get("drag.release", Metric.NANOSECONDS);
+    /** Time to validate and apply a ship rotation. */
+    public static final Metric ROTATE = get("ship.rotate", Metric.NANOSECONDS);
+    /** Time to validate a ship position. */
+    public static final Metric VALIDATE = get("ship.validate", Metric.NANOSECONDS);
+    /** Time spent in CSS and layout during a pulse of the game window. */
+    public static final Metric FX_PULSE = get("fx.pulse", Metric.NANOSECONDS);
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns the metric with the given name, creating it if needed.
+     *
+     * @param name The name of the metric.
+     * @param unit The unit of its values, used only when the metric is created.
+     * @return The metric.
+     */
+    public static Metric get(String name, String unit) {
+        return REGISTRY.computeIfAbsent(name, n -> new Metric(n, unit));
+    }
+
+    /**
+     * Writes the measurements of every metric recorded since the last snapshot, one CSV line per
+     * metric that was recorded, and resets them.
+     *
+     * @param out        The destination.
+     * @param epochMillis The time of the snapshot, written on every line.
+     * @throws IOException If writing fails.
+     */
+    public static void snapshot(Appendable out, long epochMillis) throws IOException {
+        long[] values = new long[3];
+        for (Metric metric : REGISTRY.values()) {
+            metric.drain(values);
+            if (values[0] == 0) continue;
+            out.append(Long.toString(epochMillis)).append(',')
+                    .append(metric.getName()).append(',')
+                    .append(metric.getUnit()).append(',')
+                    .append(Long.toString(values[0])).append(',')
+                    .append(Long.toString(values[1] / values[0])).append(',')
+                    .append(Long.toString(values[2])).append(',')
+                    .append(Long.toString(values[1]))
+                    .append(System.lineSeparator());
+        }
+    }
+
+    /**
+     * Returns the header of the CSV lines written by {@link #snapshot(Appendable, long)}.
+     *
+     * @return The column names.
+     */
+    public static String header() {
+        return "time,metric,unit,count,mean,max,total";
+    }
+}
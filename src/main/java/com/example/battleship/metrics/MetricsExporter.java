@@ -0,0 +1,98 @@
+package com.example.battleship.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends a snapshot of the {@link Metrics} to a CSV file at a fixed interval, from a daemon thread.
+ * Each line holds the time of the snapshot and what one metric recorded during the interval, so UI
+ * stalls can be lined up with game logic after the fact without attaching a profiler.
+ */
+public final class MetricsExporter implements AutoCloseable {
+
+    /** System property holding the file snapshots are appended to; exporting is off when unset. */
+    public static final String FILE_PROPERTY = "battleship.metrics";
+
+    /** System property holding the interval between snapshots, in seconds. */
+    public static final String INTERVAL_PROPERTY = "battleship.metrics.interval";
+
+    /** Default interval between snapshots, in seconds. */
+    public static final int DEFAULT_INTERVAL_SECONDS = 10;
+
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Starts exporting snapshots.
+     *
+     * @param file            The CSV file to append to; a header is written if it does not exist yet.
+     * @param intervalSeconds The interval between snapshots, in seconds.
+     * @throws IOException If the file cannot be created.
+     */
+    public MetricsExporter(Path file, int intervalSeconds) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        if (!Files.exists(file)) {
+            Files.writeString(file, Metrics.header() + System.lineSeparator(), StandardCharsets.UTF_8);
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::export, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Starts exporting if {@link #FILE_PROPERTY} is set. A file that cannot be created is reported
+     * and otherwise ignored.
+     *
+     * @return The running exporter, or {@code null} if exporting is off.
+     */
+    public static MetricsExporter fromSystemProperties() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file == null) return null;
+        try {
+            return new MetricsExporter(Path.of(file), Integer.getInteger(INTERVAL_PROPERTY, DEFAULT_INTERVAL_SECONDS));
+        } catch (IOException e) {
+            System.err.println("Metrics export disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Appends one snapshot to the file. A failing write is reported and retried at the next interval.
+     */
+    private void export() {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            Metrics.snapshot(out, System.currentTimeMillis());
+        } catch (IOException e) {
+            System.err.println("Could not export metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops exporting and appends a last snapshot.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        export();
+    }
+}
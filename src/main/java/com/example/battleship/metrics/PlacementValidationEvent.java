@@ -0,0 +1,61 @@
+package com.example.battleship.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the validation of a ship position. Positions are validated on every drag
+ * update, so the static helpers create an event only while a recording has it enabled.
+ */
+@Name("com.example.battleship.PlacementValidation")
+@Label("Placement Validation")
+@Category({"Battleship", "Setup"})
+@Description("Validation of a ship position")
+public class PlacementValidationEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(PlacementValidationEvent.class);
+
+    /** The index of the ship in the fleet. */
+    @Label("Ship")
+    public int ship;
+
+    /** The validated anchor cell, {@code y * 10 + x}. */
+    @Label("Cell")
+    public int cell;
+
+    /** Whether the position was valid. */
+    @Label("Valid")
+    public boolean valid;
+
+    /**
+     * Starts timing a validation if a recording has this event enabled.
+     *
+     * @return The started event, or {@code null} if the event is disabled.
+     */
+    public static PlacementValidationEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) return null;
+        PlacementValidationEvent event = new PlacementValidationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits a validation started with {@link #beginIfEnabled()}, if it passes the recording's settings.
+     *
+     * @param event The started event, or {@code null}.
+     * @param ship  The index of the ship in the fleet.
+     * @param cell  The validated anchor cell, {@code y * 10 + x}.
+     * @param valid Whether the position was valid.
+     */
+    public static void commit(PlacementValidationEvent event, int ship, int cell, boolean valid) {
+        if (event == null || !event.shouldCommit()) return;
+        event.ship = ship;
+        event.cell = cell;
+        event.valid = valid;
+        event.commit();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.battleship.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event spanning a ship drag, from the press to the ship being committed after the release.
+ * The static helpers create an event only while a recording has it enabled.
+ */
+@Name("com.example.battleship.ShipDrag")
+@Label("Ship Drag")
+@Category({"Battleship", "Setup"})
+@Description("Drag of a ship, from the press to the committed drop")
+public class ShipDragEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(ShipDragEvent.class);
+
+    /** The index of the ship in the fleet. */
+    @Label("Ship")
+    public int ship;
+
+    /** The number of pulses that moved the ship. */
+    @Label("Updates")
+    public int updates;
+
+    /** Time from the release to the ship being committed to its new position. */
+    @Label("Release Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    public long releaseLatency;
+
+    /** Whether the ship moved. */
+    @Label("Moved")
+    public boolean moved;
+
+    /**
+     * Starts timing a drag if a recording has this event enabled.
+     *
+     * @return The started event, or {@code null} if the event is disabled.
+     */
+    public static ShipDragEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) return null;
+        ShipDragEvent event = new ShipDragEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits a drag started with {@link #beginIfEnabled()}, if it passes the recording's settings.
+     *
+     * @param event          The started event, or {@code null}.
+     * @param ship           The index of the ship in the fleet.
+     * @param updates        The number of pulses that moved the ship.
+     * @param releaseLatency Time from the release to the ship being committed, in nanoseconds.
+     * @param moved          Whether the ship moved.
+     */
+    public static void commit(ShipDragEvent event, int ship, int updates, long releaseLatency, boolean moved) {
+        if (event == null || !event.shouldCommit()) return;
+        event.ship = ship;
+        event.updates = updates;
+        event.releaseLatency = releaseLatency;
+        event.moved = moved;
+        event.commit();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.battleship.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the rotation of a ship, including its validation. The static helpers create
+ * an event only while a recording has it enabled.
+ */
+@Name("com.example.battleship.ShipRotate")
+@Label("Ship Rotate")
+@Category({"Battleship", "Setup"})
+@Description("Rotation of a ship, including validation")
+public class ShipRotateEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(ShipRotateEvent.class);
+
+    /** The index of the ship in the fleet. */
+    @Label("Ship")
+    public int ship;
+
+    /** Whether the rotated position was valid. */
+    @Label("Rotated")
+    public boolean rotated;
+
+    /**
+     * Starts timing a rotation if a recording has this event enabled.
+     *
+     * @return The started event, or {@code null} if the event is disabled.
+     */
+    public static ShipRotateEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) return null;
+        ShipRotateEvent event = new ShipRotateEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits a rotation started with {@link #beginIfEnabled()}, if it passes the recording's settings.
+     *
+     * @param event   The started event, or {@code null}.
+     * @param ship    The index of the ship in the fleet.
+     * @param rotated Whether the rotated position was valid.
+     */
+    public static void commit(ShipRotateEvent event, int ship, boolean rotated) {
+        if (event == null || !event.shouldCommit()) return;
+        event.ship = ship;
+        event.rotated = rotated;
+        event.commit();
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.battleship.models;
+
+/**
+ * Represents the occupancy of the 10x10 game board as a 100-bit set held in two {@code long} words.
+ * Cell (x, y) maps to bit {@code y * 10 + x}: bits 0-63 live in the low word and bits 64-99 in the high word.
+ * Every ship placement has a precomputed mask, so overlap checks, occupying, freeing and clearing
+ * the board are a handful of bitwise operations that allocate nothing.
+ */
+public class Bitboard {
+
+    /** Number of rows and columns of the board. */
+    public static final int SIZE = 10;
+
+    /** Number of cells of the board. */
+    public static final int CELLS = SIZE * SIZE;
+
+    /** Mask of the bits of the high word that belong to the board. */
+    public static final long HI_MASK = (1L << (CELLS - 64)) - 1;
+
+    private static final long[] MASKS_LO = new long[SIZE * 2 * CELLS];
+    private static final long[] MASKS_HI = new long[SIZE * 2 * CELLS];
+
+    private static final long FIRST_COLUMN_LO;
+    private static final long FIRST_COLUMN_HI;
+    private static final long LAST_COLUMN_LO;
+    private static final long LAST_COLUMN_HI;
+
+    static {
+        long firstLo = 0;
+        long firstHi = 0;
+        long lastLo = 0;
+        long lastHi = 0;
+        for (int y = 0; y < SIZE; y++) {
+            int first = index(0, y);
+            int last = index(SIZE - 1, y);
+            if (first < 64) {
+                firstLo |= 1L << first;
+            } else {
+                firstHi |= 1L << (first - 64);
+            }
+            if (last < 64) {
+                lastLo |= 1L << last;
+            } else {
+                lastHi |= 1L << (last - 64);
+            }
+        }
+        FIRST_COLUMN_LO = firstLo;
+        FIRST_COLUMN_HI = firstHi;
+        LAST_COLUMN_LO = lastLo;
+        LAST_COLUMN_HI = lastHi;
+
+        for (int length = 1; length <= SIZE; length++) {
+            for (int o = 0; o < 2; o++) {
+                boolean horizontal = o == 0;
+                for (int y = 0; y < SIZE; y++) {
+                    for (int x = 0; x < SIZE; x++) {
+                        if (!fits(length, horizontal, x, y)) continue;
+                        int slot = maskSlot(length, horizontal, index(x, y));
+                        for (int i = 0; i < length; i++) {
+                            int cell = horizontal ? index(x + i, y) : index(x, y + i);
+                            if (cell < 64) {
+                                MASKS_LO[slot] |= 1L << cell;
+                            } else {
+                                MASKS_HI[slot] |= 1L << (cell - 64);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private long lo;
+    private long hi;
+
+    /**
+     * Returns the bit index of a cell.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return The bit index, {@code y * 10 + x}.
+     */
+    public static int index(int x, int y) {
+        return y * SIZE + x;
+    }
+
+    /**
+     * Checks if a ship fits within the board limits when anchored at the given cell.
+     *
+     * @param length     The length of the ship.
+     * @param horizontal The orientation of the ship.
+     * @param x          The x-coordinate of the anchor.
+     * @param y          The y-coordinate of the anchor.
+     * @return {@code true} if every cell of the ship is on the board, {@code false} otherwise.
+     */
+    public static boolean fits(int length, boolean horizontal, int x, int y) {
+        if (length < 1 || length > SIZE || x < 0 || y < 0 || x >= SIZE || y >= SIZE) return false;
+        return horizontal ? x + length <= SIZE : y + length <= SIZE;
+    }
+
+    /**
+     * Returns the low word of the mask covered by a placement.
+     *
+     * @param length     The length of the ship.
+     * @param horizontal The orientation of the ship.
+     * @param x          The x-coordinate of the anchor.
+     * @param y          The y-coordinate of the anchor.
+     * @return The low word of the mask, or {@code 0} if the placement does not fit on the board.
+     */
+    public static long maskLo(int length, boolean horizontal, int x, int y) {
+        return fits(length, horizontal, x, y) ? MASKS_LO[maskSlot(length, horizontal, index(x, y))] : 0L;
+    }
+
+    /**
+     * Returns the high word of the mask covered by a placement.
+     *
+     * @param length     The length of the ship.
+     * @param horizontal The orientation of the ship.
+     * @param x          The x-coordinate of the anchor.
+     * @param y          The y-coordinate of the anchor.
+     * @return The high word of the mask, or {@code 0} if the placement does not fit on the board.
+     */
+    public static long maskHi(int length, boolean horizontal, int x, int y) {
+        return fits(length, horizontal, x, y) ? MASKS_HI[maskSlot(length, horizontal, index(x, y))] : 0L;
+    }
+
+    /**
+     * Returns the low word of a mask grown by one cell in all eight directions, so that it also covers
+     * every cell touching the original mask, diagonals included. Cells never wrap around the board edges.
+     *
+     * @param maskLo The low word of the mask.
+     * @param maskHi The high word of the mask.
+     * @return The low word of the dilated mask.
+     */
+    public static long dilateLo(long maskLo, long maskHi) {
+        long rowLo = maskLo | (maskLo << 1 & ~FIRST_COLUMN_LO) | ((maskLo >>> 1 | maskHi << 63) & ~LAST_COLUMN_LO);
+        long rowHi = dilateRowHi(maskLo, maskHi);
+        return rowLo | rowLo << SIZE | (rowLo >>> SIZE | rowHi << (64 - SIZE));
+    }
+
+    /**
+     * Returns the high word of a mask grown by one cell in all eight directions.
+     *
+     * @param maskLo The low word of the mask.
+     * @param maskHi The high word of the mask.
+     * @return The high word of the dilated mask.
+     * @see #dilateLo(long, long)
+     */
+    public static long dilateHi(long maskLo, long maskHi) {
+        long rowLo = maskLo | (maskLo << 1 & ~FIRST_COLUMN_LO) | ((maskLo >>> 1 | maskHi << 63) & ~LAST_COLUMN_LO);
+        long rowHi = dilateRowHi(maskLo, maskHi);
+        return (rowHi | (rowHi << SIZE | rowLo >>> (64 - SIZE)) | rowHi >>> SIZE) & HI_MASK;
+    }
+
+    private static long dilateRowHi(long maskLo, long maskHi) {
+        return (maskHi | ((maskHi << 1 | maskLo >>> 63) & ~FIRST_COLUMN_HI) | (maskHi >>> 1 & ~LAST_COLUMN_HI)) & HI_MASK;
+    }
+
+    private static int maskSlot(int length, boolean horizontal, int cell) {
+        return (((length - 1) << 1) | (horizontal ? 0 : 1)) * CELLS + cell;
+    }
+
+    /**
+     * Returns the low word (cells 0-63) of the board.
+     *
+     * @return The low word.
+     */
+    public long getLo() {
+        return lo;
+    }
+
+    /**
+     * Returns the high word (cells 64-99) of the board.
+     *
+     * @return The high word.
+     */
+    public long getHi() {
+        return hi;
+    }
+
+    /**
+     * Checks if a cell is occupied.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return {@code true} if the cell is occupied, {@code false} otherwise.
+     */
+    public boolean get(int x, int y) {
+        return get(index(x, y));
+    }
+
+    /**
+     * Checks if a cell is occupied.
+     *
+     * @param cell The bit index of the cell.
+     * @return {@code true} if the cell is occupied, {@code false} otherwise.
+     */
+    public boolean get(int cell) {
+        return cell < 64 ? (lo >>> cell & 1L) != 0 : (hi >>> (cell - 64) & 1L) != 0;
+    }
+
+    /**
+     * Marks a single cell as occupied.
+     *
+     * @param cell The bit index of the cell.
+     */
+    public void set(int cell) {
+        if (cell < 64) {
+            lo |= 1L << cell;
+        } else {
+            hi |= 1L << (cell - 64);
+        }
+    }
+
+    /**
+     * Checks if any cell of the given mask is occupied.
+     *
+     * @param maskLo The low word of the mask.
+     * @param maskHi The high word of the mask.
+     * @return {@code true} if the mask overlaps the board, {@code false} otherwise.
+     */
+    public boolean intersects(long maskLo, long maskHi) {
+        return ((lo & maskLo) | (hi & maskHi)) != 0;
+    }
+
+    /**
+     * Marks every cell of the given mask as occupied.
+     *
+     * @param maskLo The low word of the mask.
+     * @param maskHi The high word of the mask.
+     */
+    public void or(long maskLo, long maskHi) {
+        lo |= maskLo;
+        hi |= maskHi;
+    }
+
+    /**
+     * Frees every cell of the given mask.
+     *
+     * @param maskLo The low word of the mask.
+     * @param maskHi The high word of the mask.
+     */
+    public void andNot(long maskLo, long maskHi) {
+        lo &= ~maskLo;
+        hi &= ~maskHi;
+    }
+
+    /**
+     * Validates if a ship can be placed at the given anchor without leaving the board or overlapping.
+     *
+     * @param length     The length of the ship.
+     * @param horizontal The orientation of the ship.
+     * @param x          The x-coordinate of the anchor.
+     * @param y          The y-coordinate of the anchor.
+     * @return {@code true} if the placement is valid, {@code false} otherwise.
+     */
+    public boolean canPlace(int length, boolean horizontal, int x, int y) {
+        if (!fits(length, horizontal, x, y)) return false;
+        int slot = maskSlot(length, horizontal, index(x, y));
+        return !intersects(MASKS_LO[slot], MASKS_HI[slot]);
+    }
+
+    /**
+     * Copies the contents of another board into this one.
+     *
+     * @param other The board to copy.
+     */
+    public void copyFrom(Bitboard other) {
+        this.lo = other.lo;
+        this.hi = other.hi;
+    }
+
+    /**
+     * Clears the board, resetting all occupied positions.
+     */
+    public void clear() {
+        lo = 0L;
+        hi = 0L;
+    }
+
+    /**
+     * Checks if no cell of the board is occupied.
+     *
+     * @return {@code true} if the board is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return (lo | hi) == 0;
+    }
+
+    /**
+     * Returns the number of occupied cells.
+     *
+     * @return The number of occupied cells.
+     */
+    public int cardinality() {
+        return Long.bitCount(lo) + Long.bitCount(hi);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.battleship.models;
+
+import java.util.Arrays;
+
+/**
+ * Board dimensions and fleet composition of a game. The standard configuration is the 10x10 board
+ * with the {@link Fleet#standard() standard fleet}, played on {@link Bitboard}s; other configurations,
+ * up to {@value #MAX_SIZE}x{@value #MAX_SIZE} cells, are played on a {@link SparseBoard}.
+ */
+public final class BoardConfig {
+
+    /** Largest width or height of a board. */
+    public static final int MAX_SIZE = 10_000;
+
+    /** The standard 10x10 board with the standard fleet. */
+    public static final BoardConfig STANDARD = new BoardConfig(Bitboard.SIZE, Bitboard.SIZE, Fleet.standard());
+
+    private final int width;
+    private final int height;
+    private final int[] fleet;
+
+    /**
+     * Creates a board configuration.
+     *
+     * @param width  The number of columns, from 1 to {@value #MAX_SIZE}.
+     * @param height The number of rows, from 1 to {@value #MAX_SIZE}.
+     * @param fleet  The ship lengths of the fleet.
+     * @throws IllegalArgumentException If the board is too large, a ship does not fit on it or the fleet
+     *                                  covers more cells than the board has.
+     */
+    public BoardConfig(int width, int height, int[] fleet) {
+        if (width < 1 || height < 1 || width > MAX_SIZE || height > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1x1 and " + MAX_SIZE + "x" + MAX_SIZE);
+        }
+        if (fleet.length == 0) {
+            throw new IllegalArgumentException("The fleet is empty");
+        }
+        long cells = 0;
+        for (int length : fleet) {
+            if (length < 1 || length > Math.max(width, height)) {
+                throw new IllegalArgumentException("A ship of length " + length + " does not fit on the board");
+            }
+            cells += length;
+        }
+        if (cells > (long) width * height) {
+            throw new IllegalArgumentException("The fleet covers more cells than the board has");
+        }
+        this.width = width;
+        this.height = height;
+        this.fleet = fleet.clone();
+    }
+
+    /**
+     * Returns the number of columns of the board.
+     *
+     * @return The width of the board.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the number of rows of the board.
+     *
+     * @return The height of the board.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the ship lengths of the fleet.
+     *
+     * @return A copy of the fleet.
+     */
+    public int[] getFleet() {
+        return fleet.clone();
+    }
+
+    /**
+     * Returns the number of ships of the fleet.
+     *
+     * @return The number of ships.
+     */
+    public int getShipCount() {
+        return fleet.length;
+    }
+
+    /**
+     * Checks if this is the standard configuration, which can be played on {@link Bitboard}s.
+     *
+     * @return {@code true} for the standard 10x10 board and fleet, {@code false} otherwise.
+     */
+    public boolean isStandard() {
+        return width == Bitboard.SIZE && height == Bitboard.SIZE && Arrays.equals(fleet, STANDARD.fleet);
+    }
+
+    /**
+     * Checks if a ship lies entirely on the board.
+     *
+     * @param length     The length of the ship.
+     * @param horizontal The orientation of the ship.
+     * @param x          The x-coordinate of the anchor.
+     * @param y          The y-coordinate of the anchor.
+     * @return {@code true} if every cell of the ship is on the board, {@code false} otherwise.
+     */
+    public boolean fits(int length, boolean horizontal, int x, int y) {
+        if (length < 1 || x < 0 || y < 0 || x >= width || y >= height) return false;
+        return horizontal ? x + length <= width : y + length <= height;
+    }
+
+    /**
+     * Creates a configuration that repeats a fleet a number of times, for example to fill a large
+     * board with tens of thousands of ships.
+     *
+     * @param width  The number of columns.
+     * @param height The number of rows.
+     * @param fleet  The ship lengths of one fleet.
+     * @param copies The number of copies of the fleet.
+     * @return The configuration.
+     */
+    public static BoardConfig repeated(int width, int height, int[] fleet, int copies) {
+        int[] ships = new int[fleet.length * copies];
+        for (int i = 0; i < copies; i++) {
+            System.arraycopy(fleet, 0, ships, i * fleet.length, fleet.length);
+        }
+        return new BoardConfig(width, height, ships);
+    }
+
+    @Override
+    public String toString() {
+        return width + "x" + height + " board, " + fleet.length + " ships";
+    }
+}
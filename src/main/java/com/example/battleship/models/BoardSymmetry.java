@@ -0,0 +1,96 @@
+package com.example.battleship.models;
+
+/**
+ * The eight symmetries of the square board (rotations and reflections), applied to cells and to
+ * 100-bit masks. Transform 0 is the identity; transforms 1-3 rotate by 90, 180 and 270 degrees and
+ * transforms 4-7 are the same rotations applied after a horizontal reflection.
+ */
+public final class BoardSymmetry {
+
+    /** Number of symmetries of the square. */
+    public static final int COUNT = 8;
+
+    private static final byte[][] CELL_MAP = new byte[COUNT][Bitboard.CELLS];
+    private static final byte[][] INVERSE_MAP = new byte[COUNT][Bitboard.CELLS];
+
+    static {
+        int last = Bitboard.SIZE - 1;
+        for (int t = 0; t < COUNT; t++) {
+            for (int y = 0; y < Bitboard.SIZE; y++) {
+                for (int x = 0; x < Bitboard.SIZE; x++) {
+                    int tx = t >= 4 ? last - x : x;
+                    int ty = y;
+                    for (int r = 0; r < (t & 3); r++) {
+                        int rotated = last - ty;
+                        ty = tx;
+                        tx = rotated;
+                    }
+                    CELL_MAP[t][Bitboard.index(x, y)] = (byte) Bitboard.index(tx, ty);
+                    INVERSE_MAP[t][Bitboard.index(tx, ty)] = (byte) Bitboard.index(x, y);
+                }
+            }
+        }
+    }
+
+    private BoardSymmetry() {
+    }
+
+    /**
+     * Maps a cell through a symmetry.
+     *
+     * @param transform The symmetry, from 0 to 7.
+     * @param cell      The bit index of the cell.
+     * @return The bit index of the transformed cell.
+     */
+    public static int apply(int transform, int cell) {
+        return CELL_MAP[transform][cell];
+    }
+
+    /**
+     * Maps a cell through the inverse of a symmetry.
+     *
+     * @param transform The symmetry, from 0 to 7.
+     * @param cell      The bit index of a transformed cell.
+     * @return The bit index of the original cell.
+     */
+    public static int invert(int transform, int cell) {
+        return INVERSE_MAP[transform][cell];
+    }
+
+    /**
+     * Maps a mask through a symmetry.
+     *
+     * @param transform The symmetry, from 0 to 7.
+     * @param lo        The low word of the mask.
+     * @param hi        The high word of the mask.
+     * @param out       Receives the low word in entry 0 and the high word in entry 1.
+     */
+    public static void apply(int transform, long lo, long hi, long[] out) {
+        long outLo = 0L;
+        long outHi = 0L;
+        for (long w = lo; w != 0; w &= w - 1) {
+            int cell = CELL_MAP[transform][Long.numberOfTrailingZeros(w)];
+            if (cell < 64) outLo |= 1L << cell; else outHi |= 1L << (cell - 64);
+        }
+        for (long w = hi; w != 0; w &= w - 1) {
+            int cell = CELL_MAP[transform][64 + Long.numberOfTrailingZeros(w)];
+            if (cell < 64) outLo |= 1L << cell; else outHi |= 1L << (cell - 64);
+        }
+        out[0] = outLo;
+        out[1] = outHi;
+    }
+
+    /**
+     * Returns the representative of a cell's orbit: the smallest cell index it maps to.
+     *
+     * @param cell The bit index of the cell.
+     * @return The bit index of the orbit representative.
+     */
+    public static int canonicalCell(int cell) {
+        int best = cell;
+        for (int t = 1; t < COUNT; t++) {
+            best = Math.min(best, CELL_MAP[t][cell]);
+        }
+        return best;
+    }
+}
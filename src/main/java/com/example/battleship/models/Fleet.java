@@ -0,0 +1,36 @@
+package com.example.battleship.models;
+
+/**
+ * Describes the fleet composition used by the Battleship game.
+ * The standard fleet has one ship of length 4, two of length 3, three of length 2 and four of length 1.
+ */
+public final class Fleet {
+
+    private static final int[] STANDARD = {4, 3, 3, 2, 2, 2, 1, 1, 1, 1};
+
+    private Fleet() {
+    }
+
+    /**
+     * Returns the ship lengths of the standard fleet, longest first.
+     *
+     * @return A new array with the length of every ship of the standard fleet.
+     */
+    public static int[] standard() {
+        return STANDARD.clone();
+    }
+
+    /**
+     * Returns the total number of cells covered by a fleet.
+     *
+     * @param fleet The ship lengths of the fleet.
+     * @return The sum of the ship lengths.
+     */
+    public static int totalCells(int[] fleet) {
+        int total = 0;
+        for (int length : fleet) {
+            total += length;
+        }
+        return total;
+    }
+}
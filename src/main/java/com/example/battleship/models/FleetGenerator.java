@@ -0,0 +1,130 @@
+package com.example.battleship.models;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates random fleet layouts from the precomputed {@link PlacementTable}.
+ * Each ship is chosen uniformly among the placements still free on the board: a few random picks
+ * from the table are tried first, which is uniform over the free placements whenever one is accepted,
+ * and only then are the free candidates collected explicitly. When a ship has no free placement left,
+ * the generator backtracks to the previous ship and tries one of its remaining candidates instead of
+ * retrying blindly, so a layout is found in a bounded number of steps.
+ */
+public class FleetGenerator {
+
+    /** Default bound on backtracking steps before a generation attempt gives up. */
+    public static final int DEFAULT_MAX_BACKTRACKS = 10_000;
+
+    private static final int QUICK_ATTEMPTS = 16;
+
+    private final int[] fleet;
+    private final RandomGenerator random;
+    private final int[][] candidates;
+    private int maxBacktracks = DEFAULT_MAX_BACKTRACKS;
+    private int backtracks;
+    private int lastBacktracks;
+
+    /**
+     * Creates a generator for the given fleet.
+     *
+     * @param fleet  The ship lengths of the fleet, in placement order.
+     * @param random The source of randomness.
+     */
+    public FleetGenerator(int[] fleet, RandomGenerator random) {
+        this.fleet = fleet.clone();
+        this.random = random;
+        this.candidates = new int[fleet.length][];
+        for (int i = 0; i < fleet.length; i++) {
+            this.candidates[i] = new int[PlacementTable.count(fleet[i])];
+        }
+    }
+
+    /**
+     * Returns the ship lengths of the fleet handled by this generator.
+     *
+     * @return A copy of the fleet.
+     */
+    public int[] getFleet() {
+        return fleet.clone();
+    }
+
+    /**
+     * Sets the bound on backtracking steps for a single generation attempt.
+     *
+     * @param maxBacktracks The maximum number of backtracking steps.
+     */
+    public void setMaxBacktracks(int maxBacktracks) {
+        this.maxBacktracks = maxBacktracks;
+    }
+
+    /**
+     * Returns the number of backtracking steps taken by the last call to {@code generate}.
+     *
+     * @return The number of backtracking steps.
+     */
+    public int getLastBacktracks() {
+        return lastBacktracks;
+    }
+
+    /**
+     * Generates a random layout on the empty board.
+     *
+     * @param out Receives the placement id of every ship, in fleet order.
+     * @return {@code true} if a layout was found, {@code false} otherwise.
+     */
+    public boolean generate(int[] out) {
+        return generate(0L, 0L, out);
+    }
+
+    /**
+     * Generates a random layout that leaves the given cells free.
+     *
+     * @param blockedLo The low word of the cells no ship may cover.
+     * @param blockedHi The high word of the cells no ship may cover.
+     * @param out       Receives the placement id of every ship, in fleet order.
+     * @return {@code true} if a layout was found within the backtracking bound, {@code false} otherwise.
+     */
+    public boolean generate(long blockedLo, long blockedHi, int[] out) {
+        backtracks = 0;
+        boolean found = place(0, blockedLo, blockedHi, out);
+        lastBacktracks = backtracks;
+        return found;
+    }
+
+    private boolean place(int depth, long occupiedLo, long occupiedHi, int[] out) {
+        if (depth == fleet.length) return true;
+        int[] free = candidates[depth];
+        int first = PlacementTable.first(fleet[depth]);
+        int tried = -1;
+        for (int attempt = 0; attempt < QUICK_ATTEMPTS; attempt++) {
+            int id = first + random.nextInt(free.length);
+            if (((PlacementTable.lo(id) & occupiedLo) | (PlacementTable.hi(id) & occupiedHi)) != 0) continue;
+            out[depth] = id;
+            if (place(depth + 1, occupiedLo | PlacementTable.lo(id), occupiedHi | PlacementTable.hi(id), out)) {
+                return true;
+            }
+            if (++backtracks > maxBacktracks) return false;
+            tried = id;
+            break;
+        }
+
+        int end = first + free.length;
+        int n = 0;
+        for (int id = first; id < end; id++) {
+            if (id != tried && ((PlacementTable.lo(id) & occupiedLo) | (PlacementTable.hi(id) & occupiedHi)) == 0) {
+                free[n++] = id;
+            }
+        }
+        while (n > 0) {
+            int pick = random.nextInt(n);
+            int id = free[pick];
+            free[pick] = free[--n];
+            out[depth] = id;
+            if (place(depth + 1, occupiedLo | PlacementTable.lo(id), occupiedHi | PlacementTable.hi(id), out)) {
+                return true;
+            }
+            if (++backtracks > maxBacktracks) return false;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.battleship.models;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Validates submitted fleet layouts in bulk, for example the layouts sent by untrusted clients or read
+ * from a file. A layout is checked for the number of ships, the fleet composition, board bounds,
+ * overlaps and, under the classic rules, ships touching each other, and a rejected layout is reported
+ * with the first rule it breaks and the ship that breaks it.
+ *
+ * <p>Every check is a whole-board mask operation: the mask of every ship and its dilation (the ship
+ * plus every cell around it, diagonals included) are precomputed for every length and encoded anchor,
+ * so a ship costs two table lookups and a few ANDs and ORs, and validating a layout allocates nothing.
+ * The composition is compared as a single packed count of ships per length.</p>
+ *
+ * <p>Ships are encoded as in the network protocol and the layout corpus: one byte per ship with the
+ * anchor cell in bits 0-6 and the orientation in bit 7 (set for vertical ships). A batch, as accepted by
+ * {@link #validateBatch(ByteBuffer, Verdict[], int[])}, is a sequence of layouts, each made of its ship
+ * count followed by a pair of bytes per ship: the length of the ship and its encoded placement.</p>
+ *
+ * <p>A validator keeps the details of its last validation and must not be shared between threads.</p>
+ */
+public final class FleetValidator {
+
+    /**
+     * The outcome of validating a layout. Rules are checked in declaration order, so a layout that
+     * breaks several of them is reported with the first one.
+     */
+    public enum Verdict {
+        /** The layout is legal. */
+        VALID,
+        /** The batch ended in the middle of the layout. */
+        TRUNCATED,
+        /** The layout does not hold as many ships as the fleet. */
+        WRONG_SHIP_COUNT,
+        /** The ship lengths do not match the fleet. */
+        WRONG_COMPOSITION,
+        /** A ship does not fit on the board. */
+        OUT_OF_BOUNDS,
+        /** A ship overlaps an earlier one. */
+        OVERLAP,
+        /** A ship touches an earlier one, side by side or diagonally, under the no-touch rule. */
+        TOUCHING
+    }
+
+    /** The bit of an encoded ship that marks it vertical. */
+    public static final int VERTICAL_BIT = 0x80;
+
+    private static final int COUNT_BITS = 5;
+    private static final int MAX_SHIPS = (1 << COUNT_BITS) - 1;
+    private static final long[] SHIP_LO = new long[(Bitboard.SIZE + 1) << 8];
+    private static final long[] SHIP_HI = new long[(Bitboard.SIZE + 1) << 8];
+    private static final long[] HALO_LO = new long[(Bitboard.SIZE + 1) << 8];
+    private static final long[] HALO_HI = new long[(Bitboard.SIZE + 1) << 8];
+
+    static {
+        for (int length = 1; length <= Bitboard.SIZE; length++) {
+            for (int value = 0; value < 256; value++) {
+                int anchor = value & ~VERTICAL_BIT;
+                if (anchor >= Bitboard.CELLS) continue;
+                boolean horizontal = (value & VERTICAL_BIT) == 0;
+                int x = anchor % Bitboard.SIZE;
+                int y = anchor / Bitboard.SIZE;
+                if (!Bitboard.fits(length, horizontal, x, y)) continue;
+                int slot = length << 8 | value;
+                SHIP_LO[slot] = Bitboard.maskLo(length, horizontal, x, y);
+                SHIP_HI[slot] = Bitboard.maskHi(length, horizontal, x, y);
+                HALO_LO[slot] = Bitboard.dilateLo(SHIP_LO[slot], SHIP_HI[slot]);
+                HALO_HI[slot] = Bitboard.dilateHi(SHIP_LO[slot], SHIP_HI[slot]);
+            }
+        }
+    }
+
+    private final int shipCount;
+    private final long composition;
+    private final boolean noTouch;
+    private final int[] batchLengths = new int[MAX_SHIPS];
+    private int lastShip = -1;
+
+    /**
+     * Creates a validator for a fleet.
+     *
+     * @param fleet   The ship lengths every layout must hold, in any order.
+     * @param noTouch Whether ships may not touch each other, even diagonally, as in the classic rules.
+     * @throws IllegalArgumentException If the fleet is empty, too large or holds a ship that does not
+     *                                  fit on the board.
+     */
+    public FleetValidator(int[] fleet, boolean noTouch) {
+        if (fleet.length == 0 || fleet.length > MAX_SHIPS) {
+            throw new IllegalArgumentException("Fleets hold 1 to " + MAX_SHIPS + " ships, not " + fleet.length);
+        }
+        long counts = 0;
+        for (int length : fleet) {
+            if (length < 1 || length > Bitboard.SIZE) {
+                throw new IllegalArgumentException("Ship length " + length + " does not fit on the board");
+            }
+            counts += 1L << (length * COUNT_BITS);
+        }
+        this.shipCount = fleet.length;
+        this.composition = counts;
+        this.noTouch = noTouch;
+    }
+
+    /**
+     * Encodes a ship placement as one byte.
+     *
+     * @param horizontal The orientation of the ship.
+     * @param x          The x-coordinate of the anchor.
+     * @param y          The y-coordinate of the anchor.
+     * @return The encoded ship.
+     */
+    public static byte encode(boolean horizontal, int x, int y) {
+        return (byte) (Bitboard.index(x, y) | (horizontal ? 0 : VERTICAL_BIT));
+    }
+
+    /**
+     * Checks whether the validator enforces the no-touch rule.
+     *
+     * @return {@code true} if ships may not touch each other, {@code false} otherwise.
+     */
+    public boolean isNoTouch() {
+        return noTouch;
+    }
+
+    /**
+     * Returns the ship that broke a rule in the last validation.
+     *
+     * @return The index of the ship in the layout, or {@code -1} if the last layout was valid or was
+     *         rejected as a whole (truncated, wrong ship count or wrong composition).
+     */
+    public int getLastShip() {
+        return lastShip;
+    }
+
+    /**
+     * Validates a layout given as ship lengths and encoded placements.
+     *
+     * @param lengths The length of every ship of the layout.
+     * @param ships   The buffer holding one encoded placement per ship.
+     * @param index   The absolute position in the buffer of the first ship; the position is not moved.
+     * @return The verdict.
+     */
+    public Verdict validate(int[] lengths, ByteBuffer ships, int index) {
+        lastShip = -1;
+        if (lengths.length != shipCount) return Verdict.WRONG_SHIP_COUNT;
+        long counts = 0;
+        for (int length : lengths) {
+            if (length < 1 || length > Bitboard.SIZE) return Verdict.WRONG_COMPOSITION;
+            counts += 1L << (length * COUNT_BITS);
+        }
+        if (counts != composition) return Verdict.WRONG_COMPOSITION;
+
+        long occupiedLo = 0;
+        long occupiedHi = 0;
+        long haloLo = 0;
+        long haloHi = 0;
+        for (int i = 0; i < lengths.length; i++) {
+            int slot = lengths[i] << 8 | (ships.get(index + i) & 0xFF);
+            Verdict verdict = place(SHIP_LO[slot], SHIP_HI[slot], occupiedLo, occupiedHi, haloLo, haloHi);
+            if (verdict != Verdict.VALID) {
+                lastShip = i;
+                return verdict;
+            }
+            occupiedLo |= SHIP_LO[slot];
+            occupiedHi |= SHIP_HI[slot];
+            haloLo |= HALO_LO[slot];
+            haloHi |= HALO_HI[slot];
+        }
+        return Verdict.VALID;
+    }
+
+    /**
+     * Validates a layout given as placement ids of the {@link PlacementTable}, which always fit on the board.
+     *
+     * @param placements The placement id of every ship of the layout.
+     * @return The verdict.
+     */
+    public Verdict validate(int[] placements) {
+        lastShip = -1;
+        if (placements.length != shipCount) return Verdict.WRONG_SHIP_COUNT;
+        long counts = 0;
+        for (int id : placements) {
+            counts += 1L << (PlacementTable.length(id) * COUNT_BITS);
+        }
+        if (counts != composition) return Verdict.WRONG_COMPOSITION;
+
+        long occupiedLo = 0;
+        long occupiedHi = 0;
+        long haloLo = 0;
+        long haloHi = 0;
+        for (int i = 0; i < placements.length; i++) {
+            int id = placements[i];
+            int slot = PlacementTable.length(id) << 8
+                    | encode(PlacementTable.isHorizontal(id), PlacementTable.x(id), PlacementTable.y(id)) & 0xFF;
+            Verdict verdict = place(SHIP_LO[slot], SHIP_HI[slot], occupiedLo, occupiedHi, haloLo, haloHi);
+            if (verdict != Verdict.VALID) {
+                lastShip = i;
+                return verdict;
+            }
+            occupiedLo |= SHIP_LO[slot];
+            occupiedHi |= SHIP_HI[slot];
+            haloLo |= HALO_LO[slot];
+            haloHi |= HALO_HI[slot];
+        }
+        return Verdict.VALID;
+    }
+
+    /**
+     * Validates every layout of a batch. Reading stops at the end of the buffer; a layout cut short by
+     * the end of the buffer is reported as {@link Verdict#TRUNCATED} and ends the batch.
+     *
+     * @param batch    The buffer holding the batch between its position and its limit; the position is
+     *                 moved past the layouts read.
+     * @param verdicts Receives the verdict of every layout, in batch order. At most this many layouts are read.
+     * @param ships    Receives the ship that broke a rule in every layout, as {@link #getLastShip()};
+     *                 may be {@code null}.
+     * @return The number of layouts read.
+     */
+    public int validateBatch(ByteBuffer batch, Verdict[] verdicts, int[] ships) {
+        int read = 0;
+        while (read < verdicts.length && batch.hasRemaining()) {
+            int start = batch.position();
+            int count = batch.get(start) & 0xFF;
+            Verdict verdict;
+            if (batch.limit() - start - 1 < 2 * count) {
+                verdict = Verdict.TRUNCATED;
+                lastShip = -1;
+                batch.position(batch.limit());
+            } else {
+                verdict = count == shipCount
+                        ? validatePairs(batch, start + 1)
+                        : countMismatch();
+                batch.position(start + 1 + 2 * count);
+            }
+            verdicts[read] = verdict;
+            if (ships != null) ships[read] = lastShip;
+            read++;
+        }
+        return read;
+    }
+
+    private Verdict validatePairs(ByteBuffer batch, int index) {
+        lastShip = -1;
+        long counts = 0;
+        for (int i = 0; i < shipCount; i++) {
+            int length = batch.get(index + 2 * i) & 0xFF;
+            if (length < 1 || length > Bitboard.SIZE) return Verdict.WRONG_COMPOSITION;
+            batchLengths[i] = length;
+            counts += 1L << (length * COUNT_BITS);
+        }
+        if (counts != composition) return Verdict.WRONG_COMPOSITION;
+
+        long occupiedLo = 0;
+        long occupiedHi = 0;
+        long haloLo = 0;
+        long haloHi = 0;
+        for (int i = 0; i < shipCount; i++) {
+            int slot = batchLengths[i] << 8 | (batch.get(index + 2 * i + 1) & 0xFF);
+            Verdict verdict = place(SHIP_LO[slot], SHIP_HI[slot], occupiedLo, occupiedHi, haloLo, haloHi);
+            if (verdict != Verdict.VALID) {
+                lastShip = i;
+                return verdict;
+            }
+            occupiedLo |= SHIP_LO[slot];
+            occupiedHi |= SHIP_HI[slot];
+            haloLo |= HALO_LO[slot];
+            haloHi |= HALO_HI[slot];
+        }
+        return Verdict.VALID;
+    }
+
+    private Verdict countMismatch() {
+        lastShip = -1;
+        return Verdict.WRONG_SHIP_COUNT;
+    }
+
+    /**
+     * Checks one ship against the ships placed before it.
+     *
+     * @param lo         The low word of the ship's mask, or {@code 0} with {@code hi} if it is off the board.
+     * @param hi         The high word of the ship's mask.
+     * @param occupiedLo The low word of the cells of the earlier ships.
+     * @param occupiedHi The high word of the cells of the earlier ships.
+     * @param haloLo     The low word of the dilated earlier ships.
+     * @param haloHi     The high word of the dilated earlier ships.
+     * @return The verdict for the ship.
+     */
+    private Verdict place(long lo, long hi, long occupiedLo, long occupiedHi, long haloLo, long haloHi) {
+        if ((lo | hi) == 0) return Verdict.OUT_OF_BOUNDS;
+        if (((lo & occupiedLo) | (hi & occupiedHi)) != 0) return Verdict.OVERLAP;
+        if (noTouch && ((lo & haloLo) | (hi & haloHi)) != 0) return Verdict.TOUCHING;
+        return Verdict.VALID;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.battleship.models;
+
+/**
+ * Enumerates once every legal placement of a ship on the empty 10x10 board.
+ * Placements are grouped by ship length and identified by a dense integer id, so callers can
+ * keep candidate sets as plain {@code int} arrays and test them against a board with two ANDs.
+ * Ships of length 1 are only listed horizontally, since both orientations cover the same cell.
+ */
+public final class PlacementTable {
+
+    private static final int[] FIRST = new int[Bitboard.SIZE + 2];
+    private static final int TOTAL;
+    private static final long[] LO;
+    private static final long[] HI;
+    private static final byte[] X;
+    private static final byte[] Y;
+    private static final boolean[] HORIZONTAL;
+    private static final byte[] LENGTH;
+
+    static {
+        int total = 0;
+        for (int length = 1; length <= Bitboard.SIZE; length++) {
+            FIRST[length] = total;
+            total += countFor(length);
+        }
+        FIRST[Bitboard.SIZE + 1] = total;
+        TOTAL = total;
+        LO = new long[total];
+        HI = new long[total];
+        X = new byte[total];
+        Y = new byte[total];
+        HORIZONTAL = new boolean[total];
+        LENGTH = new byte[total];
+
+        int id = 0;
+        for (int length = 1; length <= Bitboard.SIZE; length++) {
+            for (int o = 0; o < (length == 1 ? 1 : 2); o++) {
+                boolean horizontal = o == 0;
+                for (int y = 0; y < Bitboard.SIZE; y++) {
+                    for (int x = 0; x < Bitboard.SIZE; x++) {
+                        if (!Bitboard.fits(length, horizontal, x, y)) continue;
+                        LO[id] = Bitboard.maskLo(length, horizontal, x, y);
+                        HI[id] = Bitboard.maskHi(length, horizontal, x, y);
+                        X[id] = (byte) x;
+                        Y[id] = (byte) y;
+                        HORIZONTAL[id] = horizontal;
+                        LENGTH[id] = (byte) length;
+                        id++;
+                    }
+                }
+            }
+        }
+    }
+
+    private PlacementTable() {
+    }
+
+    private static int countFor(int length) {
+        int perOrientation = (Bitboard.SIZE - length + 1) * Bitboard.SIZE;
+        return length == 1 ? perOrientation : 2 * perOrientation;
+    }
+
+    /**
+     * Returns the total number of placements over all ship lengths.
+     *
+     * @return The number of placements in the table.
+     */
+    public static int size() {
+        return TOTAL;
+    }
+
+    /**
+     * Returns the id of the first placement of a ship length.
+     *
+     * @param length The length of the ship.
+     * @return The first placement id for that length.
+     */
+    public static int first(int length) {
+        return FIRST[length];
+    }
+
+    /**
+     * Returns the number of legal placements of a ship length on the empty board.
+     *
+     * @param length The length of the ship.
+     * @return The number of placements for that length.
+     */
+    public static int count(int length) {
+        return FIRST[length + 1] - FIRST[length];
+    }
+
+    /**
+     * Returns the id of the placement with the given length, orientation and anchor.
+     *
+     * @param length     The length of the ship.
+     * @param horizontal The orientation of the ship; ignored for ships of length 1.
+     * @param x          The x-coordinate of the anchor.
+     * @param y          The y-coordinate of the anchor.
+     * @return The placement id, or {@code -1} if the placement does not fit on the board.
+     */
+    public static int find(int length, boolean horizontal, int x, int y) {
+        if (length == 1) horizontal = true;
+        if (!Bitboard.fits(length, horizontal, x, y)) return -1;
+        int id = FIRST[length];
+        if (!horizontal) id += (Bitboard.SIZE - length + 1) * Bitboard.SIZE;
+        return horizontal
+                ? id + y * (Bitboard.SIZE - length + 1) + x
+                : id + y * Bitboard.SIZE + x;
+    }
+
+    /**
+     * Returns the low word of a placement mask.
+     *
+     * @param id The placement id.
+     * @return The low word of the mask.
+     */
+    public static long lo(int id) {
+        return LO[id];
+    }
+
+    /**
+     * Returns the high word of a placement mask.
+     *
+     * @param id The placement id.
+     * @return The high word of the mask.
+     */
+    public static long hi(int id) {
+        return HI[id];
+    }
+
+    /**
+     * Returns the x-coordinate of a placement anchor.
+     *
+     * @param id The placement id.
+     * @return The x-coordinate.
+     */
+    public static int x(int id) {
+        return X[id];
+    }
+
+    /**
+     * Returns the y-coordinate of a placement anchor.
+     *
+     * @param id The placement id.
+     * @return The y-coordinate.
+     */
+    public static int y(int id) {
+        return Y[id];
+    }
+
+    /**
+     * Checks if a placement is horizontal.
+     *
+     * @param id The placement id.
+     * @return {@code true} if the placement is horizontal, {@code false} otherwise.
+     */
+    public static boolean isHorizontal(int id) {
+        return HORIZONTAL[id];
+    }
+
+    /**
+     * Returns the ship length of a placement.
+     *
+     * @param id The placement id.
+     * @return The length of the ship.
+     */
+    public static int length(int id) {
+        return LENGTH[id];
+    }
+}
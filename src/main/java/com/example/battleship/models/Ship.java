@@ -91,17 +91,19 @@ public class Ship {
     }
 
     /**
-     * Validates if the ship can be placed at the specified position without overlapping other ships.
+     * Validates if the ship can be placed at the specified position without leaving the board or
+     * overlapping other ships. Positions off the board on either axis are rejected rather than read.
      *
      * @param x       The x-coordinate of the position to validate.
      * @param y       The y-coordinate of the position to validate.
-     * @param tablero The game board represented as a boolean matrix.
+     * @param tablero The game board represented as a boolean matrix indexed {@code [x][y]}.
      * @return {@code true} if the position is valid, {@code false} otherwise.
      */
     public boolean validarPosicion(int x, int y, boolean[][] tablero) {
         int finalPosX = x;
         int finalPosY = y;
 
+        if (x < 0 || y < 0 || x >= tablero.length || y >= tablero[0].length) return false;
         if (esHorizontal) {
             if (finalPosX + longitud > tablero.length) return false;
             for (int i = 0; i < longitud; i++) {
@@ -149,4 +151,65 @@ public class Ship {
             }
         }
     }
+
+    /**
+     * Validates if the ship can be placed at the specified position using a bitboard.
+     * The check is a single mask lookup and AND against the occupied cells.
+     *
+     * @param x       The x-coordinate of the position to validate.
+     * @param y       The y-coordinate of the position to validate.
+     * @param tablero The game board represented as a bitboard.
+     * @return {@code true} if the position is valid, {@code false} otherwise.
+     */
+    public boolean validarPosicion(int x, int y, Bitboard tablero) {
+        return tablero.canPlace(longitud, esHorizontal, x, y);
+    }
+
+    /**
+     * Marks the positions occupied by the ship on a bitboard.
+     *
+     * @param tablero The game board represented as a bitboard.
+     */
+    public void ocuparPosicionEnTablero(Bitboard tablero) {
+        tablero.or(getMascaraLo(), getMascaraHi());
+    }
+
+    /**
+     * Clears the positions currently occupied by the ship on a bitboard.
+     *
+     * @param tablero The game board represented as a bitboard.
+     */
+    public void liberarPosicionEnTablero(Bitboard tablero) {
+        tablero.andNot(getMascaraLo(), getMascaraHi());
+    }
+
+    /**
+     * Validates if the ship can be placed at the specified position on a board of any size.
+     *
+     * @param x       The x-coordinate of the position to validate.
+     * @param y       The y-coordinate of the position to validate.
+     * @param tablero The game board represented as a sparse interval index.
+     * @return {@code true} if the position is valid, {@code false} otherwise.
+     */
+    public boolean validarPosicion(int x, int y, SparseBoard tablero) {
+        return tablero.canPlace(longitud, esHorizontal, x, y);
+    }
+
+    /**
+     * Returns the low word of the bitboard mask covered by the ship at its current position.
+     *
+     * @return The low word of the mask, or {@code 0} if the ship does not fit on the board.
+     */
+    public long getMascaraLo() {
+        return Bitboard.maskLo(longitud, esHorizontal, posX, posY);
+    }
+
+    /**
+     * Returns the high word of the bitboard mask covered by the ship at its current position.
+     *
+     * @return The high word of the mask, or {@code 0} if the ship does not fit on the board.
+     */
+    public long getMascaraHi() {
+        return Bitboard.maskHi(longitud, esHorizontal, posX, posY);
+    }
 }
@@ -0,0 +1,276 @@
+package com.example.battleship.models;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ship occupancy of a board of any {@link BoardConfig} size, kept as a sparse interval index.
+ *
+ * <p>Every non-empty row and column has an ordered map from the first cell of each segment to the
+ * segment. A horizontal ship is one segment in its row and a single-cell segment in each column it
+ * crosses; a vertical ship is the transpose. A placement therefore only has to look up the segment
+ * preceding its end in one row or column map, which costs {@code O(log n)}, and memory grows with the
+ * number of ship cells rather than with the size of the board.</p>
+ */
+public class SparseBoard {
+
+    /**
+     * A run of occupied cells along one row or column.
+     */
+    private static final class Segment {
+        private final int end;
+        private final int ship;
+
+        private Segment(int end, int ship) {
+            this.end = end;
+            this.ship = ship;
+        }
+    }
+
+    private final BoardConfig config;
+    private final int[] fleet;
+    private final int[] posX;
+    private final int[] posY;
+    private final boolean[] horizontal;
+    private final boolean[] placed;
+    private final Map<Integer, TreeMap<Integer, Segment>> rows = new HashMap<>();
+    private final Map<Integer, TreeMap<Integer, Segment>> columns = new HashMap<>();
+    private int placedCount;
+
+    /**
+     * Creates an empty board.
+     *
+     * @param config The board dimensions and fleet.
+     */
+    public SparseBoard(BoardConfig config) {
+        this.config = config;
+        this.fleet = config.getFleet();
+        this.posX = new int[fleet.length];
+        this.posY = new int[fleet.length];
+        this.horizontal = new boolean[fleet.length];
+        this.placed = new boolean[fleet.length];
+    }
+
+    /**
+     * Returns the configuration of the board.
+     *
+     * @return The board configuration.
+     */
+    public BoardConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Validates if a ship of the given length can be placed without leaving the board or overlapping.
+     *
+     * @param length       The length of the ship.
+     * @param isHorizontal The orientation of the ship.
+     * @param x            The x-coordinate of the anchor.
+     * @param y            The y-coordinate of the anchor.
+     * @return {@code true} if the placement is valid, {@code false} otherwise.
+     */
+    public boolean canPlace(int length, boolean isHorizontal, int x, int y) {
+        if (!config.fits(length, isHorizontal, x, y)) return false;
+        return isHorizontal
+                ? !overlaps(rows.get(y), x, x + length - 1)
+                : !overlaps(columns.get(x), y, y + length - 1);
+    }
+
+    /**
+     * Validates if a ship of the fleet can be moved to a position, ignoring the cells it currently occupies.
+     *
+     * @param ship         The index of the ship in the fleet.
+     * @param isHorizontal The new orientation of the ship.
+     * @param x            The new x-coordinate of the anchor.
+     * @param y            The new y-coordinate of the anchor.
+     * @return {@code true} if the move is valid, {@code false} otherwise.
+     */
+    public boolean canMove(int ship, boolean isHorizontal, int x, int y) {
+        int length = fleet[ship];
+        if (!config.fits(length, isHorizontal, x, y)) return false;
+        TreeMap<Integer, Segment> line = isHorizontal ? rows.get(y) : columns.get(x);
+        int from = isHorizontal ? x : y;
+        int to = from + length - 1;
+        if (line == null) return true;
+        Map.Entry<Integer, Segment> entry = line.floorEntry(to);
+        while (entry != null && entry.getValue().end >= from) {
+            if (entry.getValue().ship != ship) return false;
+            entry = line.lowerEntry(entry.getKey());
+        }
+        return true;
+    }
+
+    /**
+     * Places a ship of the fleet. The ship must not be on the board already.
+     *
+     * @param ship         The index of the ship in the fleet.
+     * @param isHorizontal The orientation of the ship.
+     * @param x            The x-coordinate of the anchor.
+     * @param y            The y-coordinate of the anchor.
+     * @return {@code true} if the ship was placed, {@code false} if the placement is invalid.
+     * @throws IllegalStateException If the ship is already on the board.
+     */
+    public boolean place(int ship, boolean isHorizontal, int x, int y) {
+        if (placed[ship]) {
+            throw new IllegalStateException("Ship " + ship + " is already on the board");
+        }
+        if (!canPlace(fleet[ship], isHorizontal, x, y)) return false;
+        index(ship, isHorizontal, x, y);
+        return true;
+    }
+
+    /**
+     * Moves a ship of the fleet, keeping it in place if the new position is invalid.
+     *
+     * @param ship         The index of the ship in the fleet.
+     * @param isHorizontal The new orientation of the ship.
+     * @param x            The new x-coordinate of the anchor.
+     * @param y            The new y-coordinate of the anchor.
+     * @return {@code true} if the ship was moved, {@code false} otherwise.
+     */
+    public boolean move(int ship, boolean isHorizontal, int x, int y) {
+        if (!placed[ship]) return place(ship, isHorizontal, x, y);
+        if (!canMove(ship, isHorizontal, x, y)) return false;
+        remove(ship);
+        index(ship, isHorizontal, x, y);
+        return true;
+    }
+
+    /**
+     * Removes a ship from the board.
+     *
+     * @param ship The index of the ship in the fleet.
+     */
+    public void remove(int ship) {
+        if (!placed[ship]) return;
+        int length = fleet[ship];
+        int x = posX[ship];
+        int y = posY[ship];
+        if (horizontal[ship]) {
+            removeSegment(rows, y, x);
+            for (int i = 0; i < length; i++) {
+                removeSegment(columns, x + i, y);
+            }
+        } else {
+            removeSegment(columns, x, y);
+            for (int i = 0; i < length; i++) {
+                removeSegment(rows, y + i, x);
+            }
+        }
+        placed[ship] = false;
+        placedCount--;
+    }
+
+    /**
+     * Removes every ship from the board.
+     */
+    public void clear() {
+        rows.clear();
+        columns.clear();
+        Arrays.fill(placed, false);
+        placedCount = 0;
+    }
+
+    /**
+     * Returns the ship occupying a cell.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return The index of the ship in the fleet, or {@code -1} if the cell is empty.
+     */
+    public int shipAt(int x, int y) {
+        TreeMap<Integer, Segment> row = rows.get(y);
+        if (row == null) return -1;
+        Map.Entry<Integer, Segment> entry = row.floorEntry(x);
+        return entry != null && entry.getValue().end >= x ? entry.getValue().ship : -1;
+    }
+
+    /**
+     * Checks if a ship of the fleet is on the board.
+     *
+     * @param ship The index of the ship in the fleet.
+     * @return {@code true} if the ship is placed, {@code false} otherwise.
+     */
+    public boolean isPlaced(int ship) {
+        return placed[ship];
+    }
+
+    /**
+     * Returns the number of ships on the board.
+     *
+     * @return The number of placed ships.
+     */
+    public int getPlacedCount() {
+        return placedCount;
+    }
+
+    /**
+     * Returns the x-coordinate of a ship's anchor.
+     *
+     * @param ship The index of the ship in the fleet.
+     * @return The x-coordinate.
+     */
+    public int getPosX(int ship) {
+        return posX[ship];
+    }
+
+    /**
+     * Returns the y-coordinate of a ship's anchor.
+     *
+     * @param ship The index of the ship in the fleet.
+     * @return The y-coordinate.
+     */
+    public int getPosY(int ship) {
+        return posY[ship];
+    }
+
+    /**
+     * Returns the orientation of a ship.
+     *
+     * @param ship The index of the ship in the fleet.
+     * @return {@code true} if the ship is horizontal, {@code false} if it is vertical.
+     */
+    public boolean isHorizontal(int ship) {
+        return horizontal[ship];
+    }
+
+    private void index(int ship, boolean isHorizontal, int x, int y) {
+        int length = fleet[ship];
+        if (isHorizontal) {
+            addSegment(rows, y, x, x + length - 1, ship);
+            for (int i = 0; i < length; i++) {
+                addSegment(columns, x + i, y, y, ship);
+            }
+        } else {
+            addSegment(columns, x, y, y + length - 1, ship);
+            for (int i = 0; i < length; i++) {
+                addSegment(rows, y + i, x, x, ship);
+            }
+        }
+        posX[ship] = x;
+        posY[ship] = y;
+        horizontal[ship] = isHorizontal;
+        placed[ship] = true;
+        placedCount++;
+    }
+
+    private static boolean overlaps(TreeMap<Integer, Segment> line, int from, int to) {
+        if (line == null) return false;
+        Map.Entry<Integer, Segment> entry = line.floorEntry(to);
+        return entry != null && entry.getValue().end >= from;
+    }
+
+    private static void addSegment(Map<Integer, TreeMap<Integer, Segment>> lines, int line, int from, int to, int ship) {
+        lines.computeIfAbsent(line, k -> new TreeMap<>()).put(from, new Segment(to, ship));
+    }
+
+    private static void removeSegment(Map<Integer, TreeMap<Integer, Segment>> lines, int line, int from) {
+        TreeMap<Integer, Segment> segments = lines.get(line);
+        segments.remove(from);
+        if (segments.isEmpty()) {
+            lines.remove(line);
+        }
+    }
+}
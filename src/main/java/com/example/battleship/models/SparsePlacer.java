@@ -0,0 +1,79 @@
+package com.example.battleship.models;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Places a whole fleet at random on a {@link SparseBoard}. Ships are placed one by one, each at a random
+ * position retried until it fits; on large, sparsely filled boards almost every first pick succeeds,
+ * so placing a fleet costs {@code O(ships * log ships)}.
+ */
+public class SparsePlacer {
+
+    /** Default number of random positions tried per ship before giving up. */
+    public static final int DEFAULT_MAX_ATTEMPTS = 1_000;
+
+    private final RandomGenerator random;
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private long lastAttempts;
+
+    /**
+     * Creates a placer.
+     *
+     * @param random The source of randomness.
+     */
+    public SparsePlacer(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Sets the number of random positions tried per ship before giving up.
+     *
+     * @param maxAttempts The maximum number of attempts per ship.
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Returns the number of positions tried by the last call to {@link #place(SparseBoard)}.
+     *
+     * @return The number of attempts.
+     */
+    public long getLastAttempts() {
+        return lastAttempts;
+    }
+
+    /**
+     * Clears a board and places its whole fleet at random. Ships are placed in fleet order, so fleets
+     * listed longest first, like the standard one, fill crowded boards best.
+     *
+     * @param board The board to fill.
+     * @return {@code true} if every ship was placed, {@code false} if a ship found no free position.
+     */
+    public boolean place(SparseBoard board) {
+        board.clear();
+        BoardConfig config = board.getConfig();
+        int[] fleet = config.getFleet();
+        int width = config.getWidth();
+        int height = config.getHeight();
+        long attempts = 0;
+        for (int ship = 0; ship < fleet.length; ship++) {
+            int length = fleet[ship];
+            boolean done = false;
+            for (int attempt = 0; attempt < maxAttempts && !done; attempt++) {
+                attempts++;
+                boolean horizontal = random.nextBoolean();
+                int spanX = horizontal ? width - length + 1 : width;
+                int spanY = horizontal ? height : height - length + 1;
+                if (spanX < 1 || spanY < 1) continue;
+                done = board.place(ship, horizontal, random.nextInt(spanX), random.nextInt(spanY));
+            }
+            if (!done) {
+                lastAttempts = attempts;
+                return false;
+            }
+        }
+        lastAttempts = attempts;
+        return true;
+    }
+}
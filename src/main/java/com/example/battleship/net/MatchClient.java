@@ -0,0 +1,248 @@
+package com.example.battleship.net;
+
+import com.example.battleship.engine.ShotResult;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.Ship;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client connection to a {@link MatchServer}. Frames are sent from the caller's thread and received on
+ * a single daemon thread that reports them to a {@link Listener}; both directions reuse one buffer each.
+ */
+public class MatchClient implements AutoCloseable {
+
+    /** Time allowed to establish a connection, in milliseconds. */
+    public static final int CONNECT_TIMEOUT_MILLIS = 5_000;
+
+    /**
+     * Receives the messages of the server. Methods are called on the client's reader thread.
+     */
+    public interface Listener {
+
+        /**
+         * Called when the client has been paired with an opponent.
+         *
+         * @param matchId The id of the match.
+         * @param first   Whether this client fires first.
+         */
+        void onMatched(int matchId, boolean first);
+
+        /**
+         * Called with the result of this client's own shot.
+         *
+         * @param cell     The bit index of the target cell.
+         * @param result   The result of the shot.
+         * @param sunk     The placement id of the ship the shot sank, or {@code -1}.
+         * @param yourTurn Whether this client fires next.
+         * @param gameOver Whether the shot sank the opponent's last ship.
+         */
+        void onResult(int cell, ShotResult result, int sunk, boolean yourTurn, boolean gameOver);
+
+        /**
+         * Called when the opponent fired at this client's fleet.
+         *
+         * @param cell     The bit index of the target cell.
+         * @param result   The result of the shot.
+         * @param yourTurn Whether this client fires next.
+         * @param gameOver Whether the shot sank this client's last ship.
+         */
+        void onIncoming(int cell, ShotResult result, boolean yourTurn, boolean gameOver);
+
+        /**
+         * Called when the opponent left the match.
+         */
+        void onOpponentLeft();
+
+        /**
+         * Called when the server rejected a frame.
+         *
+         * @param code One of the {@code ERROR_} codes of {@link Protocol}.
+         */
+        void onError(int code);
+
+        /**
+         * Called once the connection is closed, by either side.
+         */
+        void onDisconnected();
+    }
+
+    private final SocketChannel channel;
+    private final Listener listener;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(Protocol.FRAME_SIZE);
+    private final ByteBuffer in = ByteBuffer.allocateDirect(Protocol.FRAME_SIZE * 64);
+    private final Thread reader;
+    private volatile boolean closed;
+
+    /**
+     * Connects to a server and starts receiving its messages. Blocks for up to
+     * {@link #CONNECT_TIMEOUT_MILLIS} while connecting.
+     *
+     * @param address  The address of the server.
+     * @param listener The listener receiving the server's messages.
+     * @throws IOException If the connection cannot be established in time.
+     */
+    public MatchClient(InetSocketAddress address, Listener listener) throws IOException {
+        this.listener = listener;
+        this.channel = SocketChannel.open();
+        try {
+            this.channel.socket().connect(address, CONNECT_TIMEOUT_MILLIS);
+            this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.reader = new Thread(this::readLoop, "match-client");
+        this.reader.setDaemon(true);
+        this.reader.start();
+    }
+
+    /**
+     * Connects to a server on a new daemon thread, so that a slow or unreachable server does not
+     * block the caller.
+     *
+     * @param address  The address of the server.
+     * @param listener The listener receiving the server's messages.
+     * @return A future completed with the connected client, or exceptionally if the connection
+     *         cannot be established in time.
+     */
+    public static CompletableFuture<MatchClient> connectAsync(InetSocketAddress address, Listener listener) {
+        CompletableFuture<MatchClient> future = new CompletableFuture<>();
+        Thread connector = new Thread(() -> {
+            try {
+                future.complete(new MatchClient(address, listener));
+            } catch (IOException e) {
+                future.completeExceptionally(e);
+            }
+        }, "match-connect");
+        connector.setDaemon(true);
+        connector.start();
+        return future;
+    }
+
+    /**
+     * Parses a {@code host:port} address; the port defaults to {@link MatchServer#DEFAULT_PORT}.
+     *
+     * @param value The address to parse.
+     * @return The socket address.
+     */
+    public static InetSocketAddress parseAddress(String value) {
+        int colon = value.lastIndexOf(':');
+        if (colon < 0) return new InetSocketAddress(value, MatchServer.DEFAULT_PORT);
+        return new InetSocketAddress(value.substring(0, colon), Integer.parseInt(value.substring(colon + 1)));
+    }
+
+    /**
+     * Joins the matchmaking queue with a fleet.
+     *
+     * @param ships The ships of the fleet, in fleet order.
+     * @throws IOException If the frame cannot be sent.
+     */
+    public synchronized void join(List<Ship> ships) throws IOException {
+        out.clear();
+        Protocol.putJoin(out, ships);
+        send();
+    }
+
+    /**
+     * Fires at a cell of the opponent's board.
+     *
+     * @param cell The bit index of the target cell.
+     * @throws IOException If the frame cannot be sent.
+     */
+    public synchronized void fire(int cell) throws IOException {
+        out.clear();
+        Protocol.putFire(out, cell, System.nanoTime());
+        send();
+    }
+
+    /**
+     * Closes the connection.
+     *
+     * @throws IOException If the channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+
+    private void send() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+
+    /**
+     * Reads frames until the connection closes and dispatches them to the listener.
+     */
+    private void readLoop() {
+        try {
+            while (channel.read(in) >= 0) {
+                in.flip();
+                while (in.remaining() >= Protocol.FRAME_SIZE) {
+                    dispatch(in);
+                    in.position(in.position() + Protocol.FRAME_SIZE);
+                }
+                in.compact();
+            }
+        } catch (IOException e) {
+            if (!closed) System.err.println("Match connection lost: " + e.getMessage());
+        } finally {
+            closed = true;
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Already disconnected.
+            }
+            listener.onDisconnected();
+        }
+    }
+
+    /**
+     * Reports one frame to the listener. A shot frame with an out-of-range cell or result is reported
+     * as {@link Protocol#ERROR_BAD_FRAME}.
+     *
+     * @param frame The buffer holding the frame at its position.
+     */
+    private void dispatch(ByteBuffer frame) {
+        int flags = Protocol.flags(frame);
+        boolean yourTurn = (flags & Protocol.FLAG_YOUR_TURN) != 0;
+        boolean gameOver = (flags & Protocol.FLAG_GAME_OVER) != 0;
+        byte type = Protocol.type(frame);
+        ShotResult result = null;
+        if (type == Protocol.RESULT || type == Protocol.INCOMING) {
+            result = Protocol.result(frame);
+            if (result == null || Protocol.cell(frame) >= Bitboard.CELLS) {
+                listener.onError(Protocol.ERROR_BAD_FRAME);
+                return;
+            }
+        }
+        switch (type) {
+            case Protocol.MATCHED:
+                listener.onMatched(Protocol.argument(frame), yourTurn);
+                break;
+            case Protocol.RESULT:
+                listener.onResult(Protocol.cell(frame), result, Protocol.argument(frame), yourTurn, gameOver);
+                break;
+            case Protocol.INCOMING:
+                listener.onIncoming(Protocol.cell(frame), result, yourTurn, gameOver);
+                break;
+            case Protocol.OPPONENT_LEFT:
+                listener.onOpponentLeft();
+                break;
+            case Protocol.ERROR:
+                listener.onError(Protocol.cell(frame));
+                break;
+            default:
+                listener.onError(Protocol.ERROR_BAD_FRAME);
+        }
+    }
+}
@@ -0,0 +1,566 @@
+package com.example.battleship.net;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.engine.ShotResult;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetValidator;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking multiplayer server that hosts any number of two-player matches.
+ *
+ * <p>One acceptor thread hands new connections round-robin to a fixed set of reactor threads.
+ * Each reactor owns a {@link Selector} and every match between its clients, so a match is only ever
+ * touched by one thread and needs no locking. Matchmaking is shared by all reactors: a client that
+ * joins is paired with the client waiting on any reactor, and if that client lives on another reactor
+ * the joining one is moved over to it before the match starts. Clients speak the fixed-size frames of
+ * {@link Protocol}; every connection reads and writes through two buffers allocated once, and replies
+ * produced while handling a batch of reads are flushed together.</p>
+ */
+public class MatchServer implements AutoCloseable {
+
+    /** Default port of the server. */
+    public static final int DEFAULT_PORT = 7450;
+
+    /** Frames a connection may have queued for writing before it is dropped as too slow. */
+    private static final int OUTPUT_FRAMES = 64;
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector acceptSelector;
+    private final Reactor[] reactors;
+    private final AtomicInteger matchIds = new AtomicInteger();
+    private final Object matchLock = new Object();
+    private Session waiting;
+    private final boolean noTouch;
+    private Thread acceptor;
+    private volatile boolean running;
+
+    /**
+     * Binds the server to an address.
+     *
+     * @param address  The address to listen on; port {@code 0} picks a free port.
+     * @param reactors The number of reactor threads.
+     * @throws IOException If the address cannot be bound.
+     */
+    public MatchServer(InetSocketAddress address, int reactors) throws IOException {
+        this(address, reactors, false);
+    }
+
+    /**
+     * Binds the server to an address.
+     *
+     * @param address  The address to listen on; port {@code 0} picks a free port.
+     * @param reactors The number of reactor threads.
+     * @param noTouch  Whether to reject fleets whose ships touch each other, even diagonally.
+     * @throws IOException If the address cannot be bound.
+     */
+    public MatchServer(InetSocketAddress address, int reactors, boolean noTouch) throws IOException {
+        if (reactors < 1) {
+            throw new IllegalArgumentException("At least one reactor is needed");
+        }
+        this.noTouch = noTouch;
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(address, 4096);
+        this.serverChannel.configureBlocking(false);
+        this.acceptSelector = Selector.open();
+        this.serverChannel.register(acceptSelector, SelectionKey.OP_ACCEPT);
+        this.reactors = new Reactor[reactors];
+        for (int i = 0; i < reactors; i++) {
+            this.reactors[i] = new Reactor(i);
+        }
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return The local port.
+     * @throws IOException If the port cannot be queried.
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Starts the acceptor and reactor threads.
+     */
+    public void start() {
+        running = true;
+        for (Reactor reactor : reactors) {
+            reactor.thread.start();
+        }
+        acceptor = new Thread(this::acceptLoop, "match-acceptor");
+        acceptor.start();
+    }
+
+    /**
+     * Returns the number of matches started since the server was created.
+     *
+     * @return The number of matches.
+     */
+    public int getMatchCount() {
+        return matchIds.get();
+    }
+
+    /**
+     * Stops the server and closes every connection.
+     *
+     * @throws IOException If the listening socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        acceptSelector.wakeup();
+        for (Reactor reactor : reactors) {
+            reactor.selector.wakeup();
+        }
+        try {
+            if (acceptor != null) acceptor.join();
+            for (Reactor reactor : reactors) {
+                if (reactor.thread.isAlive()) reactor.thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        serverChannel.close();
+        acceptSelector.close();
+    }
+
+    /**
+     * Accepts connections and hands them to the reactors in turn.
+     */
+    private void acceptLoop() {
+        int next = 0;
+        try {
+            while (running) {
+                acceptSelector.select();
+                acceptSelector.selectedKeys().clear();
+                SocketChannel channel;
+                while ((channel = serverChannel.accept()) != null) {
+                    channel.configureBlocking(false);
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                    Reactor reactor = reactors[next];
+                    next = (next + 1) % reactors.length;
+                    reactor.pending.add(channel);
+                    reactor.selector.wakeup();
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) System.err.println("Match server stopped accepting: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A selector thread that owns a share of the connections and every match between them.
+     */
+    private final class Reactor implements Runnable {
+        private final Thread thread;
+        private final Selector selector;
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        private final Queue<Session> arrivals = new ConcurrentLinkedQueue<>();
+        private final List<Session> dirty = new ArrayList<>();
+        private final List<Session> moving = new ArrayList<>();
+        private final int[] fleet = Fleet.standard();
+        private final FleetValidator validator = new FleetValidator(fleet, noTouch);
+
+        private Reactor(int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "match-reactor-" + index);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    registerPending();
+                    adoptArrivals();
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        Session session = (Session) key.attachment();
+                        if (!key.isValid()) continue;
+                        if (key.isReadable()) session.read();
+                        if (key.isValid() && key.isWritable()) session.flush();
+                    }
+                    for (int i = 0; i < dirty.size(); i++) {
+                        dirty.get(i).flush();
+                    }
+                    dirty.clear();
+                    handOver();
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                if (running) System.err.println("Match reactor stopped: " + e.getMessage());
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    closeQuietly(key.channel());
+                }
+                for (Session session : arrivals) {
+                    closeQuietly(session.channel);
+                }
+                closeQuietly(selector);
+            }
+        }
+
+        /**
+         * Registers the connections handed over by the acceptor.
+         *
+         * @throws IOException If a channel cannot be registered.
+         */
+        private void registerPending() throws IOException {
+            SocketChannel channel;
+            while ((channel = pending.poll()) != null) {
+                Session session = new Session(this, channel);
+                session.key = channel.register(selector, SelectionKey.OP_READ, session);
+            }
+        }
+
+        /**
+         * Registers the clients moved over from other reactors and starts their matches. A client
+         * whose partner left in the meantime goes back to matchmaking.
+         *
+         * @throws IOException If a channel cannot be registered.
+         */
+        private void adoptArrivals() throws IOException {
+            Session session;
+            while ((session = arrivals.poll()) != null) {
+                Session partner = session.partner;
+                session.partner = null;
+                session.reactor = this;
+                if (!session.closed) {
+                    int ops = session.out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+                    session.key = session.channel.register(selector, ops, session);
+                }
+                if (session.closed) {
+                    if (!partner.closed) requeue(partner);
+                } else if (partner.closed) {
+                    requeue(session);
+                } else {
+                    startMatch(partner, session);
+                }
+                if (!session.closed) session.process();
+            }
+        }
+
+        /**
+         * Hands the clients paired with a client of another reactor over to that reactor. Runs once
+         * the batch is flushed, so this thread no longer touches them.
+         */
+        private void handOver() {
+            for (int i = 0; i < moving.size(); i++) {
+                Session session = moving.get(i);
+                Reactor target = session.partner.reactor;
+                if (session.key != null) session.key.cancel();
+                target.arrivals.add(session);
+                target.selector.wakeup();
+            }
+            moving.clear();
+        }
+
+        /**
+         * Pairs a client that joined with the waiting one, or makes it wait. A client paired with one
+         * of another reactor is moved to that reactor at the end of the batch.
+         *
+         * @param session The client that joined, owned by this reactor.
+         */
+        private void matchmake(Session session) {
+            Session first;
+            synchronized (matchLock) {
+                session.queued = true;
+                if (waiting == null) {
+                    waiting = session;
+                    return;
+                }
+                first = waiting;
+                waiting = null;
+            }
+            if (first.reactor == this) {
+                startMatch(first, session);
+            } else {
+                session.partner = first;
+                moving.add(session);
+            }
+        }
+
+        /**
+         * Puts a client whose partner left before their match started back into matchmaking.
+         *
+         * @param session The client, owned by this reactor.
+         */
+        private void requeue(Session session) {
+            session.queued = false;
+            matchmake(session);
+        }
+
+        /**
+         * Takes a client out of matchmaking if it is still waiting.
+         *
+         * @param session The client.
+         */
+        private void leave(Session session) {
+            synchronized (matchLock) {
+                if (waiting == session) waiting = null;
+            }
+        }
+
+        /**
+         * Starts a match between two clients owned by this reactor.
+         *
+         * @param first  The client that waited, which fires first.
+         * @param second The client that joined last.
+         */
+        private void startMatch(Session first, Session second) {
+            int matchId = matchIds.incrementAndGet();
+            first.queued = false;
+            second.queued = false;
+            first.opponent = second;
+            second.opponent = first;
+            first.engine.start();
+            second.engine.start();
+            first.turn = true;
+            second.turn = false;
+            Protocol.putMatched(first.output(), matchId, true);
+            Protocol.putMatched(second.output(), matchId, false);
+        }
+    }
+
+    /**
+     * Server side of one connection: its buffers, its fleet and its current match.
+     */
+    private static final class Session {
+        private Reactor reactor;
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocateDirect(Protocol.FRAME_SIZE * OUTPUT_FRAMES);
+        private final ByteBuffer out = ByteBuffer.allocateDirect(Protocol.FRAME_SIZE * OUTPUT_FRAMES);
+        private final GameEngine engine = new GameEngine();
+        private final int[] placements = new int[Fleet.standard().length];
+        private SelectionKey key;
+        private Session opponent;
+        private Session partner;
+        private boolean queued;
+        private boolean turn;
+        private boolean dirty;
+        private boolean closed;
+
+        private Session(Reactor reactor, SocketChannel channel) {
+            this.reactor = reactor;
+            this.channel = channel;
+        }
+
+        /**
+         * Reads every available frame and handles it.
+         */
+        private void read() {
+            try {
+                if (channel.read(in) < 0) {
+                    close();
+                    return;
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            process();
+        }
+
+        /**
+         * Handles every complete frame read so far. Frames after a {@link Protocol#JOIN} that moves the
+         * client to another reactor are left for that reactor.
+         */
+        private void process() {
+            in.flip();
+            while (!closed && partner == null && in.remaining() >= Protocol.FRAME_SIZE) {
+                handle(in);
+                in.position(in.position() + Protocol.FRAME_SIZE);
+            }
+            in.compact();
+        }
+
+        /**
+         * Handles one frame from the client.
+         *
+         * @param frame The buffer holding the frame at its position.
+         */
+        private void handle(ByteBuffer frame) {
+            switch (Protocol.type(frame)) {
+                case Protocol.JOIN:
+                    join(frame);
+                    break;
+                case Protocol.FIRE:
+                    fire(Protocol.cell(frame), Protocol.stamp(frame));
+                    break;
+                default:
+                    Protocol.putError(output(), Protocol.ERROR_BAD_FRAME);
+            }
+        }
+
+        /**
+         * Places the client's fleet and queues it for a match. A client already queued only replaces
+         * its fleet.
+         *
+         * @param frame The {@link Protocol#JOIN} frame.
+         */
+        private void join(ByteBuffer frame) {
+            if (opponent != null || !Protocol.getJoin(frame, reactor.fleet, placements)) {
+                Protocol.putError(output(), Protocol.ERROR_BAD_FLEET);
+                return;
+            }
+            FleetValidator.Verdict verdict = reactor.validator.validate(placements);
+            if (verdict != FleetValidator.Verdict.VALID) {
+                Protocol.putError(output(), verdict == FleetValidator.Verdict.TOUCHING
+                        ? Protocol.ERROR_SHIPS_TOUCH : Protocol.ERROR_BAD_FLEET);
+                return;
+            }
+            engine.placeFleet(placements);
+            if (!queued) reactor.matchmake(this);
+        }
+
+        /**
+         * Resolves a shot of the client against its opponent's fleet and notifies both players.
+         * Turns alternate after every shot; a repeated shot keeps the turn.
+         *
+         * @param cell  The bit index of the target cell.
+         * @param stamp The stamp to echo back.
+         */
+        private void fire(int cell, long stamp) {
+            if (opponent == null || !turn) {
+                Protocol.putError(output(), Protocol.ERROR_NOT_YOUR_TURN);
+                return;
+            }
+            if (cell >= Bitboard.CELLS) {
+                Protocol.putError(output(), Protocol.ERROR_BAD_FRAME);
+                return;
+            }
+            Session target = opponent;
+            ShotResult result = target.engine.fire(cell);
+            int sunk = result == ShotResult.SUNK ? target.placements[target.engine.getLastSunkShip()] : -1;
+            boolean over = target.engine.isGameOver();
+            if (result != ShotResult.REPEATED) {
+                turn = false;
+                target.turn = !over;
+            }
+            int flags = over ? Protocol.FLAG_GAME_OVER : 0;
+            Protocol.putShot(output(), Protocol.RESULT, cell, result, flags | (turn ? Protocol.FLAG_YOUR_TURN : 0), sunk, stamp);
+            if (result != ShotResult.REPEATED) {
+                Protocol.putShot(target.output(), Protocol.INCOMING, cell, result,
+                        flags | (target.turn ? Protocol.FLAG_YOUR_TURN : 0), sunk, 0L);
+            }
+            if (over) {
+                target.opponent = null;
+                opponent = null;
+            }
+        }
+
+        /**
+         * Returns the output buffer positioned to receive one more frame and schedules a flush.
+         * A client that lets {@link #OUTPUT_FRAMES} frames pile up is disconnected.
+         *
+         * @return The output buffer.
+         */
+        private ByteBuffer output() {
+            if (out.remaining() < Protocol.FRAME_SIZE) {
+                close();
+                out.clear();
+            }
+            if (!dirty && !closed) {
+                dirty = true;
+                reactor.dirty.add(this);
+            }
+            return out;
+        }
+
+        /**
+         * Writes as much queued output as the socket accepts and watches for writability if some is left.
+         */
+        private void flush() {
+            dirty = false;
+            if (closed || out.position() == 0) return;
+            out.flip();
+            try {
+                channel.write(out);
+            } catch (IOException e) {
+                out.clear();
+                close();
+                return;
+            }
+            out.compact();
+            key.interestOps(out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        /**
+         * Closes the connection, leaving the matchmaking queue and forfeiting any match.
+         */
+        private void close() {
+            if (closed) return;
+            closed = true;
+            if (queued) reactor.leave(this);
+            if (opponent != null) {
+                opponent.opponent = null;
+                opponent.turn = false;
+                Protocol.putEmpty(opponent.output(), Protocol.OPPONENT_LEFT);
+                opponent = null;
+            }
+            if (key != null) key.cancel();
+            closeQuietly(channel);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+            // Nothing left to do with a channel that fails to close.
+        }
+    }
+
+    /**
+     * Runs a standalone match server.
+     *
+     * <p>Options: {@code --port <n>} (default {@value #DEFAULT_PORT}), {@code --reactors <n>}
+     * (default: available processors) and {@code --no-touch} to enforce the classic rule that ships
+     * may not touch.</p>
+     *
+     * @param args The command-line options.
+     * @throws IOException If the server cannot be started.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        int reactors = Runtime.getRuntime().availableProcessors();
+        boolean noTouch = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[++i]);
+                    break;
+                case "--reactors":
+                    reactors = Integer.parseInt(args[++i]);
+                    break;
+                case "--no-touch":
+                    noTouch = true;
+                    break;
+                default:
+                    System.err.println("Usage: MatchServer [--port n] [--reactors n] [--no-touch]");
+                    return;
+            }
+        }
+        MatchServer server = new MatchServer(new InetSocketAddress(port), reactors, noTouch);
+        server.start();
+        System.out.println("Match server listening on port " + server.getPort() + " with " + reactors + " reactors");
+    }
+}
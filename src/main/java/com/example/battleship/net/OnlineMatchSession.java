@@ -0,0 +1,265 @@
+package com.example.battleship.net;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.engine.Observation;
+import com.example.battleship.engine.ShotResult;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * One online match played through a {@link MatchServer}: connects, queues the local fleet for a match,
+ * resolves the remote player's shots on the local {@link GameEngine} and fires back with a targeting
+ * strategy on a {@link TargetBoard} of the remote fleet.
+ *
+ * <p>Every state change and every call to the {@link Listener} runs on the executor given at start,
+ * typically the JavaFX Application Thread, so the engine is only touched there; the shots it takes
+ * are drawn by the engine's own events. Once closed, by the caller or because the match ended, the
+ * session ignores whatever the server or the strategy still delivers.</p>
+ */
+public final class OnlineMatchSession implements AutoCloseable {
+
+    /**
+     * How a match ended.
+     */
+    public enum Outcome {
+        /** The remote fleet was sunk. */
+        WON,
+        /** The local fleet was sunk. */
+        LOST,
+        /** The remote player left the match. */
+        OPPONENT_LEFT,
+        /** The connection to the server was lost. */
+        DISCONNECTED
+    }
+
+    /**
+     * Receives the progress of a session. Methods are called on the session's executor.
+     */
+    public interface Listener {
+
+        /**
+         * Called once connected, when the fleet is queued for a match.
+         */
+        void onQueued();
+
+        /**
+         * Called when the fleet has been paired with an opponent.
+         *
+         * @param matchId The id of the match.
+         */
+        void onMatched(int matchId);
+
+        /**
+         * Called after a shot of the remote player was resolved on the local engine.
+         *
+         * @param cell   The bit index of the target cell.
+         * @param result The result of the shot.
+         */
+        void onShotReceived(int cell, ShotResult result);
+
+        /**
+         * Called once when a match that was joined ends; the session is closed by then.
+         *
+         * @param outcome How the match ended.
+         */
+        void onEnded(Outcome outcome);
+
+        /**
+         * Called instead of {@link #onQueued()} if the server cannot be reached or the fleet cannot be
+         * sent; the session is closed by then.
+         *
+         * @param error The cause.
+         */
+        void onConnectFailed(Throwable error);
+    }
+
+    private final GameEngine engine;
+    private final TargetBoard targetBoard;
+    private final Observation targetObservation;
+    private final Function<Observation, CompletableFuture<Integer>> targeting;
+    private final Executor executor;
+    private final Listener listener;
+    private MatchClient client;
+    private boolean closed;
+
+    private OnlineMatchSession(GameEngine engine, Function<Observation, CompletableFuture<Integer>> targeting,
+                               Executor executor, Listener listener) {
+        this.engine = engine;
+        this.targetBoard = new TargetBoard(engine.getFleet());
+        this.targetObservation = new Observation(engine.getFleet());
+        this.targeting = targeting;
+        this.executor = executor;
+        this.listener = listener;
+    }
+
+    /**
+     * Connects to a server off the calling thread and queues the engine's fleet for a match once
+     * connected.
+     *
+     * @param address   The address of the server.
+     * @param engine    The engine holding the local fleet, placed and started; the remote player's
+     *                  shots are fired at it.
+     * @param targeting Chooses the next shot at the remote fleet from what is known about it; may
+     *                  complete on any thread.
+     * @param executor  The executor running every state change and listener call.
+     * @param listener  The listener receiving the progress of the session.
+     * @return The session, still connecting.
+     */
+    public static OnlineMatchSession start(InetSocketAddress address, GameEngine engine,
+                                           Function<Observation, CompletableFuture<Integer>> targeting,
+                                           Executor executor, Listener listener) {
+        OnlineMatchSession session = new OnlineMatchSession(engine, targeting, executor, listener);
+        MatchClient.connectAsync(address, session.new Frames())
+                .whenComplete((client, error) -> executor.execute(() -> session.connected(client, error)));
+        return session;
+    }
+
+    /**
+     * Returns what is known about the remote fleet.
+     *
+     * @return The target board; read it on the session's executor only.
+     */
+    public TargetBoard getTargetBoard() {
+        return targetBoard;
+    }
+
+    /**
+     * Checks if the session is still connecting or playing.
+     *
+     * @return {@code true} until the session is closed.
+     */
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    /**
+     * Disconnects from the server, forfeiting any match in progress. Call on the session's executor;
+     * closing a closed session does nothing.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (client == null) return;
+        try {
+            client.close();
+        } catch (IOException e) {
+            System.err.println("Could not close the match connection: " + e.getMessage());
+        }
+        client = null;
+    }
+
+    private void connected(MatchClient connected, Throwable error) {
+        if (closed) {
+            if (connected != null) {
+                client = connected;
+                close();
+            }
+            return;
+        }
+        if (error != null) {
+            closed = true;
+            listener.onConnectFailed(error);
+            return;
+        }
+        client = connected;
+        try {
+            client.join(engine.getShips());
+        } catch (IOException e) {
+            close();
+            listener.onConnectFailed(e);
+            return;
+        }
+        listener.onQueued();
+    }
+
+    /**
+     * Lets the targeting strategy pick a shot against the remote fleet and sends it to the server.
+     */
+    private void fireBack() {
+        targeting.apply(targetBoard.observe(targetObservation)).whenComplete((cell, error) -> executor.execute(() -> {
+            if (closed) return;
+            if (error != null) {
+                System.err.println("The targeting strategy failed: " + error);
+                end(Outcome.DISCONNECTED);
+                return;
+            }
+            try {
+                client.fire(cell);
+            } catch (IOException e) {
+                System.err.println("Match connection lost: " + e.getMessage());
+                end(Outcome.DISCONNECTED);
+            }
+        }));
+    }
+
+    private void end(Outcome outcome) {
+        close();
+        listener.onEnded(outcome);
+    }
+
+    /**
+     * Moves the messages of the match server from the client's reader thread onto the executor.
+     */
+    private final class Frames implements MatchClient.Listener {
+
+        @Override
+        public void onMatched(int matchId, boolean first) {
+            executor.execute(() -> {
+                if (closed) return;
+                targetBoard.reset();
+                listener.onMatched(matchId);
+                if (first) fireBack();
+            });
+        }
+
+        @Override
+        public void onResult(int cell, ShotResult result, int sunk, boolean yourTurn, boolean gameOver) {
+            executor.execute(() -> {
+                if (closed) return;
+                targetBoard.record(cell, result, sunk);
+                if (gameOver) {
+                    end(Outcome.WON);
+                } else if (yourTurn) {
+                    fireBack();
+                }
+            });
+        }
+
+        @Override
+        public void onIncoming(int cell, ShotResult result, boolean yourTurn, boolean gameOver) {
+            executor.execute(() -> {
+                if (closed || engine.isGameOver()) return;
+                ShotResult resolved = engine.fire(cell);
+                listener.onShotReceived(cell, resolved);
+                if (engine.isGameOver() || gameOver) {
+                    end(Outcome.LOST);
+                } else if (yourTurn) {
+                    fireBack();
+                }
+            });
+        }
+
+        @Override
+        public void onOpponentLeft() {
+            executor.execute(() -> {
+                if (!closed) end(Outcome.OPPONENT_LEFT);
+            });
+        }
+
+        @Override
+        public void onError(int code) {
+            System.err.println("Match server rejected a move, error " + code);
+        }
+
+        @Override
+        public void onDisconnected() {
+            executor.execute(() -> {
+                if (!closed) end(Outcome.DISCONNECTED);
+            });
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.battleship.net;
+
+import com.example.battleship.engine.ShotResult;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.PlacementTable;
+import com.example.battleship.models.Ship;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Wire format of the multiplayer protocol. Every message is a single frame of {@link #FRAME_SIZE} bytes,
+ * so both ends read and write through preallocated buffers without length prefixes or parsing.
+ *
+ * <p>Frame layout: byte 0 is the message type, bytes 1-3 are small arguments (cell, result, flags),
+ * bytes 4-7 an {@code int} argument and bytes 8-15 a {@code long} stamp that the server echoes back,
+ * which clients use to measure move latency. A {@link #JOIN} frame instead carries the ship count in
+ * byte 1 followed by one byte per ship: the anchor cell in bits 0-6, with bit 7 set for vertical ships.</p>
+ */
+public final class Protocol {
+
+    /** Size in bytes of every frame. */
+    public static final int FRAME_SIZE = 16;
+
+    /** Largest fleet a {@link #JOIN} frame can carry. */
+    public static final int MAX_SHIPS = FRAME_SIZE - 2;
+
+    /** Client to server: join the matchmaking queue with a fleet layout. */
+    public static final byte JOIN = 1;
+    /** Client to server: fire at a cell of the opponent's board. */
+    public static final byte FIRE = 2;
+    /** Server to client: the match started; int argument is the match id. */
+    public static final byte MATCHED = 3;
+    /** Server to client: result of the client's own shot. */
+    public static final byte RESULT = 4;
+    /** Server to client: the opponent fired at the client's board. */
+    public static final byte INCOMING = 5;
+    /** Server to client: the opponent left the match. */
+    public static final byte OPPONENT_LEFT = 6;
+    /** Server to client: the last frame was rejected; byte 1 holds the error code. */
+    public static final byte ERROR = 7;
+
+    /** Error code: the fleet layout of a {@link #JOIN} frame is invalid. */
+    public static final int ERROR_BAD_FLEET = 1;
+    /** Error code: the client fired while it was not its turn or not in a match. */
+    public static final int ERROR_NOT_YOUR_TURN = 2;
+    /** Error code: unknown frame type or out-of-range argument. */
+    public static final int ERROR_BAD_FRAME = 3;
+    /** Error code: the ships of a {@link #JOIN} frame touch each other on a server enforcing the no-touch rule. */
+    public static final int ERROR_SHIPS_TOUCH = 4;
+
+    /** Flag of {@link #MATCHED}, {@link #RESULT} and {@link #INCOMING} frames: the receiver fires next. */
+    public static final int FLAG_YOUR_TURN = 1;
+    /** Flag of {@link #RESULT} and {@link #INCOMING} frames: the shot sank the last ship. */
+    public static final int FLAG_GAME_OVER = 2;
+
+    private static final int VERTICAL_BIT = 0x80;
+    private static final ShotResult[] RESULTS = ShotResult.values();
+
+    private Protocol() {
+    }
+
+    /**
+     * Writes a {@link #JOIN} frame for a fleet.
+     *
+     * @param out   The buffer receiving the frame at its position.
+     * @param ships The ships of the fleet, in fleet order.
+     */
+    public static void putJoin(ByteBuffer out, List<Ship> ships) {
+        if (ships.size() > MAX_SHIPS) {
+            throw new IllegalArgumentException("A fleet of " + ships.size() + " ships does not fit in a frame");
+        }
+        int start = out.position();
+        out.put(JOIN).put((byte) ships.size());
+        for (Ship ship : ships) {
+            out.put(encodePlacement(PlacementTable.find(ship.getLongitud(), ship.isHorizontal(), ship.getPosX(), ship.getPosY())));
+        }
+        pad(out, start);
+    }
+
+    /**
+     * Writes a {@link #JOIN} frame from placement ids.
+     *
+     * @param out        The buffer receiving the frame at its position.
+     * @param placements The id in the {@link PlacementTable} of every ship, in fleet order.
+     */
+    public static void putJoin(ByteBuffer out, int[] placements) {
+        if (placements.length > MAX_SHIPS) {
+            throw new IllegalArgumentException("A fleet of " + placements.length + " ships does not fit in a frame");
+        }
+        int start = out.position();
+        out.put(JOIN).put((byte) placements.length);
+        for (int id : placements) {
+            out.put(encodePlacement(id));
+        }
+        pad(out, start);
+    }
+
+    /**
+     * Decodes the fleet of a {@link #JOIN} frame into placement ids.
+     *
+     * @param frame The buffer holding the frame at its position; the position is not moved.
+     * @param fleet The ship lengths the layout must match.
+     * @param out   Receives the placement ids, in fleet order.
+     * @return {@code true} if the frame holds a layout for the fleet, {@code false} otherwise.
+     */
+    public static boolean getJoin(ByteBuffer frame, int[] fleet, int[] out) {
+        int base = frame.position();
+        if (frame.get(base + 1) != fleet.length) return false;
+        for (int i = 0; i < fleet.length; i++) {
+            int value = frame.get(base + 2 + i) & 0xFF;
+            int anchor = value & ~VERTICAL_BIT;
+            if (anchor >= Bitboard.CELLS) return false;
+            out[i] = PlacementTable.find(fleet[i], (value & VERTICAL_BIT) == 0, anchor % Bitboard.SIZE, anchor / Bitboard.SIZE);
+            if (out[i] < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes a {@link #FIRE} frame.
+     *
+     * @param out   The buffer receiving the frame at its position.
+     * @param cell  The bit index of the target cell.
+     * @param stamp A value echoed back in the {@link #RESULT} frame, usually {@link System#nanoTime()}.
+     */
+    public static void putFire(ByteBuffer out, int cell, long stamp) {
+        put(out, FIRE, cell, 0, 0, 0, stamp);
+    }
+
+    /**
+     * Writes a {@link #MATCHED} frame.
+     *
+     * @param out     The buffer receiving the frame at its position.
+     * @param matchId The id of the match.
+     * @param first   Whether the receiver fires first.
+     */
+    public static void putMatched(ByteBuffer out, int matchId, boolean first) {
+        put(out, MATCHED, 0, 0, first ? FLAG_YOUR_TURN : 0, matchId, 0L);
+    }
+
+    /**
+     * Writes a {@link #RESULT} or {@link #INCOMING} frame.
+     *
+     * @param out    The buffer receiving the frame at its position.
+     * @param type   {@link #RESULT} or {@link #INCOMING}.
+     * @param cell   The bit index of the target cell.
+     * @param result The result of the shot.
+     * @param flags  {@link #FLAG_YOUR_TURN} and {@link #FLAG_GAME_OVER} bits.
+     * @param sunk   The placement id of the ship sunk by the shot, or {@code -1}.
+     * @param stamp  The stamp of the {@link #FIRE} frame.
+     */
+    public static void putShot(ByteBuffer out, byte type, int cell, ShotResult result, int flags, int sunk, long stamp) {
+        put(out, type, cell, result.ordinal(), flags, sunk, stamp);
+    }
+
+    /**
+     * Writes a frame without arguments, such as {@link #OPPONENT_LEFT}.
+     *
+     * @param out  The buffer receiving the frame at its position.
+     * @param type The message type.
+     */
+    public static void putEmpty(ByteBuffer out, byte type) {
+        put(out, type, 0, 0, 0, 0, 0L);
+    }
+
+    /**
+     * Writes an {@link #ERROR} frame.
+     *
+     * @param out  The buffer receiving the frame at its position.
+     * @param code The error code.
+     */
+    public static void putError(ByteBuffer out, int code) {
+        put(out, ERROR, code, 0, 0, 0, 0L);
+    }
+
+    /**
+     * Returns the message type of a frame.
+     *
+     * @param frame The buffer holding the frame at its position.
+     * @return The message type.
+     */
+    public static byte type(ByteBuffer frame) {
+        return frame.get(frame.position());
+    }
+
+    /**
+     * Returns the cell (or error code) argument of a frame.
+     *
+     * @param frame The buffer holding the frame at its position.
+     * @return The unsigned value of byte 1.
+     */
+    public static int cell(ByteBuffer frame) {
+        return frame.get(frame.position() + 1) & 0xFF;
+    }
+
+    /**
+     * Returns the shot result of a {@link #RESULT} or {@link #INCOMING} frame.
+     *
+     * @param frame The buffer holding the frame at its position.
+     * @return The result of the shot, or {@code null} if the frame holds no valid result.
+     */
+    public static ShotResult result(ByteBuffer frame) {
+        int ordinal = frame.get(frame.position() + 2) & 0xFF;
+        return ordinal < RESULTS.length ? RESULTS[ordinal] : null;
+    }
+
+    /**
+     * Returns the flags of a frame.
+     *
+     * @param frame The buffer holding the frame at its position.
+     * @return The flag bits.
+     */
+    public static int flags(ByteBuffer frame) {
+        return frame.get(frame.position() + 3);
+    }
+
+    /**
+     * Returns the {@code int} argument of a frame: the match id or the placement id of a sunk ship.
+     *
+     * @param frame The buffer holding the frame at its position.
+     * @return The {@code int} argument.
+     */
+    public static int argument(ByteBuffer frame) {
+        return frame.getInt(frame.position() + 4);
+    }
+
+    /**
+     * Returns the stamp of a frame.
+     *
+     * @param frame The buffer holding the frame at its position.
+     * @return The stamp.
+     */
+    public static long stamp(ByteBuffer frame) {
+        return frame.getLong(frame.position() + 8);
+    }
+
+    private static void put(ByteBuffer out, byte type, int a, int b, int c, int argument, long stamp) {
+        out.put(type).put((byte) a).put((byte) b).put((byte) c).putInt(argument).putLong(stamp);
+    }
+
+    private static byte encodePlacement(int id) {
+        int anchor = Bitboard.index(PlacementTable.x(id), PlacementTable.y(id));
+        return (byte) (anchor | (PlacementTable.isHorizontal(id) ? 0 : VERTICAL_BIT));
+    }
+
+    private static void pad(ByteBuffer out, int start) {
+        while (out.position() < start + FRAME_SIZE) {
+            out.put((byte) 0);
+        }
+    }
+}
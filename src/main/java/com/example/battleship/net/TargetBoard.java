@@ -0,0 +1,79 @@
+package com.example.battleship.net;
+
+import com.example.battleship.engine.Observation;
+import com.example.battleship.engine.ShotResult;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.PlacementTable;
+
+/**
+ * What a client knows about a remote opponent's board: the cells it fired at, the hits and the ships
+ * it sank. Built from the {@link Protocol#RESULT} frames of a match, it yields the same
+ * {@link Observation} a local {@link com.example.battleship.engine.GameEngine} would, so any
+ * targeting strategy can play against a remote fleet.
+ */
+public class TargetBoard {
+
+    private final int[] fleet;
+    private final int[] remaining;
+    private final Bitboard shots = new Bitboard();
+    private final Bitboard hits = new Bitboard();
+    private final Bitboard sunk = new Bitboard();
+    private int count;
+
+    /**
+     * Creates an empty target board.
+     *
+     * @param fleet The ship lengths of the opponent's fleet.
+     */
+    public TargetBoard(int[] fleet) {
+        this.fleet = fleet.clone();
+        this.remaining = fleet.clone();
+        this.count = fleet.length;
+    }
+
+    /**
+     * Forgets every shot, for a new match.
+     */
+    public void reset() {
+        shots.clear();
+        hits.clear();
+        sunk.clear();
+        System.arraycopy(fleet, 0, remaining, 0, fleet.length);
+        count = fleet.length;
+    }
+
+    /**
+     * Records the result of a shot.
+     *
+     * @param cell   The bit index of the target cell.
+     * @param result The result of the shot.
+     * @param sunkId The placement id of the ship the shot sank, or {@code -1}.
+     */
+    public void record(int cell, ShotResult result, int sunkId) {
+        shots.set(cell);
+        if (result == ShotResult.HIT || result == ShotResult.SUNK) {
+            hits.set(cell);
+        }
+        if (result == ShotResult.SUNK && sunkId >= 0) {
+            sunk.or(PlacementTable.lo(sunkId), PlacementTable.hi(sunkId));
+            int length = PlacementTable.length(sunkId);
+            for (int i = 0; i < count; i++) {
+                if (remaining[i] == length) {
+                    System.arraycopy(remaining, i + 1, remaining, i, --count - i);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes what is known about the opponent's board into an observation.
+     *
+     * @param out The observation to fill.
+     * @return The observation.
+     */
+    public Observation observe(Observation out) {
+        out.set(shots, hits, sunk, remaining, count);
+        return out;
+    }
+}
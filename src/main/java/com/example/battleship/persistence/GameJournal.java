@@ -0,0 +1,197 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.engine.ShotResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Append-only binary journal of game events.
+ *
+ * <p>Every record is length-prefixed: a little-endian {@code int} with the number of bytes that follow,
+ * the event code, the {@code long} game id and the event payload. Records are collected in a direct
+ * buffer and written through a {@link FileChannel} when the buffer fills up; the channel is forced to
+ * disk once per game, when {@link #gameOver(long, int)} is recorded, rather than once per event. That
+ * force runs on a background daemon thread, so recording the end of a game never waits for the disk.</p>
+ */
+public class GameJournal implements Closeable {
+
+    /** Size of the write buffer; also bounds the size of a single record. */
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int HEADER = 4 + 1 + 8;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final ExecutorService syncer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "journal-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Opens a journal for appending, creating the file and its directory if needed.
+     *
+     * @param path The journal file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public GameJournal(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Records the start of a game.
+     *
+     * @param gameId The id of the game.
+     * @param fleet  The ship lengths of the fleet.
+     * @throws IOException If the buffer cannot be flushed.
+     */
+    public void gameStart(long gameId, int[] fleet) throws IOException {
+        begin(JournalEvent.GAME_START, gameId, 8 + 1 + fleet.length);
+        buffer.putLong(System.currentTimeMillis()).put((byte) fleet.length);
+        for (int length : fleet) {
+            buffer.put((byte) length);
+        }
+    }
+
+    /**
+     * Records the initial placement of a ship.
+     *
+     * @param gameId     The id of the game.
+     * @param ship       The index of the ship in the fleet.
+     * @param anchor     The bit index of the anchor cell.
+     * @param horizontal The orientation of the ship.
+     * @throws IOException If the buffer cannot be flushed.
+     */
+    public void placement(long gameId, int ship, int anchor, boolean horizontal) throws IOException {
+        begin(JournalEvent.PLACEMENT, gameId, 3);
+        buffer.put((byte) ship).put((byte) anchor).put((byte) (horizontal ? 1 : 0));
+    }
+
+    /**
+     * Records a rotation during setup.
+     *
+     * @param gameId     The id of the game.
+     * @param ship       The index of the ship in the fleet.
+     * @param horizontal The orientation after the rotation.
+     * @throws IOException If the buffer cannot be flushed.
+     */
+    public void rotation(long gameId, int ship, boolean horizontal) throws IOException {
+        begin(JournalEvent.ROTATION, gameId, 2);
+        buffer.put((byte) ship).put((byte) (horizontal ? 1 : 0));
+    }
+
+    /**
+     * Records a ship dropped on a new anchor during setup.
+     *
+     * @param gameId The id of the game.
+     * @param ship   The index of the ship in the fleet.
+     * @param anchor The bit index of the new anchor cell.
+     * @throws IOException If the buffer cannot be flushed.
+     */
+    public void dragCommit(long gameId, int ship, int anchor) throws IOException {
+        begin(JournalEvent.DRAG_COMMIT, gameId, 2);
+        buffer.put((byte) ship).put((byte) anchor);
+    }
+
+    /**
+     * Records a shot.
+     *
+     * @param gameId The id of the game.
+     * @param cell   The bit index of the target cell.
+     * @throws IOException If the buffer cannot be flushed.
+     */
+    public void shot(long gameId, int cell) throws IOException {
+        begin(JournalEvent.SHOT, gameId, 1);
+        buffer.put((byte) cell);
+    }
+
+    /**
+     * Records the result of a shot.
+     *
+     * @param gameId The id of the game.
+     * @param cell   The bit index of the target cell.
+     * @param result The result of the shot.
+     * @throws IOException If the buffer cannot be flushed.
+     */
+    public void result(long gameId, int cell, ShotResult result) throws IOException {
+        begin(JournalEvent.RESULT, gameId, 2);
+        buffer.put((byte) cell).put((byte) result.ordinal());
+    }
+
+    /**
+     * Records the end of a game, writes the buffered records and forces them to disk in the background.
+     * A failing force is reported on the standard error stream.
+     *
+     * @param gameId The id of the game.
+     * @param shots  The number of shots fired in the game.
+     * @throws IOException If the journal cannot be written.
+     */
+    public void gameOver(long gameId, int shots) throws IOException {
+        begin(JournalEvent.GAME_OVER, gameId, 4);
+        buffer.putInt(shots);
+        flush();
+        syncer.execute(this::forceInBackground);
+    }
+
+    /**
+     * Writes the buffered records and forces them to disk.
+     *
+     * @throws IOException If the journal cannot be written.
+     */
+    public void sync() throws IOException {
+        flush();
+        channel.force(false);
+    }
+
+    private void forceInBackground() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            if (channel.isOpen()) System.err.println("Could not force the game journal: " + e.getMessage());
+        }
+    }
+
+    private void begin(JournalEvent event, long gameId, int payload) throws IOException {
+        if (buffer.remaining() < HEADER + payload) {
+            flush();
+        }
+        buffer.putInt(1 + 8 + payload).put(event.code()).putLong(gameId);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes the buffered records, forces them to disk and closes the file.
+     *
+     * @throws IOException If the journal cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        syncer.shutdown();
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.PlacementTable;
+import com.example.battleship.models.Ship;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Versioned binary snapshot of a complete {@link GameEngine} state.
+ *
+ * <p>Layout (version 1): magic {@code "BS"}, version byte, flags byte (bit 0: firing phase started),
+ * the {@code long} game id, ship count, then two bytes per ship (length, and the anchor cell in bits 0-6 with bit 7 set for
+ * vertical ships), then the shot count and every shot cell in firing order. Hits, sunk ships and the
+ * board occupancy are rebuilt by replaying the shots, so a standard game never exceeds
+ * {@link #MAX_SIZE} bytes.</p>
+ */
+public final class GameSnapshot {
+
+    /** Largest encoded snapshot, for fleets of up to 16 ships. */
+    public static final int MAX_SIZE = 4 + 8 + 1 + 2 * 16 + 1 + Bitboard.CELLS;
+
+    private static final byte MAGIC_0 = 'B';
+    private static final byte MAGIC_1 = 'S';
+    private static final byte VERSION = 1;
+    private static final int FLAG_STARTED = 1;
+    private static final int VERTICAL_BIT = 0x80;
+
+    private GameSnapshot() {
+    }
+
+    /**
+     * Encodes the state of an engine.
+     *
+     * @param engine The engine to encode; its fleet must be placed.
+     * @param gameId The id of the game, as used in the game journal.
+     * @param out    The buffer receiving the snapshot at its position; needs {@link #MAX_SIZE} bytes free.
+     */
+    public static void write(GameEngine engine, long gameId, ByteBuffer out) {
+        out.put(MAGIC_0).put(MAGIC_1).put(VERSION).put((byte) (engine.isStarted() ? FLAG_STARTED : 0));
+        out.putLong(gameId);
+        out.put((byte) engine.getShips().size());
+        for (Ship ship : engine.getShips()) {
+            int anchor = Bitboard.index(ship.getPosX(), ship.getPosY());
+            out.put((byte) ship.getLongitud()).put((byte) (anchor | (ship.isHorizontal() ? 0 : VERTICAL_BIT)));
+        }
+        out.put((byte) engine.getShotCount());
+        for (int i = 0; i < engine.getShotCount(); i++) {
+            out.put((byte) engine.getShot(i));
+        }
+    }
+
+    /**
+     * Restores an engine from a snapshot.
+     *
+     * @param in     The buffer holding the snapshot at its position.
+     * @param engine The engine to restore; its fleet must match the snapshot.
+     * @return The id of the game.
+     * @throws IllegalArgumentException If the snapshot is corrupt, of another version or for another fleet.
+     */
+    public static long read(ByteBuffer in, GameEngine engine) {
+        if (in.remaining() < 5 || in.get() != MAGIC_0 || in.get() != MAGIC_1) {
+            throw new IllegalArgumentException("Not a game snapshot");
+        }
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version " + version);
+        }
+        boolean started = (in.get() & FLAG_STARTED) != 0;
+        long gameId = in.getLong();
+        int[] fleet = engine.getFleet();
+        if (in.get() != fleet.length) {
+            throw new IllegalArgumentException("Snapshot fleet does not match the engine");
+        }
+        int[] placements = new int[fleet.length];
+        for (int i = 0; i < fleet.length; i++) {
+            int length = in.get();
+            int value = in.get() & 0xFF;
+            int anchor = value & ~VERTICAL_BIT;
+            if (length != fleet[i] || anchor >= Bitboard.CELLS) {
+                throw new IllegalArgumentException("Corrupt ship " + i + " in snapshot");
+            }
+            placements[i] = PlacementTable.find(length, (value & VERTICAL_BIT) == 0,
+                    anchor % Bitboard.SIZE, anchor / Bitboard.SIZE);
+            if (placements[i] < 0) {
+                throw new IllegalArgumentException("Corrupt ship " + i + " in snapshot");
+            }
+        }
+        engine.placeFleet(placements);
+        int shots = in.get() & 0xFF;
+        if (shots > Bitboard.CELLS) {
+            throw new IllegalArgumentException("Corrupt shot count " + shots + " in snapshot");
+        }
+        if (!started) return gameId;
+        engine.start();
+        for (int i = 0; i < shots && !engine.isGameOver(); i++) {
+            int cell = in.get() & 0xFF;
+            if (cell >= Bitboard.CELLS) {
+                throw new IllegalArgumentException("Corrupt shot " + i + " in snapshot");
+            }
+            engine.fire(cell);
+        }
+        return gameId;
+    }
+
+    /**
+     * Saves a snapshot to a file. The snapshot is written to a temporary file, forced to the storage
+     * device and only then atomically moved over the target, so a crash never leaves a half-written
+     * snapshot behind. The force makes this too slow to call on a UI thread after every move; a
+     * {@link SnapshotWriter} saves in the background instead.
+     *
+     * @param path   The snapshot file.
+     * @param engine The engine to save.
+     * @param gameId The id of the game, as used in the game journal.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void save(Path path, GameEngine engine, long gameId) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_SIZE);
+        write(engine, gameId, buffer);
+        save(path, buffer.flip());
+    }
+
+    /**
+     * Saves an encoded snapshot to a file, as {@link #save(Path, GameEngine, long)} does.
+     *
+     * @param path   The snapshot file.
+     * @param buffer The snapshot, between its position and limit.
+     * @throws IOException If the file cannot be written.
+     */
+    static void save(Path path, ByteBuffer buffer) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = parent.resolve(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores an engine from a snapshot file.
+     *
+     * @param path   The snapshot file.
+     * @param engine The engine to restore.
+     * @return The id of the restored game, or {@code -1} if the file does not exist.
+     * @throws IOException If the file cannot be read or holds an invalid snapshot.
+     */
+    public static long load(Path path, GameEngine engine) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            return -1;
+        }
+        try {
+            return read(ByteBuffer.wrap(bytes), engine);
+        } catch (IllegalArgumentException | IllegalStateException | BufferUnderflowException e) {
+            throw new IOException("Invalid game snapshot " + path, e);
+        }
+    }
+}
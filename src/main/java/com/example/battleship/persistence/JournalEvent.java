@@ -0,0 +1,61 @@
+package com.example.battleship.persistence;
+
+/**
+ * Types of the records stored in a {@link GameJournal}, with their one-byte codes.
+ */
+public enum JournalEvent {
+
+    /** A new game with its fleet composition. */
+    GAME_START(1),
+
+    /** The initial placement of one ship. */
+    PLACEMENT(2),
+
+    /** A ship rotated during setup. */
+    ROTATION(3),
+
+    /** A ship dropped on a new cell during setup. */
+    DRAG_COMMIT(4),
+
+    /** A shot fired at a cell. */
+    SHOT(5),
+
+    /** The result of the preceding shot. */
+    RESULT(6),
+
+    /** The end of a game. */
+    GAME_OVER(7);
+
+    private static final JournalEvent[] BY_CODE = new JournalEvent[8];
+
+    static {
+        for (JournalEvent event : values()) {
+            BY_CODE[event.code] = event;
+        }
+    }
+
+    private final byte code;
+
+    JournalEvent(int code) {
+        this.code = (byte) code;
+    }
+
+    /**
+     * Returns the one-byte code of the event type.
+     *
+     * @return The code.
+     */
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * Returns the event type with the given code.
+     *
+     * @param code The one-byte code.
+     * @return The event type, or {@code null} if the code is unknown.
+     */
+    public static JournalEvent fromCode(byte code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.engine.ShotResult;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.PlacementTable;
+import com.example.battleship.models.Ship;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads a {@link GameJournal} through read-only memory mappings and rebuilds game state from it.
+ * The journal is mapped one window of at most {@link #WINDOW_SIZE} bytes at a time, so files of any
+ * size can be scanned, and records are decoded in place, so a scan costs a few bounds checks per
+ * event. A record cut short by a crash ends the scan. The first {@link #replay(long)} indexes where
+ * every game's records lie, so that later replays only map that range.
+ */
+public class JournalReplayer {
+
+    /** Largest part of the journal mapped at once; a multiple of any page size. */
+    static final long WINDOW_SIZE = 64L << 20;
+
+    private static final int HEADER = 4 + 1 + 8;
+
+    /**
+     * Receives the records of a journal scan.
+     */
+    public interface Listener {
+
+        /**
+         * Receives one record. The buffer is positioned at the payload and limited to it.
+         *
+         * @param event   The event type.
+         * @param gameId  The id of the game.
+         * @param payload The mapped journal, positioned at the payload.
+         */
+        void onEvent(JournalEvent event, long gameId, MappedByteBuffer payload);
+    }
+
+    private final Path path;
+    private final long size;
+    private final long windowSize;
+    private Map<Long, long[]> index;
+
+    /**
+     * Opens a journal file. Records appended after this call are not read.
+     *
+     * @param path The journal file.
+     * @throws IOException If the file cannot be read.
+     */
+    public JournalReplayer(Path path) throws IOException {
+        this(path, WINDOW_SIZE);
+    }
+
+    /**
+     * Opens a journal file with a given mapping window.
+     *
+     * @param path       The journal file.
+     * @param windowSize The largest part of the file mapped at once; must exceed the largest record.
+     * @throws IOException If the file cannot be read.
+     */
+    JournalReplayer(Path path, long windowSize) throws IOException {
+        if (windowSize < GameJournal.BUFFER_SIZE) {
+            throw new IllegalArgumentException("The window must hold a record of " + GameJournal.BUFFER_SIZE + " bytes");
+        }
+        this.path = path;
+        this.windowSize = windowSize;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            this.size = channel.size();
+        }
+    }
+
+    /**
+     * Scans every complete record of the journal.
+     *
+     * @param listener The listener receiving the records.
+     * @return The number of records scanned.
+     * @throws IOException If the file cannot be mapped.
+     */
+    public long scan(Listener listener) throws IOException {
+        return scan(listener, 0, size, null);
+    }
+
+    /**
+     * Rebuilds the state of one game by replaying its events through a {@link GameEngine}.
+     *
+     * @param gameId The id of the game.
+     * @return The engine after the last recorded event, or {@code null} if the game is not in the journal
+     *         or its ships were never all placed.
+     * @throws IOException           If the file cannot be mapped.
+     * @throws IllegalStateException If a recorded result does not match the replayed one.
+     */
+    public GameEngine replay(long gameId) throws IOException {
+        if (index == null) {
+            Map<Long, long[]> ranges = new HashMap<>();
+            scan(null, 0, size, ranges);
+            index = ranges;
+        }
+        long[] range = index.get(gameId);
+        if (range == null) return null;
+        Replay replay = new Replay(gameId);
+        scan(replay, range[0], range[1], null);
+        return replay.isPlaced() ? replay.engine : null;
+    }
+
+    /**
+     * Scans the complete records of part of the journal, one mapped window at a time. A record that
+     * straddles the end of a window starts the next one.
+     *
+     * @param listener The listener receiving the records, or {@code null}.
+     * @param from     The offset of the first record.
+     * @param to       The offset past the last byte to read.
+     * @param ranges   Receives, if not {@code null}, the offset of every game's first record and the
+     *                 offset past its last one.
+     * @return The number of records scanned.
+     * @throws IOException If the file cannot be mapped.
+     */
+    private long scan(Listener listener, long from, long to, Map<Long, long[]> ranges) throws IOException {
+        long records = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long base = from;
+            while (to - base >= HEADER) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(windowSize, to - base));
+                window.order(ByteOrder.LITTLE_ENDIAN);
+                int limit = window.capacity();
+                int position = 0;
+                while (position + 4 <= limit) {
+                    int length = window.getInt(position);
+                    if (length < 9 || length > GameJournal.BUFFER_SIZE) return records;
+                    int end = position + 4 + length;
+                    if (end > limit) break;
+                    long gameId = window.getLong(position + 5);
+                    if (ranges != null) {
+                        long[] range = ranges.computeIfAbsent(gameId, id -> new long[2]);
+                        if (range[1] == 0) range[0] = base + position;
+                        range[1] = base + end;
+                    }
+                    JournalEvent event = JournalEvent.fromCode(window.get(position + 4));
+                    if (event != null && listener != null) {
+                        window.limit(end).position(position + HEADER);
+                        listener.onEvent(event, gameId, window);
+                        window.limit(limit);
+                    }
+                    position = end;
+                    records++;
+                }
+                if (position == 0) break;
+                base += position;
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Applies the events of one game to an engine.
+     */
+    private static final class Replay implements Listener {
+        private final long gameId;
+        private GameEngine engine;
+        private int[] placements;
+        private int placed;
+        private int lastCell = -1;
+        private ShotResult lastResult;
+
+        Replay(long gameId) {
+            this.gameId = gameId;
+        }
+
+        boolean isPlaced() {
+            return engine != null && placed >= placements.length;
+        }
+
+        @Override
+        public void onEvent(JournalEvent event, long id, MappedByteBuffer payload) {
+            if (id != gameId) return;
+            if (event == JournalEvent.GAME_START) {
+                payload.getLong();
+                int[] fleet = new int[payload.get()];
+                for (int i = 0; i < fleet.length; i++) {
+                    fleet[i] = payload.get();
+                }
+                engine = new GameEngine(fleet);
+                placements = new int[fleet.length];
+                placed = 0;
+            } else if (event == JournalEvent.PLACEMENT && engine != null) {
+                int ship = payload.get();
+                int anchor = payload.get();
+                boolean horizontal = payload.get() != 0;
+                placements[ship] = PlacementTable.find(engine.getFleet()[ship], horizontal,
+                        anchor % Bitboard.SIZE, anchor / Bitboard.SIZE);
+                if (++placed == placements.length) {
+                    engine.placeFleet(placements);
+                }
+            } else if (!isPlaced()) {
+                return;
+            } else if (event == JournalEvent.ROTATION) {
+                int ship = payload.get();
+                boolean horizontal = payload.get() != 0;
+                Ship target = engine.getShips().get(ship);
+                engine.moveShip(ship, target.getPosX(), target.getPosY(), horizontal);
+            } else if (event == JournalEvent.DRAG_COMMIT) {
+                int ship = payload.get();
+                int anchor = payload.get();
+                engine.moveShip(ship, anchor % Bitboard.SIZE, anchor / Bitboard.SIZE,
+                        engine.getShips().get(ship).isHorizontal());
+            } else if (event == JournalEvent.SHOT) {
+                if (!engine.isStarted()) {
+                    engine.start();
+                }
+                lastCell = payload.get();
+                lastResult = engine.fire(lastCell);
+            } else if (event == JournalEvent.RESULT) {
+                int cell = payload.get();
+                int result = payload.get();
+                if (cell == lastCell && lastResult.ordinal() != result) {
+                    throw new IllegalStateException("Journal result " + ShotResult.values()[result]
+                            + " differs from replayed " + lastResult + " at cell " + cell);
+                }
+            }
+        }
+    }
+}
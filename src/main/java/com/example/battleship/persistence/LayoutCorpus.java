@@ -0,0 +1,177 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.FleetValidator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped view of a fleet-layout corpus written by {@link LayoutCorpusWriter}.
+ * Records are read in place with absolute gets, so scanning or randomly accessing billions of
+ * layouts copies nothing onto the heap. Files larger than 2 GB are mapped as several windows.
+ */
+public class LayoutCorpus implements Closeable {
+
+    private static final long MAX_WINDOW_BYTES = Integer.MAX_VALUE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] windows;
+    private final long recordsPerWindow;
+    private final int recordSize;
+    private final long count;
+    private final int[] fleet;
+
+    private LayoutCorpus(FileChannel channel) throws IOException {
+        this.channel = channel;
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, LayoutCorpusFormat.HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt() != LayoutCorpusFormat.MAGIC) {
+            throw new IOException("Not a layout corpus file");
+        }
+        short version = header.getShort();
+        if (version != LayoutCorpusFormat.VERSION) {
+            throw new IOException("Unsupported layout corpus version " + version);
+        }
+        this.recordSize = header.getShort();
+        this.count = header.getLong();
+        int ships = header.get() & 0xFF;
+        if (ships > LayoutCorpusFormat.MAX_SHIPS) {
+            throw new IOException("Layout corpus fleet has " + ships + " ships, at most "
+                    + LayoutCorpusFormat.MAX_SHIPS + " are supported");
+        }
+        this.fleet = new int[ships];
+        for (int i = 0; i < fleet.length; i++) {
+            fleet[i] = header.get() & 0xFF;
+            if (fleet[i] < 1 || fleet[i] > Bitboard.SIZE) {
+                throw new IOException("Invalid ship length " + fleet[i] + " in layout corpus");
+            }
+        }
+        if (recordSize != LayoutCorpusFormat.recordSize(fleet.length) || count < 0
+                || count > (channel.size() - LayoutCorpusFormat.HEADER_SIZE) / recordSize) {
+            throw new IOException("Truncated or inconsistent layout corpus");
+        }
+
+        this.recordsPerWindow = MAX_WINDOW_BYTES / recordSize;
+        int windowCount = (int) ((count + recordsPerWindow - 1) / recordsPerWindow);
+        this.windows = new MappedByteBuffer[windowCount];
+        for (int w = 0; w < windowCount; w++) {
+            long first = w * recordsPerWindow;
+            long records = Math.min(recordsPerWindow, count - first);
+            windows[w] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    LayoutCorpusFormat.HEADER_SIZE + first * recordSize, records * recordSize);
+            windows[w].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Opens a corpus file.
+     *
+     * @param path The corpus file.
+     * @return The mapped corpus.
+     * @throws IOException If the file cannot be read or is not a valid corpus.
+     */
+    public static LayoutCorpus open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new LayoutCorpus(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of layouts in the corpus.
+     *
+     * @return The layout count.
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Returns the ship lengths of the fleet stored in the corpus.
+     *
+     * @return A copy of the fleet.
+     */
+    public int[] getFleet() {
+        return fleet.clone();
+    }
+
+    /**
+     * Returns the low word of a layout's occupancy.
+     *
+     * @param index The index of the layout.
+     * @return The low word of the occupied cells.
+     */
+    public long occupancyLo(long index) {
+        return window(index).getLong(offset(index));
+    }
+
+    /**
+     * Returns the high word of a layout's occupancy.
+     *
+     * @param index The index of the layout.
+     * @return The high word of the occupied cells.
+     */
+    public long occupancyHi(long index) {
+        return window(index).getLong(offset(index) + 8);
+    }
+
+    /**
+     * Reads the placement of every ship of a layout.
+     *
+     * @param index The index of the layout.
+     * @param out   Receives the placement id of every ship, in fleet order.
+     * @throws IllegalStateException If the record holds an illegal placement.
+     */
+    public void readLayout(long index, int[] out) {
+        MappedByteBuffer window = window(index);
+        int base = offset(index) + 16;
+        for (int i = 0; i < fleet.length; i++) {
+            int id = LayoutCorpusFormat.decodeShip(fleet[i], window.get(base + i));
+            if (id < 0) {
+                throw new IllegalStateException("Corrupt ship " + i + " in layout " + index);
+            }
+            out[i] = id;
+        }
+    }
+
+    /**
+     * Validates a layout of the corpus, for example against the classic rule that ships may not touch.
+     *
+     * @param index     The index of the layout.
+     * @param validator The validator for the fleet of the corpus.
+     * @return The verdict; {@link FleetValidator#getLastShip()} tells which ship broke a rule.
+     */
+    public FleetValidator.Verdict validate(long index, FleetValidator validator) {
+        return validator.validate(fleet, window(index), offset(index) + 16);
+    }
+
+    private MappedByteBuffer window(long index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Layout " + index + " of " + count);
+        }
+        return windows[(int) (index / recordsPerWindow)];
+    }
+
+    private int offset(long index) {
+        return (int) (index % recordsPerWindow) * recordSize;
+    }
+
+    /**
+     * Closes the underlying file. Mapped windows stay valid until they are garbage collected.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.PlacementTable;
+
+/**
+ * Binary layout of a fleet-layout corpus file.
+ *
+ * <p>The file starts with a 64-byte header: magic {@code "BSLC"}, version (short), record size (short),
+ * record count (long), ship count (byte) and the length of every ship (one byte each, up to 16).
+ * Records follow back to back. Each record holds the 100-cell occupancy as two little-endian longs,
+ * then one byte per ship with the anchor cell in bits 0-6 and the orientation in bit 7
+ * (set for vertical ships), padded to a multiple of 8 bytes.</p>
+ */
+final class LayoutCorpusFormat {
+
+    static final int MAGIC = 0x42534C43;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int MAX_SHIPS = 16;
+    static final int VERTICAL_BIT = 0x80;
+
+    private LayoutCorpusFormat() {
+    }
+
+    /**
+     * Returns the record size for a fleet.
+     *
+     * @param ships The number of ships in the fleet.
+     * @return The record size in bytes.
+     */
+    static int recordSize(int ships) {
+        return (16 + ships + 7) & ~7;
+    }
+
+    /**
+     * Encodes a placement as the one-byte ship entry of a record.
+     *
+     * @param placement The placement id.
+     * @return The encoded ship byte.
+     */
+    static byte encodeShip(int placement) {
+        int anchor = Bitboard.index(PlacementTable.x(placement), PlacementTable.y(placement));
+        return (byte) (anchor | (PlacementTable.isHorizontal(placement) ? 0 : VERTICAL_BIT));
+    }
+
+    /**
+     * Decodes the one-byte ship entry of a record.
+     *
+     * @param length The length of the ship.
+     * @param value  The encoded ship byte.
+     * @return The placement id, or {@code -1} if the entry does not describe a legal placement.
+     */
+    static int decodeShip(int length, byte value) {
+        int anchor = value & ~VERTICAL_BIT & 0xFF;
+        if (anchor >= Bitboard.CELLS) return -1;
+        return PlacementTable.find(length, (value & VERTICAL_BIT) == 0,
+                anchor % Bitboard.SIZE, anchor / Bitboard.SIZE);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import com.example.battleship.models.PlacementTable;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Writes a corpus of random valid fleet layouts in the {@link LayoutCorpusFormat} through
+ * memory-mapped windows of the output file. Windows are filled in parallel, each with its own
+ * {@link SplittableRandom} split from the seeded root, so a corpus is reproducible for a given seed.
+ */
+public class LayoutCorpusWriter {
+
+    private static final long WINDOW_RECORDS = 1 << 21;
+
+    private final int[] fleet;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a writer for the given fleet.
+     *
+     * @param fleet The ship lengths of the fleet.
+     * @param pool  The pool that fills the windows.
+     */
+    public LayoutCorpusWriter(int[] fleet, ForkJoinPool pool) {
+        if (fleet.length > LayoutCorpusFormat.MAX_SHIPS) {
+            throw new IllegalArgumentException("At most " + LayoutCorpusFormat.MAX_SHIPS + " ships are supported");
+        }
+        this.fleet = fleet.clone();
+        this.pool = pool;
+    }
+
+    /**
+     * Generates a corpus file, replacing any existing file.
+     *
+     * @param path  The output file.
+     * @param count The number of layouts to write.
+     * @param seed  The seed of the root random generator.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(Path path, long count, long seed) throws IOException {
+        int recordSize = LayoutCorpusFormat.recordSize(fleet.length);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, LayoutCorpusFormat.HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(LayoutCorpusFormat.MAGIC)
+                    .putShort(LayoutCorpusFormat.VERSION)
+                    .putShort((short) recordSize)
+                    .putLong(count)
+                    .put((byte) fleet.length);
+            for (int length : fleet) {
+                header.put((byte) length);
+            }
+            header.force();
+
+            SplittableRandom root = new SplittableRandom(seed);
+            List<ForkJoinTask<?>> windows = new ArrayList<>();
+            for (long first = 0; first < count; first += WINDOW_RECORDS) {
+                long records = Math.min(WINDOW_RECORDS, count - first);
+                long offset = LayoutCorpusFormat.HEADER_SIZE + first * recordSize;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE, offset, records * recordSize);
+                SplittableRandom random = root.split();
+                windows.add(pool.submit(() -> fill(window, records, recordSize, random)));
+            }
+            for (ForkJoinTask<?> window : windows) {
+                window.join();
+            }
+        }
+    }
+
+    private void fill(MappedByteBuffer window, long records, int recordSize, SplittableRandom random) {
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        FleetGenerator generator = new FleetGenerator(fleet, random);
+        int[] layout = new int[fleet.length];
+        int padding = recordSize - 16 - fleet.length;
+        for (long r = 0; r < records; r++) {
+            if (!generator.generate(layout)) {
+                throw new IllegalStateException("Could not generate a fleet layout");
+            }
+            long lo = 0L;
+            long hi = 0L;
+            for (int id : layout) {
+                lo |= PlacementTable.lo(id);
+                hi |= PlacementTable.hi(id);
+            }
+            window.putLong(lo).putLong(hi);
+            for (int id : layout) {
+                window.put(LayoutCorpusFormat.encodeShip(id));
+            }
+            for (int p = 0; p < padding; p++) {
+                window.put((byte) 0);
+            }
+        }
+        window.force();
+    }
+
+    /**
+     * Generates a corpus of standard fleets from the command line.
+     *
+     * @param args {@code <output file> <count> [seed]}.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: LayoutCorpusWriter <output file> <count> [seed]");
+            return;
+        }
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        long start = System.nanoTime();
+        new LayoutCorpusWriter(Fleet.standard(), ForkJoinPool.commonPool())
+                .write(Paths.get(args[0]), Long.parseLong(args[1]), seed);
+        System.out.printf("Wrote %s layouts in %.1f ms%n", args[1], (System.nanoTime() - start) / 1e6);
+    }
+}
@@ -0,0 +1,432 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.PlacementTable;
+import com.example.battleship.models.Ship;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Keeps the state of a very large number of games in progress without growing the Java heap.
+ *
+ * <p>Every resident game lives in a fixed-size slot of one slab allocated with
+ * {@link ByteBuffer#allocateDirect(int)}:</p>
+ * <pre>
+ *   0  long   game id
+ *   8  long   shots, low word       16  long  shots, high word
+ *  24  long   last access, epoch milliseconds
+ *  32  int    caller tag            36  byte  flags (bit 0: firing phase started)
+ *  37  short  placement id of every ship, in fleet order
+ * </pre>
+ * <p>Hits, sunk ships and the occupancy are rebuilt by replaying the shot mask against the fleet, so a
+ * standard game takes 64 bytes. The slot index, the LRU links and the index of spilled games are a
+ * handful of primitive arrays, so there is no object per game and the garbage collector has nothing
+ * to trace as the number of games grows.</p>
+ *
+ * <p>When the slab is full, the least recently used game is written to a spill file of fixed-size
+ * records, and {@link #evictIdle()} spills every game idle for longer than the time-to-live. A spilled
+ * game is paged back into the slab the next time it is loaded, and its record is reused.</p>
+ *
+ * <p>Shots are stored as a mask, so a restored engine has the same hits, sunk ships and remaining fleet
+ * but reports its shot history in cell order rather than firing order.</p>
+ */
+public class SessionStore implements AutoCloseable {
+
+    private static final int ID = 0;
+    private static final int SHOTS_LO = 8;
+    private static final int SHOTS_HI = 16;
+    private static final int ACCESS = 24;
+    private static final int TAG = 32;
+    private static final int FLAGS = 36;
+    private static final int SHIPS = 37;
+    private static final int FLAG_STARTED = 1;
+    private static final int NONE = -1;
+
+    private final int[] fleet;
+    private final int slotSize;
+    private final int capacity;
+    private final ByteBuffer slab;
+    private final LongIntIndex resident;
+    private final int[] prev;
+    private final int[] next;
+    private int head = NONE;
+    private int tail = NONE;
+    private int freeSlots;
+    private final int[] freeSlotStack;
+
+    private final long ttlMillis;
+    private final Path spillPath;
+    private final FileChannel spill;
+    private final LongIntIndex spilled = new LongIntIndex(1 << 10);
+    private int spillRecords;
+    private int[] freeRecords = new int[64];
+    private int freeRecordCount;
+    private final int[] placements;
+
+    /**
+     * Creates an empty store.
+     *
+     * @param fleet     The ship lengths of the fleet of every game.
+     * @param capacity  The number of games kept in memory.
+     * @param spillPath The file games are spilled to; it is created or truncated.
+     * @param ttlMillis The idle time after which {@link #evictIdle()} spills a game.
+     * @throws IOException              If the spill file cannot be created.
+     * @throws IllegalArgumentException If the slab would exceed 2 GB.
+     */
+    public SessionStore(int[] fleet, int capacity, Path spillPath, long ttlMillis) throws IOException {
+        this.fleet = fleet.clone();
+        this.slotSize = (SHIPS + 2 * fleet.length + 7) & ~7;
+        long bytes = (long) slotSize * capacity;
+        if (capacity < 1 || bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Unsupported capacity " + capacity);
+        }
+        this.capacity = capacity;
+        this.slab = ByteBuffer.allocateDirect((int) bytes);
+        this.resident = new LongIntIndex(capacity);
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        this.freeSlotStack = new int[capacity];
+        for (int slot = 0; slot < capacity; slot++) {
+            freeSlotStack[slot] = capacity - 1 - slot;
+        }
+        this.freeSlots = capacity;
+        this.ttlMillis = ttlMillis;
+        this.spillPath = spillPath;
+        Path parent = spillPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.spill = FileChannel.open(spillPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.placements = new int[fleet.length];
+    }
+
+    /**
+     * Returns the size of a slot, which is also the size of a spilled record.
+     *
+     * @return The slot size in bytes.
+     */
+    public int getSlotSize() {
+        return slotSize;
+    }
+
+    /**
+     * Returns the number of games in memory.
+     *
+     * @return The resident game count.
+     */
+    public synchronized int getResidentCount() {
+        return capacity - freeSlots;
+    }
+
+    /**
+     * Returns the number of games in the spill file.
+     *
+     * @return The spilled game count.
+     */
+    public synchronized int getSpilledCount() {
+        return spilled.size();
+    }
+
+    /**
+     * Stores the state of a game, replacing any previous state of the same game.
+     *
+     * @param gameId The id of the game.
+     * @param engine The engine holding the game; its fleet must be placed and match the store's fleet.
+     * @param tag    A value kept with the game for the caller, such as whose turn it is.
+     * @throws UncheckedIOException If a game had to be spilled and the spill file failed.
+     */
+    public synchronized void put(long gameId, GameEngine engine, int tag) {
+        int slot = resident.get(gameId);
+        if (slot == NONE) {
+            dropSpilled(gameId);
+            slot = allocate(gameId);
+        } else {
+            unlink(slot);
+        }
+        int base = slot * slotSize;
+        slab.putLong(base + ID, gameId);
+        Bitboard shots = engine.getShots();
+        slab.putLong(base + SHOTS_LO, shots.getLo());
+        slab.putLong(base + SHOTS_HI, shots.getHi());
+        slab.putInt(base + TAG, tag);
+        slab.put(base + FLAGS, (byte) (engine.isStarted() ? FLAG_STARTED : 0));
+        for (int i = 0; i < fleet.length; i++) {
+            Ship ship = engine.getShips().get(i);
+            int id = PlacementTable.find(ship.getLongitud(), ship.isHorizontal(), ship.getPosX(), ship.getPosY());
+            slab.putShort(base + SHIPS + 2 * i, (short) id);
+        }
+        touch(slot);
+    }
+
+    /**
+     * Restores a game into an engine, paging it back in from the spill file if needed.
+     *
+     * @param gameId The id of the game.
+     * @param engine The engine to restore into; its fleet must match the store's fleet.
+     * @return {@code true} if the game was restored, {@code false} if the store does not hold it.
+     * @throws UncheckedIOException If the spill file failed.
+     */
+    public synchronized boolean load(long gameId, GameEngine engine) {
+        int slot = find(gameId);
+        if (slot == NONE) return false;
+        int base = slot * slotSize;
+        for (int i = 0; i < fleet.length; i++) {
+            placements[i] = slab.getShort(base + SHIPS + 2 * i);
+        }
+        engine.placeFleet(placements);
+        if ((slab.get(base + FLAGS) & FLAG_STARTED) != 0) {
+            engine.start();
+            replay(engine, slab.getLong(base + SHOTS_LO), 0);
+            replay(engine, slab.getLong(base + SHOTS_HI), 64);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the tag stored with a game, paging it back in from the spill file if needed.
+     *
+     * @param gameId The id of the game.
+     * @param absent The value returned if the store does not hold the game.
+     * @return The tag, or {@code absent}.
+     * @throws UncheckedIOException If the spill file failed.
+     */
+    public synchronized int getTag(long gameId, int absent) {
+        int slot = find(gameId);
+        return slot == NONE ? absent : slab.getInt(slot * slotSize + TAG);
+    }
+
+    /**
+     * Removes a game, for example once it is over.
+     *
+     * @param gameId The id of the game.
+     * @return {@code true} if the store held the game, {@code false} otherwise.
+     */
+    public synchronized boolean remove(long gameId) {
+        int slot = resident.remove(gameId);
+        if (slot != NONE) {
+            unlink(slot);
+            freeSlotStack[freeSlots++] = slot;
+            return true;
+        }
+        return dropSpilled(gameId);
+    }
+
+    /**
+     * Spills every game that was not stored or loaded within the time-to-live.
+     *
+     * @return The number of games spilled.
+     * @throws UncheckedIOException If the spill file failed.
+     */
+    public synchronized int evictIdle() {
+        long deadline = System.currentTimeMillis() - ttlMillis;
+        int evicted = 0;
+        while (tail != NONE && slab.getLong(tail * slotSize + ACCESS) < deadline) {
+            spillSlot(tail);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    /**
+     * Closes the spill file and deletes it. Spilled games are lost.
+     *
+     * @throws IOException If the file cannot be closed or deleted.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        spill.close();
+        Files.deleteIfExists(spillPath);
+    }
+
+    private static void replay(GameEngine engine, long shots, int offset) {
+        for (long bits = shots; bits != 0 && !engine.isGameOver(); bits &= bits - 1) {
+            engine.fire(offset + Long.numberOfTrailingZeros(bits));
+        }
+    }
+
+    /**
+     * Returns the slot of a game, paging it in if it was spilled, and marks it as recently used.
+     */
+    private int find(long gameId) {
+        int slot = resident.get(gameId);
+        if (slot != NONE) {
+            unlink(slot);
+            touch(slot);
+            return slot;
+        }
+        int record = spilled.get(gameId);
+        if (record == NONE) return NONE;
+        slot = allocate(gameId);
+        transfer(slot, record, false);
+        spilled.remove(gameId);
+        releaseRecord(record);
+        touch(slot);
+        return slot;
+    }
+
+    /**
+     * Takes a free slot for a game, spilling the least recently used game if there is none.
+     */
+    private int allocate(long gameId) {
+        if (freeSlots == 0) {
+            spillSlot(tail);
+        }
+        int slot = freeSlotStack[--freeSlots];
+        resident.put(gameId, slot);
+        return slot;
+    }
+
+    private void spillSlot(int slot) {
+        long gameId = slab.getLong(slot * slotSize + ID);
+        int record = freeRecordCount > 0 ? freeRecords[--freeRecordCount] : spillRecords++;
+        transfer(slot, record, true);
+        spilled.put(gameId, record);
+        resident.remove(gameId);
+        unlink(slot);
+        freeSlotStack[freeSlots++] = slot;
+    }
+
+    private boolean dropSpilled(long gameId) {
+        int record = spilled.remove(gameId);
+        if (record == NONE) return false;
+        releaseRecord(record);
+        return true;
+    }
+
+    private void releaseRecord(int record) {
+        if (freeRecordCount == freeRecords.length) {
+            freeRecords = Arrays.copyOf(freeRecords, freeRecordCount * 2);
+        }
+        freeRecords[freeRecordCount++] = record;
+    }
+
+    /**
+     * Copies a slot to or from its record in the spill file.
+     */
+    private void transfer(int slot, int record, boolean write) {
+        ByteBuffer view = slab.duplicate();
+        view.limit(slot * slotSize + slotSize).position(slot * slotSize);
+        long position = (long) record * slotSize;
+        try {
+            while (view.hasRemaining()) {
+                int n = write ? spill.write(view, position) : spill.read(view, position);
+                if (n < 0) throw new IOException("Truncated spill file " + spillPath);
+                position += n;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void touch(int slot) {
+        slab.putLong(slot * slotSize + ACCESS, System.currentTimeMillis());
+        prev[slot] = NONE;
+        next[slot] = head;
+        if (head != NONE) prev[head] = slot;
+        head = slot;
+        if (tail == NONE) tail = slot;
+    }
+
+    private void unlink(int slot) {
+        int p = prev[slot];
+        int n = next[slot];
+        if (p != NONE) next[p] = n; else if (head == slot) head = n;
+        if (n != NONE) prev[n] = p; else if (tail == slot) tail = p;
+        prev[slot] = NONE;
+        next[slot] = NONE;
+    }
+
+    /**
+     * Open-addressing map from game ids to slot or record numbers, with backward-shift deletion so
+     * that removals leave no tombstones behind.
+     */
+    private static final class LongIntIndex {
+        private long[] keys;
+        private int[] values;
+        private boolean[] used;
+        private int size;
+        private int mask;
+
+        private LongIntIndex(int expected) {
+            allocate(Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1);
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            used = new boolean[capacity];
+            mask = capacity - 1;
+            size = 0;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private int get(long key) {
+            for (int i = slot(key); used[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i];
+            }
+            return NONE;
+        }
+
+        private void put(long key, int value) {
+            int i = slot(key);
+            while (used[i]) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            used[i] = true;
+            keys[i] = key;
+            values[i] = value;
+            if (++size * 2 > keys.length) grow();
+        }
+
+        private int remove(long key) {
+            int i = slot(key);
+            while (used[i] && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (!used[i]) return NONE;
+            int value = values[i];
+            size--;
+            for (int j = (i + 1) & mask; used[j]; j = (j + 1) & mask) {
+                int home = slot(keys[j]);
+                if (((j - home) & mask) >= ((j - i) & mask)) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            used[i] = false;
+            return value;
+        }
+
+        private int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            allocate(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
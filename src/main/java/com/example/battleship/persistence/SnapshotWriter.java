@@ -0,0 +1,108 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.engine.GameEngine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Saves {@link GameSnapshot}s of a game in progress on a background daemon thread, so that a game can be
+ * saved after every move without the caller waiting for the disk.
+ *
+ * <p>The caller only encodes the engine. The encoded snapshot becomes the pending one, which the writer
+ * thread saves as {@link GameSnapshot#save(Path, GameEngine, long)} does: written to a temporary file,
+ * forced and atomically moved into place. Snapshots that are superseded before the writer gets to them are dropped, so however
+ * fast moves come in, the writer only ever saves the latest state. Deleting the snapshot goes through
+ * the same queue, so it is never overtaken by an older save.</p>
+ */
+public final class SnapshotWriter implements Closeable {
+
+    /** How long {@link #close()} waits for the pending snapshot to be written. */
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    /** The pending request that deletes the snapshot instead of writing one. */
+    private static final ByteBuffer DELETE = ByteBuffer.allocate(0);
+
+    private final Path path;
+    private final AtomicReference<ByteBuffer> pending = new AtomicReference<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a writer for a snapshot file.
+     *
+     * @param path The snapshot file.
+     */
+    public SnapshotWriter(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Encodes the state of an engine and saves it in the background, replacing any snapshot still
+     * pending.
+     *
+     * @param engine The engine to save; its fleet must be placed.
+     * @param gameId The id of the game, as used in the game journal.
+     */
+    public void save(GameEngine engine, long gameId) {
+        ByteBuffer buffer = ByteBuffer.allocate(GameSnapshot.MAX_SIZE);
+        GameSnapshot.write(engine, gameId, buffer);
+        submit(buffer.flip());
+    }
+
+    /**
+     * Deletes the snapshot file in the background, for example once the game is over, dropping any
+     * snapshot still pending.
+     */
+    public void delete() {
+        submit(DELETE);
+    }
+
+    private void submit(ByteBuffer request) {
+        if (pending.getAndSet(request) == null && !writer.isShutdown()) {
+            writer.execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        ByteBuffer request = pending.getAndSet(null);
+        if (request == null) return;
+        try {
+            if (request == DELETE) {
+                Files.deleteIfExists(path);
+            } else {
+                GameSnapshot.save(path, request);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not save the game: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the pending snapshot, if any, and stops the writer thread. Snapshots saved afterwards are
+     * dropped. Closing a closed writer does nothing.
+     */
+    @Override
+    public void close() {
+        if (writer.isShutdown()) return;
+        writer.execute(this::writePending);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("Timed out saving the game");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.battleship.simulation;
+
+import com.example.battleship.ai.TargetingStrategy;
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.engine.Observation;
+import com.example.battleship.engine.SalvoResult;
+import com.example.battleship.engine.SalvoRule;
+import com.example.battleship.models.FleetGenerator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays batches of complete headless games of a targeting strategy against random fleets.
+ * Games are split into chunks on a work-stealing {@link ForkJoinPool}; every chunk owns its
+ * {@link SplittableRandom}, split from a seeded root, plus its own engine and observation,
+ * so workers share no mutable state and a run is reproducible for a given seed and chunk size.
+ */
+public class SimulationRunner {
+
+    /** Default number of games played by one task. */
+    public static final int DEFAULT_CHUNK = 4096;
+
+    private final ForkJoinPool pool;
+    private final int[] fleet;
+    private final int chunk;
+
+    /**
+     * Creates a runner.
+     *
+     * @param pool  The pool that plays the games.
+     * @param fleet The ship lengths of the fleet placed in every game.
+     * @param chunk The number of games played by one task.
+     */
+    public SimulationRunner(ForkJoinPool pool, int[] fleet, int chunk) {
+        this.pool = pool;
+        this.fleet = fleet.clone();
+        this.chunk = chunk;
+    }
+
+    /**
+     * Plays a batch of games.
+     *
+     * @param strategy The strategy firing at the random fleets.
+     * @param games    The number of games to play.
+     * @param seed     The seed of the root random generator.
+     * @return The aggregated statistics of the batch.
+     */
+    public SimulationStats run(TargetingStrategy strategy, long games, long seed) {
+        return run(strategy, games, seed, null);
+    }
+
+    /**
+     * Plays a batch of games, in salvo mode if a rule is given. Salvo games are scored in turns
+     * rather than shots.
+     *
+     * @param strategy The strategy firing at the random fleets.
+     * @param games    The number of games to play.
+     * @param seed     The seed of the root random generator.
+     * @param salvo    The number of shots per turn, or {@code null} to fire one shot per turn.
+     * @return The aggregated statistics of the batch.
+     */
+    public SimulationStats run(TargetingStrategy strategy, long games, long seed, SalvoRule salvo) {
+        long start = System.nanoTime();
+        SimulationStats stats = pool.invoke(new Batch(strategy, salvo, games, new SplittableRandom(seed)));
+        stats.setElapsedNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    private final class Batch extends RecursiveTask<SimulationStats> {
+        private final TargetingStrategy strategy;
+        private final SalvoRule salvo;
+        private final long games;
+        private final SplittableRandom random;
+
+        Batch(TargetingStrategy strategy, SalvoRule salvo, long games, SplittableRandom random) {
+            this.strategy = strategy;
+            this.salvo = salvo;
+            this.games = games;
+            this.random = random;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (games <= chunk) {
+                return play();
+            }
+            long half = games / 2;
+            Batch left = new Batch(strategy, salvo, half, random.split());
+            Batch right = new Batch(strategy, salvo, games - half, random.split());
+            left.fork();
+            SimulationStats stats = right.compute();
+            stats.merge(left.join());
+            return stats;
+        }
+
+        private SimulationStats play() {
+            SimulationStats stats = new SimulationStats();
+            GameEngine engine = new GameEngine(fleet);
+            FleetGenerator generator = new FleetGenerator(fleet, random);
+            Observation observation = new Observation(fleet);
+            SalvoResult result = new SalvoResult(fleet.length);
+            long[] mask = new long[2];
+            for (long g = 0; g < games; g++) {
+                engine.randomizeFleet(generator);
+                engine.start();
+                if (salvo == null) {
+                    while (!engine.isGameOver()) {
+                        engine.fire(strategy.nextShot(engine.observe(observation), random));
+                    }
+                    stats.record(engine.getShotCount());
+                    continue;
+                }
+                int turns = 0;
+                while (!engine.isGameOver()) {
+                    strategy.nextSalvo(engine.observe(observation), salvo.shots(engine), random, mask);
+                    engine.fireSalvo(mask[0], mask[1], result);
+                    turns++;
+                }
+                stats.record(turns);
+            }
+            return stats;
+        }
+    }
+}
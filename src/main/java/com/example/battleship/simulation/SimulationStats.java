@@ -0,0 +1,119 @@
+package com.example.battleship.simulation;
+
+import com.example.battleship.models.Bitboard;
+
+/**
+ * Aggregated results of a batch of simulated games: a histogram of the shots needed to win
+ * plus the wall-clock time of the run.
+ */
+public class SimulationStats {
+
+    private final long[] histogram = new long[Bitboard.CELLS + 1];
+    private long games;
+    private long totalShots;
+    private long elapsedNanos;
+
+    /**
+     * Records one finished game.
+     *
+     * @param shots The number of shots needed to sink the whole fleet.
+     */
+    public void record(int shots) {
+        histogram[shots]++;
+        games++;
+        totalShots += shots;
+    }
+
+    /**
+     * Adds the results of another batch to this one.
+     *
+     * @param other The batch to merge.
+     */
+    public void merge(SimulationStats other) {
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] += other.histogram[i];
+        }
+        games += other.games;
+        totalShots += other.totalShots;
+    }
+
+    /**
+     * Sets the wall-clock duration of the run.
+     *
+     * @param elapsedNanos The duration in nanoseconds.
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of games recorded.
+     *
+     * @return The game count.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the number of games that needed exactly the given number of shots.
+     *
+     * @param shots The number of shots.
+     * @return The number of games.
+     */
+    public long getCount(int shots) {
+        return histogram[shots];
+    }
+
+    /**
+     * Returns the mean number of shots needed to win.
+     *
+     * @return The mean, or {@code 0} if no game was recorded.
+     */
+    public double mean() {
+        return games == 0 ? 0 : (double) totalShots / games;
+    }
+
+    /**
+     * Returns a percentile of the shots needed to win.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The smallest shot count reached by at least that share of games.
+     */
+    public int percentile(double percentile) {
+        long rank = (long) Math.ceil(percentile / 100.0 * games);
+        long seen = 0;
+        for (int shots = 0; shots < histogram.length; shots++) {
+            seen += histogram[shots];
+            if (seen >= rank && seen > 0) return shots;
+        }
+        return histogram.length - 1;
+    }
+
+    /**
+     * Returns the throughput of the run.
+     *
+     * @return The number of games per second, or {@code 0} if no duration was set.
+     */
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Formats the statistics and the non-empty histogram buckets as a text report.
+     *
+     * @return The report.
+     */
+    public String report() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("games=%d mean=%.3f p50=%d p90=%d p99=%d min=%d max=%d games/s=%.0f%n",
+                games, mean(), percentile(50), percentile(90), percentile(99),
+                percentile(0), percentile(100), gamesPerSecond()));
+        for (int shots = 0; shots < histogram.length; shots++) {
+            if (histogram[shots] != 0) {
+                out.append(String.format("%3d %d%n", shots, histogram[shots]));
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.battleship.view;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.image.Image;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Shared cache of the application's assets. Decoded {@link Image}s are kept for the lifetime of the
+ * application, and the FXML views opened from the home screen are loaded ahead of time on a background
+ * thread so that opening them only has to attach an already built node tree to a scene.
+ *
+ * <p>A loaded view (its node tree and controller) can only be shown once, so {@link #takeView(String)}
+ * hands it out and removes it; views that may be opened again are preloaded again afterwards.</p>
+ */
+public final class AssetCache {
+
+    /** The logo and window icon. */
+    public static final String LOGO = "/com/example/battleship/img/battleship.png";
+    /** The title image of the game window. */
+    public static final String TITLE = "/com/example/battleship/img/title.png";
+    /** The instructions image of the help window. */
+    public static final String HOW_TO = "/com/example/battleship/img/how-to.png";
+    /** The icon of the help window. */
+    public static final String QUESTION = "/com/example/battleship/img/question.png";
+
+    /** The home screen. */
+    public static final String HOME_VIEW = "/com/example/battleship/home-view.fxml";
+    /** The game window. */
+    public static final String BOARD_VIEW = "/com/example/battleship/player-view.fxml";
+    /** The help window. */
+    public static final String HELP_VIEW = "/com/example/battleship/how-to.fxml";
+
+    private static final Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+    private static final Map<String, Future<FXMLLoader>> VIEWS = new ConcurrentHashMap<>();
+    private static final ExecutorService PRELOADER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "asset-preloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private AssetCache() {
+    }
+
+    /**
+     * Returns a decoded image, decoding it on first use.
+     *
+     * @param path The classpath location of the image.
+     * @return The shared image.
+     */
+    public static Image image(String path) {
+        return IMAGES.computeIfAbsent(path, p -> new Image(AssetCache.class.getResourceAsStream(p)));
+    }
+
+    /**
+     * Starts loading a view in the background, unless it is already loaded or loading.
+     *
+     * @param fxml The classpath location of the FXML file.
+     */
+    public static void preloadView(String fxml) {
+        VIEWS.computeIfAbsent(fxml, f -> PRELOADER.submit(() -> load(f)));
+    }
+
+    /**
+     * Decodes every image and loads the views that can be opened from the home screen, in the background.
+     */
+    public static void preloadAll() {
+        for (String path : new String[]{LOGO, TITLE, HOW_TO, QUESTION}) {
+            PRELOADER.execute(() -> image(path));
+        }
+        preloadView(BOARD_VIEW);
+        preloadView(HELP_VIEW);
+    }
+
+    /**
+     * Returns a loaded view, waiting for its preload if one is in progress or loading it on the calling
+     * thread otherwise. The view is removed from the cache.
+     *
+     * @param fxml The classpath location of the FXML file.
+     * @return The loader holding the view's root node and controller.
+     * @throws IOException If the FXML file cannot be loaded.
+     */
+    public static FXMLLoader takeView(String fxml) throws IOException {
+        Future<FXMLLoader> preload = VIEWS.remove(fxml);
+        if (preload != null) {
+            try {
+                return preload.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                // Load again on this thread so the caller gets the original error.
+            }
+        }
+        return load(fxml);
+    }
+
+    /**
+     * Waits until every preload submitted so far has finished.
+     *
+     * @param timeoutMillis The maximum time to wait.
+     * @return {@code true} if the preloads finished, {@code false} if the wait timed out or was interrupted.
+     */
+    public static boolean awaitPreloads(long timeoutMillis) {
+        try {
+            PRELOADER.submit(() -> { }).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    private static FXMLLoader load(String fxml) throws IOException {
+        FXMLLoader loader = new FXMLLoader(AssetCache.class.getResource(fxml));
+        loader.load();
+        return loader;
+    }
+}
@@ -1,9 +1,9 @@
 package com.example.battleship.view;
 
+import com.example.battleship.controller.BoardGameController;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
@@ -15,19 +15,22 @@ import java.io.IOException;
 public class BoardGameView extends Stage {
 
     /**
-     * Constructs the BoardGameView by loading the FXML file, setting up the scene, and configuring the stage properties.
+     * Constructs the BoardGameView by taking the preloaded FXML view, setting up the scene, and configuring the stage
+     * properties. The game itself is set up once the window is shown.
      *
      * @throws IOException If the FXML file cannot be loaded.
      */
     public BoardGameView() throws IOException {
-        FXMLLoader loader = new FXMLLoader(this.getClass().getResource("/com/example/battleship/player-view.fxml"));
-        Parent root = loader.load();
+        FXMLLoader loader = AssetCache.takeView(AssetCache.BOARD_VIEW);
+        Parent root = loader.getRoot();
         Scene scene = new Scene(root);
         this.initStyle(StageStyle.UNDECORATED);
         this.setTitle("Battle Ship");
-        this.getIcons().add(new Image(this.getClass().getResourceAsStream("/com/example/battleship/img/battleship.png")));
+        this.getIcons().add(AssetCache.image(AssetCache.LOGO));
+        PulseMonitor.install(scene, "board");
         this.setScene(scene);
         this.show();
+        ((BoardGameController) loader.getController()).onShown();
     }
 
     /**
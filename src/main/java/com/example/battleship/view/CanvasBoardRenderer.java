@@ -0,0 +1,376 @@
+package com.example.battleship.view;
+
+import com.example.battleship.models.BoardConfig;
+import com.example.battleship.models.SparseBoard;
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+
+/**
+ * Draws a board, its ships, shots and a heat-map overlay onto a single {@link Canvas} instead of one
+ * scene-graph node per element.
+ *
+ * <p>Every change marks the affected cells dirty; an {@link AnimationTimer} repaints only those cells
+ * once per pulse, so the cost of a frame depends on what changed rather than on the size of the board
+ * or the number of markers. Ships are looked up through a {@link SparseBoard} mirror and shots are kept
+ * in bitsets, which also makes hit-testing a matter of arithmetic: {@link #cellAt(double, double)} and
+ * {@link #shipAt(double, double)} never walk the scene graph.</p>
+ *
+ * <p>The canvas is {@code width * cellSize} by {@code height * cellSize} pixels; on large boards pick a
+ * cell size that keeps it within the texture limit of the graphics pipeline (about 8192 pixels).</p>
+ */
+public class CanvasBoardRenderer {
+
+    private static final Color WATER = Color.GRAY;
+    private static final Color GRID = Color.rgb(0, 0, 0, 0.25);
+    private static final Color MISS = Color.WHITE;
+    private static final Color HIT = Color.BLACK;
+
+    private final int width;
+    private final int height;
+    private final double cellSize;
+    private final Canvas canvas;
+    private final GraphicsContext graphics;
+    private final SparseBoard ships;
+    private final int[] fleet;
+    private final Color[] colors;
+    private final long[] shots;
+    private final long[] hits;
+    private final long[] dirty;
+    private int[] dirtyCells = new int[256];
+    private int dirtyCount;
+    private boolean fullRepaint;
+    private float[] overlay;
+    private int floatingShip = -1;
+    private boolean floatingHorizontal;
+    private int floatingX;
+    private int floatingY;
+    private Color floatingColor;
+    private final AnimationTimer timer;
+
+    /**
+     * Creates a renderer and starts repainting it on every pulse.
+     *
+     * @param config   The board dimensions and fleet.
+     * @param cellSize The size in pixels of a cell.
+     */
+    public CanvasBoardRenderer(BoardConfig config, double cellSize) {
+        this.width = config.getWidth();
+        this.height = config.getHeight();
+        this.cellSize = cellSize;
+        this.canvas = new Canvas(width * cellSize, height * cellSize);
+        this.graphics = canvas.getGraphicsContext2D();
+        this.ships = new SparseBoard(config);
+        this.fleet = config.getFleet();
+        this.colors = new Color[config.getShipCount()];
+        int words = (int) (((long) width * height + 63) >>> 6);
+        this.shots = new long[words];
+        this.hits = new long[words];
+        this.dirty = new long[words];
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                repaintDirty();
+            }
+        };
+        invalidateAll();
+        timer.start();
+    }
+
+    /**
+     * Returns the canvas the board is drawn on.
+     *
+     * @return The canvas.
+     */
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Stops repainting. The renderer must not be used afterwards.
+     */
+    public void dispose() {
+        timer.stop();
+    }
+
+    /**
+     * Places or moves a ship.
+     *
+     * @param ship       The index of the ship in the fleet.
+     * @param horizontal The orientation of the ship.
+     * @param x          The x-coordinate of the anchor.
+     * @param y          The y-coordinate of the anchor.
+     * @param color      The fill color of the ship.
+     */
+    public void setShip(int ship, boolean horizontal, int x, int y, Color color) {
+        removeShip(ship);
+        colors[ship] = color;
+        if (ships.place(ship, horizontal, x, y)) {
+            invalidateShip(ship);
+        }
+    }
+
+    /**
+     * Removes a ship from the board.
+     *
+     * @param ship The index of the ship in the fleet.
+     */
+    public void removeShip(int ship) {
+        if (!ships.isPlaced(ship)) return;
+        invalidateShip(ship);
+        ships.remove(ship);
+    }
+
+    /**
+     * Removes every ship, shot and overlay.
+     */
+    public void clear() {
+        ships.clear();
+        Arrays.fill(shots, 0L);
+        Arrays.fill(hits, 0L);
+        overlay = null;
+        floatingShip = -1;
+        invalidateAll();
+    }
+
+    /**
+     * Draws a shot marker.
+     *
+     * @param x   The x-coordinate of the cell.
+     * @param y   The y-coordinate of the cell.
+     * @param hit Whether the shot hit a ship.
+     */
+    public void markShot(int x, int y, boolean hit) {
+        int cell = y * width + x;
+        shots[cell >>> 6] |= 1L << cell;
+        if (hit) {
+            hits[cell >>> 6] |= 1L << cell;
+        }
+        invalidate(cell);
+    }
+
+    /**
+     * Shows a heat-map overlay, for example the shot densities of a targeting strategy.
+     *
+     * @param values One intensity per cell, in row-major order, or {@code null} to hide the overlay.
+     * @param max    The intensity drawn fully opaque.
+     */
+    public void setOverlay(long[] values, long max) {
+        if (values == null) {
+            if (overlay != null) {
+                overlay = null;
+                invalidateAll();
+            }
+            return;
+        }
+        if (overlay == null) {
+            overlay = new float[width * height];
+        }
+        for (int cell = 0; cell < overlay.length; cell++) {
+            float value = max <= 0 ? 0f : (float) Math.min(1.0, values[cell] / (double) max);
+            if (value != overlay[cell]) {
+                overlay[cell] = value;
+                invalidate(cell);
+            }
+        }
+    }
+
+    /**
+     * Draws a ship floating above the board, used while it is dragged. Its board position stays drawn
+     * underneath until the drag is committed.
+     *
+     * @param ship       The index of the ship in the fleet.
+     * @param horizontal The orientation of the floating ship.
+     * @param x          The x-coordinate of its anchor.
+     * @param y          The y-coordinate of its anchor.
+     * @param color      The fill color of the floating ship, usually translucent.
+     */
+    public void setFloating(int ship, boolean horizontal, int x, int y, Color color) {
+        if (floatingShip == ship && floatingHorizontal == horizontal && floatingX == x && floatingY == y
+                && color.equals(floatingColor)) {
+            return;
+        }
+        clearFloating();
+        floatingShip = ship;
+        floatingHorizontal = horizontal;
+        floatingX = x;
+        floatingY = y;
+        floatingColor = color;
+        invalidateFloating();
+    }
+
+    /**
+     * Removes the floating ship.
+     */
+    public void clearFloating() {
+        if (floatingShip < 0) return;
+        invalidateFloating();
+        floatingShip = -1;
+    }
+
+    /**
+     * Returns the cell under a point of the canvas.
+     *
+     * @param px The x-coordinate in canvas pixels.
+     * @param py The y-coordinate in canvas pixels.
+     * @return The row-major index of the cell, or {@code -1} if the point is outside the board.
+     */
+    public int cellAt(double px, double py) {
+        int x = (int) Math.floor(px / cellSize);
+        int y = (int) Math.floor(py / cellSize);
+        if (x < 0 || y < 0 || x >= width || y >= height) return -1;
+        return y * width + x;
+    }
+
+    /**
+     * Returns the ship under a point of the canvas.
+     *
+     * @param px The x-coordinate in canvas pixels.
+     * @param py The y-coordinate in canvas pixels.
+     * @return The index of the ship in the fleet, or {@code -1} if there is none.
+     */
+    public int shipAt(double px, double py) {
+        int cell = cellAt(px, py);
+        return cell < 0 ? -1 : ships.shipAt(cell % width, cell / width);
+    }
+
+    /**
+     * Returns the size in pixels of a cell.
+     *
+     * @return The cell size.
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    private void invalidateShip(int ship) {
+        invalidateRun(ships.isHorizontal(ship), ships.getPosX(ship), ships.getPosY(ship),
+                fleet[ship]);
+    }
+
+    private void invalidateFloating() {
+        invalidateRun(floatingHorizontal, floatingX, floatingY, fleet[floatingShip]);
+    }
+
+    private void invalidateRun(boolean horizontal, int x, int y, int length) {
+        for (int i = 0; i < length; i++) {
+            int cx = horizontal ? x + i : x;
+            int cy = horizontal ? y : y + i;
+            if (cx < width && cy < height) {
+                invalidate(cy * width + cx);
+            }
+        }
+    }
+
+    private void invalidate(int cell) {
+        if (fullRepaint) return;
+        long bit = 1L << cell;
+        if ((dirty[cell >>> 6] & bit) != 0) return;
+        dirty[cell >>> 6] |= bit;
+        if (dirtyCount == dirtyCells.length) {
+            dirtyCells = Arrays.copyOf(dirtyCells, dirtyCount * 2);
+        }
+        dirtyCells[dirtyCount++] = cell;
+    }
+
+    private void invalidateAll() {
+        for (int i = 0; i < dirtyCount; i++) {
+            dirty[dirtyCells[i] >>> 6] = 0L;
+        }
+        dirtyCount = 0;
+        fullRepaint = true;
+    }
+
+    /**
+     * Repaints the cells changed since the last pulse.
+     */
+    private void repaintDirty() {
+        if (fullRepaint) {
+            repaintAll();
+            return;
+        }
+        for (int i = 0; i < dirtyCount; i++) {
+            int cell = dirtyCells[i];
+            dirty[cell >>> 6] &= ~(1L << cell);
+            paintCell(cell);
+        }
+        dirtyCount = 0;
+    }
+
+    /**
+     * Repaints the whole board: the water in one call, the grid as two lines per row and column, drawn
+     * where the outline of every cell lies, then only the cells that hold something. The cost grows with
+     * the perimeter and content of the board rather than with its area.
+     */
+    private void repaintAll() {
+        fullRepaint = false;
+        graphics.setFill(WATER);
+        graphics.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        if (cellSize >= 4) {
+            graphics.setStroke(GRID);
+            double right = width * cellSize;
+            double bottom = height * cellSize;
+            for (int x = 0; x < width; x++) {
+                graphics.strokeLine(x * cellSize + 0.5, 0, x * cellSize + 0.5, bottom);
+                graphics.strokeLine((x + 1) * cellSize - 0.5, 0, (x + 1) * cellSize - 0.5, bottom);
+            }
+            for (int y = 0; y < height; y++) {
+                graphics.strokeLine(0, y * cellSize + 0.5, right, y * cellSize + 0.5);
+                graphics.strokeLine(0, (y + 1) * cellSize - 0.5, right, (y + 1) * cellSize - 0.5);
+            }
+        }
+        for (int ship = 0; ship < fleet.length; ship++) {
+            if (ships.isPlaced(ship)) invalidateShip(ship);
+        }
+        for (int word = 0; word < shots.length; word++) {
+            for (long bits = shots[word]; bits != 0; bits &= bits - 1) {
+                invalidate((word << 6) + Long.numberOfTrailingZeros(bits));
+            }
+        }
+        if (overlay != null) {
+            for (int cell = 0; cell < overlay.length; cell++) {
+                if (overlay[cell] > 0f) invalidate(cell);
+            }
+        }
+        if (floatingShip >= 0) invalidateFloating();
+        repaintDirty();
+    }
+
+    private void paintCell(int cell) {
+        int x = cell % width;
+        int y = cell / width;
+        double px = x * cellSize;
+        double py = y * cellSize;
+        int ship = ships.shipAt(x, y);
+        graphics.setFill(ship >= 0 ? colors[ship] : WATER);
+        graphics.fillRect(px, py, cellSize, cellSize);
+        if (overlay != null && overlay[cell] > 0f) {
+            graphics.setFill(Color.color(1.0, 0.2, 0.0, 0.7 * overlay[cell]));
+            graphics.fillRect(px, py, cellSize, cellSize);
+        }
+        if (floatingShip >= 0 && coversFloating(x, y)) {
+            graphics.setFill(floatingColor);
+            graphics.fillRect(px, py, cellSize, cellSize);
+        }
+        if (cellSize >= 4) {
+            graphics.setStroke(GRID);
+            graphics.strokeRect(px + 0.5, py + 0.5, cellSize - 1, cellSize - 1);
+        }
+        long bit = 1L << cell;
+        if ((shots[cell >>> 6] & bit) != 0) {
+            double radius = Math.max(1.0, cellSize / 5);
+            graphics.setFill((hits[cell >>> 6] & bit) != 0 ? HIT : MISS);
+            graphics.fillOval(px + cellSize / 2 - radius, py + cellSize / 2 - radius, radius * 2, radius * 2);
+        }
+    }
+
+    private boolean coversFloating(int x, int y) {
+        int length = fleet[floatingShip];
+        return floatingHorizontal
+                ? y == floatingY && x >= floatingX && x < floatingX + length
+                : x == floatingX && y >= floatingY && y < floatingY + length;
+    }
+}
@@ -3,7 +3,6 @@ package com.example.battleship.view;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
@@ -24,8 +23,9 @@ public class HelpView extends Stage {
      * @throws IOException If the FXML file cannot be loaded.
      */
     public HelpView(Stage owner) throws IOException {
-        FXMLLoader loader = new FXMLLoader(this.getClass().getResource("/com/example/battleship/how-to.fxml"));
-        Parent root = loader.load();
+        FXMLLoader loader = AssetCache.takeView(AssetCache.HELP_VIEW);
+        AssetCache.preloadView(AssetCache.HELP_VIEW);
+        Parent root = loader.getRoot();
         Scene scene = new Scene(root);
         this.initStyle(StageStyle.UNDECORATED);
 
@@ -36,7 +36,7 @@ public class HelpView extends Stage {
         this.setX(this.getX() + 100);
 
         this.setTitle("Sudoku");
-        this.getIcons().add(new Image(this.getClass().getResourceAsStream("/com/example/battleship/img/question.png")));
+        this.getIcons().add(AssetCache.image(AssetCache.QUESTION));
         this.setScene(scene);
         this.showAndWait();
     }
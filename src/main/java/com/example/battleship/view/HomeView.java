@@ -3,7 +3,6 @@ package com.example.battleship.view;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
@@ -18,18 +17,20 @@ public class HomeView extends Stage {
 
     /**
      * Constructs the HomeView by loading the FXML file, setting up the scene, and configuring the window properties.
+     * Once the window is shown, the other views and images are preloaded in the background.
      *
      * @throws IOException If the FXML file cannot be loaded.
      */
     public HomeView() throws IOException {
-        FXMLLoader loader = new FXMLLoader(this.getClass().getResource("/com/example/battleship/home-view.fxml"));
-        Parent root = loader.load();
+        FXMLLoader loader = AssetCache.takeView(AssetCache.HOME_VIEW);
+        Parent root = loader.getRoot();
         Scene scene = new Scene(root);
         this.initStyle(StageStyle.UNDECORATED);
         this.setTitle("Battle Ship");
-        this.getIcons().add(new Image(this.getClass().getResourceAsStream("/com/example/battleship/img/battleship.png")));
+        this.getIcons().add(AssetCache.image(AssetCache.LOGO));
         this.setScene(scene);
         this.show();
+        AssetCache.preloadAll();
     }
 
     /**
@@ -0,0 +1,137 @@
+package com.example.battleship.view;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Flow.Subscriber} that hands the items it receives to the JavaFX Application Thread in one
+ * batch per pulse, so a burst of events costs a single UI update instead of one callback each.
+ *
+ * <p>Items are queued on the publisher's thread and drained by an {@link AnimationTimer} that runs only
+ * while items are pending. Demand is replenished by the size of each drained batch, so the publisher
+ * never buffers more than {@code window} items ahead of the screen. A subscriber created with a resync
+ * action can be {@linkplain #invalidate() invalidated} when its publisher had to drop items: the next
+ * pulse then discards what was queued and runs the resync action instead, which rebuilds the screen
+ * from the source of the items.</p>
+ *
+ * @param <T> The type of the items.
+ */
+public class PulseBatchSubscriber<T> implements Flow.Subscriber<T> {
+
+    private final Consumer<List<T>> handler;
+    private final Runnable resync;
+    private final int window;
+    private final ConcurrentLinkedQueue<T> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private volatile Flow.Subscription subscription;
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            drain();
+        }
+    };
+
+    /**
+     * Creates a subscriber.
+     *
+     * @param window  The maximum number of items requested ahead of the screen.
+     * @param handler Receives every batch on the JavaFX Application Thread, in publication order.
+     */
+    public PulseBatchSubscriber(int window, Consumer<List<T>> handler) {
+        this(window, handler, null);
+    }
+
+    /**
+     * Creates a subscriber that can resynchronize after lost items.
+     *
+     * @param window  The maximum number of items requested ahead of the screen.
+     * @param handler Receives every batch on the JavaFX Application Thread, in publication order.
+     * @param resync  Rebuilds the screen on the JavaFX Application Thread after {@link #invalidate()}.
+     */
+    public PulseBatchSubscriber(int window, Consumer<List<T>> handler, Runnable resync) {
+        this.window = window;
+        this.handler = handler;
+        this.resync = resync;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(window);
+    }
+
+    @Override
+    public void onNext(T item) {
+        pending.add(item);
+        schedule();
+    }
+
+    /**
+     * Marks the items received so far as incomplete, for example because the publisher dropped some.
+     * The next pulse runs the resync action instead of the handler.
+     *
+     * @throws IllegalStateException If the subscriber has no resync action.
+     */
+    public void invalidate() {
+        if (resync == null) {
+            throw new IllegalStateException("No resync action");
+        }
+        stale.set(true);
+        schedule();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        System.err.println("Event stream failed: " + throwable);
+    }
+
+    @Override
+    public void onComplete() {
+    }
+
+    /**
+     * Stops receiving items. Items already queued are discarded.
+     */
+    public void cancel() {
+        Flow.Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+        pending.clear();
+        Platform.runLater(timer::stop);
+    }
+
+    /**
+     * Delivers everything queued since the last pulse, or stops the timer if nothing was.
+     */
+    private void drain() {
+        scheduled.set(false);
+        List<T> batch = new ArrayList<>();
+        for (T item = pending.poll(); item != null; item = pending.poll()) {
+            batch.add(item);
+        }
+        if (stale.getAndSet(false)) {
+            resync.run();
+        } else if (batch.isEmpty()) {
+            timer.stop();
+            return;
+        } else {
+            handler.accept(batch);
+        }
+        if (!batch.isEmpty()) subscription.request(batch.size());
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            Platform.runLater(timer::start);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.battleship.view;
+
+import com.example.battleship.metrics.FxPulseEvent;
+import com.example.battleship.metrics.Metrics;
+import javafx.scene.Scene;
+
+/**
+ * Times the CSS and layout passes of every pulse of a scene, between its pre- and post-layout pulse
+ * listeners, and reports them to {@link Metrics#FX_PULSE} and as {@link FxPulseEvent}s. The listeners
+ * do not request pulses, so an idle window costs nothing, and no event is allocated unless a recording
+ * has it enabled.
+ */
+public final class PulseMonitor {
+
+    private final String window;
+    private long start;
+    private FxPulseEvent event;
+
+    private PulseMonitor(String window) {
+        this.window = window;
+    }
+
+    /**
+     * Starts timing the pulses of a scene.
+     *
+     * @param scene  The scene to monitor.
+     * @param window The name of the window, recorded with every event.
+     */
+    public static void install(Scene scene, String window) {
+        PulseMonitor monitor = new PulseMonitor(window);
+        scene.addPreLayoutPulseListener(monitor::begin);
+        scene.addPostLayoutPulseListener(monitor::end);
+    }
+
+    private void begin() {
+        event = FxPulseEvent.beginIfEnabled();
+        start = System.nanoTime();
+    }
+
+    private void end() {
+        if (start == 0L) return;
+        Metrics.FX_PULSE.recordSince(start);
+        FxPulseEvent.commit(event, window);
+        event = null;
+        start = 0L;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.battleship.view;
+
+import com.example.battleship.engine.ShotResult;
+import javafx.animation.AnimationTimer;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+
+/**
+ * Draws shot markers and short shot animations (a splash for a miss, a burst for a hit, a larger one
+ * for a sinking) on a layer laid over a board, without creating nodes while a game is played.
+ *
+ * <p>Every node is created up front: one marker per cell, shown or hidden, and a fixed pool of sprites
+ * for the animations. A running animation is a pool slot whose start time and kind live in
+ * primitive arrays; a single {@link AnimationTimer}, running only while some animation is, steps them
+ * all on every pulse by setting the radius and opacity of their sprites, so a frame allocates nothing
+ * however fast shots come in. When every sprite is busy, the oldest animation is cut short and its
+ * sprite reused.</p>
+ */
+public class ShotAnimationLayer {
+
+    private static final int SPLASH = 0;
+    private static final int BURST = 1;
+    private static final int SINKING = 2;
+
+    /** The duration of each kind of animation, in nanoseconds. */
+    private static final long[] DURATION = {350_000_000L, 450_000_000L, 700_000_000L};
+
+    /** The radius of each kind of animation at its start and end, in cells. */
+    private static final double[] START_RADIUS = {0.10, 0.15, 0.20};
+    private static final double[] END_RADIUS = {0.50, 0.55, 1.20};
+
+    private static final Color[] FILL = {Color.TRANSPARENT, Color.rgb(255, 170, 0, 0.85), Color.rgb(230, 30, 0, 0.85)};
+    private static final Color[] STROKE = {Color.rgb(220, 240, 255), Color.rgb(255, 240, 120), Color.rgb(255, 200, 0)};
+
+    private static final Color MISS = Color.WHITE;
+    private static final Color HIT = Color.BLACK;
+
+    private final int width;
+    private final double cellSize;
+    private final Group layer = new Group();
+    private final Group markerGroup = new Group();
+    private final Group spriteGroup = new Group();
+    private final Circle[] markers;
+    private final Circle[] sprites;
+    private final long[] starts;
+    private final int[] kinds;
+    private final int[] free;
+    private final int[] active;
+    private int freeCount;
+    private int activeCount;
+    private boolean running;
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            step(now);
+        }
+    };
+
+    /**
+     * Creates the layer and all its nodes.
+     *
+     * @param width    The number of columns of the board.
+     * @param height   The number of rows of the board.
+     * @param cellSize The size in pixels of a cell.
+     * @param sprites  The number of animations that can run at the same time.
+     */
+    public ShotAnimationLayer(int width, int height, double cellSize, int sprites) {
+        this.width = width;
+        this.cellSize = cellSize;
+        this.markers = new Circle[width * height];
+        for (int cell = 0; cell < markers.length; cell++) {
+            Circle marker = new Circle(cellSize / 5);
+            marker.setCenterX((cell % width) * cellSize + cellSize / 2);
+            marker.setCenterY((cell / width) * cellSize + cellSize / 2);
+            marker.setVisible(false);
+            markers[cell] = marker;
+        }
+        markerGroup.getChildren().addAll(markers);
+
+        this.sprites = new Circle[sprites];
+        this.starts = new long[sprites];
+        this.kinds = new int[sprites];
+        this.free = new int[sprites];
+        this.active = new int[sprites];
+        for (int slot = 0; slot < sprites; slot++) {
+            Circle sprite = new Circle();
+            sprite.setStrokeWidth(2);
+            sprite.setVisible(false);
+            this.sprites[slot] = sprite;
+            free[freeCount++] = sprites - 1 - slot;
+        }
+        spriteGroup.getChildren().addAll(this.sprites);
+
+        layer.getChildren().addAll(markerGroup, spriteGroup);
+        layer.setMouseTransparent(true);
+        layer.setManaged(false);
+    }
+
+    /**
+     * Returns the node to add above the board.
+     *
+     * @return The layer.
+     */
+    public Node getNode() {
+        return layer;
+    }
+
+    /**
+     * Shows or hides the markers. A board that draws its own markers, such as the
+     * {@link CanvasBoardRenderer}, only needs the animations.
+     *
+     * @param visible Whether markers are drawn.
+     */
+    public void setMarkersVisible(boolean visible) {
+        markerGroup.setVisible(visible);
+    }
+
+    /**
+     * Shows the marker of a resolved shot.
+     *
+     * @param cell The row-major index of the cell.
+     * @param hit  Whether the shot hit a ship.
+     */
+    public void mark(int cell, boolean hit) {
+        Circle marker = markers[cell];
+        marker.setFill(hit ? HIT : MISS);
+        marker.setVisible(true);
+    }
+
+    /**
+     * Plays the animation of a resolved shot, starting on the next pulse.
+     *
+     * @param cell   The row-major index of the cell.
+     * @param result The result of the shot.
+     */
+    public void play(int cell, ShotResult result) {
+        int slot;
+        if (freeCount > 0) {
+            slot = free[--freeCount];
+        } else {
+            slot = active[0];
+            System.arraycopy(active, 1, active, 0, --activeCount);
+        }
+        int kind = result == ShotResult.MISS ? SPLASH : result == ShotResult.HIT ? BURST : SINKING;
+        kinds[slot] = kind;
+        starts[slot] = 0L;
+        Circle sprite = sprites[slot];
+        sprite.setCenterX((cell % width) * cellSize + cellSize / 2);
+        sprite.setCenterY((cell / width) * cellSize + cellSize / 2);
+        sprite.setRadius(START_RADIUS[kind] * cellSize);
+        sprite.setOpacity(1.0);
+        sprite.setFill(FILL[kind]);
+        sprite.setStroke(STROKE[kind]);
+        sprite.setVisible(true);
+        active[activeCount++] = slot;
+        if (!running) {
+            running = true;
+            timer.start();
+        }
+    }
+
+    /**
+     * Hides every marker and stops every animation.
+     */
+    public void clear() {
+        for (Circle marker : markers) {
+            marker.setVisible(false);
+        }
+        while (activeCount > 0) {
+            release(active[--activeCount]);
+        }
+        stop();
+    }
+
+    /**
+     * Stops animating. Markers stay visible.
+     */
+    public void dispose() {
+        stop();
+    }
+
+    /**
+     * Advances every running animation to the time of the pulse and releases the finished ones.
+     *
+     * @param now The time of the pulse, in nanoseconds.
+     */
+    private void step(long now) {
+        int kept = 0;
+        for (int i = 0; i < activeCount; i++) {
+            int slot = active[i];
+            if (starts[slot] == 0L) starts[slot] = now;
+            int kind = kinds[slot];
+            double t = (now - starts[slot]) / (double) DURATION[kind];
+            if (t >= 1.0) {
+                release(slot);
+                continue;
+            }
+            double eased = 1.0 - (1.0 - t) * (1.0 - t);
+            Circle sprite = sprites[slot];
+            sprite.setRadius((START_RADIUS[kind] + (END_RADIUS[kind] - START_RADIUS[kind]) * eased) * cellSize);
+            sprite.setOpacity(1.0 - t);
+            active[kept++] = slot;
+        }
+        activeCount = kept;
+        if (activeCount == 0) stop();
+    }
+
+    private void release(int slot) {
+        sprites[slot].setVisible(false);
+        free[freeCount++] = slot;
+    }
+
+    private void stop() {
+        if (!running) return;
+        running = false;
+        timer.stop();
+    }
+}
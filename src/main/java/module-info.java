@@ -1,10 +1,19 @@
 module com.example.battleship {
     requires javafx.controls;
     requires javafx.fxml;
+    requires jdk.jfr;
 
 
     opens com.example.battleship to javafx.fxml;
     exports com.example.battleship;
+    exports com.example.battleship.ai;
+    exports com.example.battleship.analysis;
     exports com.example.battleship.controller;
+    exports com.example.battleship.engine;
+    exports com.example.battleship.metrics;
+    exports com.example.battleship.models;
+    exports com.example.battleship.net;
+    exports com.example.battleship.persistence;
+    exports com.example.battleship.simulation;
     opens com.example.battleship.controller to javafx.fxml;
 }
\ No newline at end of file
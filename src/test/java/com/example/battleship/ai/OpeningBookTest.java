@@ -0,0 +1,96 @@
+package com.example.battleship.ai;
+
+import com.example.battleship.engine.Observation;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.Fleet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpeningBookTest {
+
+    private static final int SLOTS_OFFSET = 8;
+    private static final int ENTRIES_OFFSET = 12;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void bundledBookCoversTheOpening() {
+        OpeningBook book = OpeningBook.standard();
+        assertNotNull(book);
+        assertArrayEquals(Fleet.standard(), book.getFleet());
+        assertNotNull(book.heatMap(new Observation(Fleet.standard())));
+    }
+
+    @Test
+    void bestShotPicksAmongNearTiedCells() throws IOException {
+        OpeningBook book = OpeningBook.open(write(bundled()));
+        Observation opening = new Observation(Fleet.standard());
+        long[] heat = book.heatMap(opening);
+        long max = 0;
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            max = Math.max(max, heat[cell]);
+        }
+        Set<Integer> picked = new HashSet<>();
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 200; i++) {
+            int cell = book.bestShot(opening, random);
+            assertTrue(heat[cell] >= max - OpeningBook.NEAR_TIE);
+            picked.add(cell);
+        }
+        assertTrue(picked.size() > 1);
+    }
+
+    @Test
+    void fullTableIsRejected() throws IOException {
+        ByteBuffer bytes = bundled();
+        bytes.putInt(ENTRIES_OFFSET, bytes.getInt(SLOTS_OFFSET));
+        assertThrows(IOException.class, () -> OpeningBook.open(write(bytes)));
+    }
+
+    @Test
+    void lookupEndsWhenNoSlotIsEmpty() throws IOException {
+        ByteBuffer bytes = bundled();
+        int slots = bytes.getInt(SLOTS_OFFSET);
+        for (int slot = 0; slot < slots; slot++) {
+            int record = OpeningBook.HEADER_SIZE + slot * OpeningBook.RECORD_SIZE;
+            if (bytes.getLong(record + 32) == 0) {
+                bytes.putLong(record + 32, -1L);
+            }
+        }
+        OpeningBook book = OpeningBook.open(write(bytes));
+        Observation missing = new Observation(Fleet.standard());
+        missing.getShots().set(0);
+        missing.getShots().set(99);
+        assertEquals(-1, book.bestShot(missing, new SplittableRandom(1)));
+    }
+
+    private static ByteBuffer bundled() throws IOException {
+        try (InputStream in = OpeningBook.class.getResourceAsStream(OpeningBook.RESOURCE)) {
+            assertNotNull(in);
+            return ByteBuffer.wrap(in.readAllBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    private Path write(ByteBuffer bytes) throws IOException {
+        Path path = Files.createTempFile(directory, "book", ".bin");
+        Files.write(path, bytes.array());
+        return path;
+    }
+}
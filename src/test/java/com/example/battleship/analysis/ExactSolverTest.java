@@ -0,0 +1,102 @@
+package com.example.battleship.analysis;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.engine.Observation;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.FleetGenerator;
+import com.example.battleship.models.PlacementTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExactSolverTest {
+
+    private static final int[] SMALL_FLEET = {3, 2, 2};
+
+    @Test
+    void countsMatchBruteForceEnumeration() {
+        SplittableRandom random = new SplittableRandom(7);
+        ExactSolver solver = new ExactSolver(SMALL_FLEET, ExactSolver.DEFAULT_MAX_CACHED_STATES, Long.MAX_VALUE);
+        Observation observation = new Observation(SMALL_FLEET);
+        int checks = 0;
+        for (int game = 0; game < 15; game++) {
+            GameEngine engine = new GameEngine(SMALL_FLEET);
+            engine.randomizeFleet(new FleetGenerator(SMALL_FLEET, random.split()));
+            engine.start();
+            while (!engine.isGameOver() && engine.getShotCount() < 60) {
+                int cell = random.nextInt(Bitboard.CELLS);
+                if (engine.getShots().get(cell)) continue;
+                engine.fire(cell);
+                if (engine.getShotCount() % 10 != 0) continue;
+                engine.observe(observation);
+                assertArrayEquals(bruteForce(observation), solver.solve(observation),
+                        "game " + game + " after " + engine.getShotCount() + " shots");
+                checks++;
+            }
+        }
+        assertTrue(checks > 50);
+    }
+
+    @Test
+    void emptyBoardMatchesTheLayoutEnumerator() {
+        int[] fleet = {4, 3, 2, 2};
+        long[] expected = new LayoutEnumerator(fleet, ForkJoinPool.commonPool()).cellFrequencies();
+        assertArrayEquals(expected, new ExactSolver(fleet, ExactSolver.DEFAULT_MAX_CACHED_STATES, Long.MAX_VALUE)
+                .solve(new Observation(fleet)));
+    }
+
+    @Test
+    void repeatingAnOverBudgetQueryResumesTheWork() {
+        int[] fleet = {4, 3, 2, 2};
+        Observation empty = new Observation(fleet);
+        long[] expected = new ExactSolver(fleet, ExactSolver.DEFAULT_MAX_CACHED_STATES, Long.MAX_VALUE).solve(empty);
+        ExactSolver solver = new ExactSolver(fleet, ExactSolver.DEFAULT_MAX_CACHED_STATES, 2_000);
+        long[] heat = solver.solve(empty);
+        assertNull(heat);
+        for (int attempt = 0; heat == null && attempt < 10_000; attempt++) {
+            heat = solver.solve(empty);
+        }
+        assertNotNull(heat);
+        assertArrayEquals(expected, heat);
+    }
+
+    /**
+     * Counts the layouts of the remaining fleet that avoid the blocked cells and cover every open hit
+     * by enumerating all of them.
+     */
+    private static long[] bruteForce(Observation observation) {
+        int[] remaining = observation.getRemainingFleet();
+        long[] heat = new long[Bitboard.CELLS + 1];
+        long forcedLo = observation.openHitsLo();
+        long forcedHi = observation.openHitsHi();
+        if (remaining.length == 0) {
+            heat[Bitboard.CELLS] = (forcedLo | forcedHi) == 0 ? 1 : 0;
+            return heat;
+        }
+        long blockedLo = observation.blockedLo();
+        long blockedHi = observation.blockedHi();
+        new LayoutEnumerator(remaining, ForkJoinPool.commonPool()).iterate(layout -> {
+            long lo = 0;
+            long hi = 0;
+            for (int id : layout) {
+                lo |= PlacementTable.lo(id);
+                hi |= PlacementTable.hi(id);
+            }
+            if (((lo & blockedLo) | (hi & blockedHi)) != 0) return true;
+            if ((forcedLo & ~lo) != 0 || (forcedHi & ~hi) != 0) return true;
+            heat[Bitboard.CELLS]++;
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                long word = cell < 64 ? lo >>> cell : hi >>> (cell - 64);
+                if ((word & 1) != 0) heat[cell]++;
+            }
+            return true;
+        });
+        return heat;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.battleship.controller;
+
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LayoutPoolTest {
+
+    private static final int CAPACITY = 16;
+
+    @Test
+    void takenLayoutsAreValid() {
+        FleetValidator validator = new FleetValidator(Fleet.standard(), false);
+        int[] layout = new int[Fleet.standard().length];
+        try (LayoutPool pool = new LayoutPool(Fleet.standard(), CAPACITY)) {
+            for (int i = 0; i < 100_000; i++) {
+                assertEquals(FleetValidator.Verdict.VALID, validator.validate(pool.take(layout)));
+            }
+        }
+    }
+
+    @Test
+    void producerRefillsTheStock() throws InterruptedException {
+        int[] layout = new int[Fleet.standard().length];
+        try (LayoutPool pool = new LayoutPool(Fleet.standard(), CAPACITY)) {
+            awaitFull(pool);
+            for (int i = 0; i < CAPACITY; i++) {
+                pool.take(layout);
+            }
+            awaitFull(pool);
+        }
+    }
+
+    @Test
+    void closedPoolStillServesLayouts() throws InterruptedException {
+        FleetValidator validator = new FleetValidator(Fleet.standard(), false);
+        int[] layout = new int[Fleet.standard().length];
+        LayoutPool pool = new LayoutPool(Fleet.standard(), CAPACITY);
+        awaitFull(pool);
+        pool.close();
+        for (int i = 0; i < CAPACITY * 2; i++) {
+            assertEquals(FleetValidator.Verdict.VALID, validator.validate(pool.take(layout)));
+        }
+        assertEquals(0, pool.available());
+    }
+
+    private static void awaitFull(LayoutPool pool) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pool.available() < CAPACITY && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(CAPACITY, pool.available(), "the producer did not fill the pool in time");
+    }
+}
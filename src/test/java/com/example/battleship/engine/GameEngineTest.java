@@ -0,0 +1,67 @@
+package com.example.battleship.engine;
+
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import com.example.battleship.models.PlacementTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEngineTest {
+
+    private final int[] layout = new int[Fleet.standard().length];
+    private GameEngine engine;
+
+    @BeforeEach
+    void placeFleet() {
+        assertTrue(new FleetGenerator(Fleet.standard(), new SplittableRandom(3)).generate(layout));
+        engine = new GameEngine();
+        engine.placeFleet(layout);
+        engine.start();
+    }
+
+    @Test
+    void shotOutsideTheBoardIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> engine.fire(-1));
+        assertThrows(IllegalArgumentException.class, () -> engine.fire(Bitboard.CELLS));
+        assertThrows(IllegalArgumentException.class, () -> engine.fire(Bitboard.SIZE, 0));
+        assertThrows(IllegalArgumentException.class, () -> engine.fire(0, -1));
+        assertEquals(0, engine.getShotCount());
+    }
+
+    @Test
+    void salvoIgnoresBitsBeyondTheBoard() {
+        SalvoResult result = engine.fireSalvo(0L, ~Bitboard.HI_MASK, new SalvoResult(Fleet.standard().length));
+        assertEquals(0, result.getCellCount());
+        assertEquals(0, engine.getShotCount());
+    }
+
+    @Test
+    void rejectedLayoutLeavesTheGameUnchanged() {
+        engine.fire(0);
+        long boardLo = engine.getBoard().getLo();
+        long boardHi = engine.getBoard().getHi();
+
+        int[] overlapping = layout.clone();
+        overlapping[2] = overlapping[1];
+        int[] wrongLength = layout.clone();
+        wrongLength[0] = layout[1];
+        int[] unknown = layout.clone();
+        unknown[layout.length - 1] = PlacementTable.size();
+        int[] negative = layout.clone();
+        negative[0] = -1;
+        for (int[] placements : new int[][]{overlapping, wrongLength, unknown, negative}) {
+            assertThrows(IllegalArgumentException.class, () -> engine.placeFleet(placements));
+            assertEquals(boardLo, engine.getBoard().getLo());
+            assertEquals(boardHi, engine.getBoard().getHi());
+            assertEquals(1, engine.getShotCount());
+            assertTrue(engine.isStarted());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.battleship.engine;
+
+import com.example.battleship.models.Bitboard;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEventBusTest {
+
+    private static final int EVENTS = Flow.defaultBufferSize() * 4;
+
+    @Test
+    void dropHandlerLearnsAboutEveryDroppedEvent() {
+        AtomicInteger reported = new AtomicInteger();
+        try (GameEventBus bus = new GameEventBus()) {
+            bus.subscribe(new Stalled(), reported::incrementAndGet);
+            bus.subscribe(new Stalled());
+            for (int i = 0; i < EVENTS; i++) {
+                bus.publish(GameEvent.shotResolved(i % Bitboard.CELLS, ShotResult.MISS, -1, i + 1));
+            }
+            assertTrue(reported.get() > 0);
+            assertEquals(2L * reported.get(), bus.getDroppedCount());
+        }
+    }
+
+    @Test
+    void eventsAreDeliveredOffThePublishingThread() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        Thread publisher = Thread.currentThread();
+        AtomicInteger wrongThread = new AtomicInteger();
+        try (GameEventBus bus = new GameEventBus()) {
+            bus.subscribe(new Stalled() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(GameEvent item) {
+                    if (Thread.currentThread() == publisher) wrongThread.incrementAndGet();
+                    delivered.countDown();
+                }
+            });
+            bus.publish(GameEvent.shotResolved(0, ShotResult.MISS, -1, 1));
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+            assertEquals(0, wrongThread.get());
+        }
+    }
+
+    /**
+     * A subscriber that never requests anything, so its buffer fills up.
+     */
+    private static class Stalled implements Flow.Subscriber<GameEvent> {
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+        }
+
+        @Override
+        public void onNext(GameEvent item) {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,691 @@
+package com.example.battleship.models;
+
+import com.example.battleship.engine.GameEngine;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Differential fuzzer for the placement paths. Random sequences of probes, moves, rotations and drags
+ * are replayed against every implementation that validates or mutates ship placements, and each
+ * answer and the resulting board are compared with a reference model that is nothing more than a
+ * grid of ship owners:
+ * <ul>
+ *     <li>the engine: {@link GameEngine#canPlace}, {@link GameEngine#moveShip}, {@link GameEngine#rotateShip},
+ *     the drag anchors of {@link GameEngine#validAnchors} and the occupancy board;</li>
+ *     <li>the legacy {@code boolean[x][y]} matrix and the bitboard, driven through the
+ *     {@link Ship} validation and occupy/release methods as the controller used to;</li>
+ *     <li>the {@link SparseBoard} interval index;</li>
+ *     <li>the {@link FleetValidator}, with and without the no-touch rule, on the layout every probe
+ *     would produce.</li>
+ * </ul>
+ * Coordinates are drawn a few cells past every edge so that bounds checks are exercised too. The
+ * first divergence is shrunk, by dropping and simplifying operations, to a minimal reproduction that
+ * is printed before the fuzzer exits with status 1.
+ *
+ * <p>{@link PlacementFuzzerTest} runs a bounded, fixed-seed pass on every build. For a longer run, start
+ * this class from the test classpath after {@code mvn test-compile}:
+ * {@code java -cp target/classes:target/test-classes com.example.battleship.models.PlacementFuzzer}.</p>
+ *
+ * <p>Options: {@code --seconds <n>} (default 60), {@code --sequences <n>} (default unlimited),
+ * {@code --ops <n>} operations per sequence (default 24) and {@code --seed <n>} (default 1).</p>
+ */
+public class PlacementFuzzer {
+
+    private static final int PROBE = 0;
+    private static final int MOVE = 1;
+    private static final int ROTATE = 2;
+    private static final int DRAG = 3;
+    private static final String[] NAMES = {"PROBE", "MOVE", "ROTATE", "DRAG"};
+
+    /** How far past each edge coordinates are drawn. */
+    private static final int MARGIN = 3;
+
+    private final int[] fleet;
+    private final int[] refX;
+    private final int[] refY;
+    private final boolean[] refH;
+    private final int[] owner = new int[Bitboard.CELLS];
+    private final int[] verdictOwner = new int[Bitboard.CELLS];
+
+    private final GameEngine engine;
+    private final List<Ship> legacyShips = new ArrayList<>();
+    private final boolean[][] matrix = new boolean[Bitboard.SIZE][Bitboard.SIZE];
+    private final Bitboard bitboard = new Bitboard();
+    private final SparseBoard sparse;
+    private final Ship[] probes = new Ship[2 * Bitboard.SIZE + 2];
+    private final FleetValidator[] validators;
+    private final long[] anchors = new long[4];
+    private final int[] candidateX;
+    private final int[] candidateY;
+    private final boolean[] candidateH;
+    private final int[] candidateIds;
+    private final ByteBuffer encoded;
+
+    private String failure;
+    private int failedStep;
+    private int verdictShip;
+
+    /**
+     * Creates a fuzzer for a fleet.
+     *
+     * @param fleet The ship lengths.
+     */
+    public PlacementFuzzer(int[] fleet) {
+        this.fleet = fleet.clone();
+        this.refX = new int[fleet.length];
+        this.refY = new int[fleet.length];
+        this.refH = new boolean[fleet.length];
+        this.engine = new GameEngine(fleet);
+        for (int length : fleet) {
+            legacyShips.add(new Ship(length));
+        }
+        this.sparse = new SparseBoard(new BoardConfig(Bitboard.SIZE, Bitboard.SIZE, fleet));
+        this.validators = new FleetValidator[]{new FleetValidator(fleet, false), new FleetValidator(fleet, true)};
+        for (int length = 1; length <= Bitboard.SIZE; length++) {
+            probes[2 * length] = new Ship(length);
+            probes[2 * length + 1] = new Ship(length);
+            probes[2 * length + 1].rotar();
+        }
+        this.candidateX = new int[fleet.length];
+        this.candidateY = new int[fleet.length];
+        this.candidateH = new boolean[fleet.length];
+        this.candidateIds = new int[fleet.length];
+        this.encoded = ByteBuffer.allocate(fleet.length);
+    }
+
+    /**
+     * The entry point of the fuzzer.
+     *
+     * @param args The command-line options.
+     */
+    public static void main(String[] args) {
+        long seconds = 60;
+        long sequences = Long.MAX_VALUE;
+        int ops = 24;
+        long seed = 1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seconds":
+                    seconds = Long.parseLong(args[++i]);
+                    break;
+                case "--sequences":
+                    sequences = Long.parseLong(args[++i]);
+                    break;
+                case "--ops":
+                    ops = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    System.err.println("Usage: PlacementFuzzer [--seconds n] [--sequences n] [--ops n] [--seed n]");
+                    return;
+            }
+        }
+
+        int[] fleet = Fleet.standard();
+        PlacementFuzzer fuzzer = new PlacementFuzzer(fleet);
+        SplittableRandom random = new SplittableRandom(seed);
+        FleetGenerator generator = new FleetGenerator(fleet, random);
+        int[] layout = new int[fleet.length];
+        int[] sequence = new int[ops];
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        long done = 0;
+        while (done < sequences && ((done & 1023) != 0 || System.nanoTime() < deadline)) {
+            if (!generator.generate(layout)) continue;
+            for (int i = 0; i < ops; i++) {
+                sequence[i] = fuzzer.randomOp(random);
+            }
+            done++;
+            if (!fuzzer.run(layout, sequence, ops)) {
+                System.out.println("Divergence after " + done + " sequences (seed " + seed + ")");
+                fuzzer.report(layout, Arrays.copyOf(sequence, ops));
+                System.exit(1);
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%,d sequences, %,d operations in %.1f s: %,.0f sequences/min, %,.0f operations/s, no divergence%n",
+                done, done * ops, elapsed, done / elapsed * 60, done * ops / elapsed);
+    }
+
+    /**
+     * Draws a random operation. Coordinates go up to {@value #MARGIN} cells past the board edges.
+     *
+     * @param random The source of randomness.
+     * @return The packed operation.
+     */
+    int randomOp(SplittableRandom random) {
+        int roll = random.nextInt(20);
+        int type = roll < 8 ? PROBE : roll < 14 ? MOVE : roll < 17 ? ROTATE : DRAG;
+        return op(type, random.nextInt(fleet.length),
+                random.nextInt(-MARGIN, Bitboard.SIZE + MARGIN), random.nextInt(-MARGIN, Bitboard.SIZE + MARGIN),
+                random.nextBoolean());
+    }
+
+    private static int op(int type, int ship, int x, int y, boolean horizontal) {
+        return type << 28 | ship << 20 | (x + MARGIN) << 12 | (y + MARGIN) << 4 | (horizontal ? 1 : 0);
+    }
+
+    private static int type(int op) {
+        return op >>> 28;
+    }
+
+    private static int ship(int op) {
+        return op >>> 20 & 0xFF;
+    }
+
+    private static int x(int op) {
+        return (op >>> 12 & 0xFF) - MARGIN;
+    }
+
+    private static int y(int op) {
+        return (op >>> 4 & 0xFF) - MARGIN;
+    }
+
+    private static boolean horizontal(int op) {
+        return (op & 1) != 0;
+    }
+
+    /**
+     * Replays a sequence against every implementation.
+     *
+     * @param layout The placement id of every ship before the first operation.
+     * @param ops    The packed operations.
+     * @param count  The number of operations to replay.
+     * @return {@code true} if every implementation agreed with the reference model throughout,
+     *         {@code false} if one diverged; the divergence is then described by {@link #failure}.
+     */
+    boolean run(int[] layout, int[] ops, int count) {
+        failure = null;
+        failedStep = -1;
+        try {
+            if (!reset(layout)) return false;
+            for (int step = 0; step < count; step++) {
+                failedStep = step;
+                if (!apply(ops[step])) return false;
+            }
+            if (!checkBoards(true)) return false;
+            failedStep = -1;
+            return true;
+        } catch (RuntimeException e) {
+            failure = "exception: " + e;
+            return false;
+        }
+    }
+
+    private boolean reset(int[] layout) {
+        engine.placeFleet(layout);
+        Arrays.fill(owner, -1);
+        for (boolean[] column : matrix) {
+            Arrays.fill(column, false);
+        }
+        bitboard.clear();
+        sparse.clear();
+        for (int i = 0; i < fleet.length; i++) {
+            int id = layout[i];
+            refX[i] = PlacementTable.x(id);
+            refY[i] = PlacementTable.y(id);
+            refH[i] = PlacementTable.isHorizontal(id);
+            occupy(i, i);
+            Ship ship = legacyShips.get(i);
+            ship.setPosicion(refX[i], refY[i]);
+            if (ship.isHorizontal() != refH[i]) ship.rotar();
+            ship.ocuparPosicionEnTablero(matrix);
+            ship.ocuparPosicionEnTablero(bitboard);
+            if (!sparse.place(i, refH[i], refX[i], refY[i])) {
+                return fail("sparse.place: rejected initial placement of ship " + i);
+            }
+        }
+        return checkBoards(true);
+    }
+
+    private boolean apply(int op) {
+        int ship = ship(op);
+        switch (type(op)) {
+            case PROBE:
+                return probe(ship, x(op), y(op), horizontal(op));
+            case MOVE:
+                return move(ship, x(op), y(op), horizontal(op), false);
+            case ROTATE:
+                return move(ship, refX[ship], refY[ship], !refH[ship], true);
+            default:
+                return drag(ship, x(op), y(op));
+        }
+    }
+
+    /**
+     * Asks every validator whether a ship could move to a position, and whether a new ship of the same
+     * length could be added there, without changing anything.
+     */
+    private boolean probe(int ship, int x, int y, boolean horizontal) {
+        int length = fleet[ship];
+        boolean expected = fits(length, horizontal, x, y) && free(ship, length, horizontal, x, y);
+        if (engine.canPlace(ship, x, y, horizontal) != expected) {
+            return fail("engine.canPlace: expected " + expected);
+        }
+        if (sparse.canMove(ship, horizontal, x, y) != expected) {
+            return fail("sparse.canMove: expected " + expected);
+        }
+        Ship legacy = legacyShips.get(ship);
+        Ship probe = probes[2 * length + (horizontal ? 0 : 1)];
+        legacy.liberarPosicionEnTablero(matrix);
+        legacy.liberarPosicionEnTablero(bitboard);
+        boolean matrixAnswer = probe.validarPosicion(x, y, matrix);
+        boolean bitboardAnswer = probe.validarPosicion(x, y, bitboard);
+        legacy.ocuparPosicionEnTablero(matrix);
+        legacy.ocuparPosicionEnTablero(bitboard);
+        if (matrixAnswer != expected) return fail("Ship.validarPosicion(matrix): expected " + expected);
+        if (bitboardAnswer != expected) return fail("Ship.validarPosicion(bitboard): expected " + expected);
+
+        boolean added = fits(length, horizontal, x, y) && free(-1, length, horizontal, x, y);
+        if (probe.validarPosicion(x, y, matrix) != added) {
+            return fail("Ship.validarPosicion(full matrix): expected " + added);
+        }
+        if (engine.getBoard().canPlace(length, horizontal, x, y) != added) {
+            return fail("Bitboard.canPlace: expected " + added);
+        }
+        if (sparse.canPlace(length, horizontal, x, y) != added) {
+            return fail("sparse.canPlace: expected " + added);
+        }
+        return checkValidators(ship, x, y, horizontal);
+    }
+
+    /**
+     * Checks both fleet validators on the layout produced by moving a ship, as encoded bytes when the
+     * anchor is on the board and as placement ids when the whole ship fits.
+     */
+    private boolean checkValidators(int ship, int x, int y, boolean horizontal) {
+        if (x < 0 || y < 0 || x >= Bitboard.SIZE || y >= Bitboard.SIZE) return true;
+        for (int i = 0; i < fleet.length; i++) {
+            candidateX[i] = i == ship ? x : refX[i];
+            candidateY[i] = i == ship ? y : refY[i];
+            candidateH[i] = i == ship ? horizontal : refH[i];
+            encoded.put(i, FleetValidator.encode(candidateH[i], candidateX[i], candidateY[i]));
+        }
+        boolean placeable = fits(fleet[ship], horizontal, x, y);
+        for (FleetValidator validator : validators) {
+            String rule = validator.isNoTouch() ? "no-touch" : "overlap";
+            FleetValidator.Verdict expected = expectedVerdict(validator.isNoTouch());
+            int expectedShip = expected == FleetValidator.Verdict.VALID ? -1 : verdictShip;
+            FleetValidator.Verdict verdict = validator.validate(fleet, encoded, 0);
+            if (verdict != expected || validator.getLastShip() != expectedShip) {
+                return fail("FleetValidator(" + rule + ", bytes): expected " + expected + " at ship " + expectedShip
+                        + ", got " + verdict + " at ship " + validator.getLastShip());
+            }
+            if (!placeable) continue;
+            for (int i = 0; i < fleet.length; i++) {
+                candidateIds[i] = PlacementTable.find(fleet[i], candidateH[i], candidateX[i], candidateY[i]);
+            }
+            verdict = validator.validate(candidateIds);
+            if (verdict != expected || validator.getLastShip() != expectedShip) {
+                return fail("FleetValidator(" + rule + ", ids): expected " + expected + " at ship " + expectedShip
+                        + ", got " + verdict + " at ship " + validator.getLastShip());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the verdict of the candidate layout the slow way: ships are laid one by one on a grid,
+     * and the first one that leaves the board, covers an earlier ship or, under the no-touch rule, is
+     * next to one is reported in {@link #verdictShip}.
+     */
+    private FleetValidator.Verdict expectedVerdict(boolean noTouch) {
+        Arrays.fill(verdictOwner, -1);
+        for (int i = 0; i < fleet.length; i++) {
+            verdictShip = i;
+            int length = fleet[i];
+            if (!fits(length, candidateH[i], candidateX[i], candidateY[i])) return FleetValidator.Verdict.OUT_OF_BOUNDS;
+            for (int k = 0; k < length; k++) {
+                int cx = candidateH[i] ? candidateX[i] + k : candidateX[i];
+                int cy = candidateH[i] ? candidateY[i] : candidateY[i] + k;
+                if (verdictOwner[cy * Bitboard.SIZE + cx] >= 0) return FleetValidator.Verdict.OVERLAP;
+            }
+            if (noTouch) {
+                for (int k = 0; k < length; k++) {
+                    int cx = candidateH[i] ? candidateX[i] + k : candidateX[i];
+                    int cy = candidateH[i] ? candidateY[i] : candidateY[i] + k;
+                    for (int dy = -1; dy <= 1; dy++) {
+                        for (int dx = -1; dx <= 1; dx++) {
+                            int nx = cx + dx;
+                            int ny = cy + dy;
+                            if (nx < 0 || ny < 0 || nx >= Bitboard.SIZE || ny >= Bitboard.SIZE) continue;
+                            if (verdictOwner[ny * Bitboard.SIZE + nx] >= 0) return FleetValidator.Verdict.TOUCHING;
+                        }
+                    }
+                }
+            }
+            for (int k = 0; k < length; k++) {
+                int cx = candidateH[i] ? candidateX[i] + k : candidateX[i];
+                int cy = candidateH[i] ? candidateY[i] : candidateY[i] + k;
+                verdictOwner[cy * Bitboard.SIZE + cx] = i;
+            }
+        }
+        return FleetValidator.Verdict.VALID;
+    }
+
+    /**
+     * Moves or rotates a ship in every implementation and compares the outcome and the boards.
+     */
+    private boolean move(int ship, int x, int y, boolean horizontal, boolean rotation) {
+        int length = fleet[ship];
+        boolean expected = fits(length, horizontal, x, y) && free(ship, length, horizontal, x, y);
+        String name = rotation ? "rotate" : "move";
+        boolean engineAnswer = rotation ? engine.rotateShip(ship) : engine.moveShip(ship, x, y, horizontal);
+        if (engineAnswer != expected) return fail("engine." + name + "Ship: expected " + expected);
+        if (sparse.move(ship, horizontal, x, y) != expected) return fail("sparse.move: expected " + expected);
+
+        Ship legacy = legacyShips.get(ship);
+        legacy.liberarPosicionEnTablero(matrix);
+        legacy.liberarPosicionEnTablero(bitboard);
+        Ship probe = probes[2 * length + (horizontal ? 0 : 1)];
+        boolean matrixAnswer = probe.validarPosicion(x, y, matrix);
+        boolean bitboardAnswer = probe.validarPosicion(x, y, bitboard);
+        if (matrixAnswer && bitboardAnswer) {
+            legacy.setPosicion(x, y);
+            if (legacy.isHorizontal() != horizontal) legacy.rotar();
+        }
+        legacy.ocuparPosicionEnTablero(matrix);
+        legacy.ocuparPosicionEnTablero(bitboard);
+        if (matrixAnswer != expected) return fail("Ship.validarPosicion(matrix) on " + name + ": expected " + expected);
+        if (bitboardAnswer != expected) return fail("Ship.validarPosicion(bitboard) on " + name + ": expected " + expected);
+
+        if (!expected) return checkBoards(false);
+        int fromX = refX[ship];
+        int fromY = refY[ship];
+        boolean fromH = refH[ship];
+        occupy(ship, -1);
+        refX[ship] = x;
+        refY[ship] = y;
+        refH[ship] = horizontal;
+        occupy(ship, ship);
+        return checkSparse(length, fromH, fromX, fromY) && checkSparse(length, horizontal, x, y)
+                && checkBoards(false);
+    }
+
+    /**
+     * Drags a ship the way the controller does: computes its anchors once, hovers over every cell on
+     * the way to the target, clamped to the board, checking the anchor bit against the reference, and
+     * drops it on the last cell.
+     */
+    private boolean drag(int ship, int targetX, int targetY) {
+        int length = fleet[ship];
+        engine.validAnchors(ship, anchors);
+        for (int o = 0; o < 2; o++) {
+            boolean horizontal = o == 0;
+            long lo = 0;
+            long hi = 0;
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                int x = cell % Bitboard.SIZE;
+                int y = cell / Bitboard.SIZE;
+                if (!fits(length, horizontal, x, y) || !free(ship, length, horizontal, x, y)) continue;
+                if (cell < 64) {
+                    lo |= 1L << cell;
+                } else {
+                    hi |= 1L << (cell - 64);
+                }
+            }
+            if (anchors[2 * o] != lo || anchors[2 * o + 1] != hi) {
+                return fail("engine.validAnchors: wrong " + (horizontal ? "horizontal" : "vertical") + " anchors");
+            }
+        }
+        int x = refX[ship];
+        int y = refY[ship];
+        int toX = Math.max(0, Math.min(Bitboard.SIZE - 1, targetX));
+        int toY = Math.max(0, Math.min(Bitboard.SIZE - 1, targetY));
+        boolean horizontal = refH[ship];
+        while (x != toX || y != toY) {
+            if (x != toX) {
+                x += Integer.signum(toX - x);
+            } else {
+                y += Integer.signum(toY - y);
+            }
+            int cell = Bitboard.index(x, y);
+            long word = anchors[(horizontal ? 0 : 2) + (cell < 64 ? 0 : 1)];
+            boolean valid = (word >>> (cell & 63) & 1L) != 0;
+            if (valid != engine.canPlace(ship, x, y, horizontal)) {
+                return fail("drag anchor: bit disagrees with engine.canPlace at (" + x + ", " + y + ")");
+            }
+        }
+        if (x == refX[ship] && y == refY[ship]) return true;
+        return move(ship, x, y, horizontal, false);
+    }
+
+    /**
+     * Compares every board and ship position with the reference model. The sparse index is slower to
+     * query cell by cell, so it is only compared in full at the start and end of a sequence; moves
+     * check the cells they touch with {@link #checkSparse}.
+     */
+    private boolean checkBoards(boolean full) {
+        long lo = 0;
+        long hi = 0;
+        for (int y = 0; y < Bitboard.SIZE; y++) {
+            for (int x = 0; x < Bitboard.SIZE; x++) {
+                int cell = y * Bitboard.SIZE + x;
+                boolean occupied = owner[cell] >= 0;
+                if (occupied) {
+                    if (cell < 64) {
+                        lo |= 1L << cell;
+                    } else {
+                        hi |= 1L << (cell - 64);
+                    }
+                }
+                if (matrix[x][y] != occupied) {
+                    return fail("matrix: cell (" + x + ", " + y + ") should be " + (occupied ? "occupied" : "empty"));
+                }
+                if (engine.getBoard().get(x, y) != occupied) {
+                    return fail("engine board: cell (" + x + ", " + y + ") should be " + (occupied ? "occupied" : "empty"));
+                }
+                if (full && sparse.shipAt(x, y) != owner[cell]) {
+                    return fail("sparse.shipAt: cell (" + x + ", " + y + ") should hold " + owner[cell]
+                            + ", holds " + sparse.shipAt(x, y));
+                }
+            }
+        }
+        if (engine.getBoard().getLo() != lo || engine.getBoard().getHi() != hi) {
+            return fail("engine board: words differ from the reference");
+        }
+        if (bitboard.getLo() != lo || bitboard.getHi() != hi) {
+            return fail("bitboard: words differ from the reference");
+        }
+        for (int i = 0; i < fleet.length; i++) {
+            Ship ship = engine.getShips().get(i);
+            Ship legacy = legacyShips.get(i);
+            if (ship.getPosX() != refX[i] || ship.getPosY() != refY[i] || ship.isHorizontal() != refH[i]) {
+                return fail("engine ship: ship " + i + " is out of place");
+            }
+            if (legacy.getPosX() != refX[i] || legacy.getPosY() != refY[i] || legacy.isHorizontal() != refH[i]) {
+                return fail("legacy ship: ship " + i + " is out of place");
+            }
+            if (sparse.getPosX(i) != refX[i] || sparse.getPosY(i) != refY[i] || sparse.isHorizontal(i) != refH[i]) {
+                return fail("sparse ship: ship " + i + " is out of place");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares the sparse index with the reference on the cells of a placement.
+     */
+    private boolean checkSparse(int length, boolean horizontal, int anchorX, int anchorY) {
+        for (int k = 0; k < length; k++) {
+            int x = horizontal ? anchorX + k : anchorX;
+            int y = horizontal ? anchorY : anchorY + k;
+            int expected = owner[y * Bitboard.SIZE + x];
+            if (sparse.shipAt(x, y) != expected) {
+                return fail("sparse.shipAt: cell (" + x + ", " + y + ") should hold " + expected
+                        + ", holds " + sparse.shipAt(x, y));
+            }
+        }
+        return true;
+    }
+
+    private static boolean fits(int length, boolean horizontal, int x, int y) {
+        int endX = horizontal ? x + length - 1 : x;
+        int endY = horizontal ? y : y + length - 1;
+        return x >= 0 && y >= 0 && endX < Bitboard.SIZE && endY < Bitboard.SIZE;
+    }
+
+    /**
+     * Checks the cells of a placement that fits on the board against the reference grid.
+     *
+     * @param ignored A ship whose own cells count as free, or {@code -1}.
+     */
+    private boolean free(int ignored, int length, boolean horizontal, int x, int y) {
+        for (int k = 0; k < length; k++) {
+            int cell = horizontal ? y * Bitboard.SIZE + x + k : (y + k) * Bitboard.SIZE + x;
+            if (owner[cell] >= 0 && owner[cell] != ignored) return false;
+        }
+        return true;
+    }
+
+    private void occupy(int ship, int value) {
+        for (int k = 0; k < fleet[ship]; k++) {
+            int cell = refH[ship] ? refY[ship] * Bitboard.SIZE + refX[ship] + k : (refY[ship] + k) * Bitboard.SIZE + refX[ship];
+            owner[cell] = value;
+        }
+    }
+
+    private boolean fail(String message) {
+        failure = message;
+        return false;
+    }
+
+    private static String kind(String failure) {
+        int colon = failure.indexOf(':');
+        return colon < 0 ? failure : failure.substring(0, colon);
+    }
+
+    /**
+     * Shrinks a failing sequence and prints the minimal reproduction.
+     *
+     * @param layout The initial layout of the failing sequence.
+     * @param ops    The failing sequence.
+     */
+    void report(int[] layout, int[] ops) {
+        run(layout, ops, ops.length);
+        String kind = kind(failure);
+        System.out.println("Original failure: " + failure + " at step " + failedStep + " of " + ops.length);
+        int[] start = layout.clone();
+        int[] simple = simpleLayout();
+        if (simple != null && fails(simple, ops, kind)) {
+            start = simple;
+        }
+        int[] shrunk = shrink(start, ops, kind);
+        run(start, shrunk, shrunk.length);
+        System.out.println("Minimal reproduction (" + shrunk.length + " operations):");
+        for (int i = 0; i < fleet.length; i++) {
+            System.out.printf("  ship %d, length %d, at (%d, %d) %s%n", i, fleet[i],
+                    PlacementTable.x(start[i]), PlacementTable.y(start[i]),
+                    PlacementTable.isHorizontal(start[i]) ? "horizontal" : "vertical");
+        }
+        for (int op : shrunk) {
+            System.out.println("  " + describe(op));
+        }
+        System.out.println("  -> " + failure);
+    }
+
+    /**
+     * Returns the easiest layout to read: every ship horizontal, laid left to right along every other
+     * row with a free cell between ships, or {@code null} if the fleet does not fit that way.
+     */
+    private int[] simpleLayout() {
+        int[] layout = new int[fleet.length];
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < fleet.length; i++) {
+            if (x + fleet[i] > Bitboard.SIZE) {
+                x = 0;
+                y += 2;
+            }
+            layout[i] = PlacementTable.find(fleet[i], true, x, y);
+            if (layout[i] < 0) return null;
+            x += fleet[i] + 1;
+        }
+        return layout;
+    }
+
+    private boolean fails(int[] layout, int[] ops, String kind) {
+        return !run(layout, ops, ops.length) && kind(failure).equals(kind);
+    }
+
+    /**
+     * Removes chunks of operations of halving size while the same kind of failure persists, then
+     * simplifies the remaining operations one by one.
+     */
+    private int[] shrink(int[] layout, int[] ops, String kind) {
+        run(layout, ops, ops.length);
+        if (failedStep >= 0) ops = Arrays.copyOf(ops, failedStep + 1);
+        for (int chunk = Math.max(1, ops.length / 2); chunk >= 1; chunk /= 2) {
+            for (int from = 0; from < ops.length; ) {
+                int[] candidate = new int[ops.length - Math.min(chunk, ops.length - from)];
+                System.arraycopy(ops, 0, candidate, 0, from);
+                System.arraycopy(ops, Math.min(ops.length, from + chunk), candidate, from, candidate.length - from);
+                if (fails(layout, candidate, kind)) {
+                    ops = failedStep >= 0 ? Arrays.copyOf(candidate, failedStep + 1) : candidate;
+                } else {
+                    from += chunk;
+                }
+            }
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < ops.length; i++) {
+                for (int simpler : simplifications(ops[i])) {
+                    int original = ops[i];
+                    ops[i] = simpler;
+                    if (fails(layout, ops, kind)) {
+                        changed = true;
+                        break;
+                    }
+                    ops[i] = original;
+                }
+            }
+        }
+        return ops;
+    }
+
+    /**
+     * Returns simpler variants of an operation: a drag becomes a move, coordinates move towards the
+     * origin, vertical becomes horizontal and the ship index decreases.
+     */
+    private static int[] simplifications(int op) {
+        int type = type(op);
+        int ship = ship(op);
+        int x = x(op);
+        int y = y(op);
+        boolean horizontal = horizontal(op);
+        if (type == ROTATE) {
+            return ship > 0 ? new int[]{op(ROTATE, ship - 1, 0, 0, true), op(ROTATE, 0, 0, 0, true)} : new int[0];
+        }
+        List<Integer> variants = new ArrayList<>();
+        if (type == DRAG) variants.add(op(MOVE, ship, x, y, horizontal));
+        if (x != 0) {
+            variants.add(op(type, ship, 0, y, horizontal));
+            variants.add(op(type, ship, x - Integer.signum(x), y, horizontal));
+        }
+        if (y != 0) {
+            variants.add(op(type, ship, x, 0, horizontal));
+            variants.add(op(type, ship, x, y - Integer.signum(y), horizontal));
+        }
+        if (!horizontal) variants.add(op(type, ship, x, y, true));
+        if (ship > 0) {
+            variants.add(op(type, 0, x, y, horizontal));
+            variants.add(op(type, ship - 1, x, y, horizontal));
+        }
+        return variants.stream().mapToInt(Integer::intValue).filter(v -> v != op).toArray();
+    }
+
+    private static String describe(int op) {
+        String text = NAMES[type(op)] + " ship " + ship(op);
+        if (type(op) == ROTATE) return text;
+        text += " to (" + x(op) + ", " + y(op) + ")";
+        return type(op) == DRAG ? text : text + (horizontal(op) ? " horizontal" : " vertical");
+    }
+}
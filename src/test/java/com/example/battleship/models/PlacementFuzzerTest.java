@@ -0,0 +1,34 @@
+package com.example.battleship.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class PlacementFuzzerTest {
+
+    private static final int SEQUENCES = 20_000;
+    private static final int OPS = 24;
+
+    @Test
+    void placementPathsAgreeWithTheReferenceModel() {
+        int[] fleet = Fleet.standard();
+        PlacementFuzzer fuzzer = new PlacementFuzzer(fleet);
+        SplittableRandom random = new SplittableRandom(1);
+        FleetGenerator generator = new FleetGenerator(fleet, random);
+        int[] layout = new int[fleet.length];
+        int[] sequence = new int[OPS];
+        for (int done = 0; done < SEQUENCES; done++) {
+            assertTrue(generator.generate(layout));
+            for (int i = 0; i < OPS; i++) {
+                sequence[i] = fuzzer.randomOp(random);
+            }
+            if (!fuzzer.run(layout, sequence, OPS)) {
+                fuzzer.report(layout, sequence);
+                fail("Placement paths diverged after " + (done + 1) + " sequences; see the reproduction above");
+            }
+        }
+    }
+}
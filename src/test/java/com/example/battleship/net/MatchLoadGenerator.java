@@ -0,0 +1,353 @@
+package com.example.battleship.net;
+
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+/**
+ * Load generator for the {@link MatchServer}. Drives thousands of simulated clients over loopback from
+ * a few selector threads; every client joins with a random fleet, fires whenever it has the turn and
+ * rejoins as soon as its match ends. Reports moves per second and the latency percentiles of a move,
+ * measured from sending a {@code FIRE} frame to receiving its {@code RESULT}.
+ *
+ * <p>Options: {@code --clients <n>} (default 10000), {@code --threads <n>} (default: half the processors),
+ * {@code --seconds <n>} (default 20), {@code --reactors <n>} (default: available processors) and
+ * {@code --server <host:port>} to load an external server instead of an in-process one. Driving 10,000
+ * clients against an in-process server needs about 20,500 file descriptors; raise {@code ulimit -n}
+ * or run the server in its own process.</p>
+ *
+ * <p>{@link MatchServerTest} runs a scaled-down load on every build. For a full run, start this class
+ * from the test classpath after {@code mvn test-compile}:
+ * {@code java -cp target/classes:target/test-classes com.example.battleship.net.MatchLoadGenerator}.</p>
+ */
+public class MatchLoadGenerator {
+
+    /**
+     * The entry point of the load generator.
+     *
+     * @param args The command-line options.
+     * @throws Exception If the server cannot be started or a client cannot connect.
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = 10_000;
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int seconds = 20;
+        int reactors = Runtime.getRuntime().availableProcessors();
+        String server = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--clients":
+                    clients = Integer.parseInt(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--seconds":
+                    seconds = Integer.parseInt(args[++i]);
+                    break;
+                case "--reactors":
+                    reactors = Integer.parseInt(args[++i]);
+                    break;
+                case "--server":
+                    server = args[++i];
+                    break;
+                default:
+                    System.err.println("Usage: MatchLoadGenerator [--clients n] [--threads n] [--seconds n] [--reactors n] [--server host:port]");
+                    return;
+            }
+        }
+
+        MatchServer local = null;
+        InetSocketAddress address;
+        if (server == null) {
+            local = new MatchServer(new InetSocketAddress("127.0.0.1", 0), reactors);
+            local.start();
+            address = new InetSocketAddress("127.0.0.1", local.getPort());
+        } else {
+            int colon = server.lastIndexOf(':');
+            address = new InetSocketAddress(server.substring(0, colon), Integer.parseInt(server.substring(colon + 1)));
+        }
+
+        Report report = run(address, clients, threads, seconds);
+        System.out.printf("Clients: %d, duration: %d s, moves: %d (%.0f moves/s), games finished: %d, errors: %d%n",
+                clients, seconds, report.moves, report.moves / (double) seconds, report.games, report.errors);
+        long[] latencies = report.latencies;
+        System.out.printf("Move latency: p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n",
+                percentile(latencies, 0.50) / 1e3, percentile(latencies, 0.99) / 1e3,
+                percentile(latencies, 0.999) / 1e3, (latencies.length == 0 ? 0 : latencies[latencies.length - 1]) / 1e3);
+        if (local != null) {
+            System.out.printf("Matches hosted: %d%n", local.getMatchCount());
+            local.close();
+        }
+    }
+
+    /**
+     * Drives a load against a server and collects the totals.
+     *
+     * @param address The address of the server.
+     * @param clients The number of simulated clients.
+     * @param threads The number of selector threads driving them.
+     * @param seconds How long to drive the load, once every client is connected.
+     * @return The totals and the sorted move latencies.
+     * @throws IOException          If a client cannot connect.
+     * @throws InterruptedException If interrupted while waiting for the drivers.
+     */
+    static Report run(InetSocketAddress address, int clients, int threads, int seconds)
+            throws IOException, InterruptedException {
+        Driver[] drivers = new Driver[threads];
+        SplittableRandom root = new SplittableRandom(42);
+        for (int i = 0; i < threads; i++) {
+            int share = clients / threads + (i < clients % threads ? 1 : 0);
+            drivers[i] = new Driver(address, share, root.split());
+        }
+        long connectStart = System.nanoTime();
+        for (Driver driver : drivers) {
+            driver.connectAll();
+        }
+        System.out.printf("Connected %d clients in %d ms%n", clients, (System.nanoTime() - connectStart) / 1_000_000);
+
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            Driver driver = drivers[i];
+            workers[i] = new Thread(() -> driver.run(deadline), "load-driver-" + i);
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Report report = new Report();
+        int samples = 0;
+        for (Driver driver : drivers) {
+            report.moves += driver.moves;
+            report.games += driver.games;
+            report.errors += driver.errors;
+            samples += driver.latencyCount;
+        }
+        report.latencies = new long[samples];
+        int offset = 0;
+        for (Driver driver : drivers) {
+            System.arraycopy(driver.latencies, 0, report.latencies, offset, driver.latencyCount);
+            offset += driver.latencyCount;
+            driver.close();
+        }
+        Arrays.sort(report.latencies);
+        return report;
+    }
+
+    /**
+     * The totals of a load run.
+     */
+    static final class Report {
+        /** The number of moves answered with a result. */
+        long moves;
+        /** The number of matches played to the end. */
+        long games;
+        /** The number of unexpected frames, plus one per driver stopped by a failed connection. */
+        long errors;
+        /** The latency of every measured move, in nanoseconds, sorted. */
+        long[] latencies;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))];
+    }
+
+    /**
+     * One selector thread driving a share of the simulated clients.
+     */
+    private static final class Driver {
+        private final InetSocketAddress address;
+        private final Client[] clients;
+        private final Selector selector;
+        private final FleetGenerator generator;
+        private final SplittableRandom random;
+        private final int[] layout = new int[Fleet.standard().length];
+        private final ByteBuffer out = ByteBuffer.allocateDirect(Protocol.FRAME_SIZE);
+        private long[] latencies = new long[1 << 16];
+        private int latencyCount;
+        private long moves;
+        private long games;
+        private long errors;
+        private boolean measuring;
+
+        private Driver(InetSocketAddress address, int count, SplittableRandom random) throws IOException {
+            this.address = address;
+            this.clients = new Client[count];
+            this.selector = Selector.open();
+            this.random = random;
+            this.generator = new FleetGenerator(Fleet.standard(), random.split());
+        }
+
+        /**
+         * Opens every connection of this driver and queues each client for a match.
+         *
+         * @throws IOException If a client cannot connect.
+         */
+        private void connectAll() throws IOException {
+            for (int i = 0; i < clients.length; i++) {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.configureBlocking(false);
+                Client client = new Client(channel);
+                clients[i] = client;
+                channel.register(selector, SelectionKey.OP_READ, client);
+                join(client);
+            }
+        }
+
+        /**
+         * Handles server frames until the deadline.
+         *
+         * @param deadline The {@link System#nanoTime()} at which to stop.
+         */
+        private void run(long deadline) {
+            measuring = true;
+            try {
+                long now;
+                while ((now = System.nanoTime()) < deadline) {
+                    selector.select(Math.max(1, (deadline - now) / 1_000_000));
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        read((Client) key.attachment());
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Load driver stopped: " + e.getMessage());
+                errors++;
+            }
+            measuring = false;
+        }
+
+        /**
+         * Reads and handles the pending frames of a client.
+         *
+         * @param client The client.
+         * @throws IOException If the connection fails.
+         */
+        private void read(Client client) throws IOException {
+            ByteBuffer in = client.in;
+            if (client.channel.read(in) < 0) {
+                throw new IOException("Server closed a connection");
+            }
+            in.flip();
+            while (in.remaining() >= Protocol.FRAME_SIZE) {
+                handle(client, in);
+                in.position(in.position() + Protocol.FRAME_SIZE);
+            }
+            in.compact();
+        }
+
+        private void handle(Client client, ByteBuffer frame) throws IOException {
+            int flags = Protocol.flags(frame);
+            boolean yourTurn = (flags & Protocol.FLAG_YOUR_TURN) != 0;
+            boolean gameOver = (flags & Protocol.FLAG_GAME_OVER) != 0;
+            switch (Protocol.type(frame)) {
+                case Protocol.MATCHED:
+                    if (yourTurn) fire(client);
+                    break;
+                case Protocol.RESULT:
+                    moves++;
+                    if (measuring) recordLatency(System.nanoTime() - Protocol.stamp(frame));
+                    if (gameOver) {
+                        games++;
+                        join(client);
+                    } else if (yourTurn) {
+                        fire(client);
+                    }
+                    break;
+                case Protocol.INCOMING:
+                    if (gameOver) {
+                        join(client);
+                    } else if (yourTurn) {
+                        fire(client);
+                    }
+                    break;
+                case Protocol.OPPONENT_LEFT:
+                    join(client);
+                    break;
+                default:
+                    errors++;
+            }
+        }
+
+        /**
+         * Queues a client for a new match with a fresh random fleet.
+         *
+         * @param client The client.
+         * @throws IOException If the frame cannot be sent.
+         */
+        private void join(Client client) throws IOException {
+            generator.generate(layout);
+            client.shots = 0;
+            client.offset = random.nextInt(Bitboard.CELLS);
+            out.clear();
+            Protocol.putJoin(out, layout);
+            send(client);
+        }
+
+        /**
+         * Fires the client's next shot. Clients sweep the board from a random offset with a fixed
+         * stride coprime with 100, so no cell is fired twice in a match.
+         *
+         * @param client The client.
+         * @throws IOException If the frame cannot be sent.
+         */
+        private void fire(Client client) throws IOException {
+            int cell = (client.offset + client.shots++ * 37) % Bitboard.CELLS;
+            out.clear();
+            Protocol.putFire(out, cell, System.nanoTime());
+            send(client);
+        }
+
+        private void send(Client client) throws IOException {
+            out.flip();
+            while (out.hasRemaining()) {
+                client.channel.write(out);
+            }
+        }
+
+        private void recordLatency(long nanos) {
+            if (latencyCount == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencyCount * 2);
+            }
+            latencies[latencyCount++] = nanos;
+        }
+
+        private void close() throws IOException {
+            for (Client client : clients) {
+                if (client != null) client.channel.close();
+            }
+            selector.close();
+        }
+    }
+
+    /**
+     * State of one simulated client.
+     */
+    private static final class Client {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(Protocol.FRAME_SIZE * 8);
+        private int offset;
+        private int shots;
+
+        private Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.battleship.net;
+
+import com.example.battleship.engine.ShotResult;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchServerTest {
+
+    private static final int REACTORS = 4;
+
+    private final SplittableRandom random = new SplittableRandom(7);
+    private MatchServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new MatchServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), REACTORS);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void consecutiveClientsAreMatchedAcrossReactors() throws IOException {
+        for (int pair = 0; pair < REACTORS * 2; pair++) {
+            try (Client first = connect(); Client second = connect()) {
+                first.join();
+                second.join();
+                ByteBuffer a = first.expect(Protocol.MATCHED);
+                ByteBuffer b = second.expect(Protocol.MATCHED);
+                assertEquals(Protocol.argument(a), Protocol.argument(b));
+                boolean firstFires = (Protocol.flags(a) & Protocol.FLAG_YOUR_TURN) != 0;
+                assertNotEquals(firstFires, (Protocol.flags(b) & Protocol.FLAG_YOUR_TURN) != 0);
+
+                Client shooter = firstFires ? first : second;
+                Client target = firstFires ? second : first;
+                shooter.fire(0);
+                ByteBuffer result = shooter.expect(Protocol.RESULT);
+                ByteBuffer incoming = target.expect(Protocol.INCOMING);
+                assertNotEquals(ShotResult.REPEATED, Protocol.result(result));
+                assertEquals(Protocol.result(result), Protocol.result(incoming));
+            }
+        }
+    }
+
+    @Test
+    void clientsConnectedBeforeJoiningAreMatched() throws IOException {
+        Client[] clients = new Client[REACTORS * 2];
+        try {
+            for (int i = 0; i < clients.length; i++) {
+                clients[i] = connect();
+            }
+            for (Client client : clients) {
+                client.join();
+            }
+            for (Client client : clients) {
+                client.expect(Protocol.MATCHED);
+            }
+            assertEquals(REACTORS, server.getMatchCount());
+        } finally {
+            for (Client client : clients) {
+                if (client != null) client.close();
+            }
+        }
+    }
+
+    @Test
+    void scaledDownLoadRunsWithoutErrors() throws IOException, InterruptedException {
+        MatchLoadGenerator.Report report = MatchLoadGenerator.run(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()), 200, 2, 2);
+        assertEquals(0, report.errors);
+        assertTrue(report.games > 0);
+        assertTrue(report.moves >= report.games * Arrays.stream(Fleet.standard()).sum());
+    }
+
+    private Client connect() throws IOException {
+        return new Client(server.getPort(), random);
+    }
+
+    /**
+     * A blocking test client that fails instead of waiting forever for a frame.
+     */
+    private static final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final OutputStream out;
+        private final int[] placements = new int[Fleet.standard().length];
+        private final ByteBuffer frame = ByteBuffer.allocate(Protocol.FRAME_SIZE);
+
+        private Client(int port, SplittableRandom random) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setSoTimeout(5_000);
+            in = new DataInputStream(socket.getInputStream());
+            out = socket.getOutputStream();
+            assertTrue(new FleetGenerator(Fleet.standard(), random.split()).generate(placements));
+        }
+
+        private void join() throws IOException {
+            frame.clear();
+            Protocol.putJoin(frame, placements);
+            out.write(frame.array(), 0, Protocol.FRAME_SIZE);
+        }
+
+        private void fire(int cell) throws IOException {
+            frame.clear();
+            Protocol.putFire(frame, cell, 0L);
+            out.write(frame.array(), 0, Protocol.FRAME_SIZE);
+        }
+
+        private ByteBuffer expect(byte type) throws IOException {
+            byte[] bytes = new byte[Protocol.FRAME_SIZE];
+            in.readFully(bytes);
+            ByteBuffer received = ByteBuffer.wrap(bytes);
+            assertEquals(type, Protocol.type(received));
+            return received;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
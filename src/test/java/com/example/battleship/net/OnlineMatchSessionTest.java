@@ -0,0 +1,149 @@
+package com.example.battleship.net;
+
+import com.example.battleship.ai.DensityStrategy;
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.engine.ShotResult;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OnlineMatchSessionTest {
+
+    private MatchServer server;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new MatchServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2);
+        server.start();
+        pool = new ForkJoinPool(1);
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        pool.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    void twoSessionsPlayAMatchToTheEnd() throws Exception {
+        Player first = new Player(1);
+        Player second = new Player(2);
+        try {
+            first.start();
+            second.start();
+            OnlineMatchSession.Outcome a = first.outcome.get(30, TimeUnit.SECONDS);
+            OnlineMatchSession.Outcome b = second.outcome.get(30, TimeUnit.SECONDS);
+            assertTrue(a == OnlineMatchSession.Outcome.WON && b == OnlineMatchSession.Outcome.LOST
+                    || a == OnlineMatchSession.Outcome.LOST && b == OnlineMatchSession.Outcome.WON);
+            Player loser = a == OnlineMatchSession.Outcome.LOST ? first : second;
+            assertTrue(loser.engine.isGameOver());
+            assertEquals(loser.engine.getShotCount(), loser.shotsReceived);
+            assertFalse(first.session.isOpen());
+            assertFalse(second.session.isOpen());
+        } finally {
+            first.close();
+            second.close();
+        }
+    }
+
+    @Test
+    void unreachableServerReportsAConnectFailure() throws Exception {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+        server.close();
+        Player player = new Player(3);
+        try {
+            player.start(address);
+            assertTrue(player.failure.get(30, TimeUnit.SECONDS) instanceof IOException);
+            assertFalse(player.session.isOpen());
+        } finally {
+            player.close();
+        }
+    }
+
+    /**
+     * One side of a match, with a single thread standing in for the JavaFX Application Thread.
+     */
+    private final class Player implements OnlineMatchSession.Listener, AutoCloseable {
+        private final ExecutorService thread = Executors.newSingleThreadExecutor();
+        private final GameEngine engine = new GameEngine();
+        private final DensityStrategy strategy = new DensityStrategy(pool, 500, 5);
+        private final CompletableFuture<OnlineMatchSession.Outcome> outcome = new CompletableFuture<>();
+        private final CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        private OnlineMatchSession session;
+        private int shotsReceived;
+
+        private Player(long seed) {
+            engine.randomizeFleet(new FleetGenerator(Fleet.standard(), new SplittableRandom(seed)));
+            engine.start();
+        }
+
+        private void start() throws Exception {
+            start(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+        }
+
+        private void start(InetSocketAddress address) throws Exception {
+            thread.submit(() -> {
+                session = OnlineMatchSession.start(address, engine, strategy::nextShotAsync, this::execute, this);
+            }).get();
+        }
+
+        /**
+         * Runs a task on the player's thread, dropping the frames the connection still reports once the
+         * player has been closed.
+         */
+        private void execute(Runnable task) {
+            try {
+                thread.execute(task);
+            } catch (RejectedExecutionException e) {
+                // Closed.
+            }
+        }
+
+        @Override
+        public void onQueued() {
+        }
+
+        @Override
+        public void onMatched(int matchId) {
+        }
+
+        @Override
+        public void onShotReceived(int cell, ShotResult result) {
+            shotsReceived++;
+        }
+
+        @Override
+        public void onEnded(OnlineMatchSession.Outcome ended) {
+            outcome.complete(ended);
+        }
+
+        @Override
+        public void onConnectFailed(Throwable error) {
+            failure.complete(error);
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (session != null) thread.submit(session::close).get();
+            thread.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.battleship.net;
+
+import com.example.battleship.engine.ShotResult;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProtocolTest {
+
+    @Test
+    void shotFrameRoundTrips() {
+        ByteBuffer frame = ByteBuffer.allocate(Protocol.FRAME_SIZE);
+        Protocol.putShot(frame, Protocol.RESULT, 99, ShotResult.SUNK, Protocol.FLAG_YOUR_TURN, 42, 7L);
+        frame.flip();
+        assertEquals(Protocol.RESULT, Protocol.type(frame));
+        assertEquals(99, Protocol.cell(frame));
+        assertEquals(ShotResult.SUNK, Protocol.result(frame));
+        assertEquals(42, Protocol.argument(frame));
+        assertEquals(7L, Protocol.stamp(frame));
+    }
+
+    @Test
+    void outOfRangeResultIsRejected() {
+        ByteBuffer frame = ByteBuffer.allocate(Protocol.FRAME_SIZE);
+        frame.put(0, Protocol.RESULT).put(2, (byte) ShotResult.values().length);
+        assertNull(Protocol.result(frame));
+        frame.put(2, (byte) -1);
+        assertNull(Protocol.result(frame));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void savedGameIsRestored() throws IOException {
+        GameEngine engine = startedGame(3, 17, 42, 99);
+        Path path = directory.resolve("game.snapshot");
+        GameSnapshot.save(path, engine, 12L);
+
+        GameEngine restored = new GameEngine();
+        assertEquals(12L, GameSnapshot.load(path, restored));
+        assertTrue(restored.isStarted());
+        assertEquals(engine.getShotCount(), restored.getShotCount());
+        for (int i = 0; i < engine.getShotCount(); i++) {
+            assertEquals(engine.getShot(i), restored.getShot(i));
+        }
+        assertTrue(Files.notExists(directory.resolve("game.snapshot.tmp")));
+    }
+
+    @Test
+    void outOfRangeShotIsRejected() throws IOException {
+        ByteBuffer buffer = encode(startedGame(5));
+        buffer.put(buffer.limit() - 1, (byte) Bitboard.CELLS);
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.read(buffer, new GameEngine()));
+
+        Path path = directory.resolve("corrupt.snapshot");
+        Files.write(path, copy(buffer));
+        assertThrows(IOException.class, () -> GameSnapshot.load(path, new GameEngine()));
+    }
+
+    @Test
+    void outOfRangeShotCountIsRejected() {
+        ByteBuffer buffer = encode(startedGame(5));
+        buffer.put(buffer.limit() - 2, (byte) (Bitboard.CELLS + 1));
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.read(buffer, new GameEngine()));
+    }
+
+    private static GameEngine startedGame(int... shots) {
+        int[] layout = new int[Fleet.standard().length];
+        assertTrue(new FleetGenerator(Fleet.standard(), new SplittableRandom(1)).generate(layout));
+        GameEngine engine = new GameEngine();
+        engine.placeFleet(layout);
+        engine.start();
+        for (int cell : shots) {
+            engine.fire(cell);
+        }
+        return engine;
+    }
+
+    private static ByteBuffer encode(GameEngine engine) {
+        ByteBuffer buffer = ByteBuffer.allocate(GameSnapshot.MAX_SIZE);
+        GameSnapshot.write(engine, 1L, buffer);
+        return buffer.flip();
+    }
+
+    private static byte[] copy(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
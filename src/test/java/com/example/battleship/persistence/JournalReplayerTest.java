@@ -0,0 +1,78 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.engine.ShotResult;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import com.example.battleship.models.Ship;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalReplayerTest {
+
+    private static final int GAMES = 200;
+    private static final int SHOTS = 60;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void gamesSpanningSeveralWindowsAreReplayed() throws IOException {
+        Path path = directory.resolve("games.journal");
+        GameEngine[] games = new GameEngine[GAMES];
+        long records = 0;
+        SplittableRandom random = new SplittableRandom(11);
+        try (GameJournal journal = new GameJournal(path)) {
+            for (int game = 0; game < GAMES; game++) {
+                games[game] = play(journal, game, random);
+                records += 1 + Fleet.standard().length + 2L * games[game].getShotCount() + 1;
+            }
+        }
+
+        JournalReplayer replayer = new JournalReplayer(path, GameJournal.BUFFER_SIZE);
+        assertEquals(records, replayer.scan((event, gameId, payload) -> { }));
+        for (int game : new int[] {0, GAMES / 2, GAMES - 1}) {
+            GameEngine replayed = replayer.replay(game);
+            assertNotNull(replayed);
+            assertEquals(games[game].getShotCount(), replayed.getShotCount());
+            for (int i = 0; i < replayed.getShotCount(); i++) {
+                assertEquals(games[game].getShot(i), replayed.getShot(i));
+            }
+            assertEquals(games[game].getHits().getLo(), replayed.getHits().getLo());
+            assertEquals(games[game].getHits().getHi(), replayed.getHits().getHi());
+        }
+        assertNull(replayer.replay(GAMES));
+    }
+
+    private static GameEngine play(GameJournal journal, long gameId, SplittableRandom random) throws IOException {
+        int[] layout = new int[Fleet.standard().length];
+        assertTrue(new FleetGenerator(Fleet.standard(), random.split()).generate(layout));
+        GameEngine engine = new GameEngine();
+        engine.placeFleet(layout);
+        journal.gameStart(gameId, engine.getFleet());
+        for (int i = 0; i < engine.getShips().size(); i++) {
+            Ship ship = engine.getShips().get(i);
+            journal.placement(gameId, i, Bitboard.index(ship.getPosX(), ship.getPosY()), ship.isHorizontal());
+        }
+        engine.start();
+        while (engine.getShotCount() < SHOTS && !engine.isGameOver()) {
+            int cell = random.nextInt(Bitboard.CELLS);
+            if (engine.getShots().get(cell)) continue;
+            ShotResult result = engine.fire(cell);
+            journal.shot(gameId, cell);
+            journal.result(gameId, cell, result);
+        }
+        journal.gameOver(gameId, engine.getShotCount());
+        return engine;
+    }
+}
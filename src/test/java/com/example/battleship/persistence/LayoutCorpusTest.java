@@ -0,0 +1,71 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.models.Fleet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LayoutCorpusTest {
+
+    private static final int COUNT_OFFSET = 8;
+    private static final int SHIPS_OFFSET = 16;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writtenCorpusIsRead() throws IOException {
+        Path path = writeCorpus();
+        try (LayoutCorpus corpus = LayoutCorpus.open(path)) {
+            assertEquals(1_000, corpus.size());
+            assertArrayEquals(Fleet.standard(), corpus.getFleet());
+        }
+    }
+
+    @Test
+    void shipCountIsReadUnsignedAndBounded() throws IOException {
+        Path path = writeCorpus();
+        patch(path, SHIPS_OFFSET, (byte) 0xF0);
+        assertThrows(IOException.class, () -> LayoutCorpus.open(path));
+        patch(path, SHIPS_OFFSET, (byte) (LayoutCorpusFormat.MAX_SHIPS + 1));
+        assertThrows(IOException.class, () -> LayoutCorpus.open(path));
+    }
+
+    @Test
+    void invalidShipLengthIsRejected() throws IOException {
+        Path path = writeCorpus();
+        patch(path, SHIPS_OFFSET + 1, (byte) 0x80);
+        assertThrows(IOException.class, () -> LayoutCorpus.open(path));
+    }
+
+    @Test
+    void recordCountPastTheFileIsRejected() throws IOException {
+        Path path = writeCorpus();
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(COUNT_OFFSET, Long.MAX_VALUE / 2);
+        Files.write(path, header.array());
+        assertThrows(IOException.class, () -> LayoutCorpus.open(path));
+    }
+
+    private Path writeCorpus() throws IOException {
+        Path path = directory.resolve("layouts.corpus");
+        new LayoutCorpusWriter(Fleet.standard(), ForkJoinPool.commonPool()).write(path, 1_000, 1);
+        return path;
+    }
+
+    private static void patch(Path path, int offset, byte value) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[offset] = value;
+        Files.write(path, bytes);
+    }
+}
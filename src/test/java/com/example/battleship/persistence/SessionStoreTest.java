@@ -0,0 +1,103 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.models.Bitboard;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void randomOperationsMatchReferenceEngines() throws IOException {
+        SplittableRandom random = new SplittableRandom(2);
+        FleetGenerator generator = new FleetGenerator(Fleet.standard(), random);
+        GameEngine[] games = new GameEngine[5_000];
+        GameEngine restored = new GameEngine();
+        try (SessionStore store = new SessionStore(Fleet.standard(), 300, directory.resolve("games.spill"), 0)) {
+            for (int step = 0; step < 200_000; step++) {
+                int id = random.nextInt(games.length);
+                GameEngine game = games[id];
+                if (game == null) {
+                    game = games[id] = new GameEngine();
+                    game.randomizeFleet(generator);
+                    if (random.nextBoolean()) game.start();
+                    store.put(id, game, id * 3);
+                    continue;
+                }
+                assertTrue(store.load(id, restored), "game " + id + " is missing");
+                assertSameGame(game, restored, id);
+                assertEquals(id * 3, store.getTag(id, -1));
+                if (game.isStarted() && !game.isGameOver()) {
+                    int cell = random.nextInt(Bitboard.CELLS);
+                    game.fire(cell);
+                    restored.fire(cell);
+                    if (game.isGameOver()) {
+                        assertTrue(store.remove(id));
+                        assertFalse(store.load(id, restored));
+                        games[id] = null;
+                        continue;
+                    }
+                    store.put(id, restored, id * 3);
+                }
+                if (step % 1000 == 0) store.evictIdle();
+            }
+            assertTrue(store.getSpilledCount() > 0);
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedGameIsSpilledAndPagedBackIn() throws IOException {
+        FleetGenerator generator = new FleetGenerator(Fleet.standard(), new SplittableRandom(4));
+        GameEngine[] games = new GameEngine[3];
+        try (SessionStore store = new SessionStore(Fleet.standard(), 2, directory.resolve("games.spill"), 60_000)) {
+            for (int id = 0; id < games.length; id++) {
+                games[id] = new GameEngine();
+                games[id].randomizeFleet(generator);
+                games[id].start();
+                games[id].fire(id);
+                store.put(id, games[id], id);
+            }
+            assertEquals(2, store.getResidentCount());
+            assertEquals(1, store.getSpilledCount());
+
+            GameEngine restored = new GameEngine();
+            assertTrue(store.load(0, restored));
+            assertSameGame(games[0], restored, 0);
+            assertEquals(2, store.getResidentCount());
+            assertEquals(1, store.getSpilledCount());
+            assertEquals(0, store.evictIdle());
+
+            assertTrue(store.remove(1));
+            assertFalse(store.remove(1));
+            assertEquals(-1, store.getTag(1, -1));
+        }
+    }
+
+    private static void assertSameGame(GameEngine expected, GameEngine actual, int id) {
+        String game = "game " + id;
+        assertEquals(expected.isStarted(), actual.isStarted(), game);
+        assertSameCells(expected.getShots(), actual.getShots(), game);
+        assertSameCells(expected.getHits(), actual.getHits(), game);
+        assertSameCells(expected.getSunk(), actual.getSunk(), game);
+        assertSameCells(expected.getBoard(), actual.getBoard(), game);
+        assertEquals(expected.getShipsAfloat(), actual.getShipsAfloat(), game);
+    }
+
+    private static void assertSameCells(Bitboard expected, Bitboard actual, String game) {
+        assertEquals(expected.getLo(), actual.getLo(), game);
+        assertEquals(expected.getHi(), actual.getHi(), game);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.battleship.persistence;
+
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.models.Fleet;
+import com.example.battleship.models.FleetGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void closeWritesTheLatestSnapshot() throws IOException {
+        Path path = directory.resolve("game.snapshot");
+        GameEngine engine = new GameEngine();
+        engine.randomizeFleet(new FleetGenerator(Fleet.standard(), new SplittableRandom(3)));
+        engine.start();
+        try (SnapshotWriter writer = new SnapshotWriter(path)) {
+            for (int cell = 0; cell < 40; cell++) {
+                engine.fire(cell);
+                writer.save(engine, 9L);
+            }
+        }
+        GameEngine restored = new GameEngine();
+        assertEquals(9L, GameSnapshot.load(path, restored));
+        assertEquals(40, restored.getShotCount());
+        assertTrue(Files.notExists(directory.resolve("game.snapshot.tmp")));
+    }
+
+    @Test
+    void deleteIsNotOvertakenByAnEarlierSave() throws IOException {
+        Path path = directory.resolve("game.snapshot");
+        GameEngine engine = new GameEngine();
+        engine.randomizeFleet(new FleetGenerator(Fleet.standard(), new SplittableRandom(3)));
+        SnapshotWriter writer = new SnapshotWriter(path);
+        writer.save(engine, 1L);
+        writer.delete();
+        writer.close();
+        writer.close();
+        assertTrue(Files.notExists(path));
+    }
+}